@@ -0,0 +1,82 @@
+package benchmarks;
+
+import main.CustomArrayList;
+import main.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Сравнивает последовательные и параллельные массовые операции {@link CustomArrayList} над {@link Person}.</p>
+ * <p>
+ * Ускорение параллельных вариантов ограничено количеством ядер ({@code -Djava.util.concurrent.ForkJoinPool
+ * .common.parallelism}) и пропускной способностью памяти: операции над элементами дешевые, основное время уходит на
+ * чтение объектов.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BulkBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private CustomArrayList<Person> list;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(7);
+        list = new CustomArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(new Person("person" + i, random.nextInt(100)));
+        }
+    }
+
+    @Benchmark
+    public CustomArrayList<Person> forEachSetAge() {
+        list.forEach(person -> person.setAge(person.getAge() ^ 1));
+        return list;
+    }
+
+    @Benchmark
+    public CustomArrayList<Person> parallelForEachSetAge() {
+        list.parallelForEach(person -> person.setAge(person.getAge() ^ 1));
+        return list;
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> map() {
+        return list.map(Person::getAge);
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> parallelMap() {
+        return list.parallelMap(Person::getAge);
+    }
+
+    @Benchmark
+    public CustomArrayList<Person> filter() {
+        return list.filter(person -> person.getAge() < 50);
+    }
+
+    @Benchmark
+    public CustomArrayList<Person> parallelFilter() {
+        return list.parallelFilter(person -> person.getAge() < 50);
+    }
+}
@@ -0,0 +1,169 @@
+package benchmarks;
+
+import main.ConcurrentCustomArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Сравнивает {@link ConcurrentCustomArrayList} с {@link Collections#synchronizedList(List)} и
+ * {@link CopyOnWriteArrayList} при одновременных чтении и записи.
+ * </p>
+ * <p>
+ * Группа {@code readHeavy} - 7 читателей и 1 писатель, {@code writeHeavy} - 1 читатель и 3 писателя. Писатель
+ * заменяет случайный элемент, добавляет элемент в конец и удаляет случайный элемент, размер списка при этом не
+ * меняется.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class ConcurrentListBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"custom", "synchronized", "copyOnWrite"})
+    private String implementation;
+
+    private Target target;
+
+    @Setup
+    public void setup() {
+        target = switch (implementation) {
+            case "custom" -> new CustomTarget();
+            case "synchronized" -> new ListTarget(Collections.synchronizedList(new ArrayList<>()));
+            case "copyOnWrite" -> new ListTarget(new CopyOnWriteArrayList<>());
+            default -> throw new IllegalArgumentException(implementation);
+        };
+
+        for (int i = 0; i < size; i++) {
+            target.add(i);
+        }
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(7)
+    public Integer readHeavyGet() {
+        return target.get(ThreadLocalRandom.current().nextInt(size));
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(1)
+    public void readHeavyWrite() {
+        write();
+    }
+
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(1)
+    public Integer writeHeavyGet() {
+        return target.get(ThreadLocalRandom.current().nextInt(size));
+    }
+
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(3)
+    public void writeHeavyWrite() {
+        write();
+    }
+
+    private void write() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        target.set(random.nextInt(size), random.nextInt());
+        target.add(random.nextInt());
+        // Каждый писатель удаляет только после своего добавления, поэтому индекс меньше size всегда корректен
+        target.remove(random.nextInt(size));
+    }
+
+    /**
+     * Общий интерфейс сравниваемых списков
+     */
+    private interface Target {
+
+        Integer get(int index);
+
+        void set(int index, Integer value);
+
+        void add(Integer value);
+
+        void remove(int index);
+    }
+
+    private static final class CustomTarget implements Target {
+
+        private final ConcurrentCustomArrayList<Integer> list = new ConcurrentCustomArrayList<>();
+
+        @Override
+        public Integer get(int index) {
+            return list.get(index);
+        }
+
+        @Override
+        public void set(int index, Integer value) {
+            list.set(index, value);
+        }
+
+        @Override
+        public void add(Integer value) {
+            list.add(value);
+        }
+
+        @Override
+        public void remove(int index) {
+            list.remove(index);
+        }
+    }
+
+    private static final class ListTarget implements Target {
+
+        private final List<Integer> list;
+
+        ListTarget(List<Integer> list) {
+            this.list = list;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return list.get(index);
+        }
+
+        @Override
+        public void set(int index, Integer value) {
+            list.set(index, value);
+        }
+
+        @Override
+        public void add(Integer value) {
+            list.add(value);
+        }
+
+        @Override
+        public void remove(int index) {
+            list.remove(index);
+        }
+    }
+}
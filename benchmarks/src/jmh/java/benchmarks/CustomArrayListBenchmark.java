@@ -0,0 +1,202 @@
+package benchmarks;
+
+import main.CustomArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Сравнивает базовые операции {@link CustomArrayList} с {@link ArrayList}.</p>
+ * <p>
+ * Бенчмарки заполнения ({@code add}) начинают со списка стандартной вместимости, поэтому в них попадает и
+ * увеличение массива ({@code increase()}). Остальные бенчмарки работают со списком, заполненным на {@code size}
+ * элементов в {@link Level#Invocation}/{@link Level#Iteration} setup, время которого не измеряется.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CustomArrayListBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    private Integer[] values;
+
+    private int[] indexes;
+
+    private CustomArrayList<Integer> customList;
+
+    private ArrayList<Integer> jdkList;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        values = Distribution.RANDOM.generate(size);
+
+        SplittableRandom random = new SplittableRandom(7);
+        indexes = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            indexes[i] = random.nextInt(size);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void fill() {
+        if (customList == null || customList.size() != size) {
+            customList = new CustomArrayList<>(size);
+            for (Integer value : values) {
+                customList.add(value);
+            }
+        }
+        if (jdkList == null || jdkList.size() != size) {
+            jdkList = new ArrayList<>(size);
+            for (Integer value : values) {
+                jdkList.add(value);
+            }
+        }
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> addCustom() {
+        CustomArrayList<Integer> list = new CustomArrayList<>();
+        for (Integer value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> addJdk() {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (Integer value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> addAllCustom() {
+        CustomArrayList<Integer> list = new CustomArrayList<>();
+        list.addAll(values, 0, values.length);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> addAllJdk() {
+        ArrayList<Integer> list = new ArrayList<>();
+        list.addAll(Arrays.asList(values));
+        return list;
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> mergeBatchCustom() {
+        customList.addAll(customList.size() / 2, jdkList);
+        return customList;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> mergeBatchJdk() {
+        jdkList.addAll(jdkList.size() / 2, jdkList.subList(0, size));
+        return jdkList;
+    }
+
+    @Benchmark
+    public void addAtIndexCustom() {
+        customList.add(customList.size() / 2, values[0]);
+    }
+
+    @Benchmark
+    public void addAtIndexJdk() {
+        jdkList.add(jdkList.size() / 2, values[0]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void getCustom(Blackhole blackhole) {
+        for (int index : indexes) {
+            blackhole.consume(customList.get(index));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void getJdk(Blackhole blackhole) {
+        for (int index : indexes) {
+            blackhole.consume(jdkList.get(index));
+        }
+    }
+
+    @Benchmark
+    public boolean removeElementCustom() {
+        return customList.remove(values[size / 2]);
+    }
+
+    @Benchmark
+    public boolean removeElementJdk() {
+        return jdkList.remove(values[size / 2]);
+    }
+
+    @Benchmark
+    public Integer removeIndexCustom() {
+        return customList.remove(size / 2);
+    }
+
+    @Benchmark
+    public Integer removeIndexJdk() {
+        return jdkList.remove(size / 2);
+    }
+
+    @Benchmark
+    public void clearCustom() {
+        customList.clear();
+    }
+
+    @Benchmark
+    public void clearJdk() {
+        jdkList.clear();
+    }
+
+    /**
+     * Цикл переиспользования списка: очистка и повторное заполнение. С профилировщиком {@code -prof gc}
+     * значение {@code gc.alloc.rate.norm} должно быть равно нулю.
+     */
+    @Benchmark
+    public CustomArrayList<Integer> clearAndRefillCustom() {
+        customList.clear();
+        for (Integer value : values) {
+            customList.add(value);
+        }
+        return customList;
+    }
+
+    @Benchmark
+    public boolean removeIfCustom() {
+        return customList.removeIf(value -> (value & 1) == 0);
+    }
+
+    @Benchmark
+    public boolean removeIfJdk() {
+        return jdkList.removeIf(value -> (value & 1) == 0);
+    }
+}
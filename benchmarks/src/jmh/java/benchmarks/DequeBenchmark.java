@@ -0,0 +1,102 @@
+package benchmarks;
+
+import main.CustomArrayDeque;
+import main.CustomArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Сравнивает очередь задач на {@link CustomArrayDeque}, {@link ArrayDeque} и {@link CustomArrayList}.</p>
+ * <p>
+ * {@code fifo} берет задачу из начала очереди и добавляет новую в конец, поэтому размер очереди не меняется, а
+ * элементы постоянно переходят через конец массива. {@link CustomArrayList} для этого вынужден сдвигать весь список
+ * в {@code remove(0)}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DequeBenchmark {
+
+    private static final int OPERATIONS = 1024;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private CustomArrayDeque<Integer> deque;
+
+    private ArrayDeque<Integer> arrayDeque;
+
+    private CustomArrayList<Integer> list;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Integer[] values = Distribution.RANDOM.generate(size);
+        deque = new CustomArrayDeque<>(size + 1);
+        deque.addAll(values, 0, size);
+        arrayDeque = new ArrayDeque<>(size + 1);
+        list = new CustomArrayList<>(size + 1);
+        for (Integer value : values) {
+            arrayDeque.addLast(value);
+            list.add(value);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int fifoCustomArrayDeque() {
+        int sum = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            Integer task = deque.pollFirst();
+            sum += task;
+            deque.addLast(task);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int fifoArrayDeque() {
+        int sum = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            Integer task = arrayDeque.pollFirst();
+            sum += task;
+            arrayDeque.addLast(task);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int fifoCustomArrayList() {
+        int sum = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            Integer task = list.remove(0);
+            sum += task;
+            list.add(task);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int getMiddle() {
+        return deque.get(size / 2);
+    }
+}
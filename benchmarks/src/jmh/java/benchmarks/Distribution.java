@@ -0,0 +1,109 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SplittableRandom;
+
+/**
+ * Распределения входных данных, на которых запускаются бенчмарки.
+ */
+public enum Distribution {
+
+    /**
+     * Равномерно случайные значения
+     */
+    RANDOM {
+        @Override
+        Integer[] generate(int size, SplittableRandom random) {
+            Integer[] values = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = random.nextInt();
+            }
+            return values;
+        }
+    },
+
+    /**
+     * Значения, отсортированные по возрастанию
+     */
+    SORTED {
+        @Override
+        Integer[] generate(int size, SplittableRandom random) {
+            Integer[] values = RANDOM.generate(size, random);
+            Arrays.sort(values);
+            return values;
+        }
+    },
+
+    /**
+     * Отсортированные по возрастанию значения, в которых около 1% элементов заменено случайными
+     */
+    NEARLY_SORTED {
+        @Override
+        Integer[] generate(int size, SplittableRandom random) {
+            Integer[] values = SORTED.generate(size, random);
+            for (int i = 0; i < size / 100; i++) {
+                values[random.nextInt(size)] = random.nextInt();
+            }
+            return values;
+        }
+    },
+
+    /**
+     * Значения, отсортированные по убыванию
+     */
+    REVERSED {
+        @Override
+        Integer[] generate(int size, SplittableRandom random) {
+            Integer[] values = RANDOM.generate(size, random);
+            Arrays.sort(values, Collections.reverseOrder());
+            return values;
+        }
+    },
+
+    /**
+     * Повторяющиеся возрастающие последовательности длиной {@value SAWTOOTH_PERIOD}
+     */
+    SAWTOOTH {
+        @Override
+        Integer[] generate(int size, SplittableRandom random) {
+            Integer[] values = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = i % SAWTOOTH_PERIOD;
+            }
+            return values;
+        }
+    },
+
+    /**
+     * Случайные значения из маленького диапазона ({@value DUPLICATE_KEYS} различных ключей)
+     */
+    DUPLICATES {
+        @Override
+        Integer[] generate(int size, SplittableRandom random) {
+            Integer[] values = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = random.nextInt(DUPLICATE_KEYS);
+            }
+            return values;
+        }
+    };
+
+    private static final int DUPLICATE_KEYS = 16;
+
+    private static final int SAWTOOTH_PERIOD = 1000;
+
+    private static final long SEED = 42;
+
+    /**
+     * Генерирует массив значений указанного размера. Для одинаковых {@code size} результат всегда одинаковый.
+     *
+     * @param size количество значений
+     * @return массив значений
+     */
+    public Integer[] generate(int size) {
+        return generate(size, new SplittableRandom(SEED));
+    }
+
+    abstract Integer[] generate(int size, SplittableRandom random);
+}
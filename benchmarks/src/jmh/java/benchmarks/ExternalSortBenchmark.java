@@ -0,0 +1,111 @@
+package benchmarks;
+
+import main.CustomArrayList;
+import main.ElementCodec;
+import main.ExternalSort;
+import main.Person;
+import main.QuickSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Сравнивает {@link ExternalSort} (файл в файл) с сортировкой в памяти: чтение файла
+ * {@link CustomArrayList#readFrom}, {@link QuickSort} и запись {@link CustomArrayList#writeTo}.</p>
+ * <p>
+ * Параметр {@code runElements} задает бюджет памяти внешней сортировки, то есть количество серий
+ * ({@code size / runElements}) и число проходов слияния при {@code mergeFanIn = 16}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExternalSortBenchmark {
+
+    private static final Comparator<Person> BY_AGE_AND_NAME =
+            Comparator.comparingInt(Person::getAge).thenComparing(Person::getName);
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"10000", "100000"})
+    private int runElements;
+
+    private Path directory;
+
+    private Path input;
+
+    private Path output;
+
+    private ExternalSort<Person> externalSort;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        SplittableRandom random = new SplittableRandom(7);
+        CustomArrayList<Person> list = new CustomArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(new Person("person" + random.nextInt(size), random.nextInt(100)));
+        }
+
+        directory = Files.createTempDirectory("external-sort-benchmark");
+        input = directory.resolve("input.bin");
+        output = directory.resolve("output.bin");
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            list.writeTo(channel, ElementCodec.persons());
+        }
+
+        externalSort = new ExternalSort<>(ElementCodec.persons(), BY_AGE_AND_NAME);
+        externalSort.setRunElements(runElements);
+        externalSort.setMergeFanIn(16);
+        externalSort.setTempDirectory(directory);
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public Path externalSort() throws IOException {
+        externalSort.sort(input, output);
+        return output;
+    }
+
+    @Benchmark
+    public Path inMemorySort() throws IOException {
+        CustomArrayList<Person> list;
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            list = CustomArrayList.readFrom(channel, ElementCodec.persons());
+        }
+        list.sort(BY_AGE_AND_NAME);
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            list.writeTo(channel, ElementCodec.persons());
+        }
+        return output;
+    }
+}
@@ -0,0 +1,76 @@
+package benchmarks;
+
+import main.CustomArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Измеряет поиск в {@link HashMap} по ключу {@link CustomArrayList} с большим запасом вместимости.</p>
+ * <p>
+ * Ключ из {@code size} элементов создан с вместимостью {@code capacity}: {@code hashCode} и {@code equals} должны
+ * зависеть только от {@code size}. {@code cachedLookup} ищет тот же экземпляр ключа с кешированным хеш-кодом.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HashKeyBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    @Param({"1000000"})
+    private int capacity;
+
+    private Map<CustomArrayList<Integer>, Integer> cache;
+
+    private CustomArrayList<Integer> key;
+
+    private CustomArrayList<Integer> cachedKey;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Integer[] values = Distribution.RANDOM.generate(size);
+        cache = new HashMap<>();
+
+        key = new CustomArrayList<>(capacity);
+        key.addAll(values, 0, size);
+        cache.put(key, size);
+
+        cachedKey = new CustomArrayList<>(capacity);
+        cachedKey.addAll(values, 0, size);
+        cachedKey.setHashCaching(true);
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return key.hashCode();
+    }
+
+    @Benchmark
+    public Integer lookup() {
+        return cache.get(key);
+    }
+
+    @Benchmark
+    public Integer cachedLookup() {
+        return cache.get(cachedKey);
+    }
+}
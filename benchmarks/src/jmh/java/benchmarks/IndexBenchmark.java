@@ -0,0 +1,108 @@
+package benchmarks;
+
+import main.CustomArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Сравнивает {@code contains}, {@code indexOf} и {@code remove(E)} {@link CustomArrayList} с хеш-индексом и без.</p>
+ * <p>
+ * {@code removeAndAdd} удаляет случайный элемент и добавляет его в конец, поэтому размер списка не меняется. Объем
+ * памяти индекса выводится в {@link #generate()} ({@code indexFootprint()}), затраты на построение индекса
+ * показывает {@code enableIndex} с профилировщиком {@code -prof gc}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IndexBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean indexed;
+
+    private CustomArrayList<Integer> list;
+
+    private Integer[] keys;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Integer[] values = Distribution.RANDOM.generate(size);
+        list = new CustomArrayList<>(size);
+        for (Integer value : values) {
+            list.add(value);
+        }
+        if (indexed) {
+            list.enableIndex();
+            System.out.printf("%nIndex footprint: %d bytes (%.1f bytes per element)%n", list.indexFootprint(),
+                    (double) list.indexFootprint() / size);
+        }
+
+        SplittableRandom random = new SplittableRandom(7);
+        keys = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            // Половина ключей есть в списке, половины нет
+            keys[i] = i % 2 == 0 ? values[random.nextInt(size)] : Integer.valueOf(-1 - random.nextInt(size));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int contains() {
+        int found = 0;
+        for (Integer key : keys) {
+            if (list.contains(key)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int indexOf() {
+        int found = 0;
+        for (Integer key : keys) {
+            found += list.indexOf(key);
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public CustomArrayList<Integer> removeAndAdd() {
+        for (int i = 0; i < LOOKUPS; i += 2) {
+            if (list.remove(keys[i])) {
+                list.add(keys[i]);
+            }
+        }
+        return list;
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> enableIndex() {
+        list.enableIndex();
+        return list;
+    }
+}
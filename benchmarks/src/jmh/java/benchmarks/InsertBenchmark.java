@@ -0,0 +1,114 @@
+package benchmarks;
+
+import main.CustomArrayList;
+import main.StorageMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Сравнивает вставку и удаление в середине списка в режимах {@link StorageMode#CONTIGUOUS} и
+ * {@link StorageMode#GAP_BUFFER}, а также {@link ArrayList}.</p>
+ * <p>
+ * {@code localEdits} имитирует редактор: курсор смещается на несколько позиций, в позиции курсора элемент
+ * вставляется или удаляется, размер списка в среднем не меняется. {@code randomEdits} вставляет и удаляет в
+ * случайных позициях - для буфера с разрывом это худший случай, разрыв каждый раз переносится далеко.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InsertBenchmark {
+
+    private static final int EDITS = 1024;
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    @Param({"CONTIGUOUS", "GAP_BUFFER", "ARRAY_LIST"})
+    private String storage;
+
+    private CustomArrayList<Integer> list;
+
+    private ArrayList<Integer> arrayList;
+
+    private int cursor;
+
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Integer[] values = Distribution.RANDOM.generate(size);
+        if (storage.equals("ARRAY_LIST")) {
+            arrayList = new ArrayList<>(size + EDITS);
+            for (Integer value : values) {
+                arrayList.add(value);
+            }
+        } else {
+            list = new CustomArrayList<>(size + EDITS, StorageMode.valueOf(storage));
+            for (Integer value : values) {
+                list.add(value);
+            }
+        }
+
+        cursor = size / 2;
+        random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EDITS)
+    public int localEdits() {
+        int sum = 0;
+        for (int i = 0; i < EDITS; i++) {
+            cursor = Math.min(Math.max(cursor + random.nextInt(-4, 5), 1), size - 1);
+            sum += edit(cursor, i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EDITS)
+    public int randomEdits() {
+        int sum = 0;
+        for (int i = 0; i < EDITS; i++) {
+            sum += edit(random.nextInt(1, size), i);
+        }
+        return sum;
+    }
+
+    /**
+     * Четные шаги вставляют элемент, нечетные удаляют, поэтому размер списка остается около {@code size}
+     */
+    private int edit(int position, int step) {
+        if (arrayList != null) {
+            if (step % 2 == 0) {
+                arrayList.add(position, step);
+                return position;
+            }
+            return arrayList.remove(position);
+        }
+
+        if (step % 2 == 0) {
+            list.add(position, step);
+            return position;
+        }
+        return list.remove(position);
+    }
+}
@@ -0,0 +1,98 @@
+package benchmarks;
+
+import main.CustomArrayList;
+import main.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Сравнивает слияние отсортированных списков {@link Person} ({@link CustomArrayList#mergeSorted}) с
+ * объединением списков и повторной сортировкой.</p>
+ * <p>
+ * {@code size} - суммарный размер, {@code shards} - количество списков, {@code parallelism} - количество потоков
+ * пула. {@code sequentialMerge} сливает одной частью, {@code mergeSorted} - частями в пуле с {@code parallelism}
+ * потоками. Значения {@code parallelism} больше количества ядер машины смысла не имеют.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MergeBenchmark {
+
+    private static final Comparator<Person> BY_AGE = Comparator.comparingInt(Person::getAge);
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    @Param({"2", "16", "64"})
+    private int shards;
+
+    @Param({"1", "4"})
+    private int parallelism;
+
+    private List<CustomArrayList<Person>> lists;
+
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(7);
+        lists = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            CustomArrayList<Person> list = new CustomArrayList<>(size / shards + 1);
+            for (int j = i; j < size; j += shards) {
+                list.add(new Person("person", random.nextInt()));
+            }
+            list.sort(BY_AGE);
+            lists.add(list);
+        }
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public CustomArrayList<Person> concatenateAndSort() {
+        CustomArrayList<Person> result = new CustomArrayList<>(size);
+        for (CustomArrayList<Person> list : lists) {
+            result.addAll(list);
+        }
+        result.sort(BY_AGE);
+        return result;
+    }
+
+    @Benchmark
+    public CustomArrayList<Person> sequentialMerge() {
+        return CustomArrayList.mergeSorted(lists, BY_AGE, size, pool);
+    }
+
+    @Benchmark
+    public CustomArrayList<Person> mergeSorted() {
+        // Как mergeSorted(lists, comparator): около четырех частей на поток пула
+        return CustomArrayList.mergeSorted(lists, BY_AGE, Math.max(8192, size / (4 * parallelism)), pool);
+    }
+}
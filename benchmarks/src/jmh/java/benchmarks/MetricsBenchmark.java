@@ -0,0 +1,88 @@
+package benchmarks;
+
+import main.CustomArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Измеряет накладные расходы метрик {@link CustomArrayList} ({@code enableMetrics()}).</p>
+ * <p>
+ * При {@code metrics = false} результаты должны совпадать с {@link CustomArrayListBenchmark} и
+ * {@link SortBenchmark} в пределах погрешности: каждая точка сбора - проверка поля на {@code null}. При
+ * {@code metrics = true} основная цена - обертка компаратора со счетчиком сравнений.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MetricsBenchmark {
+
+    private static final Comparator<Integer> COMPARATOR = Integer::compare;
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean metrics;
+
+    private Integer[] values;
+
+    private CustomArrayList<Integer> list;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        values = Distribution.RANDOM.generate(size);
+    }
+
+    @Setup(Level.Invocation)
+    public void fill() {
+        list = new CustomArrayList<>(size);
+        if (metrics) {
+            list.enableMetrics();
+        }
+        list.addAll(values, 0, size);
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> add() {
+        CustomArrayList<Integer> target = new CustomArrayList<>();
+        if (metrics) {
+            target.enableMetrics();
+        }
+        for (Integer value : values) {
+            target.add(value);
+        }
+        return target;
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> addAtIndexAndRemove() {
+        for (int i = 0; i < 64; i++) {
+            list.add(i * 16, values[i]);
+            list.remove(i * 16 + 1);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> sort() {
+        list.sort(COMPARATOR);
+        return list;
+    }
+}
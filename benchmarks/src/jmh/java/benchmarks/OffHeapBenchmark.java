@@ -0,0 +1,101 @@
+package benchmarks;
+
+import main.CustomArrayList;
+import main.ElementLayout;
+import main.OffHeapCustomArrayList;
+import main.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Сравнивает {@link OffHeapCustomArrayList} с {@link CustomArrayList} на объектах {@link Person}.</p>
+ * <p>Паузы сборщика мусора удобно смотреть с профилировщиком {@code -prof gc}.</p>
+ * <p>
+ * Списки заполняются один раз на итерацию, поэтому {@code sort*} после первого вызова сортируют уже упорядоченный
+ * список; для холодной сортировки запускайте с {@code -bs 1 -wbs 1}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class OffHeapBenchmark {
+
+    private static final Comparator<Person> BY_AGE = Comparator.comparingInt(Person::getAge);
+
+    @Param({"100000", "10000000"})
+    private int size;
+
+    private Integer[] ages;
+
+    private CustomArrayList<Person> heapList;
+
+    private OffHeapCustomArrayList<Person> offHeapList;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        ages = Distribution.RANDOM.generate(size);
+    }
+
+    @Setup(Level.Iteration)
+    public void fill() {
+        heapList = new CustomArrayList<>(size);
+        offHeapList = new OffHeapCustomArrayList<>(ElementLayout.persons(16), size);
+        for (int i = 0; i < size; i++) {
+            Person person = new Person("person" + (i % 1000), ages[i]);
+            heapList.add(person);
+            offHeapList.add(person);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void close() {
+        offHeapList.close();
+    }
+
+    @Benchmark
+    public long scanHeap() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += heapList.get(i).getAge();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long scanOffHeap() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += offHeapList.get(i).getAge();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public CustomArrayList<Person> sortHeap() {
+        heapList.sort(BY_AGE);
+        return heapList;
+    }
+
+    @Benchmark
+    public OffHeapCustomArrayList<Person> sortOffHeap() {
+        offHeapList.sort(BY_AGE);
+        return offHeapList;
+    }
+}
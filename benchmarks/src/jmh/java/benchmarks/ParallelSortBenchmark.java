@@ -0,0 +1,89 @@
+package benchmarks;
+
+import main.CustomArrayList;
+import main.QuickSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Измеряет масштабирование {@link QuickSort#parallelSort} в зависимости от количества потоков пула.</p>
+ * <p>
+ * Ускорение считается как отношение {@code sequential} к {@code parallel} при одинаковых {@code size} и
+ * {@code distribution}. Значения {@code parallelism} больше количества ядер машины смысла не имеют.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParallelSortBenchmark {
+
+    private static final Comparator<Integer> COMPARATOR = Integer::compare;
+
+    @Param({"1000000", "20000000"})
+    private int size;
+
+    @Param({"RANDOM", "DUPLICATES"})
+    private Distribution distribution;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    private int parallelism;
+
+    @Param({"8192"})
+    private int threshold;
+
+    private Integer[] values;
+
+    private CustomArrayList<Integer> list;
+
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        values = distribution.generate(size);
+        list = new CustomArrayList<>(size);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        list.clear();
+        for (Integer value : values) {
+            list.add(value);
+        }
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> sequential() {
+        QuickSort.sort(list, COMPARATOR);
+        return list;
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> parallel() {
+        QuickSort.parallelSort(list, COMPARATOR, threshold, pool);
+        return list;
+    }
+}
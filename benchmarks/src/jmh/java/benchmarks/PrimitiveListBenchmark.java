@@ -0,0 +1,120 @@
+package benchmarks;
+
+import main.CustomArrayList;
+import main.IntCustomArrayList;
+import main.LongCustomArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Сравнивает {@link IntCustomArrayList} и {@link LongCustomArrayList} с {@code CustomArrayList<Integer>}.</p>
+ * <p>Для оценки расхода памяти запускайте с профилировщиком {@code -prof gc}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveListBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "DUPLICATES"})
+    private Distribution distribution;
+
+    private Integer[] values;
+
+    private CustomArrayList<Integer> boxedList;
+
+    private IntCustomArrayList intList;
+
+    private LongCustomArrayList longList;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        values = distribution.generate(size);
+        boxedList = new CustomArrayList<>(size);
+        intList = new IntCustomArrayList(size);
+        longList = new LongCustomArrayList(size);
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        boxedList.clear();
+        intList.clear();
+        longList.clear();
+        for (Integer value : values) {
+            boxedList.add(value);
+            intList.add(value);
+            longList.add(value);
+        }
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> addBoxed() {
+        CustomArrayList<Integer> list = new CustomArrayList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public IntCustomArrayList addInt() {
+        IntCustomArrayList list = new IntCustomArrayList();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public long sumBoxed() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += boxedList.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long sumInt() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += intList.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> sortBoxed() {
+        boxedList.sort(Integer::compare);
+        return boxedList;
+    }
+
+    @Benchmark
+    public IntCustomArrayList sortInt() {
+        intList.sort();
+        return intList;
+    }
+
+    @Benchmark
+    public LongCustomArrayList sortLong() {
+        longList.sort();
+        return longList;
+    }
+}
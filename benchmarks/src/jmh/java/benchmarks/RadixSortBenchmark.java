@@ -0,0 +1,95 @@
+package benchmarks;
+
+import main.CustomArrayList;
+import main.Person;
+import main.QuickSort;
+import main.RadixSort;
+import main.SortMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Сравнивает сортировку списка {@link Person} по возрасту через {@link RadixSort} с сортировками сравнением
+ * {@link QuickSort} и {@link SortMode#STABLE}.</p>
+ * <p>
+ * {@code AGES} - возраст от 0 до 99 (сортировка подсчетом), {@code RANDOM} - произвольные {@code int}
+ * (поразрядная сортировка в 4 прохода). Перед каждым вызовом список заново заполняется исходными данными.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RadixSortBenchmark {
+
+    private static final Comparator<Person> BY_AGE = Comparator.comparingInt(Person::getAge);
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    @Param({"AGES", "RANDOM"})
+    private String keys;
+
+    private Person[] persons;
+
+    private CustomArrayList<Person> list;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(7);
+        persons = new Person[size];
+        for (int i = 0; i < size; i++) {
+            int age = keys.equals("AGES") ? random.nextInt(100) : random.nextInt();
+            persons[i] = new Person("person", age);
+        }
+        list = new CustomArrayList<>(size);
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        list.clear();
+        for (Person person : persons) {
+            list.add(person);
+        }
+    }
+
+    @Benchmark
+    public CustomArrayList<Person> quickSort() {
+        list.sort(BY_AGE);
+        return list;
+    }
+
+    @Benchmark
+    public CustomArrayList<Person> stableSort() {
+        list.sort(BY_AGE, SortMode.STABLE);
+        return list;
+    }
+
+    @Benchmark
+    public CustomArrayList<Person> sortByIntKey() {
+        list.sortByIntKey(Person::getAge);
+        return list;
+    }
+
+    @Benchmark
+    public CustomArrayList<Person> parallelSortByIntKey() {
+        list.parallelSortByIntKey(Person::getAge);
+        return list;
+    }
+}
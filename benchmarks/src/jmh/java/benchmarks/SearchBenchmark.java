@@ -0,0 +1,95 @@
+package benchmarks;
+
+import main.CustomArrayList;
+import main.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Сравнивает поиск по возрасту в отсортированном списке {@link Person}: линейный проход и двоичный поиск.</p>
+ * <p>Каждый вызов выполняет {@value LOOKUPS} поисков случайных возрастов, результат - время одного поиска.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    private static final Comparator<Person> BY_AGE = Comparator.comparingInt(Person::getAge);
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private CustomArrayList<Person> list;
+
+    private Person[] keys;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(42);
+        list = new CustomArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(new Person("person" + i, random.nextInt(size)));
+        }
+        list.sort(BY_AGE);
+
+        keys = new Person[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            keys[i] = new Person(null, random.nextInt(size));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int linearScan() {
+        int found = 0;
+        for (Person key : keys) {
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i).getAge() == key.getAge()) {
+                    found += i;
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int binarySearch() {
+        int found = 0;
+        for (Person key : keys) {
+            found += list.binarySearch(key, BY_AGE);
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int rangeCount() {
+        int found = 0;
+        for (Person key : keys) {
+            found += list.upperBound(key, BY_AGE) - list.lowerBound(key, BY_AGE);
+        }
+        return found;
+    }
+}
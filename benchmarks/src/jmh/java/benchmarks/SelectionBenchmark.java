@@ -0,0 +1,87 @@
+package benchmarks;
+
+import main.CustomArrayList;
+import main.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Сравнивает полную сортировку списка {@link Person} по возрасту с выбором медианы
+ * ({@link CustomArrayList#select}), частичной сортировкой и выбором {@code k} самых молодых
+ * ({@link CustomArrayList#partialSort}, {@link CustomArrayList#topK}).</p>
+ * <p>Перед каждым вызовом список заново заполняется исходными данными.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SelectionBenchmark {
+
+    private static final Comparator<Person> BY_AGE = Comparator.comparingInt(Person::getAge);
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    @Param({"100"})
+    private int k;
+
+    private Person[] persons;
+
+    private CustomArrayList<Person> list;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(7);
+        persons = new Person[size];
+        for (int i = 0; i < size; i++) {
+            persons[i] = new Person("person", random.nextInt());
+        }
+        list = new CustomArrayList<>(size);
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        list.clear();
+        for (Person person : persons) {
+            list.add(person);
+        }
+    }
+
+    @Benchmark
+    public Person fullSortMedian() {
+        list.sort(BY_AGE);
+        return list.get(size / 2);
+    }
+
+    @Benchmark
+    public Person selectMedian() {
+        return list.select(size / 2, BY_AGE);
+    }
+
+    @Benchmark
+    public CustomArrayList<Person> partialSort() {
+        list.partialSort(k, BY_AGE);
+        return list;
+    }
+
+    @Benchmark
+    public CustomArrayList<Person> topK() {
+        return list.topK(k, BY_AGE);
+    }
+}
@@ -0,0 +1,104 @@
+package benchmarks;
+
+import main.CustomArrayList;
+import main.ElementCodec;
+import main.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Сравнивает двоичный формат {@link CustomArrayList#writeTo} / {@link CustomArrayList#readFrom} с кодеком
+ * {@link ElementCodec#persons()} и стандартную сериализацию Java ({@link ObjectOutputStream}) для списка
+ * {@link Person}.</p>
+ * <p>
+ * Обе записи идут в память ({@link ByteArrayOutputStream}), чтобы измерять кодирование, а не диск. Размер
+ * результата обоих форматов выводится в {@link #generate()}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private CustomArrayList<Person> list;
+
+    private ArrayList<Person> arrayList;
+
+    private ByteArrayOutputStream output;
+
+    private byte[] binary;
+
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        SplittableRandom random = new SplittableRandom(7);
+        list = new CustomArrayList<>(size);
+        arrayList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Person person = new Person("person" + random.nextInt(size), random.nextInt(100));
+            list.add(person);
+            arrayList.add(person);
+        }
+
+        output = new ByteArrayOutputStream(64 * size);
+        binary = customWrite().toByteArray();
+        serialized = javaWrite().toByteArray();
+        System.out.printf("%nBinary: %d bytes, Java serialization: %d bytes%n", binary.length, serialized.length);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream customWrite() throws IOException {
+        output.reset();
+        list.writeTo(Channels.newChannel(output), ElementCodec.persons());
+        return output;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream javaWrite() throws IOException {
+        output.reset();
+        try (ObjectOutputStream stream = new ObjectOutputStream(output)) {
+            stream.writeObject(arrayList);
+        }
+        return output;
+    }
+
+    @Benchmark
+    public CustomArrayList<Person> customRead() throws IOException {
+        return CustomArrayList.readFrom(Channels.newChannel(new ByteArrayInputStream(binary)),
+                ElementCodec.persons());
+    }
+
+    @Benchmark
+    public Object javaRead() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return stream.readObject();
+        }
+    }
+}
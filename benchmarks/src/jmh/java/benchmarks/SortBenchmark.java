@@ -0,0 +1,104 @@
+package benchmarks;
+
+import main.CustomArrayList;
+import main.QuickSort;
+import main.SortMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Сравнивает сортировку {@link CustomArrayList} через {@link QuickSort} с {@link Arrays#sort(Object[])}.</p>
+ * <p>
+ * Перед каждым вызовом список и массив заново заполняются исходными данными (время не измеряется), поэтому
+ * для маленьких {@code size} результаты включают накладные расходы {@link Level#Invocation}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SortBenchmark {
+
+    private static final Comparator<Integer> COMPARATOR = Integer::compare;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    @Param({"RANDOM", "SORTED", "NEARLY_SORTED", "REVERSED", "SAWTOOTH", "DUPLICATES"})
+    private Distribution distribution;
+
+    private Integer[] values;
+
+    private Integer[] array;
+
+    private CustomArrayList<Integer> list;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        values = distribution.generate(size);
+        array = new Integer[size];
+        list = new CustomArrayList<>(size);
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(values, 0, array, 0, size);
+
+        list.clear();
+        for (Integer value : values) {
+            list.add(value);
+        }
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> customArrayListSort() {
+        list.sort(COMPARATOR);
+        return list;
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> customArrayListStableSort() {
+        list.sort(COMPARATOR, SortMode.STABLE);
+        return list;
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> quickSortComparator() {
+        QuickSort.sort(list, COMPARATOR);
+        return list;
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> quickSortComparable() {
+        QuickSort.sort(list);
+        return list;
+    }
+
+    @Benchmark
+    public Integer[] arraysSort() {
+        Arrays.sort(array);
+        return array;
+    }
+
+    @Benchmark
+    public Integer[] arraysSortComparator() {
+        Arrays.sort(array, COMPARATOR);
+        return array;
+    }
+}
@@ -0,0 +1,99 @@
+package benchmarks;
+
+import main.CustomArrayList;
+import main.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * <p>Сравнивает агрегацию списка {@link Person} через потоки {@link CustomArrayList} и {@link ArrayList}.</p>
+ * <p>
+ * {@code loop} - обход через {@code get(i)}, как до появления потоков. Параллельные потоки выполняются в
+ * {@link java.util.concurrent.ForkJoinPool#commonPool()}, количество потоков задается
+ * {@code -Djava.util.concurrent.ForkJoinPool.common.parallelism}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StreamBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private CustomArrayList<Person> customList;
+
+    private ArrayList<Person> jdkList;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(42);
+        customList = new CustomArrayList<>(size);
+        jdkList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Person person = new Person("person" + random.nextInt(1000), random.nextInt(100));
+            customList.add(person);
+            jdkList.add(person);
+        }
+    }
+
+    @Benchmark
+    public long loop() {
+        long sum = 0;
+        for (int i = 0; i < customList.size(); i++) {
+            sum += customList.get(i).getAge();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long customStreamSum() {
+        return customList.stream().mapToLong(Person::getAge).sum();
+    }
+
+    @Benchmark
+    public long jdkStreamSum() {
+        return jdkList.stream().mapToLong(Person::getAge).sum();
+    }
+
+    @Benchmark
+    public long customParallelStreamSum() {
+        return customList.parallelStream().mapToLong(Person::getAge).sum();
+    }
+
+    @Benchmark
+    public long jdkParallelStreamSum() {
+        return jdkList.parallelStream().mapToLong(Person::getAge).sum();
+    }
+
+    @Benchmark
+    public Map<Integer, Long> customParallelGroupByAge() {
+        return customList.parallelStream().collect(Collectors.groupingByConcurrent(Person::getAge,
+                Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> jdkParallelGroupByAge() {
+        return jdkList.parallelStream().collect(Collectors.groupingByConcurrent(Person::getAge,
+                Collectors.counting()));
+    }
+}
@@ -0,0 +1,534 @@
+package main;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>Двоичный формат {@link CustomArrayList#writeTo} / {@link CustomArrayList#readFrom}.</p>
+ * <p>Формат потока: заголовок, затем элементы.</p>
+ * <p>
+ * - заголовок: {@code int} сигнатура, {@code int} версия формата, {@code int} количество элементов, {@code short}
+ * длина и байты UTF-8 идентификатора кодека ({@link ElementCodec#id()});
+ * </p>
+ * <p>
+ * - элемент: длина в байтах плюс один (целое переменной длины, 7 бит на байт, {@code 0} - элемент {@code null}),
+ * затем байты, записанные кодеком.
+ * </p>
+ * <p>
+ * Запись и чтение идут через прямые буферы из {@link DirectBufferPool}, без выделения памяти на каждый элемент.
+ * При записи заполняется несколько буферов, и они отправляются в канал одним сборным вызовом
+ * ({@link GatheringByteChannel#write(ByteBuffer[], int, int)}), если канал его поддерживает.
+ * </p>
+ */
+final class BinaryFormat {
+
+    static final int MAGIC = 0x43414C42;
+
+    static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 3 * Integer.BYTES + Short.BYTES;
+
+    private static final int MAX_CODEC_BYTES = 1024;
+
+    private static final int MAX_VAR_INT_BYTES = 5;
+
+    private static final int GATHER_BUFFERS = 4;
+
+    /**
+     * Наибольшая начальная вместимость списка при чтении: количество элементов из заголовка не проверено, поэтому
+     * больший список растет по мере чтения
+     */
+    private static final int MAX_INITIAL_CAPACITY = 1 << 16;
+
+    private BinaryFormat() {
+    }
+
+    /**
+     * Записывает первые {@code size} элементов массива в канал через буферы из {@link DirectBufferPool}
+     *
+     * @param elements массив элементов
+     * @param size     количество элементов
+     * @param codec    кодек элементов
+     * @param channel  канал для записи
+     * @param <E>      тип элементов
+     * @throws IOException              если запись в канал не удалась
+     * @throws IllegalArgumentException если идентификатор кодека длиннее {@value #MAX_CODEC_BYTES} байт
+     * @throws IllegalStateException    если кодек записал не столько байт, сколько вернул
+     *                                  {@link ElementCodec#encodedSize(Object)}
+     */
+    @SuppressWarnings("unchecked")
+    static <E> void write(Object[] elements, int size, ElementCodec<E> codec, WritableByteChannel channel)
+            throws IOException {
+        ByteBuffer[] buffers = acquireBuffers();
+        try {
+            Writer<E> writer = new Writer<>(channel, codec, buffers, size);
+            for (int i = 0; i < size; i++) {
+                writer.write((E) elements[i]);
+            }
+            writer.finish();
+        } finally {
+            releaseBuffers(buffers);
+        }
+    }
+
+    /**
+     * Читает список из канала через буфер из {@link DirectBufferPool}. Начальная вместимость списка равна
+     * количеству элементов из заголовка, но не больше {@value MAX_INITIAL_CAPACITY}: поврежденный заголовок не
+     * приводит к выделению огромного массива до чтения элементов. Канал может быть прочитан дальше конца
+     * записанного списка.
+     *
+     * @param channel канал для чтения
+     * @param codec   кодек элементов
+     * @param <E>     тип элементов
+     * @return прочитанный список
+     * @throws IOException если чтение из канала не удалось, поток записан в другом формате или поврежден
+     */
+    static <E> CustomArrayList<E> read(ReadableByteChannel channel, ElementCodec<E> codec) throws IOException {
+        ByteBuffer buffer = DirectBufferPool.acquire();
+        try {
+            Reader<E> reader = new Reader<>(channel, codec, buffer);
+            CustomArrayList<E> list = new CustomArrayList<>(
+                    Math.max(Math.min(reader.count(), MAX_INITIAL_CAPACITY), 1));
+            while (reader.hasNext()) {
+                list.add(reader.next());
+            }
+            return list;
+        } finally {
+            DirectBufferPool.release(buffer);
+        }
+    }
+
+    /**
+     * Берет из пула буферы для {@link Writer}
+     *
+     * @return {@value #GATHER_BUFFERS} буфера
+     */
+    static ByteBuffer[] acquireBuffers() {
+        ByteBuffer[] buffers = new ByteBuffer[GATHER_BUFFERS];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = DirectBufferPool.acquire();
+        }
+        return buffers;
+    }
+
+    static void releaseBuffers(ByteBuffer[] buffers) {
+        for (ByteBuffer buffer : buffers) {
+            DirectBufferPool.release(buffer);
+        }
+    }
+
+    /**
+     * <p>Потоковая запись: заголовок записывается при создании, затем элементы по одному.</p>
+     * <p>
+     * Элементы кодируются в переданные буферы по очереди. Когда заполнены все буферы, они отправляются в канал
+     * одним сборным вызовом. Буферы принадлежат вызывающему коду.
+     * </p>
+     *
+     * @param <E> тип элементов
+     */
+    static final class Writer<E> {
+
+        private final WritableByteChannel channel;
+
+        private final ElementCodec<E> codec;
+
+        private final ByteBuffer[] buffers;
+
+        private ByteBuffer buffer;
+
+        private int current;
+
+        private int remaining;
+
+        /**
+         * Создает запись и кодирует заголовок
+         *
+         * @param channel канал для записи
+         * @param codec   кодек элементов
+         * @param buffers очищенные буферы (не меньше одного, емкостью не меньше {@value #MAX_CODEC_BYTES} байт)
+         * @param count   количество элементов, которое будет записано
+         * @throws IllegalArgumentException если идентификатор кодека длиннее {@value #MAX_CODEC_BYTES} байт
+         */
+        Writer(WritableByteChannel channel, ElementCodec<E> codec, ByteBuffer[] buffers, int count) {
+            byte[] id = codec.id().getBytes(StandardCharsets.UTF_8);
+            if (id.length > MAX_CODEC_BYTES) {
+                throw new IllegalArgumentException("Element codec id is longer than " + MAX_CODEC_BYTES + " bytes");
+            }
+
+            this.channel = channel;
+            this.codec = codec;
+            this.buffers = buffers;
+            this.buffer = buffers[0];
+            this.remaining = count;
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putShort((short) id.length).put(id);
+        }
+
+        /**
+         * Записывает следующий элемент
+         *
+         * @param element элемент (может быть {@code null})
+         * @throws IOException           если запись в канал не удалась
+         * @throws IllegalStateException если записано больше элементов, чем объявлено в заголовке, или кодек
+         *                               записал не столько байт, сколько вернул
+         *                               {@link ElementCodec#encodedSize(Object)}
+         */
+        void write(E element) throws IOException {
+            if (remaining-- == 0) {
+                throw new IllegalStateException("More elements than declared in the header");
+            }
+
+            int length = element == null ? 0 : codec.encodedSize(element);
+            int maxRecordBytes = MAX_VAR_INT_BYTES + length;
+
+            if (buffer.remaining() < maxRecordBytes) {
+                if (maxRecordBytes > buffer.capacity()) {
+                    // Элемент больше буфера записывается через отдельный буфер
+                    flush(channel, buffers, current + 1);
+                    current = 0;
+                    buffer = buffers[0];
+
+                    ByteBuffer large = ByteBuffer.allocate(maxRecordBytes);
+                    putRecord(large, element, length, codec);
+                    writeFully(channel, large.flip());
+                    return;
+                }
+
+                if (++current == buffers.length) {
+                    flush(channel, buffers, current);
+                    current = 0;
+                }
+                buffer = buffers[current];
+            }
+
+            putRecord(buffer, element, length, codec);
+        }
+
+        /**
+         * Отправляет в канал оставшиеся данные
+         *
+         * @throws IOException           если запись в канал не удалась
+         * @throws IllegalStateException если записано меньше элементов, чем объявлено в заголовке
+         */
+        void finish() throws IOException {
+            if (remaining != 0) {
+                throw new IllegalStateException(remaining + " elements declared in the header are not written");
+            }
+
+            flush(channel, buffers, current + 1);
+            current = 0;
+            buffer = buffers[0];
+        }
+    }
+
+    /**
+     * <p>Потоковое чтение: заголовок читается и проверяется при создании, затем элементы по одному.</p>
+     * <p>Буфер принадлежит вызывающему коду. Элемент больше буфера читается через отдельный буфер.</p>
+     *
+     * @param <E> тип элементов
+     */
+    static final class Reader<E> {
+
+        private final ReadableByteChannel channel;
+
+        private final ElementCodec<E> codec;
+
+        private final ByteBuffer buffer;
+
+        private final int count;
+
+        private int index;
+
+        /**
+         * Создает чтение и читает заголовок
+         *
+         * @param channel канал для чтения
+         * @param codec   кодек элементов
+         * @param buffer  буфер емкостью не меньше {@value #MAX_CODEC_BYTES} байт
+         * @throws IOException если поток записан в другом формате, другим кодеком или обрывается в заголовке
+         */
+        Reader(ReadableByteChannel channel, ElementCodec<E> codec, ByteBuffer buffer) throws IOException {
+            this.channel = channel;
+            this.codec = codec;
+            this.buffer = buffer.clear().flip();
+
+            fill(channel, buffer, HEADER_BYTES);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a CustomArrayList stream");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported stream version " + version);
+            }
+            int count = buffer.getInt();
+            int idLength = buffer.getShort();
+            if (count < 0 || idLength < 0 || idLength > MAX_CODEC_BYTES) {
+                throw new IOException("Corrupted stream header");
+            }
+
+            fill(channel, buffer, idLength);
+            byte[] id = new byte[idLength];
+            buffer.get(id);
+            String stored = new String(id, StandardCharsets.UTF_8);
+            if (!stored.equals(codec.id())) {
+                throw new IOException("Stream holds elements of codec " + stored + ", not " + codec.id());
+            }
+
+            this.count = count;
+        }
+
+        /**
+         * Возвращает количество элементов из заголовка
+         *
+         * @return количество элементов
+         */
+        int count() {
+            return count;
+        }
+
+        /**
+         * Проверяет, остались ли непрочитанные элементы
+         *
+         * @return {@code true}, если прочитаны не все элементы
+         */
+        boolean hasNext() {
+            return index < count;
+        }
+
+        /**
+         * Читает следующий элемент. Вызывать только если {@link #hasNext()} вернул {@code true}.
+         *
+         * @return прочитанный элемент (может быть {@code null})
+         * @throws IOException если чтение не удалось или поток поврежден
+         */
+        E next() throws IOException {
+            int prefix = getVarInt(channel, buffer);
+            index++;
+            if (prefix == 0) {
+                return null;
+            }
+
+            int length = prefix - 1;
+            ByteBuffer source = buffer;
+            if (length > buffer.capacity()) {
+                source = readLarge(channel, buffer, length);
+            } else {
+                fill(channel, buffer, length);
+            }
+
+            int limit = source.limit();
+            int end = source.position() + length;
+            source.limit(end);
+            try {
+                return codec.decode(source, length);
+            } catch (BufferUnderflowException e) {
+                throw new IOException("Corrupted element at index " + (index - 1), e);
+            } finally {
+                source.limit(limit).position(end);
+            }
+        }
+    }
+
+    private static <E> void putRecord(ByteBuffer buffer, E element, int length, ElementCodec<E> codec) {
+        if (element == null) {
+            putVarInt(buffer, 0);
+            return;
+        }
+
+        putVarInt(buffer, length + 1);
+        int start = buffer.position();
+        codec.encode(element, buffer);
+        if (buffer.position() - start != length) {
+            throw new IllegalStateException("Codec " + codec.id() + " wrote " + (buffer.position() - start)
+                    + " bytes, but declared " + length);
+        }
+    }
+
+    /**
+     * Отправляет в канал первые {@code count} буферов и очищает их
+     */
+    private static void flush(WritableByteChannel channel, ByteBuffer[] buffers, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            buffers[i].flip();
+        }
+
+        if (channel instanceof GatheringByteChannel gathering) {
+            // Буферы записываются по порядку: пока в последнем есть данные, запись не завершена
+            while (buffers[count - 1].hasRemaining()) {
+                gathering.write(buffers, 0, count);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                writeFully(channel, buffers[i]);
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            buffers[i].clear();
+        }
+    }
+
+    private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Дочитывает из канала данные так, чтобы в буфере (в режиме чтения) осталось не меньше {@code bytes} байт
+     */
+    private static void fill(ReadableByteChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Unexpected end of stream");
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Читает элемент, который не помещается в буфер пула, в отдельный буфер
+     */
+    private static ByteBuffer readLarge(ReadableByteChannel channel, ByteBuffer buffer, int length)
+            throws IOException {
+        ByteBuffer large = ByteBuffer.allocate(length);
+        large.put(buffer);
+        while (large.hasRemaining()) {
+            if (channel.read(large) < 0) {
+                throw new EOFException("Unexpected end of stream");
+            }
+        }
+        return large.flip();
+    }
+
+    private static int getVarInt(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 7 * MAX_VAR_INT_BYTES; shift += 7) {
+            fill(channel, buffer, 1);
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupted variable-length integer");
+    }
+
+    /**
+     * Записывает неотрицательное (как беззнаковое) целое по 7 бит на байт, старший бит - признак продолжения
+     *
+     * @param buffer буфер
+     * @param value  значение
+     */
+    static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Читает целое, записанное {@link #putVarInt(ByteBuffer, int)}
+     *
+     * @param buffer буфер
+     * @return значение
+     */
+    static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Возвращает количество байт, которое займет значение в {@link #putVarInt(ByteBuffer, int)}
+     *
+     * @param value значение
+     * @return от 1 до 5 байт
+     */
+    static int varIntSize(int value) {
+        return value == 0 ? 1 : (31 - Integer.numberOfLeadingZeros(value)) / 7 + 1;
+    }
+
+    /**
+     * Переводит знаковое целое в беззнаковое так, что маленькие по модулю значения занимают мало байт
+     */
+    static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Возвращает длину строки в UTF-8, не кодируя ее
+     *
+     * @param value строка
+     * @return количество байт
+     */
+    static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    // Пара суррогатов - 4 байта на 2 символа; одиночный суррогат записывается как '?'
+                    bytes += 2;
+                    i++;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Записывает строку в UTF-8 прямо в буфер, без промежуточного массива байт. Одиночный суррогат кодируется как
+     * {@code '?'}, как в {@link String#getBytes(java.nio.charset.Charset)}.
+     *
+     * @param buffer буфер
+     * @param value  строка
+     */
+    static void putUtf8(ByteBuffer buffer, String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer.put((byte) (0xF0 | codePoint >> 18)).put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                            .put((byte) (0x80 | codePoint >> 6 & 0x3F)).put((byte) (0x80 | codePoint & 0x3F));
+                } else {
+                    buffer.put((byte) '?');
+                }
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package main;
+
+import java.util.Comparator;
+
+/**
+ * <p>Ограниченная куча для выбора {@code k} наименьших элементов потока за один проход.</p>
+ * <p>
+ * Куча хранит не больше {@code k} элементов, в корне - наибольший из них. Новый элемент сравнивается с корнем и
+ * заменяет его, только если он меньше, поэтому выбор занимает O(n log k) времени и O(k) памяти, а большинство
+ * элементов длинного потока отсеивается одним сравнением.
+ * </p>
+ *
+ * @param <E> тип элементов
+ */
+final class BoundedHeap<E> {
+
+    private final Object[] heap;
+
+    private final Comparator<? super E> comparator;
+
+    private int size;
+
+    /**
+     * Создает пустую кучу
+     *
+     * @param k          наибольшее количество элементов в куче
+     * @param comparator объект, реализующий логику сравнения элементов
+     */
+    BoundedHeap(int k, Comparator<? super E> comparator) {
+        this.heap = new Object[k];
+        this.comparator = comparator;
+    }
+
+    /**
+     * Добавляет элемент, если куча не заполнена или элемент меньше наибольшего элемента кучи
+     *
+     * @param element элемент потока
+     */
+    void offer(E element) {
+        if (size < heap.length) {
+            siftUp(size++, element);
+        } else if (size > 0 && comparator.compare(element, element(0)) < 0) {
+            siftDown(0, element, size);
+        }
+    }
+
+    /**
+     * Переносит элементы кучи в новый список по возрастанию (пирамидальная сортировка кучи). Куча после вызова
+     * не используется.
+     *
+     * @return список выбранных элементов по возрастанию
+     */
+    CustomArrayList<E> toSortedList() {
+        for (int end = size - 1; end > 0; end--) {
+            E last = element(end);
+            heap[end] = heap[0];
+            siftDown(0, last, end);
+        }
+
+        CustomArrayList<E> result = new CustomArrayList<>(Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            result.add(element(i));
+        }
+        return result;
+    }
+
+    private void siftUp(int index, E element) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (comparator.compare(element, element(parent)) <= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = element;
+    }
+
+    private void siftDown(int index, E element, int length) {
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= length) {
+                break;
+            }
+            if (child + 1 < length && comparator.compare(element(child), element(child + 1)) < 0) {
+                child++;
+            }
+            if (comparator.compare(element, element(child)) >= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = element;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E element(int index) {
+        return (E) heap[index];
+    }
+}
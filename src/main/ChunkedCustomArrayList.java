@@ -0,0 +1,403 @@
+package main;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * <p>Основа списков, хранящих элементы фиксированного размера в {@link ByteBuffer} вне кучи Java.</p>
+ * <p>
+ * Элементы сериализуются с помощью {@link ElementLayout}. Буферы делятся на блоки ("чанки") одинаковой
+ * вместимости: при росте большого списка добавляется новый блок, а уже записанные данные не переносятся. Пока
+ * список помещается в один блок, блок увеличивается согласно {@link GrowthPolicy}. Откуда берутся блоки,
+ * определяет наследник ({@link #resizeChunk(int, ByteBuffer, int)}).
+ * </p>
+ *
+ * @param <E> тип элементов списка
+ * @see OffHeapCustomArrayList
+ * @see MappedCustomArrayList
+ */
+abstract class ChunkedCustomArrayList<E> implements AutoCloseable {
+
+    /**
+     * Максимальный размер одного блока в байтах
+     */
+    private static final int MAX_CHUNK_BYTES = 1 << 30;
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    final ElementLayout<E> layout;
+
+    final int elementBytes;
+
+    private final int chunkShift;
+
+    private final int chunkMask;
+
+    private final GrowthPolicy growthPolicy = GrowthPolicy.factor(1.5);
+
+    ByteBuffer[] chunks;
+
+    int chunkCount;
+
+    private int capacity;
+
+    int size;
+
+    private final byte[] swapBuffer;
+
+    /**
+     * Создает пустой список без блоков. Наследник выделяет блоки вызовом {@link #ensureCapacity(int)} после
+     * собственной инициализации.
+     *
+     * @param layout        описание хранения элементов
+     * @param chunkElements количество элементов в одном блоке (степень двойки)
+     * @throws IllegalArgumentException если {@code chunkElements} не является степенью двойки или блок не
+     *                                  помещается в {@link ByteBuffer}
+     */
+    ChunkedCustomArrayList(ElementLayout<E> layout, int chunkElements) {
+        if (chunkElements <= 0 || Integer.bitCount(chunkElements) != 1) {
+            throw new IllegalArgumentException("Chunk elements must be a power of two");
+        }
+        if ((long) chunkElements * layout.byteSize() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Chunk does not fit into a byte buffer");
+        }
+
+        this.layout = layout;
+        this.elementBytes = layout.byteSize();
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkElements);
+        this.chunkMask = chunkElements - 1;
+        this.swapBuffer = new byte[2 * elementBytes];
+        this.chunks = new ByteBuffer[1];
+    }
+
+    /**
+     * Возвращает наибольшее количество элементов в блоке, при котором блок не превышает
+     * {@value MAX_CHUNK_BYTES} байт
+     *
+     * @param layout описание хранения элементов
+     * @return количество элементов в блоке
+     */
+    static int defaultChunkElements(ElementLayout<?> layout) {
+        return Integer.highestOneBit(MAX_CHUNK_BYTES / Math.max(layout.byteSize(), 1));
+    }
+
+    /**
+     * Добавляет элемент в конец списка
+     *
+     * @param element элемент для добавления в список
+     * @throws IllegalStateException если список закрыт
+     */
+    public void add(E element) {
+        checkOpen();
+
+        if (size == capacity) {
+            ensureCapacity(size + 1);
+        }
+
+        write(size, element);
+        size++;
+    }
+
+    /**
+     * Возвращает элемент списка по указанному индексу. Каждый вызов создает новый объект элемента.
+     *
+     * @param index индекс возвращаемого элемента
+     * @return элемент списка по указанному индексу
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше либо равно {@code size()}
+     * @throws IllegalStateException     если список закрыт
+     */
+    public E get(int index) {
+        checkOpen();
+        Objects.checkIndex(index, size);
+
+        return read(index);
+    }
+
+    /**
+     * Устанавливает значение элемента по указанному индексу
+     *
+     * @param index   индекс элемента, значение которого будет изменено
+     * @param element элемент, который будет установлен по указанному {@code index}
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше либо равно {@code size()}
+     * @throws IllegalStateException     если список закрыт
+     */
+    public void set(int index, E element) {
+        checkOpen();
+        Objects.checkIndex(index, size);
+
+        write(index, element);
+    }
+
+    /**
+     * <p>Сортирует элементы в списке в зависимости от реализации {@code comparator}</p>
+     * <p>
+     * Элементы переставляются копированием байтов, без десериализации. Для сравнения элементы читаются из
+     * буфера. Используется quicksort с медианой трех, сортировкой вставками для маленьких подмассивов и
+     * пирамидальной сортировкой при слишком глубокой рекурсии.
+     * </p>
+     *
+     * @param comparator объект, реализующий логику сравнения объектов
+     * @throws IllegalStateException если список закрыт
+     */
+    public void sort(Comparator<E> comparator) {
+        checkOpen();
+
+        beforeWrite(0, size);
+        quickSort(0, size - 1, comparator, 2 * (32 - Integer.numberOfLeadingZeros(Math.max(size, 1))));
+    }
+
+    /**
+     * Возвращает количество добавленных элементов в список
+     *
+     * @return размер списка (количество добавленных элементов)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает текущую вместимость списка
+     *
+     * @return вместимость списка
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Полностью очищает список, не изменяя его {@code capacity}
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Отпускает блоки списка. После вызова любые операции со списком завершаются {@link IllegalStateException}.
+     */
+    void releaseChunks() {
+        chunks = null;
+        chunkCount = 0;
+        capacity = 0;
+        size = 0;
+    }
+
+    /**
+     * Увеличивает вместимость списка до {@code minCapacity}: сначала увеличивает последний неполный блок, затем
+     * добавляет новые полные блоки
+     *
+     * @param minCapacity минимальная необходимая вместимость
+     * @throws IllegalStateException если {@code minCapacity} превышает максимальную вместимость
+     */
+    void ensureCapacity(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new IllegalStateException("Capacity limit exceeded");
+        }
+
+        int chunkElements = chunkMask + 1;
+
+        while (capacity < minCapacity) {
+            ByteBuffer last = chunkCount == 0 ? null : chunks[chunkCount - 1];
+            int lastCapacity = last == null ? 0 : last.capacity() / elementBytes;
+
+            if (last != null && lastCapacity < chunkElements) {
+                int required = lastCapacity + minCapacity - capacity;
+                int grown = Math.max(growthPolicy.newCapacity(lastCapacity, required), required);
+                chunks[chunkCount - 1] = resizeChunk(chunkCount - 1, last, Math.min(grown, chunkElements));
+            } else {
+                if (chunkCount == chunks.length) {
+                    chunks = Arrays.copyOf(chunks, chunkCount * 2);
+                }
+                int elements = chunkCount == 0 ? Math.min(minCapacity, chunkElements) : chunkElements;
+                chunks[chunkCount] = resizeChunk(chunkCount, null, elements);
+                chunkCount++;
+            }
+
+            capacity = (int) Math.min(Integer.MAX_VALUE, (long) (chunkCount - 1) * chunkElements
+                    + chunks[chunkCount - 1].capacity() / elementBytes);
+        }
+    }
+
+    /**
+     * Создает новый блок или увеличивает существующий. Содержимое существующего блока должно сохраниться.
+     *
+     * @param chunkIndex номер блока
+     * @param current    текущий блок или {@code null}, если блок создается
+     * @param elements   новая вместимость блока в элементах
+     * @return блок вместимостью {@code elements} элементов
+     */
+    abstract ByteBuffer resizeChunk(int chunkIndex, ByteBuffer current, int elements);
+
+    /**
+     * Закрывает список и отпускает блоки. Повторный вызов ничего не делает. Метод не объявляет проверяемых
+     * исключений, поэтому список можно закрывать в {@code try-with-resources} без обработки {@link Exception}.
+     */
+    @Override
+    public abstract void close();
+
+    /**
+     * Вызывается перед изменением байтов элементов {@code [fromIndex, toIndex)} на месте (запись элемента или
+     * сортировка). Наследник может сохранить прежнее содержимое, по умолчанию ничего не делает.
+     *
+     * @param fromIndex индекс первого изменяемого элемента
+     * @param toIndex   индекс, следующий за последним изменяемым элементом
+     */
+    void beforeWrite(int fromIndex, int toIndex) {
+    }
+
+    /**
+     * Копирует байты элементов {@code [fromIndex, fromIndex + count)} в {@code target}. Элементы должны лежать в
+     * одном блоке.
+     */
+    void readBytes(int fromIndex, int count, byte[] target) {
+        chunks[fromIndex >>> chunkShift].get((fromIndex & chunkMask) * elementBytes, target, 0, count * elementBytes);
+    }
+
+    /**
+     * Записывает байты элементов {@code [fromIndex, fromIndex + count)} из {@code source}. Элементы должны лежать в
+     * одном блоке.
+     */
+    void writeBytes(int fromIndex, int count, byte[] source) {
+        chunks[fromIndex >>> chunkShift].put((fromIndex & chunkMask) * elementBytes, source, 0, count * elementBytes);
+    }
+
+    /**
+     * Возвращает количество элементов в блоке
+     *
+     * @return количество элементов в блоке
+     */
+    int chunkElements() {
+        return chunkMask + 1;
+    }
+
+    private E read(int index) {
+        return layout.read(chunks[index >>> chunkShift], (index & chunkMask) * elementBytes);
+    }
+
+    private void write(int index, E element) {
+        beforeWrite(index, index + 1);
+        layout.write(chunks[index >>> chunkShift], (index & chunkMask) * elementBytes, element);
+    }
+
+    /**
+     * Меняет местами элементы, копируя их байты
+     */
+    private void swap(int i, int j) {
+        ByteBuffer first = chunks[i >>> chunkShift];
+        ByteBuffer second = chunks[j >>> chunkShift];
+        int firstOffset = (i & chunkMask) * elementBytes;
+        int secondOffset = (j & chunkMask) * elementBytes;
+
+        first.get(firstOffset, swapBuffer, 0, elementBytes);
+        second.get(secondOffset, swapBuffer, elementBytes, elementBytes);
+        first.put(firstOffset, swapBuffer, elementBytes, elementBytes);
+        second.put(secondOffset, swapBuffer, 0, elementBytes);
+    }
+
+    private void quickSort(int start, int end, Comparator<E> comparator, int depth) {
+        while (end - start > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(start, end, comparator);
+                return;
+            }
+
+            int rightSubArrayStart = split(start, end, comparator);
+
+            if (rightSubArrayStart - start < end - rightSubArrayStart) {
+                quickSort(start, rightSubArrayStart - 1, comparator, depth);
+                start = rightSubArrayStart;
+            } else {
+                quickSort(rightSubArrayStart, end, comparator, depth);
+                end = rightSubArrayStart - 1;
+            }
+        }
+
+        insertionSort(start, end, comparator);
+    }
+
+    /**
+     * Разделяет подмассив {@code [left, right]} относительно медианы первого, среднего и последнего элементов
+     * (см. описание {@code split} в {@link QuickSort})
+     *
+     * @return начало правого подмассива
+     */
+    private int split(int left, int right, Comparator<E> comparator) {
+        int middle = (left + right) >>> 1;
+        E first = read(left);
+        E center = read(middle);
+        E last = read(right);
+
+        E pivot;
+        if (comparator.compare(first, center) < 0) {
+            pivot = comparator.compare(center, last) < 0 ? center : comparator.compare(first, last) < 0 ? last : first;
+        } else {
+            pivot = comparator.compare(first, last) < 0 ? first : comparator.compare(center, last) < 0 ? last : center;
+        }
+
+        while (left <= right) {
+            while (comparator.compare(read(left), pivot) < 0) {
+                left++;
+            }
+
+            while (comparator.compare(read(right), pivot) > 0) {
+                right--;
+            }
+
+            if (left <= right) {
+                swap(left, right);
+                left++;
+                right--;
+            }
+        }
+
+        return left;
+    }
+
+    private void insertionSort(int start, int end, Comparator<E> comparator) {
+        for (int i = start + 1; i <= end; i++) {
+            for (int j = i; j > start && comparator.compare(read(j - 1), read(j)) > 0; j--) {
+                swap(j - 1, j);
+            }
+        }
+    }
+
+    private void heapSort(int start, int end, Comparator<E> comparator) {
+        int length = end - start + 1;
+
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(start, i, length, comparator);
+        }
+
+        for (int last = length - 1; last > 0; last--) {
+            swap(start, start + last);
+            siftDown(start, 0, last, comparator);
+        }
+    }
+
+    private void siftDown(int offset, int root, int length, Comparator<E> comparator) {
+        while (true) {
+            int child = 2 * root + 1;
+            if (child >= length) {
+                return;
+            }
+
+            if (child + 1 < length && comparator.compare(read(offset + child), read(offset + child + 1)) < 0) {
+                child++;
+            }
+
+            if (comparator.compare(read(offset + root), read(offset + child)) >= 0) {
+                return;
+            }
+
+            swap(offset + root, offset + child);
+            root = child;
+        }
+    }
+
+    void checkOpen() {
+        if (chunks == null) {
+            throw new IllegalStateException("List is closed");
+        }
+    }
+}
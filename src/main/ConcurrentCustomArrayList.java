@@ -0,0 +1,395 @@
+package main;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * <p>Потокобезопасный вариант {@link CustomArrayList}.</p>
+ * <p>
+ * Чтение ({@link #get(int)}, {@link #size()}) выполняется без блокировки: значения читаются в режиме оптимистичного
+ * чтения {@link StampedLock} и перепроверяются. Блокировка на чтение берется, только если во время чтения список
+ * изменился. Все изменения списка выполняются под блокировкой на запись, поэтому составные операции
+ * ({@link #addIfAbsent(Object)}, {@link #compareAndSet(int, Object, Object)}, {@link #update(int, UnaryOperator)})
+ * атомарны.
+ * </p>
+ *
+ * @param <E> тип элементов списка
+ */
+public class ConcurrentCustomArrayList<E> {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private final StampedLock lock = new StampedLock();
+
+    private GrowthPolicy growthPolicy = GrowthPolicy.factor(1.5);
+
+    private Object[] elements;
+
+    private int size;
+
+    /**
+     * Создает новый список со стандартным размером ({@value DEFAULT_CAPACITY} элементов)
+     */
+    public ConcurrentCustomArrayList() {
+        elements = new Object[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Создает новый список указанного размера
+     *
+     * @param capacity размер списка
+     * @throws IllegalArgumentException если значение {@code capacity} меньше или равно нулю
+     */
+    public ConcurrentCustomArrayList(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be a positive integer");
+        }
+
+        elements = new Object[capacity];
+    }
+
+    /**
+     * Атомарно добавляет элемент в конец списка
+     *
+     * @param element элемент для добавления в список
+     * @return индекс, по которому был добавлен элемент
+     */
+    public int add(E element) {
+        long stamp = lock.writeLock();
+        try {
+            return append(element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Атомарно добавляет элемент в список по указанному индексу
+     *
+     * @param index   место вставки элемента
+     * @param element элемент для добавления в список
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше {@code size()}
+     */
+    public void add(int index, E element) {
+        long stamp = lock.writeLock();
+        try {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", but size is: " + size);
+            }
+
+            ensureCapacity(size + 1);
+            System.arraycopy(elements, index, elements, index + 1, size - index);
+            elements[index] = element;
+            size++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Атомарно добавляет элемент в конец списка, если его еще нет в списке
+     *
+     * @param element элемент для добавления в список
+     * @return {@code true}, если элемент был добавлен
+     */
+    public boolean addIfAbsent(E element) {
+        long stamp = lock.writeLock();
+        try {
+            if (indexOf(element) >= 0) {
+                return false;
+            }
+
+            append(element);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Возвращает элемент списка по указанному индексу без блокировки, если список в это время не изменялся
+     *
+     * @param index индекс возвращаемого элемента
+     * @return элемент списка по указанному индексу
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше либо равно {@code size()}
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        long stamp = lock.tryOptimisticRead();
+        Object[] snapshot = elements;
+        int currentSize = size;
+        // Без блокировки массив и размер могут быть несогласованы, поэтому границы проверяются по обоим
+        Object element = index >= 0 && index < currentSize && index < snapshot.length ? snapshot[index] : null;
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                checkIndex(index, size);
+                return (E) elements[index];
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        checkIndex(index, currentSize);
+        return (E) element;
+    }
+
+    /**
+     * Атомарно устанавливает значение элемента по указанному индексу
+     *
+     * @param index   индекс элемента, значение которого будет изменено
+     * @param element элемент, который будет установлен по указанному {@code index}
+     * @return предыдущий элемент
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше либо равно {@code size()}
+     */
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        long stamp = lock.writeLock();
+        try {
+            checkIndex(index, size);
+
+            E previous = (E) elements[index];
+            elements[index] = element;
+            return previous;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Атомарно заменяет элемент по указанному индексу, если текущий элемент совпадает с {@code expected}
+     * (сравнение по ссылке)
+     *
+     * @param index    индекс элемента
+     * @param expected ожидаемый текущий элемент
+     * @param element  новый элемент
+     * @return {@code true}, если элемент был заменен
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше либо равно {@code size()}
+     */
+    public boolean compareAndSet(int index, E expected, E element) {
+        long stamp = lock.writeLock();
+        try {
+            checkIndex(index, size);
+
+            if (elements[index] != expected) {
+                return false;
+            }
+
+            elements[index] = element;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Атомарно заменяет элемент по указанному индексу результатом функции {@code updater}
+     *
+     * @param index   индекс элемента
+     * @param updater функция, вычисляющая новый элемент по текущему
+     * @return новый элемент
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше либо равно {@code size()}
+     */
+    @SuppressWarnings("unchecked")
+    public E update(int index, UnaryOperator<E> updater) {
+        long stamp = lock.writeLock();
+        try {
+            checkIndex(index, size);
+
+            E updated = updater.apply((E) elements[index]);
+            elements[index] = updated;
+            return updated;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Атомарно удаляет первое вхождение элемента из списка при наличии
+     *
+     * @param element элемент, который нужно удалить
+     * @return {@code true}, если элемент был найден и удален
+     */
+    public boolean remove(E element) {
+        long stamp = lock.writeLock();
+        try {
+            int index = indexOf(element);
+            if (index < 0) {
+                return false;
+            }
+
+            fastRemove(index);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Атомарно удаляет элемент из списка по указанному индексу
+     *
+     * @param index индекс элемента, который нужно удалить
+     * @return удаленный элемент
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше либо равно {@code size()}
+     */
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        long stamp = lock.writeLock();
+        try {
+            checkIndex(index, size);
+
+            E removed = (E) elements[index];
+            fastRemove(index);
+            return removed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Сортирует элементы в списке. Во время сортировки список заблокирован на запись.
+     *
+     * @param comparator объект, реализующий логику сравнения объектов
+     */
+    public void sort(Comparator<E> comparator) {
+        long stamp = lock.writeLock();
+        try {
+            QuickSort.sort(elements, 0, size, comparator);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Возвращает согласованную копию списка
+     *
+     * @return новый {@link CustomArrayList} с элементами списка
+     */
+    @SuppressWarnings("unchecked")
+    public CustomArrayList<E> snapshot() {
+        long stamp = lock.readLock();
+        try {
+            CustomArrayList<E> copy = new CustomArrayList<>(Math.max(size, 1));
+            copy.addAll((E[]) elements, 0, size);
+            return copy;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Возвращает количество добавленных элементов в список
+     *
+     * @return размер списка (количество добавленных элементов)
+     */
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int currentSize = size;
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                currentSize = size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        return currentSize;
+    }
+
+    /**
+     * Возвращает текущую вместимость списка
+     *
+     * @return вместимость списка
+     */
+    public int capacity() {
+        long stamp = lock.readLock();
+        try {
+            return elements.length;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Устанавливает стратегию увеличения вместимости списка
+     *
+     * @param growthPolicy стратегия увеличения
+     */
+    public void setGrowthPolicy(GrowthPolicy growthPolicy) {
+        Objects.requireNonNull(growthPolicy);
+
+        long stamp = lock.writeLock();
+        try {
+            this.growthPolicy = growthPolicy;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Полностью очищает список, не изменяя его {@code capacity}
+     */
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            Arrays.fill(elements, 0, size, null);
+            size = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private int append(E element) {
+        ensureCapacity(size + 1);
+        elements[size] = element;
+        return size++;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            int newCapacity = Math.max(growthPolicy.newCapacity(elements.length, minCapacity), minCapacity);
+            elements = Arrays.copyOf(elements, newCapacity);
+        }
+    }
+
+    private int indexOf(Object element) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(element, elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void fastRemove(int index) {
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        elements[--size] = null;
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", but size is: " + size);
+        }
+    }
+
+    /**
+     * Переопределяет строковое представление объекта {@link ConcurrentCustomArrayList}
+     *
+     * @return строковое представление добавленных элементов
+     */
+    @Override
+    public String toString() {
+        long stamp = lock.readLock();
+        try {
+            return Arrays.toString(Arrays.copyOf(elements, size));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
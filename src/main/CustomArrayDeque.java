@@ -0,0 +1,441 @@
+package main;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * <p>Двусторонняя очередь на кольцевом буфере - спутник {@link CustomArrayList} для очередей задач.</p>
+ * <p>
+ * Элементы занимают {@code size} ячеек массива, начиная с {@code head}, и при достижении конца массива продолжаются
+ * с его начала. Поэтому {@link #addFirst(Object)}, {@link #addLast(Object)}, {@link #pollFirst()},
+ * {@link #pollLast()} и {@link #get(int)} выполняются за {@code O(1)}: элементы никогда не сдвигаются. Вместимость
+ * увеличивается по той же стратегии ({@link GrowthPolicy}), что и у {@link CustomArrayList}; при увеличении и
+ * массовом копировании элементы переносятся не более чем двумя {@code arraycopy}.
+ * </p>
+ * <p>
+ * Итератор быстро завершается с ошибкой (fail-fast), если очередь структурно изменена во время обхода.
+ * </p>
+ *
+ * @param <E> тип элементов очереди
+ */
+public class CustomArrayDeque<E> implements Iterable<E> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private static final double INCREASE_FACTOR = 1.5;
+
+    private Object[] elements;
+
+    /**
+     * Индекс первого элемента в массиве
+     */
+    private int head;
+
+    private int size;
+
+    private GrowthPolicy growthPolicy = GrowthPolicy.factor(INCREASE_FACTOR);
+
+    private int maxCapacity = GrowthPolicy.MAX_ARRAY_LENGTH;
+
+    private int modCount;
+
+    /**
+     * Создает новую очередь со стандартным размером ({@value DEFAULT_CAPACITY} элементов)
+     */
+    public CustomArrayDeque() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создает новую очередь указанного размера
+     *
+     * @param capacity размер очереди
+     * @throws IllegalArgumentException если значение {@code capacity} меньше или равно нулю
+     */
+    public CustomArrayDeque(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be a positive integer");
+        }
+
+        elements = new Object[capacity];
+    }
+
+    /**
+     * Добавляет элемент в начало очереди
+     *
+     * @param element элемент для добавления
+     * @throws IllegalStateException если очередь уже достигла максимальной вместимости
+     */
+    public void addFirst(E element) {
+        if (size == elements.length) {
+            increase(size + 1);
+        }
+
+        modCount++;
+        head = dec(head);
+        elements[head] = element;
+        size++;
+    }
+
+    /**
+     * Добавляет элемент в конец очереди
+     *
+     * @param element элемент для добавления
+     * @throws IllegalStateException если очередь уже достигла максимальной вместимости
+     */
+    public void addLast(E element) {
+        if (size == elements.length) {
+            increase(size + 1);
+        }
+
+        modCount++;
+        elements[physical(size)] = element;
+        size++;
+    }
+
+    /**
+     * <p>Добавляет в конец очереди элементы массива из диапазона {@code [fromIndex, toIndex)}.</p>
+     * <p>Вместимость увеличивается не более одного раза, элементы копируются не более чем двумя {@code arraycopy}:
+     * до конца массива очереди и с его начала.</p>
+     *
+     * @param array     массив с элементами для добавления
+     * @param fromIndex индекс первого добавляемого элемента массива
+     * @param toIndex   индекс, следующий за последним добавляемым элементом массива
+     * @return {@code true}, если очередь изменилась
+     * @throws IndexOutOfBoundsException если диапазон выходит за границы массива
+     * @throws IllegalStateException     если элементы не помещаются в максимальную вместимость очереди
+     */
+    public boolean addAll(E[] array, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+
+        int count = toIndex - fromIndex;
+        if (count == 0) {
+            return false;
+        }
+
+        int minCapacity = size + count;
+        if (minCapacity < 0 || minCapacity > elements.length) {
+            increase(minCapacity);
+        }
+
+        modCount++;
+        int tail = physical(size);
+        int first = Math.min(count, elements.length - tail);
+        System.arraycopy(array, fromIndex, elements, tail, first);
+        System.arraycopy(array, fromIndex + first, elements, 0, count - first);
+        size += count;
+
+        return true;
+    }
+
+    /**
+     * Удаляет и возвращает первый элемент очереди
+     *
+     * @return первый элемент или {@code null}, если очередь пуста
+     */
+    @SuppressWarnings("unchecked")
+    public E pollFirst() {
+        if (size == 0) {
+            return null;
+        }
+
+        modCount++;
+        E element = (E) elements[head];
+        elements[head] = null;
+        head = inc(head);
+        size--;
+        return element;
+    }
+
+    /**
+     * Удаляет и возвращает последний элемент очереди
+     *
+     * @return последний элемент или {@code null}, если очередь пуста
+     */
+    @SuppressWarnings("unchecked")
+    public E pollLast() {
+        if (size == 0) {
+            return null;
+        }
+
+        modCount++;
+        int last = physical(size - 1);
+        E element = (E) elements[last];
+        elements[last] = null;
+        size--;
+        return element;
+    }
+
+    /**
+     * Возвращает первый элемент очереди, не удаляя его
+     *
+     * @return первый элемент или {@code null}, если очередь пуста
+     */
+    @SuppressWarnings("unchecked")
+    public E peekFirst() {
+        return size == 0 ? null : (E) elements[head];
+    }
+
+    /**
+     * Возвращает последний элемент очереди, не удаляя его
+     *
+     * @return последний элемент или {@code null}, если очередь пуста
+     */
+    @SuppressWarnings("unchecked")
+    public E peekLast() {
+        return size == 0 ? null : (E) elements[physical(size - 1)];
+    }
+
+    /**
+     * Возвращает элемент очереди по указанному индексу (от начала очереди)
+     *
+     * @param index индекс возвращаемого элемента
+     * @return элемент очереди по указанному индексу
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше либо равно {@code size()}
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+
+        return (E) elements[physical(index)];
+    }
+
+    /**
+     * Устанавливает значение элемента по указанному индексу (от начала очереди)
+     *
+     * @param index   индекс элемента, значение которого будет изменено
+     * @param element элемент, который будет установлен по указанному {@code index}
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше либо равно {@code size()}
+     */
+    public void set(int index, E element) {
+        checkIndex(index);
+
+        elements[physical(index)] = element;
+    }
+
+    /**
+     * <p>Сортирует элементы очереди с помощью {@link QuickSort} (нестабильная сортировка).</p>
+     * <p>
+     * Если элементы переходят через конец массива, они сначала собираются в один непрерывный участок: участок от
+     * {@code head} до конца массива переносится вплотную за участком в начале массива. Порядок элементов перед
+     * сортировкой не важен, поэтому переносится только один участок и дополнительная память не выделяется.
+     * </p>
+     *
+     * @param comparator объект, реализующий логику сравнения объектов
+     */
+    public void sort(Comparator<? super E> comparator) {
+        Objects.requireNonNull(comparator);
+
+        modCount++;
+        if (head + size > elements.length) {
+            int headLength = elements.length - head;
+            int tailLength = size - headLength;
+            System.arraycopy(elements, head, elements, tailLength, headLength);
+            Arrays.fill(elements, Math.max(head, size), elements.length, null);
+            head = 0;
+        }
+
+        QuickSort.sort(elements, head, head + size, comparator);
+    }
+
+    /**
+     * Копирует элементы очереди в новый массив в порядке от начала к концу
+     *
+     * @return массив длиной {@code size()} с элементами очереди
+     */
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        copyTo(array);
+        return array;
+    }
+
+    /**
+     * Полностью очищает очередь, не изменяя ее вместимости. Обнуляются только занятые ячейки.
+     */
+    public void clear() {
+        modCount++;
+        int end = head + size;
+        if (end <= elements.length) {
+            Arrays.fill(elements, head, end, null);
+        } else {
+            Arrays.fill(elements, head, elements.length, null);
+            Arrays.fill(elements, 0, end - elements.length, null);
+        }
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Возвращает количество элементов в очереди
+     *
+     * @return размер очереди
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет, пуста ли очередь
+     *
+     * @return {@code true}, если в очереди нет элементов
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Возвращает текущую вместимость очереди
+     *
+     * @return вместимость очереди
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Возвращает стратегию увеличения вместимости очереди
+     *
+     * @return стратегия увеличения
+     */
+    public GrowthPolicy getGrowthPolicy() {
+        return growthPolicy;
+    }
+
+    /**
+     * Устанавливает стратегию увеличения вместимости очереди
+     *
+     * @param growthPolicy стратегия увеличения
+     */
+    public void setGrowthPolicy(GrowthPolicy growthPolicy) {
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+    }
+
+    /**
+     * Возвращает максимальную вместимость очереди
+     *
+     * @return максимальная вместимость
+     */
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    /**
+     * Устанавливает максимальную вместимость очереди
+     *
+     * @param maxCapacity максимальная вместимость
+     * @throws IllegalArgumentException если значение {@code maxCapacity} меньше текущей вместимости очереди
+     */
+    public void setMaxCapacity(int maxCapacity) {
+        if (maxCapacity < capacity()) {
+            throw new IllegalArgumentException("Max capacity must not be less than current capacity");
+        }
+
+        this.maxCapacity = maxCapacity;
+    }
+
+    /**
+     * Возвращает итератор по элементам очереди от начала к концу
+     *
+     * @return итератор по элементам очереди
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+
+            private int cursor;
+
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (cursor >= size) {
+                    throw new NoSuchElementException();
+                }
+
+                return (E) elements[physical(cursor++)];
+            }
+        };
+    }
+
+    /**
+     * Увеличивает вместимость очереди согласно {@link #getGrowthPolicy()}, но не меньше чем до {@code minCapacity}
+     * и не больше чем до {@link #getMaxCapacity()}. Элементы переносятся в начало нового массива.
+     *
+     * @param minCapacity минимальная необходимая вместимость
+     * @throws IllegalStateException если {@code minCapacity} больше максимальной вместимости очереди
+     */
+    private void increase(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > maxCapacity) {
+            throw new IllegalStateException("Capacity limit exceeded: " + maxCapacity);
+        }
+
+        int newCapacity = Math.max(growthPolicy.newCapacity(elements.length, minCapacity), minCapacity);
+        Object[] grown = new Object[Math.min(newCapacity, maxCapacity)];
+        copyTo(grown);
+        elements = grown;
+        head = 0;
+    }
+
+    /**
+     * Копирует элементы очереди в начало массива {@code target} не более чем двумя {@code arraycopy}
+     *
+     * @param target массив длиной не меньше {@code size()}
+     */
+    private void copyTo(Object[] target) {
+        int first = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, target, 0, first);
+        System.arraycopy(elements, 0, target, first, size - first);
+    }
+
+    /**
+     * Переводит индекс элемента очереди в индекс массива
+     */
+    private int physical(int index) {
+        int position = head + index;
+        return position - elements.length >= 0 ? position - elements.length : position;
+    }
+
+    private int inc(int position) {
+        return position + 1 == elements.length ? 0 : position + 1;
+    }
+
+    private int dec(int position) {
+        return position == 0 ? elements.length - 1 : position - 1;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", but size is: " + size);
+        }
+    }
+
+    /**
+     * Переопределяет строковое представление объекта {@link CustomArrayDeque}
+     *
+     * @return строковое представление элементов от начала к концу очереди
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(2 + 8 * size).append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(elements[physical(i)]);
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -1,14 +1,56 @@
+package main;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * Класс, является собственной, частичной реализацией {@link java.util.ArrayList}.
+ * <p>Класс, является собственной, частичной реализацией {@link java.util.ArrayList}.</p>
+ * <p>
+ * Итераторы и {@link Spliterator} списка быстро завершаются с ошибкой (fail-fast): если список структурно
+ * изменен (добавление, удаление, сортировка) не через сам итератор, обход завершается
+ * {@link ConcurrentModificationException}.
+ * </p>
+ * <p>
+ * Список помнит, что он отсортирован: после {@link #sort(Comparator)} и до первого изменения, нарушающего порядок,
+ * {@link #isSorted()} возвращает {@code true}, а {@link #remove(Object)} ищет элемент двоичным поиском. В режиме
+ * вставки с сохранением порядка ({@link #setSortedInsert(Comparator)}) {@link #add(Object)} вставляет элемент на
+ * его место в порядке сортировки.
+ * </p>
+ * <p>
+ * Для частых {@link #contains(Object)}, {@link #indexOf(Object)} и {@link #remove(Object)} можно включить
+ * хеш-индекс ({@link #enableIndex()}), который поддерживается при каждом изменении списка.
+ * </p>
+ * <p>
+ * Для диагностики можно включить метрики ({@link #enableMetrics()}): увеличения вместимости, сдвиги при вставке и
+ * удалении, сравнения и обмены при сортировке. Выключенные метрики стоят одну проверку на {@code null}.
+ * </p>
+ * <p>
+ * Для серий вставок и удалений в середине списка можно создать список в режиме {@link StorageMode#GAP_BUFFER}: тогда
+ * свободное место массива хранится разрывом в позиции последнего изменения.
+ * </p>
  *
  * @param <E> тип элементов списка
  */
-public class CustomArrayList<E> {
+public class CustomArrayList<E> implements Iterable<E> {
 
     private static final int DEFAULT_CAPACITY = 10;
 
@@ -18,11 +60,70 @@ public class CustomArrayList<E> {
 
     private int size;
 
+    private GrowthPolicy growthPolicy = GrowthPolicy.factor(INCREASE_FACTOR);
+
+    private int maxCapacity = GrowthPolicy.MAX_ARRAY_LENGTH;
+
+    private double shrinkThreshold;
+
+    private SortMode sortMode = SortMode.QUICK;
+
+    private Object[] sortBuffer;
+
+    /**
+     * Количество структурных изменений списка, по которому итераторы обнаруживают изменение списка во время обхода
+     */
+    private int modCount;
+
+    /**
+     * Компаратор, по которому список сейчас отсортирован, или {@code null}, если порядок неизвестен
+     */
+    private Comparator<E> sortedBy;
+
+    /**
+     * Компаратор режима вставки с сохранением порядка или {@code null}, если режим выключен
+     */
+    private Comparator<E> insertComparator;
+
+    /**
+     * Хеш-индекс элементов или {@code null}, если индекс выключен
+     */
+    private HashIndex<E> index;
+
+    private boolean hashCaching;
+
+    /**
+     * Кешированный хеш-код действителен, пока {@code modCount} равен {@code hashModCount} и не было {@code set}
+     */
+    private boolean hashValid;
+
+    private int hashModCount;
+
+    private int cachedHash;
+
+    /**
+     * Метрики списка или {@code null}, если метрики выключены
+     */
+    private ListMetrics metrics;
+
+    private final StorageMode storageMode;
+
+    /**
+     * Начало разрыва в режиме {@link StorageMode#GAP_BUFFER}: элементы {@code [0, gapStart)} лежат перед разрывом,
+     * остальные - в конце массива, начиная с {@code gapStart + gapLength}
+     */
+    private int gapStart;
+
+    /**
+     * Длина разрыва; {@code 0} - разрыв закрыт, элементы занимают начало массива {@code [0, size)}
+     */
+    private int gapLength;
+
     /**
      * Создает новый список со стандартным размером ({@value DEFAULT_CAPACITY} элементов)
      */
     public CustomArrayList() {
-        elements = new Object[DEFAULT_CAPACITY];
+        this(DEFAULT_CAPACITY);
     }
 
     /**
@@ -32,11 +133,23 @@ public class CustomArrayList<E> {
      * @throws IllegalArgumentException если значение {@code capacity} меньше или равно нулю
      */
     public CustomArrayList(int capacity) {
+        this(capacity, StorageMode.CONTIGUOUS);
+    }
+
+    /**
+     * Создает новый список указанного размера с указанным способом размещения элементов
+     *
+     * @param capacity    размер списка
+     * @param storageMode способ размещения элементов в массиве
+     * @throws IllegalArgumentException если значение {@code capacity} меньше или равно нулю
+     */
+    public CustomArrayList(int capacity, StorageMode storageMode) {
         if (capacity <= 0) {
             throw new IllegalArgumentException("Capacity must be a positive integer");
         }
 
-        elements = new Object[capacity];
+        this.elements = new Object[capacity];
+        this.storageMode = Objects.requireNonNull(storageMode);
     }
 
     /**
@@ -45,61 +158,403 @@ public class CustomArrayList<E> {
      * @param list список с элементами
      */
     public CustomArrayList(List<E> list) {
-        this(list.size());
+        this(Math.max(list.size(), 1));
 
-        for (E element : list) {
-            add(element);
-        }
+        addAll(list);
     }
 
     /**
      * <p>Добавляет элемент в конец списка.</p>
-     * <p>При нехватке места происходит увеличение размера списка в {@value INCREASE_FACTOR} раза</p>
+     * <p>При нехватке места вместимость списка увеличивается согласно {@link #getGrowthPolicy()}</p>
+     * <p>
+     * В режиме вставки с сохранением порядка ({@link #setSortedInsert(Comparator)}) элемент вставляется после
+     * всех равных ему элементов, позиция находится двоичным поиском.
+     * </p>
      *
      * @param element элемент для добавления в список
+     * @throws IllegalStateException если список уже достиг максимальной вместимости
      */
     public void add(E element) {
+        if (insertComparator != null) {
+            insert(upperBound(element, insertComparator), element);
+            return;
+        }
+
+        if (sortedBy != null && size > 0 && sortedBy.compare(get(size - 1), element) > 0) {
+            sortedBy = null;
+        }
+
+        append(element);
+    }
+
+    private void append(E element) {
+        closeGap();
         if (size == capacity()) {
-            increase();
+            increase(size + 1);
         }
 
+        modCount++;
         elements[size++] = element;
+        if (index != null) {
+            index.add(size - 1, elements);
+        }
     }
 
     /**
      * <p>Добавляет элемент в список по указанному индексу.</p>
-     * <p>При нехватке места происходит увеличение размера списка в {@value INCREASE_FACTOR} раза.</p>
+     * <p>При нехватке места вместимость списка увеличивается согласно {@link #getGrowthPolicy()}.</p>
      * <p>Если {@code index} вставки элемента равен {@code size()}, то список расширяется и {@code element} вставляется
      * в конец списка.</p>
      *
      * @param index   место вставки элемента
      * @param element элемент для добавления в список
      * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше {@code size()}
+     * @throws IllegalStateException     если список уже достиг максимальной вместимости или включен режим вставки
+     *                                   с сохранением порядка
      */
     public void add(int index, E element) {
         if (index < 0 || index > size) {
             throw new IndexOutOfBoundsException("Index: " + index + ", but size is: " + size);
         }
+        checkUnorderedMutation();
+
+        sortedBy = null;
+        insert(index, element);
+    }
 
+    private void insert(int index, E element) {
+        if (storageMode == StorageMode.GAP_BUFFER && this.index == null) {
+            gapInsert(index, element);
+            return;
+        }
         if (index == size) {
-            add(element);
+            append(element);
             return;
         }
 
         if (size == capacity()) {
-            increase();
+            increase(size + 1);
+        }
+
+        if (metrics != null) {
+            metrics.recordInsert(size - index);
         }
 
+        modCount++;
         System.arraycopy(elements, index, elements, index + 1, size - index);
         elements[index] = element;
         size++;
+        if (this.index != null) {
+            this.index.shift(index, 1);
+            this.index.add(index, elements);
+        }
+    }
+
+    /**
+     * Вставляет элемент в режиме {@link StorageMode#GAP_BUFFER}: переносит разрыв к {@code index} и занимает его
+     * первую ячейку
+     *
+     * @param index   место вставки элемента
+     * @param element элемент для добавления
+     */
+    private void gapInsert(int index, E element) {
+        if (size == capacity()) {
+            increase(size + 1);
+        }
+
+        int moved = moveGap(index);
+        if (metrics != null) {
+            metrics.recordInsert(moved);
+        }
+
+        modCount++;
+        elements[gapStart++] = element;
+        gapLength--;
+        size++;
+        if (gapStart == size) {
+            gapLength = 0;
+        }
+    }
+
+    /**
+     * Удаляет элемент в режиме {@link StorageMode#GAP_BUFFER}: переносит разрыв к {@code index} и присоединяет к
+     * нему ячейку удаляемого элемента
+     *
+     * @param index индекс элемента, который нужно удалить
+     */
+    private void gapRemove(int index) {
+        int moved = moveGap(index);
+        if (metrics != null) {
+            metrics.recordRemoval(1, moved);
+        }
+
+        modCount++;
+        elements[gapStart + gapLength] = null;
+        gapLength++;
+        size--;
+        if (gapStart == size) {
+            // Разрыв дошел до конца списка: это обычное свободное место после элементов
+            gapLength = 0;
+        }
+    }
+
+    /**
+     * <p>Переносит разрыв так, чтобы он начинался с позиции {@code index}, сдвигая элементы между старой и новой
+     * позицией разрыва. Закрытый разрыв открывается: хвост списка переносится в конец массива.</p>
+     * <p>Освободившиеся ячейки обнуляются, чтобы массив не удерживал ссылки на элементы.</p>
+     *
+     * @param index новое начало разрыва, от {@code 0} до {@code size()}; в массиве должно быть свободное место
+     * @return количество перенесенных элементов
+     */
+    private int moveGap(int index) {
+        if (gapLength == 0) {
+            int free = capacity() - size;
+            int tail = size - index;
+            System.arraycopy(elements, index, elements, index + free, tail);
+            Arrays.fill(elements, index, Math.min(index + free, size), null);
+            gapStart = index;
+            gapLength = free;
+            return tail;
+        }
+
+        int moved;
+        if (index < gapStart) {
+            moved = gapStart - index;
+            System.arraycopy(elements, index, elements, index + gapLength, moved);
+            Arrays.fill(elements, index, Math.min(gapStart, index + gapLength), null);
+        } else {
+            moved = index - gapStart;
+            int gapEnd = gapStart + gapLength;
+            System.arraycopy(elements, gapEnd, elements, gapStart, moved);
+            Arrays.fill(elements, Math.max(index, gapEnd), index + gapLength, null);
+        }
+        gapStart = index;
+        return moved;
+    }
+
+    /**
+     * Закрывает разрыв: переносит элементы после разрыва обратно, вплотную к элементам перед ним. После вызова
+     * элементы занимают {@code [0, size)}, как в режиме {@link StorageMode#CONTIGUOUS}.
+     */
+    private void closeGap() {
+        if (gapLength == 0) {
+            return;
+        }
+
+        int gapEnd = gapStart + gapLength;
+        System.arraycopy(elements, gapEnd, elements, gapStart, size - gapStart);
+        Arrays.fill(elements, Math.max(size, gapEnd), elements.length, null);
+        gapLength = 0;
+    }
+
+    /**
+     * <p>Добавляет все элементы коллекции в конец списка.</p>
+     * <p>Вместимость списка увеличивается не более одного раза, элементы копируются одним {@code arraycopy}</p>
+     *
+     * @param collection коллекция с элементами для добавления
+     * @return {@code true}, если список изменился
+     * @throws IllegalStateException если элементы не помещаются в максимальную вместимость списка
+     */
+    public boolean addAll(Collection<? extends E> collection) {
+        return addAll(size, collection);
+    }
+
+    /**
+     * Добавляет все элементы коллекции в список, начиная с указанного индекса. Элементы списка, начиная с
+     * {@code index}, сдвигаются вправо одним {@code arraycopy}.
+     *
+     * @param index      место вставки первого элемента
+     * @param collection коллекция с элементами для добавления
+     * @return {@code true}, если список изменился
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше {@code size()}
+     * @throws IllegalStateException     если элементы не помещаются в максимальную вместимость списка
+     */
+    public boolean addAll(int index, Collection<? extends E> collection) {
+        Object[] source = collection.toArray();
+
+        return insertAll(index, source, 0, source.length);
+    }
+
+    /**
+     * Добавляет все элементы другого списка в конец списка, копируя их напрямую из его массива
+     *
+     * @param list список с элементами для добавления
+     * @return {@code true}, если список изменился
+     * @throws IllegalStateException если элементы не помещаются в максимальную вместимость списка
+     */
+    public boolean addAll(CustomArrayList<? extends E> list) {
+        return addAll(size, list);
+    }
+
+    /**
+     * Добавляет все элементы другого списка в список, начиная с указанного индекса
+     *
+     * @param index место вставки первого элемента
+     * @param list  список с элементами для добавления
+     * @return {@code true}, если список изменился
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше {@code size()}
+     * @throws IllegalStateException     если элементы не помещаются в максимальную вместимость списка
+     */
+    public boolean addAll(int index, CustomArrayList<? extends E> list) {
+        // При вставке списка в самого себя источник изменится во время сдвига, поэтому копируем его заранее
+        Object[] source = list == this ? Arrays.copyOf(elements(), size) : list.elements();
+
+        return insertAll(index, source, 0, list.size);
+    }
+
+    /**
+     * Добавляет в конец списка элементы массива из диапазона {@code [fromIndex, toIndex)}
+     *
+     * @param array     массив с элементами для добавления
+     * @param fromIndex индекс первого добавляемого элемента массива
+     * @param toIndex   индекс, следующий за последним добавляемым элементом массива
+     * @return {@code true}, если список изменился
+     * @throws IndexOutOfBoundsException если диапазон выходит за границы массива
+     * @throws IllegalStateException     если элементы не помещаются в максимальную вместимость списка
+     */
+    public boolean addAll(E[] array, int fromIndex, int toIndex) {
+        return addAll(size, array, fromIndex, toIndex);
+    }
+
+    /**
+     * Добавляет в список элементы массива из диапазона {@code [fromIndex, toIndex)}, начиная с указанного индекса
+     *
+     * @param index     место вставки первого элемента
+     * @param array     массив с элементами для добавления
+     * @param fromIndex индекс первого добавляемого элемента массива
+     * @param toIndex   индекс, следующий за последним добавляемым элементом массива
+     * @return {@code true}, если список изменился
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше {@code size()} либо
+     *                                   диапазон выходит за границы массива
+     * @throws IllegalStateException     если элементы не помещаются в максимальную вместимость списка
+     */
+    public boolean addAll(int index, E[] array, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+
+        return insertAll(index, array, fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * Вставляет {@code count} элементов массива {@code source}, начиная с {@code from}, в позицию {@code index}:
+     * один раз увеличивает вместимость, одним {@code arraycopy} сдвигает хвост и одним копирует новые элементы
+     *
+     * @param index  место вставки первого элемента
+     * @param source массив с элементами для добавления
+     * @param from   индекс первого добавляемого элемента в {@code source}
+     * @param count  количество добавляемых элементов
+     * @return {@code true}, если список изменился
+     */
+    private boolean insertAll(int index, Object[] source, int from, int count) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", but size is: " + size);
+        }
+        if (index != size) {
+            checkUnorderedMutation();
+        }
+
+        if (count == 0) {
+            return false;
+        }
+
+        closeGap();
+
+        int minCapacity = size + count;
+        if (minCapacity < 0 || minCapacity > capacity()) {
+            increase(minCapacity);
+        }
+
+        if (metrics != null && index < size) {
+            metrics.recordInsert(size - index);
+        }
+
+        modCount++;
+        System.arraycopy(elements, index, elements, index + count, size - index);
+        System.arraycopy(source, from, elements, index, count);
+        size += count;
+
+        if (insertComparator != null) {
+            // Список состоит из двух упорядоченных участков или мелких серий, TimSort сливает их за O(n)
+            TimSort.sort(this, insertComparator);
+        } else {
+            sortedBy = null;
+
+            if (this.index != null && index + count == size) {
+                for (int i = index; i < size; i++) {
+                    this.index.add(i, elements);
+                }
+            } else {
+                reindex();
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Увеличивает вместимость списка согласно {@link #getGrowthPolicy()}, но не меньше чем до {@code minCapacity}
+     * и не больше чем до {@link #getMaxCapacity()}
+     *
+     * @param minCapacity минимальная необходимая вместимость
+     * @throws IllegalStateException если {@code minCapacity} больше максимальной вместимости списка
+     */
+    private void increase(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > maxCapacity) {
+            throw new IllegalStateException("Capacity limit exceeded: " + maxCapacity);
+        }
+
+        closeGap();
+        int oldCapacity = capacity();
+        int newCapacity = Math.max(growthPolicy.newCapacity(oldCapacity, minCapacity), minCapacity);
+        elements = Arrays.copyOf(elements, Math.min(newCapacity, maxCapacity));
+
+        if (metrics != null) {
+            metrics.recordGrow(oldCapacity, elements.length);
+        }
     }
 
     /**
-     * Увеличивает размер списка в {@value INCREASE_FACTOR} раза
+     * <p>Уменьшает вместимость после удаления элементов, если включено автоматическое уменьшение.</p>
+     * <p>
+     * Вместимость уменьшается, когда заполненность списка падает ниже {@code shrinkThreshold}. Новая
+     * вместимость выбирается так, чтобы заполненность стала вдвое больше порога: список не будет уменьшаться и
+     * увеличиваться попеременно, если его размер колеблется около порога.
+     * </p>
      */
-    private void increase() {
-        elements = Arrays.copyOf(elements, (int) (size * INCREASE_FACTOR));
+    private void shrinkIfSparse() {
+        int capacity = capacity();
+        if (shrinkThreshold == 0 || capacity <= DEFAULT_CAPACITY || size >= capacity * shrinkThreshold) {
+            return;
+        }
+
+        int newCapacity = Math.max((int) (size / (2 * shrinkThreshold)), DEFAULT_CAPACITY);
+        if (newCapacity < capacity) {
+            closeGap();
+            elements = Arrays.copyOf(elements, Math.max(newCapacity, size));
+        }
+    }
+
+    /**
+     * Увеличивает вместимость списка так, чтобы в нем поместилось не меньше {@code minCapacity} элементов без
+     * дальнейших увеличений
+     *
+     * @param minCapacity минимальная необходимая вместимость
+     * @throws IllegalStateException если {@code minCapacity} больше максимальной вместимости списка
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > capacity()) {
+            increase(minCapacity);
+        }
+    }
+
+    /**
+     * Уменьшает вместимость списка до его текущего размера (но не меньше одного элемента)
+     */
+    public void trimToSize() {
+        int newCapacity = Math.max(size, 1);
+        if (newCapacity < capacity()) {
+            closeGap();
+            elements = Arrays.copyOf(elements, newCapacity);
+        }
     }
 
     /**
@@ -110,103 +565,1723 @@ public class CustomArrayList<E> {
      */
     @SuppressWarnings("unchecked")
     public E get(int index) {
+        if (gapLength != 0 && index >= gapStart) {
+            index += gapLength;
+        }
         return (E) elements[index];
     }
 
+    /**
+     * Возвращает массив, в котором хранятся элементы списка. Используется {@link QuickSort} для сортировки
+     * без обращения к {@link #get(int)} / {@link #set(int, Object)}.
+     *
+     * @return массив элементов списка (заполнен до {@code size()}, разрыв {@link StorageMode#GAP_BUFFER} закрывается)
+     */
+    Object[] elements() {
+        closeGap();
+        return elements;
+    }
+
+    /**
+     * Возвращает временный буфер для {@link TimSort} и {@link RadixSort} длиной не меньше {@code length}. Буфер
+     * хранится в списке и переиспользуется при следующих сортировках.
+     *
+     * @param length минимальная длина буфера
+     * @return временный буфер
+     */
+    Object[] sortBuffer(int length) {
+        if (sortBuffer == null || sortBuffer.length < length) {
+            sortBuffer = new Object[Math.max(length, size / 2)];
+        }
+        return sortBuffer;
+    }
+
     /**
      * Устанавливает значение элемента по указанному индексу
      *
      * @param index   индекс элемента, значение которого будет изменено
      * @param element элемент, который будет установлен по указанному {@code index}
      * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше {@code size()}
+     * @throws IllegalStateException     если включен режим вставки с сохранением порядка
      */
     public void set(int index, E element) {
-        elements[index] = element;
+        checkUnorderedMutation();
+
+        if (this.index != null && index < size) {
+            this.index.remove(index, elements);
+            elements[index] = element;
+            this.index.add(index, elements);
+        } else if (gapLength != 0 && index >= gapStart) {
+            elements[index + gapLength] = element;
+        } else {
+            elements[index] = element;
+        }
+        sortedBy = null;
+        hashValid = false;
     }
 
     /**
-     * Удаляет элемент из списка при наличии
+     * <p>Удаляет первое вхождение элемента из списка при наличии, сдвигая последующие элементы влево.</p>
+     * <p>
+     * Если включен хеш-индекс, элемент ищется за {@code O(1)}, иначе, если список отсортирован
+     * ({@link #isSorted()}), - сначала среди элементов, равных ему по компаратору сортировки (двоичным поиском).
+     * Если там его нет, остальные элементы просматриваются подряд: компаратор может быть не согласован с
+     * {@code equals}, а ключи сортировки могут измениться на месте (например, в {@link #forEach(Consumer)}).
+     * Удаляется именно первое вхождение, только если компаратор согласован с {@code equals}.
+     * </p>
      *
      * @param element элемент, который нужно удалить
+     * @return {@code true}, если элемент был найден и удален
      */
-    public void remove(E element) {
-        for (int i = 0; i < size; i++) {
-            if (element.equals(elements[i])) {
-                elements[i] = null;
-                size--;
-                return;
+    public boolean remove(E element) {
+        closeGap();
+        if (index != null) {
+            int position = index.indexOf(element, elements);
+            if (position < 0) {
+                return false;
+            }
+
+            fastRemove(position);
+            return true;
+        }
+
+        int from = 0;
+        int to = size;
+        if (sortedBy != null && element != null) {
+            // Равный по equals элемент находится среди элементов, равных по компаратору
+            from = lowerBound(element, sortedBy);
+            to = upperBound(element, sortedBy);
+        }
+
+        for (int i = from; i < to; i++) {
+            if (Objects.equals(element, elements[i])) {
+                fastRemove(i);
+                return true;
+            }
+        }
+
+        for (int i = 0; i < from; i++) {
+            if (Objects.equals(element, elements[i])) {
+                fastRemove(i);
+                return true;
             }
         }
+
+        for (int i = to; i < size; i++) {
+            if (Objects.equals(element, elements[i])) {
+                fastRemove(i);
+                return true;
+            }
+        }
+
+        return false;
     }
 
     /**
-     * Удаляет элемент из списка по укзаанному индексу
+     * Удаляет элемент из списка по указанному индексу, сдвигая последующие элементы влево. В режиме
+     * {@link StorageMode#GAP_BUFFER} сдвигаются только элементы между разрывом и {@code index}.
      *
      * @param index индекс элемента, который нужно удалить
-     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше {@code size()}
+     * @return удаленный элемент
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше либо равно {@code size()}
      */
-    public void remove(int index) {
-        elements[index] = null;
-        size--;
+    public E remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", but size is: " + size);
+        }
+
+        E removed = get(index);
+        if (storageMode == StorageMode.GAP_BUFFER && this.index == null && (gapLength != 0 || size < capacity())) {
+            gapRemove(index);
+        } else {
+            fastRemove(index);
+        }
+
+        return removed;
     }
 
     /**
-     * <p>Сортирует элементы в списке в зависимости от реализации {@code comparator}</p>
-     * <p>Элементы списка со значением {@code null} сдвигаются в конец списка</p>
+     * Удаляет элемент без проверки индекса: сдвигает хвост списка на одну позицию влево и обнуляет освободившуюся
+     * ячейку, чтобы массив не удерживал ссылку на элемент
      *
-     * @param comparator объект, реализующий логику сравнения объектов
+     * @param index индекс элемента, который нужно удалить
      */
-    public void sort(Comparator<E> comparator) {
-        //Arrays.sort((E[]) elements, Comparator.nullsLast(comparator));
-        QuickSort.sort(this, comparator);
+    private void fastRemove(int index) {
+        closeGap();
+        modCount++;
+        if (this.index != null) {
+            this.index.remove(index, elements);
+        }
+
+        int tail = size - index - 1;
+        if (metrics != null) {
+            metrics.recordRemoval(1, tail);
+        }
+        if (tail > 0) {
+            System.arraycopy(elements, index + 1, elements, index, tail);
+            if (this.index != null) {
+                this.index.shift(index + 1, -1);
+            }
+        }
+
+        elements[--size] = null;
+        shrinkIfSparse();
     }
 
     /**
-     * Возвращает количество добавленных элементов в список
+     * Удаляет элементы с индексами из диапазона {@code [fromIndex, toIndex)} одним сдвигом хвоста списка
      *
-     * @return размер списка (количество добавленных элементов)
+     * @param fromIndex индекс первого удаляемого элемента
+     * @param toIndex   индекс, следующий за последним удаляемым элементом
+     * @throws IndexOutOfBoundsException если {@code fromIndex < 0}, {@code toIndex > size()} или
+     *                                   {@code fromIndex > toIndex}
      */
-    public int size() {
-        return size;
+    public void removeRange(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+
+        closeGap();
+        if (metrics != null) {
+            metrics.recordRemoval(toIndex - fromIndex, size - toIndex);
+        }
+        System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+        truncate(size - (toIndex - fromIndex));
+        shrinkIfSparse();
     }
 
     /**
-     * Возвращает текущую вместимость списка
+     * Удаляет все элементы, удовлетворяющие условию {@code filter}. Оставшиеся элементы сдвигаются к началу списка
+     * за один проход, без выделения памяти.
      *
-     * @return вместимость списка
+     * @param filter условие удаления элемента
+     * @return {@code true}, если был удален хотя бы один элемент
      */
-    public int capacity() {
-        return elements.length;
-    }
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
 
-    /**
-     * Полностью очищает список, не изменяя его {@code capacity}
-     */
-    public void clear() {
-        elements = new Object[capacity()];
-        size = 0;
-    }
+        closeGap();
+        int initialSize = size;
+        int kept = 0;
+        int firstRemoved = -1;
+        int i = 0;
+        try {
+            for (; i < size; i++) {
+                E element = get(i);
+                if (!filter.test(element)) {
+                    elements[kept++] = element;
+                } else if (firstRemoved < 0) {
+                    firstRemoved = i;
+                }
+            }
+        } finally {
+            // Если filter выбросил исключение, непроверенные элементы сохраняются
+            System.arraycopy(elements, i, elements, kept, size - i);
+            if (metrics != null && firstRemoved >= 0) {
+                metrics.recordRemoval(i - kept, kept - firstRemoved + size - i);
+            }
+            truncate(kept + size - i);
+            shrinkIfSparse();
+        }
 
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        CustomArrayList<?> that = (CustomArrayList<?>) o;
-        return Objects.deepEquals(elements, that.elements);
+        return size != initialSize;
     }
 
-    @Override
-    public int hashCode() {
-        return Arrays.hashCode(elements);
+    /**
+     * <p>Параллельно удаляет все элементы, удовлетворяющие условию {@code filter}, в
+     * {@link ForkJoinPool#commonPool()}.</p>
+     *
+     * @param filter условие удаления элемента; вызывается из нескольких потоков одновременно
+     * @return {@code true}, если был удален хотя бы один элемент
+     * @see #parallelRemoveIf(Predicate, int, ForkJoinPool)
+     */
+    public boolean parallelRemoveIf(Predicate<? super E> filter) {
+        return parallelRemoveIf(filter, ParallelChunks.DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
     }
 
     /**
-     * Переопределяет строковое представление объекта {@link CustomArrayList}
+     * <p>Параллельно удаляет все элементы, удовлетворяющие условию {@code filter}, в указанном {@code pool}.</p>
+     * <p>
+     * Массив делится на части по {@code chunkSize} элементов. Сначала части параллельно проверяются условием (список
+     * не изменяется, поэтому исключение из {@code filter} оставляет его прежним), затем каждая часть параллельно
+     * сдвигает оставшиеся элементы к своему началу, и части по порядку сдвигаются к началу списка одним
+     * {@code arraycopy} каждая.
+     * </p>
      *
-     * @return строкое представление объекта {@code main.CustomArrayList}
+     * @param filter    условие удаления элемента; вызывается из нескольких потоков одновременно
+     * @param chunkSize количество элементов в части, обрабатываемой одной задачей
+     * @param pool      пул потоков, в котором выполняется проверка
+     * @return {@code true}, если был удален хотя бы один элемент
+     * @throws IllegalArgumentException        если значение {@code chunkSize} меньше или равно нулю
+     * @throws ConcurrentModificationException если {@code filter} структурно изменил список
      */
-    @Override
-    public String toString() {
-        return Arrays.toString(elements);
+    public boolean parallelRemoveIf(Predicate<? super E> filter, int chunkSize, ForkJoinPool pool) {
+        Objects.requireNonNull(filter);
+
+        Object[] array = elements();
+        int end = size;
+        int expectedModCount = modCount;
+        boolean[] removed = new boolean[end];
+        int[] kept = new int[ParallelChunks.chunkCount(end, chunkSize)];
+        ParallelChunks.forEachChunk(pool, end, chunkSize, (chunk, from, to) -> {
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                @SuppressWarnings("unchecked")
+                E element = (E) array[i];
+                if (filter.test(element)) {
+                    removed[i] = true;
+                } else {
+                    count++;
+                }
+            }
+            kept[chunk] = count;
+        });
+        checkForComodification(expectedModCount);
+
+        int total = 0;
+        for (int count : kept) {
+            total += count;
+        }
+        if (total == end) {
+            return false;
+        }
+
+        ParallelChunks.forEachChunk(pool, end, chunkSize, (chunk, from, to) -> {
+            int write = from;
+            for (int i = from; i < to; i++) {
+                if (!removed[i]) {
+                    array[write++] = array[i];
+                }
+            }
+        });
+        int write = kept.length == 0 ? 0 : kept[0];
+        for (int chunk = 1; chunk < kept.length; chunk++) {
+            System.arraycopy(array, chunk * chunkSize, array, write, kept[chunk]);
+            write += kept[chunk];
+        }
+
+        if (metrics != null) {
+            int firstRemoved = 0;
+            while (!removed[firstRemoved]) {
+                firstRemoved++;
+            }
+            metrics.recordRemoval(end - total, total - firstRemoved);
+        }
+        truncate(total);
+        shrinkIfSparse();
+        return true;
+    }
+
+    /**
+     * <p>Заменяет каждый элемент списка результатом {@code operator}.</p>
+     * <p>Как и {@link #set(int, Object)}, замена не считается структурным изменением, но сбрасывает признак
+     * отсортированности, кеш хеш-кода и перестраивает хеш-индекс.</p>
+     *
+     * @param operator функция, вычисляющая новый элемент по старому
+     * @throws IllegalStateException           если включен режим вставки с сохранением порядка
+     * @throws ConcurrentModificationException если {@code operator} структурно изменил список
+     */
+    @SuppressWarnings("unchecked")
+    public void replaceAll(UnaryOperator<E> operator) {
+        Objects.requireNonNull(operator);
+        checkUnorderedMutation();
+
+        Object[] array = elements();
+        int end = size;
+        int expectedModCount = modCount;
+        for (int i = 0; i < end && modCount == expectedModCount; i++) {
+            array[i] = operator.apply((E) array[i]);
+        }
+        checkForComodification(expectedModCount);
+
+        replaced();
+    }
+
+    /**
+     * Параллельно заменяет каждый элемент списка результатом {@code operator} в {@link ForkJoinPool#commonPool()}
+     *
+     * @param operator функция, вычисляющая новый элемент по старому; вызывается из нескольких потоков одновременно
+     * @see #parallelReplaceAll(UnaryOperator, int, ForkJoinPool)
+     */
+    public void parallelReplaceAll(UnaryOperator<E> operator) {
+        parallelReplaceAll(operator, ParallelChunks.DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Параллельно заменяет каждый элемент списка результатом {@code operator} в указанном {@code pool}: части
+     * массива по {@code chunkSize} элементов обрабатываются отдельными задачами
+     *
+     * @param operator  функция, вычисляющая новый элемент по старому; вызывается из нескольких потоков одновременно
+     * @param chunkSize количество элементов в части, обрабатываемой одной задачей
+     * @param pool      пул потоков, в котором выполняется замена
+     * @throws IllegalArgumentException        если значение {@code chunkSize} меньше или равно нулю
+     * @throws IllegalStateException           если включен режим вставки с сохранением порядка
+     * @throws ConcurrentModificationException если {@code operator} структурно изменил список
+     */
+    @SuppressWarnings("unchecked")
+    public void parallelReplaceAll(UnaryOperator<E> operator, int chunkSize, ForkJoinPool pool) {
+        Objects.requireNonNull(operator);
+        checkUnorderedMutation();
+
+        Object[] array = elements();
+        int expectedModCount = modCount;
+        ParallelChunks.forEachChunk(pool, size, chunkSize, (chunk, from, to) -> {
+            for (int i = from; i < to; i++) {
+                array[i] = operator.apply((E) array[i]);
+            }
+        });
+        checkForComodification(expectedModCount);
+
+        replaced();
+    }
+
+    /**
+     * Параллельно выполняет {@code action} для каждого элемента списка в {@link ForkJoinPool#commonPool()}
+     *
+     * @param action действие для каждого элемента; вызывается из нескольких потоков одновременно
+     * @see #parallelForEach(Consumer, int, ForkJoinPool)
+     */
+    public void parallelForEach(Consumer<? super E> action) {
+        parallelForEach(action, ParallelChunks.DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Параллельно выполняет {@code action} для каждого элемента списка в указанном {@code pool}. Порядок обработки
+     * элементов не определен. Подходит для изменения состояния самих элементов, например
+     * {@code list.parallelForEach(person -> person.setAge(person.getAge() + 1))}.
+     *
+     * @param action    действие для каждого элемента; вызывается из нескольких потоков одновременно
+     * @param chunkSize количество элементов в части, обрабатываемой одной задачей
+     * @param pool      пул потоков, в котором выполняется обход
+     * @throws IllegalArgumentException        если значение {@code chunkSize} меньше или равно нулю
+     * @throws ConcurrentModificationException если {@code action} структурно изменил список
+     */
+    @SuppressWarnings("unchecked")
+    public void parallelForEach(Consumer<? super E> action, int chunkSize, ForkJoinPool pool) {
+        Objects.requireNonNull(action);
+
+        Object[] array = elements();
+        int expectedModCount = modCount;
+        ParallelChunks.forEachChunk(pool, size, chunkSize, (chunk, from, to) -> {
+            for (int i = from; i < to; i++) {
+                action.accept((E) array[i]);
+            }
+        });
+        checkForComodification(expectedModCount);
+    }
+
+    /**
+     * Возвращает новый список из результатов {@code mapper} для каждого элемента, в том же порядке. Вместимость
+     * нового списка равна размеру этого списка, элементы записываются прямо в его массив.
+     *
+     * @param mapper функция преобразования элемента
+     * @param <R>    тип элементов нового списка
+     * @return новый список
+     * @throws ConcurrentModificationException если {@code mapper} структурно изменил список
+     */
+    @SuppressWarnings("unchecked")
+    public <R> CustomArrayList<R> map(Function<? super E, ? extends R> mapper) {
+        Objects.requireNonNull(mapper);
+
+        Object[] array = elements();
+        int end = size;
+        int expectedModCount = modCount;
+        CustomArrayList<R> result = new CustomArrayList<>(Math.max(end, 1));
+        Object[] target = result.elements;
+        for (int i = 0; i < end && modCount == expectedModCount; i++) {
+            target[i] = mapper.apply((E) array[i]);
+        }
+        checkForComodification(expectedModCount);
+
+        result.size = end;
+        return result;
+    }
+
+    /**
+     * Параллельно преобразует элементы в новый список в {@link ForkJoinPool#commonPool()}
+     *
+     * @param mapper функция преобразования элемента; вызывается из нескольких потоков одновременно
+     * @param <R>    тип элементов нового списка
+     * @return новый список
+     * @see #parallelMap(Function, int, ForkJoinPool)
+     */
+    public <R> CustomArrayList<R> parallelMap(Function<? super E, ? extends R> mapper) {
+        return parallelMap(mapper, ParallelChunks.DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Параллельно преобразует элементы в новый список в указанном {@code pool}. Каждая часть массива записывает
+     * результаты прямо в массив нового списка по тем же индексам, поэтому объединение частей не требуется.
+     *
+     * @param mapper    функция преобразования элемента; вызывается из нескольких потоков одновременно
+     * @param chunkSize количество элементов в части, обрабатываемой одной задачей
+     * @param pool      пул потоков, в котором выполняется преобразование
+     * @param <R>       тип элементов нового списка
+     * @return новый список
+     * @throws IllegalArgumentException        если значение {@code chunkSize} меньше или равно нулю
+     * @throws ConcurrentModificationException если {@code mapper} структурно изменил список
+     */
+    @SuppressWarnings("unchecked")
+    public <R> CustomArrayList<R> parallelMap(Function<? super E, ? extends R> mapper, int chunkSize,
+                                              ForkJoinPool pool) {
+        Objects.requireNonNull(mapper);
+
+        Object[] array = elements();
+        int end = size;
+        int expectedModCount = modCount;
+        CustomArrayList<R> result = new CustomArrayList<>(Math.max(end, 1));
+        Object[] target = result.elements;
+        ParallelChunks.forEachChunk(pool, end, chunkSize, (chunk, from, to) -> {
+            for (int i = from; i < to; i++) {
+                target[i] = mapper.apply((E) array[i]);
+            }
+        });
+        checkForComodification(expectedModCount);
+
+        result.size = end;
+        return result;
+    }
+
+    /**
+     * Возвращает новый список из элементов, удовлетворяющих условию {@code predicate}, в том же порядке. Этот
+     * список не изменяется.
+     *
+     * @param predicate условие, которому должен удовлетворять элемент
+     * @return новый список
+     * @throws ConcurrentModificationException если {@code predicate} структурно изменил список
+     */
+    @SuppressWarnings("unchecked")
+    public CustomArrayList<E> filter(Predicate<? super E> predicate) {
+        Objects.requireNonNull(predicate);
+
+        Object[] array = elements();
+        int end = size;
+        int expectedModCount = modCount;
+        CustomArrayList<E> result = new CustomArrayList<>(Math.max(end, 1));
+        Object[] target = result.elements;
+        int count = 0;
+        for (int i = 0; i < end && modCount == expectedModCount; i++) {
+            if (predicate.test((E) array[i])) {
+                target[count++] = array[i];
+            }
+        }
+        checkForComodification(expectedModCount);
+
+        result.size = count;
+        return result;
+    }
+
+    /**
+     * Параллельно отбирает элементы в новый список в {@link ForkJoinPool#commonPool()}
+     *
+     * @param predicate условие, которому должен удовлетворять элемент; вызывается из нескольких потоков одновременно
+     * @return новый список
+     * @see #parallelFilter(Predicate, int, ForkJoinPool)
+     */
+    public CustomArrayList<E> parallelFilter(Predicate<? super E> predicate) {
+        return parallelFilter(predicate, ParallelChunks.DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * <p>Параллельно отбирает элементы в новый список в указанном {@code pool}, сохраняя порядок.</p>
+     * <p>
+     * Каждая часть массива отбирает свои элементы во временный массив. Затем вместимость нового списка выделяется
+     * ровно по количеству отобранных элементов, и каждая часть параллельно копирует свой результат на свое место
+     * одним {@code arraycopy}.
+     * </p>
+     *
+     * @param predicate условие, которому должен удовлетворять элемент; вызывается из нескольких потоков одновременно
+     * @param chunkSize количество элементов в части, обрабатываемой одной задачей
+     * @param pool      пул потоков, в котором выполняется отбор
+     * @return новый список
+     * @throws IllegalArgumentException        если значение {@code chunkSize} меньше или равно нулю
+     * @throws ConcurrentModificationException если {@code predicate} структурно изменил список
+     */
+    @SuppressWarnings("unchecked")
+    public CustomArrayList<E> parallelFilter(Predicate<? super E> predicate, int chunkSize, ForkJoinPool pool) {
+        Objects.requireNonNull(predicate);
+
+        Object[] array = elements();
+        int end = size;
+        int expectedModCount = modCount;
+        int chunks = ParallelChunks.chunkCount(end, chunkSize);
+        Object[][] parts = new Object[chunks][];
+        int[] counts = new int[chunks];
+        ParallelChunks.forEachChunk(pool, end, chunkSize, (chunk, from, to) -> {
+            Object[] part = new Object[to - from];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                if (predicate.test((E) array[i])) {
+                    part[count++] = array[i];
+                }
+            }
+            parts[chunk] = part;
+            counts[chunk] = count;
+        });
+        checkForComodification(expectedModCount);
+
+        int[] offsets = new int[chunks];
+        int total = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            offsets[chunk] = total;
+            total += counts[chunk];
+        }
+
+        CustomArrayList<E> result = new CustomArrayList<>(Math.max(total, 1));
+        Object[] target = result.elements;
+        ParallelChunks.forEachChunk(pool, end, chunkSize, (chunk, from, to) ->
+                System.arraycopy(parts[chunk], 0, target, offsets[chunk], counts[chunk]));
+
+        result.size = total;
+        return result;
+    }
+
+    /**
+     * Обновляет состояние списка после замены элементов без структурного изменения
+     */
+    private void replaced() {
+        sortedBy = null;
+        hashValid = false;
+        reindex();
+    }
+
+    private void checkForComodification(int expectedModCount) {
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Уменьшает размер списка до {@code newSize}, обнуляя освободившиеся ячейки массива
+     *
+     * @param newSize новый размер списка
+     */
+    private void truncate(int newSize) {
+        closeGap();
+        if (newSize < size) {
+            modCount++;
+        }
+        Arrays.fill(elements, newSize, size, null);
+        size = newSize;
+        reindex();
+    }
+
+    /**
+     * <p>Сортирует элементы в списке в зависимости от реализации {@code comparator}</p>
+     * <p>Алгоритм сортировки определяется режимом списка ({@link #getSortMode()})</p>
+     *
+     * @param comparator объект, реализующий логику сравнения объектов
+     */
+    public void sort(Comparator<E> comparator) {
+        sort(comparator, sortMode);
+    }
+
+    /**
+     * Сортирует элементы в списке в зависимости от реализации {@code comparator}, используя указанный режим
+     *
+     * @param comparator объект, реализующий логику сравнения объектов
+     * @param mode       режим сортировки
+     */
+    public void sort(Comparator<E> comparator, SortMode mode) {
+        switch (mode) {
+            case QUICK -> QuickSort.sort(this, comparator);
+            case STABLE -> TimSort.sort(this, comparator);
+        }
+    }
+
+    /**
+     * Возвращает режим, в котором сортируется список при вызове {@link #sort(Comparator)}
+     *
+     * @return режим сортировки
+     */
+    public SortMode getSortMode() {
+        return sortMode;
+    }
+
+    /**
+     * Устанавливает режим, в котором сортируется список при вызове {@link #sort(Comparator)}
+     *
+     * @param sortMode режим сортировки
+     */
+    public void setSortMode(SortMode sortMode) {
+        this.sortMode = Objects.requireNonNull(sortMode);
+    }
+
+    /**
+     * <p>Параллельно сортирует элементы в списке в зависимости от реализации {@code comparator}.</p>
+     * <p>Результат совпадает с результатом {@link #sort(Comparator)}</p>
+     *
+     * @param comparator объект, реализующий логику сравнения объектов
+     * @see QuickSort#parallelSort(CustomArrayList, Comparator)
+     */
+    public void parallelSort(Comparator<E> comparator) {
+        QuickSort.parallelSort(this, comparator);
+    }
+
+    /**
+     * Параллельно сортирует элементы в списке в указанном {@code pool}
+     *
+     * @param comparator объект, реализующий логику сравнения объектов
+     * @param threshold  размер подмассива, ниже которого сортировка выполняется последовательно
+     * @param pool       пул потоков, в котором выполняется сортировка
+     * @throws IllegalArgumentException если значение {@code threshold} меньше или равно нулю
+     * @see QuickSort#parallelSort(CustomArrayList, Comparator, int, ForkJoinPool)
+     */
+    public void parallelSort(Comparator<E> comparator, int threshold, ForkJoinPool pool) {
+        QuickSort.parallelSort(this, comparator, threshold, pool);
+    }
+
+    /**
+     * <p>Стабильно сортирует элементы в списке по возрастанию целочисленного ключа без сравнений.</p>
+     * <p>
+     * Ключ извлекается из каждого элемента один раз, поэтому для ключей вроде возраста {@link Person} сортировка
+     * выполняется за O(n) и быстрее {@link #sort(Comparator)}. После сортировки список считается отсортированным
+     * по {@code Comparator.comparingInt(key)}.
+     * </p>
+     *
+     * @param key функция, извлекающая ключ элемента
+     * @see RadixSort#sortByIntKey(CustomArrayList, ToIntFunction)
+     */
+    public void sortByIntKey(ToIntFunction<? super E> key) {
+        RadixSort.sortByIntKey(this, key);
+    }
+
+    /**
+     * Стабильно сортирует элементы в списке по возрастанию ключа типа {@code long} без сравнений
+     *
+     * @param key функция, извлекающая ключ элемента
+     * @see RadixSort#sortByLongKey(CustomArrayList, ToLongFunction)
+     */
+    public void sortByLongKey(ToLongFunction<? super E> key) {
+        RadixSort.sortByLongKey(this, key);
+    }
+
+    /**
+     * Параллельно и стабильно сортирует элементы в списке по возрастанию целочисленного ключа в
+     * {@link ForkJoinPool#commonPool()}. Результат совпадает с результатом {@link #sortByIntKey(ToIntFunction)}.
+     *
+     * @param key функция, извлекающая ключ элемента; вызывается из нескольких потоков одновременно
+     * @see RadixSort#parallelSortByIntKey(CustomArrayList, ToIntFunction)
+     */
+    public void parallelSortByIntKey(ToIntFunction<? super E> key) {
+        RadixSort.parallelSortByIntKey(this, key);
+    }
+
+    /**
+     * Параллельно и стабильно сортирует элементы в списке по возрастанию целочисленного ключа в указанном
+     * {@code pool}
+     *
+     * @param key       функция, извлекающая ключ элемента; вызывается из нескольких потоков одновременно
+     * @param chunkSize количество элементов в части, обрабатываемой одной задачей
+     * @param pool      пул потоков, в котором выполняется сортировка
+     * @throws IllegalArgumentException если значение {@code chunkSize} меньше или равно нулю
+     */
+    public void parallelSortByIntKey(ToIntFunction<? super E> key, int chunkSize, ForkJoinPool pool) {
+        RadixSort.parallelSortByIntKey(this, key, chunkSize, pool);
+    }
+
+    /**
+     * Параллельно и стабильно сортирует элементы в списке по возрастанию ключа типа {@code long} в
+     * {@link ForkJoinPool#commonPool()}
+     *
+     * @param key функция, извлекающая ключ элемента; вызывается из нескольких потоков одновременно
+     * @see RadixSort#parallelSortByLongKey(CustomArrayList, ToLongFunction)
+     */
+    public void parallelSortByLongKey(ToLongFunction<? super E> key) {
+        RadixSort.parallelSortByLongKey(this, key);
+    }
+
+    /**
+     * Параллельно и стабильно сортирует элементы в списке по возрастанию ключа типа {@code long} в указанном
+     * {@code pool}
+     *
+     * @param key       функция, извлекающая ключ элемента; вызывается из нескольких потоков одновременно
+     * @param chunkSize количество элементов в части, обрабатываемой одной задачей
+     * @param pool      пул потоков, в котором выполняется сортировка
+     * @throws IllegalArgumentException если значение {@code chunkSize} меньше или равно нулю
+     */
+    public void parallelSortByLongKey(ToLongFunction<? super E> key, int chunkSize, ForkJoinPool pool) {
+        RadixSort.parallelSortByLongKey(this, key, chunkSize, pool);
+    }
+
+    /**
+     * <p>Возвращает {@code k}-й по порядку {@code comparator} элемент списка (например, медиану при
+     * {@code k = size() / 2}), не сортируя весь список.</p>
+     * <p>
+     * Элементы переставляются так, что элемент оказывается на позиции {@code k}, слева от него - не большие, а
+     * справа - не меньшие элементы (см. {@link QuickSort#select}). Выбор занимает в среднем O(n). Если список уже
+     * отсортирован по {@code comparator}, элементы не переставляются.
+     * </p>
+     *
+     * @param k          позиция элемента в отсортированном списке
+     * @param comparator объект, реализующий логику сравнения объектов
+     * @return {@code k}-й элемент
+     * @throws IndexOutOfBoundsException если значение {@code k} меньше 0 или больше либо равно {@code size()}
+     * @throws IllegalStateException     если включен режим вставки с сохранением порядка по другому компаратору
+     */
+    public E select(int k, Comparator<E> comparator) {
+        if (k < 0 || k >= size) {
+            throw new IndexOutOfBoundsException("Index: " + k + ", but size is: " + size);
+        }
+
+        if (sortedBy != comparator) {
+            checkUnorderedMutation();
+
+            modCount++;
+            sortedBy = null;
+            QuickSort.select(elements(), 0, size, k, comparator, metrics);
+            reindex();
+        }
+
+        return get(k);
+    }
+
+    /**
+     * <p>Сортирует только первые {@code k} элементов списка: после вызова они равны {@code k} наименьшим элементам
+     * по порядку {@code comparator}, остальные элементы идут после них в произвольном порядке.</p>
+     * <p>
+     * Сначала {@link #select(int, Comparator)} отделяет {@code k} наименьших элементов, затем сортируются только
+     * они, поэтому время - O(n + k log k) вместо O(n log n). При {@code k = size()} список сортируется полностью.
+     * </p>
+     *
+     * @param k          количество сортируемых наименьших элементов
+     * @param comparator объект, реализующий логику сравнения объектов
+     * @throws IndexOutOfBoundsException если значение {@code k} меньше 0 или больше {@code size()}
+     * @throws IllegalStateException     если включен режим вставки с сохранением порядка по другому компаратору
+     */
+    public void partialSort(int k, Comparator<E> comparator) {
+        if (k < 0 || k > size) {
+            throw new IndexOutOfBoundsException("Index: " + k + ", but size is: " + size);
+        }
+
+        if (k == size) {
+            sort(comparator);
+        } else if (k > 0 && sortedBy != comparator) {
+            select(k, comparator);
+            // sortRange перестраивает хеш-индекс после перестановки первых k элементов
+            sortRange(0, k, comparator);
+        }
+    }
+
+    /**
+     * <p>Возвращает новый список из {@code k} наименьших по порядку {@code comparator} элементов по возрастанию, не
+     * изменяя этот список.</p>
+     * <p>
+     * Элементы просматриваются за один проход через ограниченную кучу из {@code k} элементов, поэтому время -
+     * O(n log k), а дополнительная память - O(k). Порядок равных элементов в результате не определен.
+     * </p>
+     *
+     * @param k          количество выбираемых элементов; если элементов меньше, возвращаются все
+     * @param comparator объект, реализующий логику сравнения объектов
+     * @return список из {@code min(k, size())} наименьших элементов по возрастанию
+     * @throws IllegalArgumentException        если значение {@code k} меньше 0
+     * @throws ConcurrentModificationException если {@code comparator} структурно изменил список
+     */
+    @SuppressWarnings("unchecked")
+    public CustomArrayList<E> topK(int k, Comparator<? super E> comparator) {
+        if (k < 0) {
+            throw new IllegalArgumentException("K must not be negative");
+        }
+
+        int count = Math.min(k, size);
+        if (sortedBy == comparator) {
+            CustomArrayList<E> result = new CustomArrayList<>(Math.max(count, 1));
+            for (int i = 0; i < count; i++) {
+                result.add(get(i));
+            }
+            return result;
+        }
+
+        int expectedModCount = modCount;
+        BoundedHeap<E> heap = new BoundedHeap<>(count, comparator);
+        Object[] array = elements();
+        for (int i = 0, end = size; i < end && modCount == expectedModCount; i++) {
+            heap.offer((E) array[i]);
+        }
+        checkForComodification(expectedModCount);
+
+        return heap.toSortedList();
+    }
+
+    /**
+     * <p>Сливает отсортированные по {@code comparator} списки в новый отсортированный список в
+     * {@link ForkJoinPool#commonPool()}.</p>
+     *
+     * @param lists      отсортированные списки
+     * @param comparator объект, реализующий логику сравнения объектов
+     * @param <E>        тип элементов
+     * @return новый список из элементов всех списков
+     * @throws IllegalStateException если суммарный размер списков превышает максимальную вместимость
+     * @see #mergeSorted(List, Comparator, int, ForkJoinPool)
+     */
+    public static <E> CustomArrayList<E> mergeSorted(List<CustomArrayList<E>> lists, Comparator<E> comparator) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return mergeSorted(lists, comparator, ParallelChunks.balancedChunkSize(totalSize(lists), pool), pool);
+    }
+
+    /**
+     * <p>Сливает отсортированные по {@code comparator} списки в новый отсортированный список в указанном
+     * {@code pool}, вместо объединения и повторной сортировки.</p>
+     * <p>
+     * Массив результата выделяется один раз. Результат делится на части примерно по {@code chunkSize} элементов
+     * разделителями, выбранными по образцам входов, границы каждой части во входных списках находятся двоичным
+     * поиском, и части сливаются параллельно (см. {@link SortedMerge}); много входов сливаются деревом
+     * проигравших за {@code log2 k} сравнений на элемент.
+     * Слияние стабильно: равные элементы идут в порядке номеров списков. Результат считается отсортированным по
+     * {@code comparator}.
+     * </p>
+     * <p>
+     * Входные списки не изменяются и не должны изменяться во время слияния. Если какой-либо из них не отсортирован
+     * по {@code comparator}, порядок результата не определен.
+     * </p>
+     *
+     * @param lists      отсортированные списки
+     * @param comparator объект, реализующий логику сравнения объектов; вызывается из нескольких потоков
+     *                   одновременно
+     * @param chunkSize  примерное количество элементов результата, сливаемых одной задачей
+     * @param pool       пул потоков, в котором выполняется слияние
+     * @param <E>        тип элементов
+     * @return новый список из элементов всех списков
+     * @throws IllegalArgumentException если значение {@code chunkSize} меньше или равно нулю
+     * @throws IllegalStateException    если суммарный размер списков превышает максимальную вместимость
+     */
+    public static <E> CustomArrayList<E> mergeSorted(List<CustomArrayList<E>> lists, Comparator<E> comparator,
+                                                     int chunkSize, ForkJoinPool pool) {
+        Objects.requireNonNull(comparator);
+        int total = totalSize(lists);
+        ParallelChunks.chunkCount(total, chunkSize);
+
+        CustomArrayList<E> result = new CustomArrayList<>(Math.max(total, 1));
+        SortedMerge.merge(lists, comparator, result.elements, chunkSize, pool);
+        result.size = total;
+        result.sortedBy = comparator;
+        return result;
+    }
+
+    private static int totalSize(List<? extends CustomArrayList<?>> lists) {
+        long total = 0;
+        for (CustomArrayList<?> list : lists) {
+            total += list.size();
+        }
+        if (total > GrowthPolicy.MAX_ARRAY_LENGTH) {
+            throw new IllegalStateException("Capacity limit exceeded: " + GrowthPolicy.MAX_ARRAY_LENGTH);
+        }
+        return (int) total;
+    }
+
+    /**
+     * Запоминает, что список отсортирован по {@code comparator}, и учитывает сортировку как структурное
+     * изменение. Вызывается {@link QuickSort} и {@link TimSort} после сортировки списка. Сортировка по другому
+     * компаратору выключает режим вставки с сохранением порядка.
+     *
+     * @param comparator компаратор, по которому отсортирован список
+     */
+    void markSorted(Comparator<E> comparator) {
+        // Сортировка меняет порядок элементов: итераторы и кешированный хеш-код становятся недействительны
+        modCount++;
+        reindex();
+
+        sortedBy = comparator;
+        if (insertComparator != null && insertComparator != comparator) {
+            insertComparator = null;
+        }
+    }
+
+    /**
+     * Проверяет, известно ли, что список отсортирован: после сортировки список не изменялся операциями,
+     * которые могут нарушить порядок ({@code add(int, E)}, {@code set}, {@code addAll} и т.д.). Удаление
+     * элементов порядок не нарушает.
+     *
+     * @return {@code true}, если список отсортирован
+     */
+    public boolean isSorted() {
+        return sortedBy != null;
+    }
+
+    /**
+     * <p>Включает режим вставки с сохранением порядка: список сортируется по {@code comparator} (если еще не
+     * отсортирован по нему), после чего {@link #add(Object)} и {@link #addAll(Collection)} сохраняют порядок.</p>
+     * <p>
+     * В этом режиме операции, вставляющие элементы по указанной позиции ({@link #add(int, Object)},
+     * {@link #set(int, Object)}, вставка {@code addAll} не в конец, сортировка диапазона), завершаются
+     * {@link IllegalStateException}. Сортировка всего списка по другому компаратору выключает режим.
+     * </p>
+     *
+     * @param comparator компаратор, задающий порядок, или {@code null}, чтобы выключить режим
+     */
+    public void setSortedInsert(Comparator<E> comparator) {
+        if (comparator != null && sortedBy != comparator) {
+            sort(comparator, SortMode.STABLE);
+        }
+
+        insertComparator = comparator;
+    }
+
+    /**
+     * Возвращает компаратор режима вставки с сохранением порядка
+     *
+     * @return компаратор или {@code null}, если режим выключен
+     */
+    public Comparator<E> getSortedInsert() {
+        return insertComparator;
+    }
+
+    private void checkUnorderedMutation() {
+        if (insertComparator != null) {
+            throw new IllegalStateException("Positional changes are not allowed in sorted insert mode");
+        }
+    }
+
+    /**
+     * Включает сбор метрик списка. Повторный вызов возвращает уже собранные метрики.
+     *
+     * @return метрики списка
+     */
+    public ListMetrics enableMetrics() {
+        if (metrics == null) {
+            metrics = new ListMetrics();
+        }
+        return metrics;
+    }
+
+    /**
+     * Выключает сбор метрик списка
+     */
+    public void disableMetrics() {
+        metrics = null;
+    }
+
+    /**
+     * Возвращает метрики списка
+     *
+     * @return метрики или {@code null}, если сбор метрик выключен
+     */
+    public ListMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Включает хеш-индекс по самим элементам ({@code equals}/{@code hashCode})
+     *
+     * @see #enableIndex(Function)
+     */
+    public void enableIndex() {
+        enableIndex(Function.identity());
+    }
+
+    /**
+     * <p>
+     * Включает хеш-индекс по ключу {@code keyExtractor}: {@link #contains(Object)}, {@link #indexOf(Object)},
+     * {@link #indexOfKey(Object)} и {@link #remove(Object)} работают за {@code O(1)} в среднем.
+     * </p>
+     * <p>
+     * Индекс обновляется при каждом изменении списка: добавление в конец и {@code set} - {@code O(1)}, вставка и
+     * удаление не с конца дополнительно проходят по таблице индекса, массовые операции и сортировка строят индекс
+     * заново. Ключ элемента не должен меняться, пока элемент находится в списке. Индекс занимает от 8 до 16 байт
+     * на элемент ({@link #indexFootprint()}).
+     * </p>
+     *
+     * @param keyExtractor функция, вычисляющая ключ элемента (например, {@code Person::getName})
+     */
+    public void enableIndex(Function<? super E, ?> keyExtractor) {
+        index = new HashIndex<>(Objects.requireNonNull(keyExtractor), elements(), size);
+    }
+
+    /**
+     * Выключает хеш-индекс и освобождает занятую им память
+     */
+    public void disableIndex() {
+        index = null;
+    }
+
+    /**
+     * Проверяет, включен ли хеш-индекс
+     *
+     * @return {@code true}, если индекс включен
+     */
+    public boolean isIndexed() {
+        return index != null;
+    }
+
+    /**
+     * Возвращает объем памяти, занимаемый хеш-индексом
+     *
+     * @return размер индекса в байтах или {@code 0}, если индекс выключен
+     */
+    public long indexFootprint() {
+        return index == null ? 0 : index.footprint();
+    }
+
+    /**
+     * Проверяет, содержит ли список элемент, равный {@code element} по {@code equals}
+     *
+     * @param element искомый элемент
+     * @return {@code true}, если элемент есть в списке
+     */
+    public boolean contains(Object element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Возвращает индекс первого элемента, равного {@code element} по {@code equals}. С хеш-индексом поиск
+     * выполняется за {@code O(1)}, без него - линейным проходом.
+     *
+     * @param element искомый элемент
+     * @return индекс элемента или {@code -1}, если элемента нет в списке
+     */
+    public int indexOf(Object element) {
+        closeGap();
+        if (index != null) {
+            return index.indexOf(element, elements);
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(element, elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Возвращает индекс первого элемента с ключом {@code key}
+     *
+     * @param key ключ, вычисленный функцией, переданной в {@link #enableIndex(Function)}
+     * @return индекс элемента или {@code -1}, если элемента с таким ключом нет
+     * @throws IllegalStateException если хеш-индекс выключен
+     */
+    public int indexOfKey(Object key) {
+        if (index == null) {
+            throw new IllegalStateException("Index is not enabled");
+        }
+
+        return index.indexOfKey(key, elements);
+    }
+
+    /**
+     * Перестраивает хеш-индекс после операций, меняющих позиции многих элементов
+     */
+    private void reindex() {
+        if (index != null) {
+            index.rebuild(elements, size);
+        }
+    }
+
+    /**
+     * Ищет элемент в отсортированном по {@code comparator} списке двоичным поиском. Если равных элементов
+     * несколько, возвращается индекс первого из них. Для неотсортированного списка результат не определен.
+     *
+     * @param key        искомый элемент
+     * @param comparator компаратор, по которому отсортирован список
+     * @return индекс элемента, если он найден, иначе {@code -(insertionPoint) - 1}, где {@code insertionPoint} -
+     * индекс, по которому элемент нужно вставить, чтобы сохранить порядок
+     */
+    public int binarySearch(E key, Comparator<? super E> comparator) {
+        int index = lowerBound(key, comparator);
+        if (index < size && comparator.compare(get(index), key) == 0) {
+            return index;
+        }
+
+        return -index - 1;
+    }
+
+    /**
+     * Возвращает индекс первого элемента, не меньшего {@code key}, в отсортированном по {@code comparator} списке
+     *
+     * @param key        граница поиска
+     * @param comparator компаратор, по которому отсортирован список
+     * @return индекс первого элемента {@code >= key} или {@code size()}, если таких нет
+     */
+    public int lowerBound(E key, Comparator<? super E> comparator) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(get(middle), key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Возвращает индекс первого элемента, большего {@code key}, в отсортированном по {@code comparator} списке
+     *
+     * @param key        граница поиска
+     * @param comparator компаратор, по которому отсортирован список
+     * @return индекс первого элемента {@code > key} или {@code size()}, если таких нет
+     */
+    public int upperBound(E key, Comparator<? super E> comparator) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(get(middle), key) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Возвращает представление только для чтения с элементами из диапазона {@code [fromKey, toKey]} отсортированного
+     * по {@code comparator} списка. Границы находятся двоичным поиском, элементы не копируются.
+     *
+     * @param fromKey    нижняя граница (включительно)
+     * @param toKey      верхняя граница (включительно)
+     * @param comparator компаратор, по которому отсортирован список
+     * @return представление элементов диапазона (пустое, если {@code fromKey > toKey})
+     */
+    public CustomSubList<E> range(E fromKey, E toKey, Comparator<? super E> comparator) {
+        int from = lowerBound(fromKey, comparator);
+        int to = Math.max(upperBound(toKey, comparator), from);
+
+        return slice(from, to);
+    }
+
+    /**
+     * <p>Возвращает представление диапазона {@code [fromIndex, toIndex)} списка без копирования элементов.</p>
+     * <p>
+     * Представление использует массив этого списка: чтение и запись через представление видны в списке и наоборот.
+     * Структурные изменения через представление (добавление, удаление, сортировка) выполняются в списке. После
+     * структурного изменения самого списка любая операция с представлением завершается
+     * {@link ConcurrentModificationException}.
+     * </p>
+     *
+     * @param fromIndex индекс первого элемента диапазона
+     * @param toIndex   индекс, следующий за последним элементом диапазона
+     * @return представление диапазона списка
+     * @throws IndexOutOfBoundsException если {@code fromIndex < 0}, {@code toIndex > size()} или
+     *                                   {@code fromIndex > toIndex}
+     */
+    public CustomSubList<E> subList(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+
+        closeGap();
+        return new CustomSubList<>(this, fromIndex, toIndex, false);
+    }
+
+    /**
+     * Возвращает представление диапазона {@code [fromIndex, toIndex)} списка только для чтения. Такое
+     * представление можно передать другому потоку для обработки диапазона без копирования, пока список не
+     * изменяется: разрыв {@link StorageMode#GAP_BUFFER} закрывается при создании представления, а чтение через
+     * представление список не меняет.
+     *
+     * @param fromIndex индекс первого элемента диапазона
+     * @param toIndex   индекс, следующий за последним элементом диапазона
+     * @return представление диапазона списка только для чтения
+     * @throws IndexOutOfBoundsException если {@code fromIndex < 0}, {@code toIndex > size()} или
+     *                                   {@code fromIndex > toIndex}
+     * @see #subList(int, int)
+     */
+    public CustomSubList<E> slice(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+
+        closeGap();
+        return new CustomSubList<>(this, fromIndex, toIndex, true);
+    }
+
+    private void checkRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("From index: " + fromIndex + ", to index: " + toIndex
+                    + ", but size is: " + size);
+        }
+    }
+
+    /**
+     * Возвращает количество структурных изменений списка. Используется {@link CustomSubList} для обнаружения
+     * изменений списка.
+     *
+     * @return количество структурных изменений
+     */
+    int modCount() {
+        return modCount;
+    }
+
+    /**
+     * Сортирует диапазон {@code [fromIndex, toIndex)} списка с помощью {@link QuickSort}
+     *
+     * @param fromIndex  индекс первого элемента диапазона
+     * @param toIndex    индекс, следующий за последним элементом диапазона
+     * @param comparator объект, реализующий логику сравнения объектов
+     * @throws IllegalStateException если включен режим вставки с сохранением порядка
+     */
+    void sortRange(int fromIndex, int toIndex, Comparator<? super E> comparator) {
+        checkUnorderedMutation();
+
+        modCount++;
+        sortedBy = null;
+        QuickSort.sort(elements(), fromIndex, toIndex, comparator, metrics);
+        reindex();
+    }
+
+    /**
+     * <p>Записывает элементы списка в канал в компактном двоичном формате: заголовок с количеством элементов и
+     * идентификатором кодека, затем каждый элемент с префиксом длины. Неиспользуемая вместимость не записывается.</p>
+     * <p>
+     * Элементы кодируются в пул прямых буферов и отправляются в канал сборной записью
+     * ({@link java.nio.channels.GatheringByteChannel}), если канал ее поддерживает, без выделения памяти на каждый
+     * элемент. Канал не закрывается.
+     * </p>
+     *
+     * @param channel канал для записи
+     * @param codec   кодек элементов
+     * @throws IOException           если запись в канал не удалась
+     * @throws IllegalStateException если кодек записал не столько байт, сколько вернул
+     *                               {@link ElementCodec#encodedSize(Object)}
+     * @see #readFrom(ReadableByteChannel, ElementCodec)
+     */
+    @SuppressWarnings("unchecked")
+    public void writeTo(WritableByteChannel channel, ElementCodec<? super E> codec) throws IOException {
+        BinaryFormat.write(elements(), size, (ElementCodec<Object>) codec, channel);
+    }
+
+    /**
+     * <p>Читает список, записанный {@link #writeTo(WritableByteChannel, ElementCodec)}.</p>
+     * <p>
+     * Вместимость списка выделяется один раз по количеству элементов из заголовка. Данные читаются в прямой буфер
+     * из пула, поэтому канал может быть прочитан дальше конца списка. Канал не закрывается.
+     * </p>
+     *
+     * @param channel канал для чтения
+     * @param codec   кодек элементов, тот же, что и при записи
+     * @param <E>     тип элементов списка
+     * @return прочитанный список
+     * @throws IOException если чтение не удалось, поток записан другим кодеком или поврежден
+     */
+    public static <E> CustomArrayList<E> readFrom(ReadableByteChannel channel, ElementCodec<E> codec)
+            throws IOException {
+        return BinaryFormat.read(channel, codec);
+    }
+
+    /**
+     * Возвращает {@link Spliterator} по диапазону {@code [fromIndex, toIndex)} с уже зафиксированными границами
+     *
+     * @param fromIndex        индекс первого элемента диапазона
+     * @param toIndex          индекс, следующий за последним элементом диапазона
+     * @param expectedModCount ожидаемое количество структурных изменений списка
+     * @return разделитель элементов диапазона
+     */
+    Spliterator<E> spliterator(int fromIndex, int toIndex, int expectedModCount) {
+        closeGap();
+        return new ArraySpliterator(fromIndex, toIndex, expectedModCount);
+    }
+
+    /**
+     * Возвращает итератор по элементам списка. Итератор поддерживает удаление текущего элемента
+     * ({@link Iterator#remove()}).
+     *
+     * @return итератор по элементам списка в порядке индексов
+     */
+    @Override
+    public Iterator<E> iterator() {
+        closeGap();
+        return new Itr();
+    }
+
+    /**
+     * Выполняет {@code action} для каждого элемента списка, обходя массив напрямую
+     *
+     * @param action действие для каждого элемента
+     * @throws ConcurrentModificationException если {@code action} структурно изменил список
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        int expectedModCount = modCount;
+        Object[] array = elements();
+        int end = size;
+        for (int i = 0; i < end && modCount == expectedModCount; i++) {
+            action.accept((E) array[i]);
+        }
+
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * <p>
+     * Возвращает {@link Spliterator} с характеристиками {@link Spliterator#SIZED}, {@link Spliterator#SUBSIZED} и
+     * {@link Spliterator#ORDERED}. При разделении диапазон массива делится пополам, поэтому параллельные потоки
+     * получают части одинакового размера.
+     * </p>
+     * <p>
+     * Границы обхода фиксируются при первом обращении к элементам, а не при создании: изменения списка до начала
+     * обхода учитываются, после - приводят к {@link ConcurrentModificationException}.
+     * </p>
+     *
+     * @return разделитель элементов списка
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new ArraySpliterator(0, -1, 0);
+    }
+
+    /**
+     * Возвращает последовательный поток элементов списка
+     *
+     * @return поток элементов списка
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Возвращает параллельный поток элементов списка. Элементы делятся между потоками {@link ForkJoinPool#commonPool()}
+     * по диапазонам массива.
+     *
+     * @return параллельный поток элементов списка
+     */
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Возвращает количество добавленных элементов в список
+     *
+     * @return размер списка (количество добавленных элементов)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает текущую вместимость списка
+     *
+     * @return вместимость списка
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Возвращает способ размещения элементов, выбранный при создании списка
+     *
+     * @return способ размещения элементов
+     */
+    public StorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    /**
+     * Возвращает стратегию увеличения вместимости списка
+     *
+     * @return стратегия увеличения (по умолчанию - в {@value INCREASE_FACTOR} раза)
+     */
+    public GrowthPolicy getGrowthPolicy() {
+        return growthPolicy;
+    }
+
+    /**
+     * Устанавливает стратегию увеличения вместимости списка
+     *
+     * @param growthPolicy стратегия увеличения
+     */
+    public void setGrowthPolicy(GrowthPolicy growthPolicy) {
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+    }
+
+    /**
+     * Возвращает максимальную вместимость списка
+     *
+     * @return максимальная вместимость
+     */
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    /**
+     * Устанавливает максимальную вместимость списка. Добавление элемента в заполненный до максимума список
+     * завершается {@link IllegalStateException}.
+     *
+     * @param maxCapacity максимальная вместимость
+     * @throws IllegalArgumentException если значение {@code maxCapacity} меньше текущей вместимости списка
+     */
+    public void setMaxCapacity(int maxCapacity) {
+        if (maxCapacity < capacity()) {
+            throw new IllegalArgumentException("Max capacity must not be less than current capacity");
+        }
+
+        this.maxCapacity = maxCapacity;
+    }
+
+    /**
+     * Возвращает порог заполненности, ниже которого список уменьшает вместимость после удаления элементов
+     *
+     * @return порог заполненности ({@code 0} - автоматическое уменьшение выключено)
+     */
+    public double getShrinkThreshold() {
+        return shrinkThreshold;
+    }
+
+    /**
+     * <p>Включает автоматическое уменьшение вместимости после удаления элементов.</p>
+     * <p>
+     * Если после удаления заполненность списка ({@code size() / capacity()}) меньше {@code shrinkThreshold},
+     * вместимость уменьшается до {@code size() / (2 * shrinkThreshold)}, но не меньше
+     * {@value DEFAULT_CAPACITY} элементов. {@link #clear()} вместимость не изменяет.
+     * </p>
+     *
+     * @param shrinkThreshold порог заполненности от {@code 0} (выключено) до {@code 0.5}
+     * @throws IllegalArgumentException если значение {@code shrinkThreshold} вне диапазона {@code [0, 0.5]}
+     */
+    public void setShrinkThreshold(double shrinkThreshold) {
+        if (!(shrinkThreshold >= 0 && shrinkThreshold <= 0.5)) {
+            throw new IllegalArgumentException("Shrink threshold must be between 0 and 0.5");
+        }
+
+        this.shrinkThreshold = shrinkThreshold;
+    }
+
+    /**
+     * Полностью очищает список, не изменяя его {@code capacity}. Массив элементов переиспользуется, обнуляются
+     * только занятые ячейки.
+     */
+    public void clear() {
+        truncate(0);
+    }
+
+    /**
+     * Итератор по элементам списка, проверяющий {@code modCount} при каждом шаге
+     */
+    private class Itr implements Iterator<E> {
+
+        private int cursor;
+
+        private int lastReturned = -1;
+
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            checkForComodification();
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+
+            lastReturned = cursor++;
+            return (E) elements[lastReturned];
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+
+            fastRemove(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * <p>{@link Spliterator} по диапазону {@code [index, fence)} массива элементов.</p>
+     * <p>
+     * Пока {@code fence} отрицателен, границы не зафиксированы: они берутся из списка при первом обращении к
+     * элементам (позднее связывание), вместе с ожидаемым значением {@code modCount}. Тогда же закрывается разрыв
+     * {@link StorageMode#GAP_BUFFER}: обход читает массив напрямую.
+     * </p>
+     */
+    private class ArraySpliterator implements Spliterator<E> {
+
+        private int index;
+
+        private int fence;
+
+        private int expectedModCount;
+
+        ArraySpliterator(int origin, int fence, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int getFence() {
+            if (fence < 0) {
+                closeGap();
+                expectedModCount = modCount;
+                fence = size;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int high = getFence();
+            int middle = (index + high) >>> 1;
+            if (index >= middle) {
+                return null;
+            }
+
+            ArraySpliterator prefix = new ArraySpliterator(index, middle, expectedModCount);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+
+            int high = getFence();
+            if (index >= high) {
+                return false;
+            }
+
+            action.accept((E) elements[index++]);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+
+            int high = getFence();
+            Object[] array = elements;
+            for (int i = index; i < high; i++) {
+                action.accept((E) array[i]);
+            }
+            index = high;
+
+            // Проверка один раз после обхода: в цикле нет лишних обращений к полям списка
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    /**
+     * <p>Включает кеширование хеш-кода.</p>
+     * <p>
+     * Хеш-код вычисляется при первом вызове {@link #hashCode()} и сбрасывается при любом изменении списка
+     * (структурном изменении, {@code set}, сортировке). Изменение состояния самих элементов кеш не сбрасывает,
+     * поэтому кеширование подходит для списков неизменяемых элементов, например ключей {@link java.util.HashMap}.
+     * </p>
+     *
+     * @param hashCaching {@code true}, чтобы включить кеширование
+     */
+    public void setHashCaching(boolean hashCaching) {
+        this.hashCaching = hashCaching;
+        this.hashValid = false;
+    }
+
+    /**
+     * Проверяет, включено ли кеширование хеш-кода
+     *
+     * @return {@code true}, если кеширование включено
+     */
+    public boolean isHashCaching() {
+        return hashCaching;
+    }
+
+    /**
+     * Сравнивает списки поэлементно ({@link Objects#deepEquals(Object, Object)}) только в пределах {@code size()}:
+     * вместимость списков не учитывается. Списки разного размера или с разными кешированными хеш-кодами
+     * сравниваются без обхода элементов.
+     *
+     * @param o объект для сравнения
+     * @return {@code true}, если {@code o} - {@link CustomArrayList} с равными элементами в том же порядке
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CustomArrayList<?> that = (CustomArrayList<?>) o;
+        if (size != that.size) return false;
+        if (hasCachedHash() && that.hasCachedHash() && cachedHash != that.cachedHash) return false;
+
+        Object[] array = elements();
+        Object[] other = that.elements();
+        for (int i = 0; i < size; i++) {
+            if (!Objects.deepEquals(array[i], other[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Вычисляет хеш-код по элементам в пределах {@code size()} так же, как {@link List#hashCode()}. Если включено
+     * кеширование ({@link #setHashCaching(boolean)}), повторный вызов без изменений списка возвращает сохраненное
+     * значение.
+     *
+     * @return хеш-код списка
+     */
+    @Override
+    public int hashCode() {
+        if (hasCachedHash()) {
+            return cachedHash;
+        }
+
+        closeGap();
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + Objects.hashCode(elements[i]);
+        }
+
+        if (hashCaching) {
+            cachedHash = hash;
+            hashModCount = modCount;
+            hashValid = true;
+        }
+        return hash;
+    }
+
+    private boolean hasCachedHash() {
+        return hashValid && hashModCount == modCount;
+    }
+
+    /**
+     * Переопределяет строковое представление объекта {@link CustomArrayList}
+     *
+     * @return строковое представление добавленных элементов
+     */
+    @Override
+    public String toString() {
+        closeGap();
+        StringBuilder builder = new StringBuilder(2 + 8 * size).append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(elements[i]);
+        }
+        return builder.append(']').toString();
     }
 }
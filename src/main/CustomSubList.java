@@ -0,0 +1,322 @@
+package main;
+
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Представление диапазона {@link CustomArrayList} без копирования элементов.</p>
+ * <p>
+ * Элементы читаются и записываются напрямую в массив исходного списка со смещением {@code offset}. Структурные
+ * изменения через представление выполняются в исходном списке, а размеры всех родительских представлений
+ * обновляются. Если исходный список структурно изменен не через это представление, любая операция с ним
+ * завершается {@link ConcurrentModificationException}.
+ * </p>
+ * <p>
+ * Представление только для чтения ({@link CustomArrayList#slice(int, int)}) на любую попытку изменения
+ * выбрасывает {@link UnsupportedOperationException}.
+ * </p>
+ *
+ * @param <E> тип элементов списка
+ */
+public class CustomSubList<E> implements Iterable<E> {
+
+    private final CustomArrayList<E> root;
+
+    private final CustomSubList<E> parent;
+
+    private final int offset;
+
+    private final boolean readOnly;
+
+    private int size;
+
+    private int expectedModCount;
+
+    CustomSubList(CustomArrayList<E> root, int fromIndex, int toIndex, boolean readOnly) {
+        this.root = root;
+        this.parent = null;
+        this.offset = fromIndex;
+        this.size = toIndex - fromIndex;
+        this.readOnly = readOnly;
+        this.expectedModCount = root.modCount();
+    }
+
+    private CustomSubList(CustomSubList<E> parent, int fromIndex, int toIndex, boolean readOnly) {
+        this.root = parent.root;
+        this.parent = parent;
+        this.offset = parent.offset + fromIndex;
+        this.size = toIndex - fromIndex;
+        this.readOnly = readOnly;
+        this.expectedModCount = parent.expectedModCount;
+    }
+
+    /**
+     * Возвращает элемент представления по указанному индексу
+     *
+     * @param index индекс возвращаемого элемента
+     * @return элемент по указанному индексу
+     * @throws IndexOutOfBoundsException       если значение {@code index} меньше 0 или больше либо равно
+     *                                         {@code size()}
+     * @throws ConcurrentModificationException если исходный список структурно изменен
+     */
+    public E get(int index) {
+        checkIndex(index, size);
+        checkForComodification();
+
+        // Чтение учитывает разрыв GAP_BUFFER и не меняет исходный список
+        return root.get(offset + index);
+    }
+
+    /**
+     * Устанавливает значение элемента по указанному индексу. Изменение видно в исходном списке.
+     *
+     * @param index   индекс элемента, значение которого будет изменено
+     * @param element элемент, который будет установлен по указанному {@code index}
+     * @throws IndexOutOfBoundsException       если значение {@code index} меньше 0 или больше либо равно
+     *                                         {@code size()}
+     * @throws UnsupportedOperationException   если представление только для чтения
+     * @throws IllegalStateException           если в исходном списке включен режим вставки с сохранением порядка
+     * @throws ConcurrentModificationException если исходный список структурно изменен
+     */
+    public void set(int index, E element) {
+        checkWritable();
+        checkIndex(index, size);
+        checkForComodification();
+
+        root.set(offset + index, element);
+    }
+
+    /**
+     * Добавляет элемент в конец представления. Элемент вставляется в исходный список сразу после диапазона.
+     *
+     * @param element элемент для добавления
+     * @throws UnsupportedOperationException   если представление только для чтения
+     * @throws ConcurrentModificationException если исходный список структурно изменен
+     */
+    public void add(E element) {
+        add(size, element);
+    }
+
+    /**
+     * Добавляет элемент в представление по указанному индексу
+     *
+     * @param index   место вставки элемента
+     * @param element элемент для добавления
+     * @throws IndexOutOfBoundsException       если значение {@code index} меньше 0 или больше {@code size()}
+     * @throws UnsupportedOperationException   если представление только для чтения
+     * @throws ConcurrentModificationException если исходный список структурно изменен
+     */
+    public void add(int index, E element) {
+        checkWritable();
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", but size is: " + size);
+        }
+        checkForComodification();
+
+        root.add(offset + index, element);
+        updateSizeAndModCount(1);
+    }
+
+    /**
+     * Удаляет элемент представления по указанному индексу, сдвигая хвост исходного списка влево
+     *
+     * @param index индекс элемента, который нужно удалить
+     * @return удаленный элемент
+     * @throws IndexOutOfBoundsException       если значение {@code index} меньше 0 или больше либо равно
+     *                                         {@code size()}
+     * @throws UnsupportedOperationException   если представление только для чтения
+     * @throws ConcurrentModificationException если исходный список структурно изменен
+     */
+    public E remove(int index) {
+        checkWritable();
+        checkIndex(index, size);
+        checkForComodification();
+
+        E removed = root.remove(offset + index);
+        updateSizeAndModCount(-1);
+        return removed;
+    }
+
+    /**
+     * Удаляет все элементы представления из исходного списка одним сдвигом хвоста
+     *
+     * @throws UnsupportedOperationException   если представление только для чтения
+     * @throws ConcurrentModificationException если исходный список структурно изменен
+     */
+    public void clear() {
+        checkWritable();
+        checkForComodification();
+
+        root.removeRange(offset, offset + size);
+        updateSizeAndModCount(-size);
+    }
+
+    /**
+     * Сортирует диапазон исходного списка на месте с помощью {@link QuickSort}. Остальные элементы списка не
+     * изменяются.
+     *
+     * @param comparator объект, реализующий логику сравнения объектов
+     * @throws UnsupportedOperationException   если представление только для чтения
+     * @throws ConcurrentModificationException если исходный список структурно изменен
+     */
+    public void sort(Comparator<? super E> comparator) {
+        checkWritable();
+        checkForComodification();
+
+        root.sortRange(offset, offset + size, comparator);
+        updateSizeAndModCount(0);
+    }
+
+    /**
+     * Возвращает представление диапазона {@code [fromIndex, toIndex)} этого представления. Представление
+     * только для чтения возвращает представление только для чтения.
+     *
+     * @param fromIndex индекс первого элемента диапазона
+     * @param toIndex   индекс, следующий за последним элементом диапазона
+     * @return представление диапазона
+     * @throws IndexOutOfBoundsException       если {@code fromIndex < 0}, {@code toIndex > size()} или
+     *                                         {@code fromIndex > toIndex}
+     * @throws ConcurrentModificationException если исходный список структурно изменен
+     */
+    public CustomSubList<E> subList(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        checkForComodification();
+
+        return new CustomSubList<>(this, fromIndex, toIndex, readOnly);
+    }
+
+    /**
+     * Возвращает представление диапазона {@code [fromIndex, toIndex)} этого представления только для чтения
+     *
+     * @param fromIndex индекс первого элемента диапазона
+     * @param toIndex   индекс, следующий за последним элементом диапазона
+     * @return представление диапазона только для чтения
+     * @throws IndexOutOfBoundsException       если {@code fromIndex < 0}, {@code toIndex > size()} или
+     *                                         {@code fromIndex > toIndex}
+     * @throws ConcurrentModificationException если исходный список структурно изменен
+     */
+    public CustomSubList<E> slice(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        checkForComodification();
+
+        return new CustomSubList<>(this, fromIndex, toIndex, true);
+    }
+
+    /**
+     * Возвращает итератор по элементам представления. Итератор не поддерживает удаление.
+     *
+     * @return итератор по элементам представления
+     * @throws ConcurrentModificationException если исходный список структурно изменен
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Возвращает {@link Spliterator} по диапазону представления с характеристиками {@link Spliterator#SIZED},
+     * {@link Spliterator#SUBSIZED} и {@link Spliterator#ORDERED}
+     *
+     * @return разделитель элементов представления
+     * @throws ConcurrentModificationException если исходный список структурно изменен
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        checkForComodification();
+
+        return root.spliterator(offset, offset + size, expectedModCount);
+    }
+
+    /**
+     * Возвращает последовательный поток элементов представления
+     *
+     * @return поток элементов представления
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Возвращает параллельный поток элементов представления
+     *
+     * @return параллельный поток элементов представления
+     */
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Возвращает количество элементов в представлении
+     *
+     * @return размер представления
+     * @throws ConcurrentModificationException если исходный список структурно изменен
+     */
+    public int size() {
+        checkForComodification();
+
+        return size;
+    }
+
+    /**
+     * Проверяет, является ли представление представлением только для чтения
+     *
+     * @return {@code true}, если представление нельзя изменять
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    private void updateSizeAndModCount(int sizeChange) {
+        CustomSubList<E> view = this;
+        do {
+            view.size += sizeChange;
+            view.expectedModCount = root.modCount();
+            view = view.parent;
+        } while (view != null);
+    }
+
+    private void checkForComodification() {
+        if (root.modCount() != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Slice is read-only");
+        }
+    }
+
+    private void checkRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("From index: " + fromIndex + ", to index: " + toIndex
+                    + ", but size is: " + size);
+        }
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", but size is: " + size);
+        }
+    }
+
+    /**
+     * Переопределяет строковое представление объекта {@link CustomSubList}
+     *
+     * @return строковое представление элементов диапазона
+     */
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < size; i++) {
+            joiner.add(String.valueOf(get(i)));
+        }
+        return joiner.toString();
+    }
+}
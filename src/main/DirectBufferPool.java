@@ -0,0 +1,70 @@
+package main;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Общий пул прямых буферов ввода-вывода.</p>
+ * <p>
+ * Выделение прямого буфера дорого (память обнуляется, освобождается только после сборки объекта буфера), поэтому
+ * буферы одного размера ({@value #BUFFER_BYTES} байт) переиспользуются между вызовами и потоками. В пуле хранится не
+ * больше {@value #MAX_POOLED} свободных буферов, лишние отдаются сборщику мусора. Буферы другого размера
+ * ({@link #acquire(int)}) выделяются при каждом запросе и в пул не возвращаются.
+ * </p>
+ */
+final class DirectBufferPool {
+
+    static final int BUFFER_BYTES = 64 * 1024;
+
+    private static final int MAX_POOLED = 32;
+
+    private static final ConcurrentLinkedQueue<ByteBuffer> POOL = new ConcurrentLinkedQueue<>();
+
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    private DirectBufferPool() {
+    }
+
+    /**
+     * Берет буфер из пула или выделяет новый
+     *
+     * @return очищенный буфер емкостью {@value #BUFFER_BYTES} байт
+     */
+    static ByteBuffer acquire() {
+        ByteBuffer buffer = POOL.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(BUFFER_BYTES);
+        }
+
+        POOLED.decrementAndGet();
+        return buffer.clear();
+    }
+
+    /**
+     * Берет буфер указанной емкости: буфер стандартного размера - из пула, другого размера - выделяет новый
+     *
+     * @param capacity емкость буфера в байтах
+     * @return очищенный буфер емкостью {@code capacity} байт
+     */
+    static ByteBuffer acquire(int capacity) {
+        return capacity == BUFFER_BYTES ? acquire() : ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * Возвращает буфер в пул. Буфер нестандартного размера отдается сборщику мусора. После вызова буфер нельзя
+     * использовать.
+     *
+     * @param buffer буфер, полученный из {@link #acquire()} или {@link #acquire(int)}
+     */
+    static void release(ByteBuffer buffer) {
+        if (buffer.capacity() != BUFFER_BYTES) {
+            return;
+        }
+        if (POOLED.incrementAndGet() <= MAX_POOLED) {
+            POOL.offer(buffer);
+        } else {
+            POOLED.decrementAndGet();
+        }
+    }
+}
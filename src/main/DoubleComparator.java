@@ -0,0 +1,18 @@
+package main;
+
+/**
+ * Сравнивает два значения {@code double} без упаковки в {@link Double}.
+ */
+@FunctionalInterface
+public interface DoubleComparator {
+
+    /**
+     * Сравнивает два значения
+     *
+     * @param left  первое значение
+     * @param right второе значение
+     * @return отрицательное число, ноль или положительное число, если {@code left} меньше, равно или больше
+     * {@code right}
+     */
+    int compare(double left, double right);
+}
@@ -0,0 +1,251 @@
+package main;
+
+import java.util.Arrays;
+
+/**
+ * <p>Вариант {@link CustomArrayList} для примитивных значений {@code double}.</p>
+ * <p>
+ * Значения хранятся в массиве {@code double[]} без упаковки в {@link Double}, поэтому список занимает в несколько раз
+ * меньше памяти и не создает нагрузки на сборщик мусора.
+ * </p>
+ */
+public class DoubleCustomArrayList {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private static final double INCREASE_FACTOR = 1.5;
+
+    private double[] elements;
+
+    private int size;
+
+    /**
+     * Создает новый список со стандартным размером ({@value DEFAULT_CAPACITY} элементов)
+     */
+    public DoubleCustomArrayList() {
+        elements = new double[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Создает новый список указанного размера
+     *
+     * @param capacity размер списка
+     * @throws IllegalArgumentException если значение {@code capacity} меньше или равно нулю
+     */
+    public DoubleCustomArrayList(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be a positive integer");
+        }
+
+        elements = new double[capacity];
+    }
+
+    /**
+     * Создает новый список, содержащий значения указанного массива
+     *
+     * @param values значения для добавления в список
+     * @return новый список
+     */
+    public static DoubleCustomArrayList of(double... values) {
+        DoubleCustomArrayList list = new DoubleCustomArrayList(Math.max(values.length, 1));
+
+        System.arraycopy(values, 0, list.elements, 0, values.length);
+        list.size = values.length;
+
+        return list;
+    }
+
+    /**
+     * <p>Добавляет значение в конец списка.</p>
+     * <p>При нехватке места происходит увеличение размера списка в {@value INCREASE_FACTOR} раза</p>
+     *
+     * @param element значение для добавления в список
+     */
+    public void add(double element) {
+        if (size == capacity()) {
+            increase();
+        }
+
+        elements[size++] = element;
+    }
+
+    /**
+     * <p>Добавляет значение в список по указанному индексу.</p>
+     * <p>При нехватке места происходит увеличение размера списка в {@value INCREASE_FACTOR} раза.</p>
+     *
+     * @param index   место вставки значения
+     * @param element значение для добавления в список
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше {@code size()}
+     */
+    public void add(int index, double element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", but size is: " + size);
+        }
+
+        if (size == capacity()) {
+            increase();
+        }
+
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = element;
+        size++;
+    }
+
+    /**
+     * Увеличивает размер списка в {@value INCREASE_FACTOR} раза
+     */
+    private void increase() {
+        elements = Arrays.copyOf(elements, Math.max((int) (size * INCREASE_FACTOR), size + 1));
+    }
+
+    /**
+     * Возвращает значение по указанному индексу
+     *
+     * @param index индекс возвращаемого значения
+     * @return значение по указанному индексу
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше либо равно {@code size()}
+     */
+    public double get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /**
+     * Устанавливает значение по указанному индексу
+     *
+     * @param index   индекс значения, которое будет изменено
+     * @param element значение, которое будет установлено по указанному {@code index}
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше либо равно {@code size()}
+     */
+    public void set(int index, double element) {
+        checkIndex(index);
+        elements[index] = element;
+    }
+
+    /**
+     * Удаляет первое вхождение значения из списка при наличии
+     *
+     * @param element значение, которое нужно удалить
+     * @return {@code true}, если значение было найдено и удалено
+     */
+    public boolean removeValue(double element) {
+        for (int i = 0; i < size; i++) {
+            if (Double.compare(elements[i], element) == 0) {
+                remove(i);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Удаляет значение из списка по указанному индексу, сдвигая последующие значения влево
+     *
+     * @param index индекс значения, которое нужно удалить
+     * @return удаленное значение
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше либо равно {@code size()}
+     */
+    public double remove(int index) {
+        checkIndex(index);
+
+        double removed = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+
+        return removed;
+    }
+
+    /**
+     * Сортирует значения списка по возрастанию
+     */
+    public void sort() {
+        QuickSort.sort(this);
+    }
+
+    /**
+     * Сортирует значения списка в зависимости от реализации {@code comparator}
+     *
+     * @param comparator объект, реализующий логику сравнения значений
+     */
+    public void sort(DoubleComparator comparator) {
+        QuickSort.sort(this, comparator);
+    }
+
+    /**
+     * Возвращает количество добавленных значений в список
+     *
+     * @return размер списка (количество добавленных значений)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает текущую вместимость списка
+     *
+     * @return вместимость списка
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Полностью очищает список, не изменяя его {@code capacity}
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Возвращает массив, в котором хранятся значения списка. Используется {@link QuickSort} для сортировки
+     * без обращения к {@link #get(int)} / {@link #set(int, double)}.
+     *
+     * @return массив значений списка (заполнен до {@code size()})
+     */
+    double[] elements() {
+        return elements;
+    }
+
+    /**
+     * Возвращает копию значений списка в виде массива
+     *
+     * @return массив длиной {@code size()}
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", but size is: " + size);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DoubleCustomArrayList that = (DoubleCustomArrayList) o;
+        return Arrays.equals(elements, 0, size, that.elements, 0, that.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + Double.hashCode(elements[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Переопределяет строковое представление объекта {@link DoubleCustomArrayList}
+     *
+     * @return строковое представление добавленных значений
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,157 @@
+package main;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>Кодек элементов переменной длины для двоичного формата {@link CustomArrayList#writeTo} /
+ * {@link CustomArrayList#readFrom}.</p>
+ * <p>
+ * В отличие от {@link ElementLayout}, элемент занимает ровно столько байт, сколько нужно для его значения: список
+ * записывает перед каждым элементом его длину, поэтому кодеку не нужно хранить границы самому. Кодек пишет и
+ * читает относительными операциями буфера ({@code put}/{@code get}) и не получает {@code null}: пустые элементы
+ * список кодирует сам.
+ * </p>
+ *
+ * @param <E> тип элементов
+ */
+public interface ElementCodec<E> {
+
+    /**
+     * <p>Возвращает идентификатор формата элементов.</p>
+     * <p>
+     * Идентификатор записывается в заголовок потока и проверяется при чтении, поэтому он должен меняться при любом
+     * изменении формата.
+     * </p>
+     *
+     * @return идентификатор формата (по умолчанию - имя класса)
+     */
+    default String id() {
+        return getClass().getName();
+    }
+
+    /**
+     * Возвращает количество байт, которое займет элемент
+     *
+     * @param element элемент (не {@code null})
+     * @return размер элемента в байтах
+     */
+    int encodedSize(E element);
+
+    /**
+     * Записывает элемент с текущей позиции буфера. В буфере гарантированно есть {@link #encodedSize(Object)}
+     * свободных байт.
+     *
+     * @param element элемент (не {@code null})
+     * @param buffer  буфер
+     */
+    void encode(E element, ByteBuffer buffer);
+
+    /**
+     * Читает элемент с текущей позиции буфера. Граница буфера установлена на конец элемента.
+     *
+     * @param buffer буфер
+     * @param length размер элемента в байтах
+     * @return прочитанный элемент
+     */
+    E decode(ByteBuffer buffer, int length);
+
+    /**
+     * Возвращает кодек {@link Integer} (4 байта)
+     *
+     * @return кодек
+     */
+    static ElementCodec<Integer> ints() {
+        return new ElementCodec<>() {
+            @Override
+            public String id() {
+                return "int";
+            }
+
+            @Override
+            public int encodedSize(Integer element) {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public void encode(Integer element, ByteBuffer buffer) {
+                buffer.putInt(element);
+            }
+
+            @Override
+            public Integer decode(ByteBuffer buffer, int length) {
+                return buffer.getInt();
+            }
+        };
+    }
+
+    /**
+     * Возвращает кодек {@link Long} (8 байт)
+     *
+     * @return кодек
+     */
+    static ElementCodec<Long> longs() {
+        return new ElementCodec<>() {
+            @Override
+            public String id() {
+                return "long";
+            }
+
+            @Override
+            public int encodedSize(Long element) {
+                return Long.BYTES;
+            }
+
+            @Override
+            public void encode(Long element, ByteBuffer buffer) {
+                buffer.putLong(element);
+            }
+
+            @Override
+            public Long decode(ByteBuffer buffer, int length) {
+                return buffer.getLong();
+            }
+        };
+    }
+
+    /**
+     * Возвращает кодек {@link String} в UTF-8 без промежуточного массива байт при записи
+     *
+     * @return кодек
+     */
+    static ElementCodec<String> strings() {
+        return new ElementCodec<>() {
+            @Override
+            public String id() {
+                return "utf8";
+            }
+
+            @Override
+            public int encodedSize(String element) {
+                return BinaryFormat.utf8Length(element);
+            }
+
+            @Override
+            public void encode(String element, ByteBuffer buffer) {
+                BinaryFormat.putUtf8(buffer, element);
+            }
+
+            @Override
+            public String decode(ByteBuffer buffer, int length) {
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    /**
+     * Возвращает кодек {@link Person}: возраст и имя
+     *
+     * @return кодек
+     * @see PersonCodec
+     */
+    static ElementCodec<Person> persons() {
+        return new PersonCodec();
+    }
+}
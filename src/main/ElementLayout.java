@@ -0,0 +1,152 @@
+package main;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>Описание хранения элементов фиксированного размера вне кучи ({@link OffHeapCustomArrayList}).</p>
+ * <p>
+ * Каждый элемент занимает ровно {@link #byteSize()} байт. Реализация читает и записывает элемент по абсолютному
+ * смещению и не должна изменять позицию и границы буфера.
+ * </p>
+ *
+ * @param <E> тип элементов
+ */
+public interface ElementLayout<E> {
+
+    /**
+     * Возвращает размер одного элемента в байтах
+     *
+     * @return размер элемента
+     */
+    int byteSize();
+
+    /**
+     * <p>Возвращает идентификатор формата элементов.</p>
+     * <p>
+     * Идентификатор сохраняется в заголовке файла {@link MappedCustomArrayList} и проверяется при повторном
+     * открытии, поэтому он должен меняться при любом изменении формата.
+     * </p>
+     *
+     * @return идентификатор формата (по умолчанию - имя класса)
+     */
+    default String id() {
+        return getClass().getName();
+    }
+
+    /**
+     * Записывает элемент в буфер
+     *
+     * @param buffer  буфер
+     * @param offset  смещение в байтах, с которого записывается элемент
+     * @param element элемент
+     * @throws IllegalArgumentException если элемент не помещается в {@link #byteSize()} байт
+     */
+    void write(ByteBuffer buffer, int offset, E element);
+
+    /**
+     * Читает элемент из буфера
+     *
+     * @param buffer буфер
+     * @param offset смещение в байтах, с которого начинается элемент
+     * @return прочитанный элемент
+     */
+    E read(ByteBuffer buffer, int offset);
+
+    /**
+     * Возвращает описание хранения {@link Integer} (4 байта)
+     *
+     * @return описание хранения
+     */
+    static ElementLayout<Integer> ints() {
+        return new ElementLayout<>() {
+            @Override
+            public int byteSize() {
+                return Integer.BYTES;
+            }
+
+            @Override
+            public String id() {
+                return "int";
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, Integer element) {
+                buffer.putInt(offset, element);
+            }
+
+            @Override
+            public Integer read(ByteBuffer buffer, int offset) {
+                return buffer.getInt(offset);
+            }
+        };
+    }
+
+    /**
+     * Возвращает описание хранения {@link Long} (8 байт)
+     *
+     * @return описание хранения
+     */
+    static ElementLayout<Long> longs() {
+        return new ElementLayout<>() {
+            @Override
+            public int byteSize() {
+                return Long.BYTES;
+            }
+
+            @Override
+            public String id() {
+                return "long";
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, Long element) {
+                buffer.putLong(offset, element);
+            }
+
+            @Override
+            public Long read(ByteBuffer buffer, int offset) {
+                return buffer.getLong(offset);
+            }
+        };
+    }
+
+    /**
+     * Возвращает описание хранения {@link Double} (8 байт)
+     *
+     * @return описание хранения
+     */
+    static ElementLayout<Double> doubles() {
+        return new ElementLayout<>() {
+            @Override
+            public int byteSize() {
+                return Double.BYTES;
+            }
+
+            @Override
+            public String id() {
+                return "double";
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, Double element) {
+                buffer.putDouble(offset, element);
+            }
+
+            @Override
+            public Double read(ByteBuffer buffer, int offset) {
+                return buffer.getDouble(offset);
+            }
+        };
+    }
+
+    /**
+     * Возвращает описание хранения {@link Person} с именем не длиннее {@code maxNameLength} символов
+     *
+     * @param maxNameLength максимальная длина имени
+     * @return описание хранения
+     * @see PersonLayout
+     */
+    static ElementLayout<Person> persons(int maxNameLength) {
+        return new PersonLayout(maxNameLength);
+    }
+}
@@ -0,0 +1,501 @@
+package main;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * <p>Внешняя сортировка слиянием для наборов данных, которые не помещаются в кучу.</p>
+ * <p>
+ * Элементы набираются в {@link CustomArrayList} ограниченного размера ({@link #setRunElements(int)}), список
+ * сортируется {@link QuickSort} и сбрасывается во временный файл в двоичном формате
+ * {@link CustomArrayList#writeTo} ("серия"). Затем серии сливаются кучей курсоров: на каждом шаге берется
+ * наименьший из текущих элементов серий. Если серий больше, чем {@link #setMergeFanIn(int)}, они сливаются в
+ * несколько проходов через промежуточные файлы.
+ * </p>
+ * <p>
+ * Файлы читаются и пишутся каналами {@link FileChannel} через прямые буферы: при слиянии у каждого курсора свой
+ * буфер чтения размером {@link #setBufferSize(int)}. Поэтому память сортировки - {@code runElements} элементов при
+ * наборе серий и {@code mergeFanIn * bufferSize} байт при слиянии. Буферы курсоров стандартного размера берутся из
+ * {@link DirectBufferPool} и возвращаются в него при закрытии курсора. Запись серий и результата слияния всегда
+ * идет через буферы пула стандартного размера, {@link #setBufferSize(int)} на нее не влияет.
+ * </p>
+ * <p>Сортировка нестабильна: равные элементы могут поменяться местами.</p>
+ *
+ * @param <E> тип элементов
+ */
+public class ExternalSort<E> {
+
+    private static final int DEFAULT_RUN_ELEMENTS = 1 << 20;
+
+    private static final int DEFAULT_MERGE_FAN_IN = 64;
+
+    private static final int MIN_BUFFER_BYTES = 4096;
+
+    private final ElementCodec<E> codec;
+
+    private final Comparator<? super E> comparator;
+
+    private int runElements = DEFAULT_RUN_ELEMENTS;
+
+    private int mergeFanIn = DEFAULT_MERGE_FAN_IN;
+
+    private int bufferSize = DirectBufferPool.BUFFER_BYTES;
+
+    private Path tempDirectory;
+
+    /**
+     * Создает сортировку со стандартными настройками
+     *
+     * @param codec      кодек, которым элементы записываются во временные файлы
+     * @param comparator объект, реализующий логику сравнения элементов
+     */
+    public ExternalSort(ElementCodec<E> codec, Comparator<? super E> comparator) {
+        this.codec = Objects.requireNonNull(codec);
+        this.comparator = Objects.requireNonNull(comparator);
+    }
+
+    /**
+     * Возвращает количество элементов, сортируемых в памяти за один раз (длину серии)
+     *
+     * @return длина серии
+     */
+    public int getRunElements() {
+        return runElements;
+    }
+
+    /**
+     * Устанавливает количество элементов, сортируемых в памяти за один раз (длину серии). Это основной бюджет
+     * памяти сортировки: в памяти одновременно находится не больше {@code runElements} элементов.
+     *
+     * @param runElements длина серии
+     * @throws IllegalArgumentException если значение {@code runElements} меньше или равно нулю
+     */
+    public void setRunElements(int runElements) {
+        if (runElements <= 0) {
+            throw new IllegalArgumentException("Run elements must be a positive integer");
+        }
+
+        this.runElements = runElements;
+    }
+
+    /**
+     * Возвращает максимальное количество серий, сливаемых за один проход
+     *
+     * @return количество сливаемых серий
+     */
+    public int getMergeFanIn() {
+        return mergeFanIn;
+    }
+
+    /**
+     * Устанавливает максимальное количество серий, сливаемых за один проход
+     *
+     * @param mergeFanIn количество сливаемых серий
+     * @throws IllegalArgumentException если значение {@code mergeFanIn} меньше 2
+     */
+    public void setMergeFanIn(int mergeFanIn) {
+        if (mergeFanIn < 2) {
+            throw new IllegalArgumentException("Merge fan-in must be at least 2");
+        }
+
+        this.mergeFanIn = mergeFanIn;
+    }
+
+    /**
+     * Возвращает размер буфера чтения одной серии при слиянии
+     *
+     * @return размер буфера в байтах
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Устанавливает размер буфера чтения одной серии при слиянии. Размер буферов записи не меняется. Буферы
+     * размера, отличного от {@value DirectBufferPool#BUFFER_BYTES} байт, не переиспользуются и выделяются для
+     * каждой серии.
+     *
+     * @param bufferSize размер буфера в байтах
+     * @throws IllegalArgumentException если значение {@code bufferSize} меньше {@value MIN_BUFFER_BYTES}
+     */
+    public void setBufferSize(int bufferSize) {
+        if (bufferSize < MIN_BUFFER_BYTES) {
+            throw new IllegalArgumentException("Buffer size must be at least " + MIN_BUFFER_BYTES + " bytes");
+        }
+
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Устанавливает каталог временных файлов
+     *
+     * @param tempDirectory каталог или {@code null} для системного каталога временных файлов
+     */
+    public void setTempDirectory(Path tempDirectory) {
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Сортирует элементы и возвращает итератор по результату. Последний проход слияния выполняется по мере
+     * обхода итератора, временные файлы удаляются при его закрытии.
+     *
+     * @param input элементы для сортировки
+     * @return итератор по отсортированным элементам, который нужно закрыть
+     * @throws IOException если запись или чтение временных файлов не удались
+     */
+    public MergeIterator<E> sort(Iterator<? extends E> input) throws IOException {
+        List<Path> runs = mergeUntilFanIn(spillRuns(input));
+        try {
+            return new MergeIterator<>(runs, codec, comparator, bufferSize);
+        } catch (IOException | RuntimeException e) {
+            deleteAll(runs);
+            throw e;
+        }
+    }
+
+    /**
+     * Сортирует элементы и записывает результат в файл в формате {@link CustomArrayList#writeTo}
+     *
+     * @param input  элементы для сортировки
+     * @param output файл результата (перезаписывается)
+     * @throws IOException если запись или чтение файлов не удались
+     */
+    public void sort(Iterator<? extends E> input, Path output) throws IOException {
+        List<Path> runs = mergeUntilFanIn(spillRuns(input));
+        merge(runs, output);
+    }
+
+    /**
+     * Сортирует файл в формате {@link CustomArrayList#writeTo}, не загружая его в память целиком
+     *
+     * @param input  файл с элементами
+     * @param output файл результата (перезаписывается, может совпадать с {@code input})
+     * @throws IOException если запись или чтение файлов не удались, или {@code input} записан другим кодеком
+     */
+    public void sort(Path input, Path output) throws IOException {
+        List<Path> runs;
+        ByteBuffer buffer = DirectBufferPool.acquire();
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            BinaryFormat.Reader<E> reader = new BinaryFormat.Reader<>(channel, codec, buffer);
+            runs = spillRuns(new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return reader.hasNext();
+                }
+
+                @Override
+                public E next() {
+                    try {
+                        return reader.next();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            DirectBufferPool.release(buffer);
+        }
+
+        merge(mergeUntilFanIn(runs), output);
+    }
+
+    /**
+     * Набирает элементы в список длиной не больше {@code runElements}, сортирует и сбрасывает его в файл
+     *
+     * @param input элементы для сортировки
+     * @return файлы серий
+     */
+    private List<Path> spillRuns(Iterator<? extends E> input) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try {
+            CustomArrayList<E> run = new CustomArrayList<>(runElements);
+            while (input.hasNext()) {
+                while (run.size() < runElements && input.hasNext()) {
+                    run.add(input.next());
+                }
+
+                Object[] elements = run.elements();
+                QuickSort.sort(elements, 0, run.size(), comparator);
+                Path file = createTempFile();
+                runs.add(file);
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    run.writeTo(channel, codec);
+                }
+                run.clear();
+            }
+            return runs;
+        } catch (IOException | RuntimeException e) {
+            deleteAll(runs);
+            throw e;
+        }
+    }
+
+    /**
+     * Сливает серии группами по {@code mergeFanIn}, пока их не останется не больше {@code mergeFanIn}
+     *
+     * @param runs файлы серий
+     * @return файлы серий для последнего прохода
+     */
+    private List<Path> mergeUntilFanIn(List<Path> runs) throws IOException {
+        while (runs.size() > mergeFanIn) {
+            List<Path> merged = new ArrayList<>();
+            try {
+                for (int from = 0; from < runs.size(); from += mergeFanIn) {
+                    List<Path> group = runs.subList(from, Math.min(from + mergeFanIn, runs.size()));
+                    Path file = createTempFile();
+                    merged.add(file);
+                    merge(new ArrayList<>(group), file);
+                }
+            } catch (IOException | RuntimeException e) {
+                deleteAll(runs);
+                deleteAll(merged);
+                throw e;
+            }
+            runs = merged;
+        }
+        return runs;
+    }
+
+    /**
+     * Сливает серии в файл и удаляет их
+     *
+     * @param runs   файлы серий
+     * @param output файл результата
+     */
+    private void merge(List<Path> runs, Path output) throws IOException {
+        ByteBuffer[] buffers = BinaryFormat.acquireBuffers();
+        try (MergeIterator<E> iterator = new MergeIterator<>(runs, codec, comparator, bufferSize);
+             FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (iterator.remaining() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Output is larger than " + Integer.MAX_VALUE + " elements");
+            }
+
+            BinaryFormat.Writer<E> writer = new BinaryFormat.Writer<>(channel, codec, buffers,
+                    (int) iterator.remaining());
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            BinaryFormat.releaseBuffers(buffers);
+            deleteAll(runs);
+        }
+    }
+
+    private Path createTempFile() throws IOException {
+        return tempDirectory == null ? Files.createTempFile("run", ".bin")
+                : Files.createTempFile(tempDirectory, "run", ".bin");
+    }
+
+    private static void deleteAll(List<Path> files) throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * <p>Итератор, сливающий отсортированные серии кучей курсоров.</p>
+     * <p>
+     * Куча хранит курсоры серий, упорядоченные по текущему элементу. После выдачи элемента верхний курсор
+     * переходит к следующему элементу своей серии и опускается по куче на свое место, поэтому шаг стоит
+     * {@code O(log k)} сравнений для {@code k} серий. Итератор нужно закрыть: закрытие закрывает каналы и
+     * удаляет файлы серий.
+     * </p>
+     *
+     * @param <E> тип элементов
+     */
+    public static final class MergeIterator<E> implements Iterator<E>, Closeable {
+
+        private final Comparator<? super E> comparator;
+
+        private final List<Path> runs;
+
+        private final Cursor<E>[] heap;
+
+        private int heapSize;
+
+        private long remaining;
+
+        @SuppressWarnings("unchecked")
+        private MergeIterator(List<Path> runs, ElementCodec<E> codec, Comparator<? super E> comparator,
+                              int bufferSize) throws IOException {
+            this.comparator = comparator;
+            this.runs = runs;
+            this.heap = (Cursor<E>[]) new Cursor<?>[runs.size()];
+
+            try {
+                for (Path run : runs) {
+                    Cursor<E> cursor = new Cursor<>(run, codec, bufferSize);
+                    heap[heapSize++] = cursor;
+                    remaining += cursor.reader.count();
+                    if (!cursor.advance()) {
+                        cursor.close();
+                        heap[--heapSize] = null;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                closeCursors();
+                throw e;
+            }
+
+            for (int i = heapSize / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        /**
+         * Возвращает количество еще не выданных элементов
+         *
+         * @return количество элементов
+         */
+        public long remaining() {
+            return remaining;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return heapSize > 0;
+        }
+
+        /**
+         * Возвращает следующий элемент в порядке сортировки
+         *
+         * @return следующий элемент
+         * @throws NoSuchElementException если элементы закончились
+         * @throws UncheckedIOException   если чтение серии не удалось
+         */
+        @Override
+        public E next() {
+            if (heapSize == 0) {
+                throw new NoSuchElementException();
+            }
+
+            Cursor<E> top = heap[0];
+            E element = top.current;
+            try {
+                if (!top.advance()) {
+                    top.close();
+                    heap[0] = heap[--heapSize];
+                    heap[heapSize] = null;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (heapSize > 0) {
+                siftDown(0);
+            }
+
+            remaining--;
+            return element;
+        }
+
+        /**
+         * Закрывает каналы и удаляет файлы серий. Повторный вызов ничего не делает.
+         *
+         * @throws IOException если файл не удалось удалить
+         */
+        @Override
+        public void close() throws IOException {
+            closeCursors();
+            heapSize = 0;
+            deleteAll(runs);
+        }
+
+        private void closeCursors() throws IOException {
+            for (Cursor<E> cursor : heap) {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+        }
+
+        private void siftDown(int index) {
+            Cursor<E> cursor = heap[index];
+            int half = heapSize >>> 1;
+            while (index < half) {
+                int child = 2 * index + 1;
+                int right = child + 1;
+                if (right < heapSize && comparator.compare(heap[right].current, heap[child].current) < 0) {
+                    child = right;
+                }
+                if (comparator.compare(cursor.current, heap[child].current) <= 0) {
+                    break;
+                }
+                heap[index] = heap[child];
+                index = child;
+            }
+            heap[index] = cursor;
+        }
+    }
+
+    /**
+     * Курсор серии: канал файла, буфер чтения из {@link DirectBufferPool} и текущий элемент
+     *
+     * @param <E> тип элементов
+     */
+    private static final class Cursor<E> implements Closeable {
+
+        private final FileChannel channel;
+
+        private final BinaryFormat.Reader<E> reader;
+
+        private ByteBuffer buffer;
+
+        private E current;
+
+        Cursor(Path run, ElementCodec<E> codec, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(run, StandardOpenOption.READ);
+            this.buffer = DirectBufferPool.acquire(bufferSize);
+            try {
+                this.reader = new BinaryFormat.Reader<>(channel, codec, buffer);
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        /**
+         * Переходит к следующему элементу серии
+         *
+         * @return {@code false}, если серия закончилась
+         */
+        boolean advance() throws IOException {
+            if (!reader.hasNext()) {
+                current = null;
+                return false;
+            }
+
+            current = reader.next();
+            return true;
+        }
+
+        /**
+         * Закрывает канал и возвращает буфер в пул. Повторный вызов ничего не делает.
+         */
+        @Override
+        public void close() throws IOException {
+            if (buffer != null) {
+                DirectBufferPool.release(buffer);
+                buffer = null;
+            }
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package main;
+
+/**
+ * <p>Стратегия увеличения вместимости {@link CustomArrayList} при нехватке места.</p>
+ * <p>
+ * Реализация возвращает желаемую новую вместимость. Список сам гарантирует, что результат будет не меньше
+ * требуемого минимума и не больше максимальной вместимости списка, поэтому стратегии не нужно заботиться о
+ * граничных случаях.
+ * </p>
+ */
+@FunctionalInterface
+public interface GrowthPolicy {
+
+    /**
+     * Максимальный размер массива, который можно выделить на большинстве JVM
+     */
+    int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * Вычисляет новую вместимость списка
+     *
+     * @param capacity    текущая вместимость списка
+     * @param minCapacity минимальная вместимость, необходимая для выполнения операции
+     * @return желаемая новая вместимость
+     */
+    int newCapacity(int capacity, int minCapacity);
+
+    /**
+     * Возвращает стратегию, увеличивающую вместимость в {@code factor} раз
+     *
+     * @param factor множитель увеличения
+     * @return стратегия увеличения
+     * @throws IllegalArgumentException если значение {@code factor} меньше или равно 1
+     */
+    static GrowthPolicy factor(double factor) {
+        if (!(factor > 1)) {
+            throw new IllegalArgumentException("Factor must be greater than 1");
+        }
+
+        return (capacity, minCapacity) -> clamp(Math.max((long) (capacity * factor), capacity + 1L));
+    }
+
+    /**
+     * Возвращает стратегию, удваивающую вместимость
+     *
+     * @return стратегия увеличения
+     */
+    static GrowthPolicy doubling() {
+        return (capacity, minCapacity) -> clamp(Math.max(2L * capacity, 1));
+    }
+
+    /**
+     * Возвращает стратегию, увеличивающую вместимость на фиксированное количество элементов
+     *
+     * @param increment количество добавляемых элементов
+     * @return стратегия увеличения
+     * @throws IllegalArgumentException если значение {@code increment} меньше или равно нулю
+     */
+    static GrowthPolicy additive(int increment) {
+        if (increment <= 0) {
+            throw new IllegalArgumentException("Increment must be a positive integer");
+        }
+
+        return (capacity, minCapacity) -> clamp((long) capacity + increment);
+    }
+
+    /**
+     * <p>
+     * Возвращает стратегию для очень больших списков: вместимость увеличивается в 1.5 раза и округляется вверх до
+     * числа, кратного {@code pageElements}.
+     * </p>
+     * <p>
+     * Если {@code pageElements} ссылок занимают страницу памяти (например, 1024 сжатые ссылки по 4 байта на
+     * странице 4 КБ), массив занимает целое число страниц.
+     * </p>
+     *
+     * @param pageElements количество элементов на странице
+     * @return стратегия увеличения
+     * @throws IllegalArgumentException если значение {@code pageElements} меньше или равно нулю
+     */
+    static GrowthPolicy pageAligned(int pageElements) {
+        if (pageElements <= 0) {
+            throw new IllegalArgumentException("Page size must be a positive integer");
+        }
+
+        return (capacity, minCapacity) -> {
+            long grown = Math.max(capacity + (long) (capacity >> 1), minCapacity);
+            long pages = (grown + pageElements - 1) / pageElements;
+            return clamp(pages * pageElements);
+        };
+    }
+
+    private static int clamp(long capacity) {
+        return (int) Math.min(capacity, MAX_ARRAY_LENGTH);
+    }
+}
@@ -0,0 +1,226 @@
+package main;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * <p>Вспомогательный хеш-индекс {@link CustomArrayList}: отображает ключи элементов на их индексы в списке.</p>
+ * <p>
+ * Индекс - хеш-таблица с открытой адресацией и линейным пробированием, в ячейках которой хранятся только
+ * позиции элементов ({@code позиция + 1}, {@code 0} - пустая ячейка). Ключи не хранятся: при поиске ключ
+ * вычисляется заново по элементу из массива списка. Поэтому индекс занимает {@code 4} байта на ячейку, а таблица
+ * заполнена не более чем наполовину, т.е. от 8 до 16 байт на элемент.
+ * </p>
+ * <p>
+ * Индекс не владеет массивом элементов: список передает текущий массив в каждую операцию и отвечает за порядок
+ * вызовов (позиция удаляется из индекса до того, как элемент будет перезаписан).
+ * </p>
+ *
+ * @param <E> тип элементов списка
+ */
+final class HashIndex<E> {
+
+    private static final int MIN_TABLE_LENGTH = 16;
+
+    private static final int MAX_TABLE_LENGTH = 1 << 30;
+
+    private final Function<? super E, ?> keyExtractor;
+
+    private int[] table;
+
+    private int shift;
+
+    private int count;
+
+    HashIndex(Function<? super E, ?> keyExtractor, Object[] elements, int size) {
+        this.keyExtractor = keyExtractor;
+
+        rebuild(elements, size);
+    }
+
+    /**
+     * Возвращает наименьшую позицию элемента с ключом {@code key}
+     *
+     * @param key      искомый ключ
+     * @param elements массив элементов списка
+     * @return позиция элемента или {@code -1}, если элемента с таким ключом нет
+     */
+    int indexOfKey(Object key, Object[] elements) {
+        int mask = table.length - 1;
+        int found = -1;
+        for (int slot = slot(key); table[slot] != 0; slot = (slot + 1) & mask) {
+            int position = table[slot] - 1;
+            if ((found < 0 || position < found) && Objects.equals(key, keyAt(position, elements))) {
+                found = position;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Возвращает наименьшую позицию элемента, равного {@code element} по {@code equals}. Если функция извлечения
+     * ключа не принимает {@code element} (объект другого типа), элементы просматриваются подряд.
+     *
+     * @param element  искомый элемент
+     * @param elements массив элементов списка
+     * @return позиция элемента или {@code -1}, если элемента нет
+     */
+    @SuppressWarnings("unchecked")
+    int indexOf(Object element, Object[] elements) {
+        Object key;
+        try {
+            key = keyExtractor.apply((E) element);
+        } catch (ClassCastException e) {
+            for (int position = 0; position < count; position++) {
+                if (Objects.equals(element, elements[position])) {
+                    return position;
+                }
+            }
+            return -1;
+        }
+        int mask = table.length - 1;
+        int found = -1;
+        for (int slot = slot(key); table[slot] != 0; slot = (slot + 1) & mask) {
+            int position = table[slot] - 1;
+            if ((found < 0 || position < found) && Objects.equals(element, elements[position])
+                    && Objects.equals(key, keyAt(position, elements))) {
+                found = position;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Добавляет в индекс позицию {@code position}. Элемент уже должен быть записан в массив.
+     *
+     * @param position позиция элемента
+     * @param elements массив элементов списка
+     */
+    void add(int position, Object[] elements) {
+        if (2 * (count + 1) > table.length && table.length < MAX_TABLE_LENGTH) {
+            resize(table.length * 2, elements);
+        }
+
+        insert(position, elements);
+    }
+
+    /**
+     * Удаляет из индекса позицию {@code position}. Элемент еще должен находиться в массиве на этой позиции.
+     * Освободившаяся ячейка заполняется сдвигом следующих ячеек цепочки назад, без пометок об удалении.
+     *
+     * @param position позиция элемента
+     * @param elements массив элементов списка
+     */
+    void remove(int position, Object[] elements) {
+        int mask = table.length - 1;
+        int hole = slot(keyAt(position, elements));
+        while (table[hole] != position + 1) {
+            if (table[hole] == 0) {
+                return;
+            }
+            hole = (hole + 1) & mask;
+        }
+
+        for (int next = (hole + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+            int home = slot(keyAt(table[next] - 1, elements));
+            // Ячейку можно перенести в "дыру", если ее домашняя ячейка не лежит циклически в (hole, next]
+            boolean reachable = hole <= next ? home > hole && home <= next : home > hole || home <= next;
+            if (!reachable) {
+                table[hole] = table[next];
+                hole = next;
+            }
+        }
+
+        table[hole] = 0;
+        count--;
+    }
+
+    /**
+     * Сдвигает на {@code delta} все позиции, не меньшие {@code from}. Ключи элементов при сдвиге не меняются,
+     * поэтому ячейки остаются на своих местах.
+     *
+     * @param from  наименьшая сдвигаемая позиция
+     * @param delta величина сдвига
+     */
+    void shift(int from, int delta) {
+        int[] slots = table;
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] > from) {
+                slots[i] += delta;
+            }
+        }
+    }
+
+    /**
+     * Строит индекс заново по первым {@code size} элементам массива. Таблица переиспользуется, если ее
+     * вместимости достаточно.
+     *
+     * @param elements массив элементов списка
+     * @param size     количество элементов
+     */
+    void rebuild(Object[] elements, int size) {
+        int length = tableLength(size);
+        if (table == null || table.length < length) {
+            table = new int[length];
+            shift = Integer.numberOfLeadingZeros(length - 1);
+        } else {
+            Arrays.fill(table, 0);
+        }
+
+        count = 0;
+        for (int i = 0; i < size; i++) {
+            insert(i, elements);
+        }
+    }
+
+    /**
+     * Возвращает объем памяти, занимаемый таблицей индекса
+     *
+     * @return размер таблицы в байтах, включая заголовок массива
+     */
+    long footprint() {
+        return 16 + 4L * table.length;
+    }
+
+    private void resize(int length, Object[] elements) {
+        int[] old = table;
+        table = new int[length];
+        shift = Integer.numberOfLeadingZeros(length - 1);
+        count = 0;
+
+        for (int value : old) {
+            if (value != 0) {
+                insert(value - 1, elements);
+            }
+        }
+    }
+
+    private void insert(int position, Object[] elements) {
+        int mask = table.length - 1;
+        int slot = slot(keyAt(position, elements));
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        table[slot] = position + 1;
+        count++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object keyAt(int position, Object[] elements) {
+        return keyExtractor.apply((E) elements[position]);
+    }
+
+    /**
+     * Фибоначчиево хеширование: старшие биты произведения хорошо перемешаны даже для последовательных ключей
+     */
+    private int slot(Object key) {
+        return (Objects.hashCode(key) * 0x9E3779B9) >>> shift;
+    }
+
+    private static int tableLength(int size) {
+        long needed = Math.max(2L * size, MIN_TABLE_LENGTH);
+        return (int) Math.min(Long.highestOneBit(needed - 1) << 1, MAX_TABLE_LENGTH);
+    }
+}
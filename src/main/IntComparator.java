@@ -0,0 +1,18 @@
+package main;
+
+/**
+ * Сравнивает два значения {@code int} без упаковки в {@link Integer}.
+ */
+@FunctionalInterface
+public interface IntComparator {
+
+    /**
+     * Сравнивает два значения
+     *
+     * @param left  первое значение
+     * @param right второе значение
+     * @return отрицательное число, ноль или положительное число, если {@code left} меньше, равно или больше
+     * {@code right}
+     */
+    int compare(int left, int right);
+}
@@ -0,0 +1,28 @@
+package main;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Событие JFR: увеличение вместимости {@link CustomArrayList} с включенными метриками
+ */
+@Name("main.ListGrow")
+@Label("CustomArrayList Grow")
+@Category("CustomArrayList")
+@Description("Backing array of a CustomArrayList was reallocated")
+class ListGrowEvent extends Event {
+
+    @Label("Old Capacity")
+    int oldCapacity;
+
+    @Label("New Capacity")
+    int newCapacity;
+
+    @Label("Bytes Copied")
+    @DataAmount
+    long bytesCopied;
+}
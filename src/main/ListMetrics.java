@@ -0,0 +1,279 @@
+package main;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Счетчики операций {@link CustomArrayList} и его сортировок.</p>
+ * <p>
+ * Метрики включаются для отдельного списка ({@link CustomArrayList#enableMetrics()}). Пока они выключены, список
+ * хранит {@code null} вместо объекта метрик, и каждая точка сбора стоит одну проверку на {@code null}: сравнения
+ * считаются оберткой над компаратором, которая создается только при включенных метриках.
+ * </p>
+ * <p>
+ * Счетчики потокобезопасны ({@link LongAdder}), поэтому их можно обновлять из задач параллельной сортировки и
+ * читать из другого потока, например через JMX ({@link #registerMBean(String)}). Увеличения вместимости и
+ * сортировки дополнительно записываются событиями JFR {@code main.ListGrow} и {@code main.ListSort}.
+ * </p>
+ */
+public final class ListMetrics implements ListMetricsMXBean {
+
+    /**
+     * Размер ссылки на элемент в массиве: 4 байта со сжатыми указателями, иначе 8
+     */
+    static final int REFERENCE_BYTES = referenceBytes();
+
+    private final LongAdder growCount = new LongAdder();
+
+    private final LongAdder growBytesCopied = new LongAdder();
+
+    private final LongAdder insertCount = new LongAdder();
+
+    private final LongAdder insertShiftDistance = new LongAdder();
+
+    private final AtomicInteger maxInsertShiftDistance = new AtomicInteger();
+
+    private final LongAdder removalCount = new LongAdder();
+
+    private final LongAdder removalShiftDistance = new LongAdder();
+
+    private final LongAdder sortCount = new LongAdder();
+
+    private final LongAdder comparisons = new LongAdder();
+
+    private final LongAdder swaps = new LongAdder();
+
+    private final AtomicInteger maxSortDepth = new AtomicInteger();
+
+    private final LongAdder heapSortFallbacks = new LongAdder();
+
+    /**
+     * Регистрирует метрики в платформенном {@link javax.management.MBeanServer} под именем
+     * {@code main:type=CustomArrayList,name=<name>}
+     *
+     * @param name имя списка
+     * @return имя зарегистрированного MBean
+     * @throws IllegalStateException если MBean с таким именем уже зарегистрирован или имя недопустимо
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName("main:type=CustomArrayList,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register metrics MBean " + name, e);
+        }
+    }
+
+    /**
+     * Удаляет MBean, зарегистрированный {@link #registerMBean(String)}
+     *
+     * @param objectName имя MBean
+     * @throws IllegalStateException если MBean не зарегистрирован
+     */
+    public static void unregisterMBean(ObjectName objectName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister metrics MBean " + objectName, e);
+        }
+    }
+
+    void recordGrow(int oldCapacity, int newCapacity) {
+        long bytes = (long) oldCapacity * REFERENCE_BYTES;
+        growCount.increment();
+        growBytesCopied.add(bytes);
+
+        ListGrowEvent event = new ListGrowEvent();
+        if (event.shouldCommit()) {
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = newCapacity;
+            event.bytesCopied = bytes;
+            event.commit();
+        }
+    }
+
+    void recordInsert(int shiftDistance) {
+        insertCount.increment();
+        insertShiftDistance.add(shiftDistance);
+        maxInsertShiftDistance.accumulateAndGet(shiftDistance, Math::max);
+    }
+
+    void recordRemoval(int count, int shiftDistance) {
+        removalCount.add(count);
+        removalShiftDistance.add(shiftDistance);
+    }
+
+    /**
+     * Оборачивает компаратор так, чтобы каждое сравнение увеличивало счетчик
+     *
+     * @param comparator исходный компаратор
+     * @param <T>        тип элементов
+     * @return считающий компаратор
+     */
+    <T> Comparator<T> counting(Comparator<T> comparator) {
+        return (first, second) -> {
+            comparisons.increment();
+            return comparator.compare(first, second);
+        };
+    }
+
+    void recordSplit(int depth, int swapCount) {
+        swaps.add(swapCount);
+        if (depth > maxSortDepth.get()) {
+            maxSortDepth.accumulateAndGet(depth, Math::max);
+        }
+    }
+
+    void recordSwaps(int swapCount) {
+        swaps.add(swapCount);
+    }
+
+    void recordHeapSortFallback() {
+        heapSortFallbacks.increment();
+    }
+
+    /**
+     * Возвращает снимок счетчиков сортировки до ее начала, чтобы событие JFR содержало значения одной сортировки
+     *
+     * @return событие сортировки с начальными значениями счетчиков
+     */
+    ListSortEvent beginSort(String algorithm, int size) {
+        ListSortEvent event = new ListSortEvent();
+        event.algorithm = algorithm;
+        event.size = size;
+        event.comparisons = comparisons.sum();
+        event.swaps = swaps.sum();
+        event.heapSortFallbacks = heapSortFallbacks.sum();
+        event.begin();
+        return event;
+    }
+
+    void endSort(ListSortEvent event) {
+        sortCount.increment();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.comparisons = comparisons.sum() - event.comparisons;
+            event.swaps = swaps.sum() - event.swaps;
+            event.heapSortFallbacks = heapSortFallbacks.sum() - event.heapSortFallbacks;
+            event.maxDepth = maxSortDepth.get();
+            event.commit();
+        }
+    }
+
+    @Override
+    public long getGrowCount() {
+        return growCount.sum();
+    }
+
+    @Override
+    public long getGrowBytesCopied() {
+        return growBytesCopied.sum();
+    }
+
+    @Override
+    public long getInsertCount() {
+        return insertCount.sum();
+    }
+
+    @Override
+    public long getInsertShiftDistance() {
+        return insertShiftDistance.sum();
+    }
+
+    @Override
+    public long getMaxInsertShiftDistance() {
+        return maxInsertShiftDistance.get();
+    }
+
+    @Override
+    public long getRemovalCount() {
+        return removalCount.sum();
+    }
+
+    @Override
+    public long getRemovalShiftDistance() {
+        return removalShiftDistance.sum();
+    }
+
+    @Override
+    public long getSortCount() {
+        return sortCount.sum();
+    }
+
+    @Override
+    public long getComparisons() {
+        return comparisons.sum();
+    }
+
+    @Override
+    public long getSwaps() {
+        return swaps.sum();
+    }
+
+    @Override
+    public int getMaxSortDepth() {
+        return maxSortDepth.get();
+    }
+
+    @Override
+    public long getHeapSortFallbacks() {
+        return heapSortFallbacks.sum();
+    }
+
+    @Override
+    public void reset() {
+        growCount.reset();
+        growBytesCopied.reset();
+        insertCount.reset();
+        insertShiftDistance.reset();
+        maxInsertShiftDistance.set(0);
+        removalCount.reset();
+        removalShiftDistance.reset();
+        sortCount.reset();
+        comparisons.reset();
+        swaps.reset();
+        maxSortDepth.set(0);
+        heapSortFallbacks.reset();
+    }
+
+    /**
+     * Переопределяет строковое представление объекта {@link ListMetrics}
+     *
+     * @return строковое представление счетчиков
+     */
+    @Override
+    public String toString() {
+        return "ListMetrics{" +
+                "grows=" + getGrowCount() +
+                ", growBytesCopied=" + getGrowBytesCopied() +
+                ", inserts=" + getInsertCount() +
+                ", insertShift=" + getInsertShiftDistance() +
+                ", maxInsertShift=" + getMaxInsertShiftDistance() +
+                ", removals=" + getRemovalCount() +
+                ", removalShift=" + getRemovalShiftDistance() +
+                ", sorts=" + getSortCount() +
+                ", comparisons=" + getComparisons() +
+                ", swaps=" + getSwaps() +
+                ", maxSortDepth=" + getMaxSortDepth() +
+                ", heapSortFallbacks=" + getHeapSortFallbacks() +
+                '}';
+    }
+
+    private static int referenceBytes() {
+        try {
+            HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return Boolean.parseBoolean(bean.getVMOption("UseCompressedOops").getValue()) ? 4 : 8;
+        } catch (RuntimeException e) {
+            // Не HotSpot: сжатые указатели включены по умолчанию для куч до 32 ГБ
+            return 4;
+        }
+    }
+}
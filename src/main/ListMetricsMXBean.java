@@ -0,0 +1,98 @@
+package main;
+
+/**
+ * Интерфейс управления {@link ListMetrics} для JMX: счетчики доступны как атрибуты MBean, а {@link #reset()} - как
+ * операция.
+ */
+public interface ListMetricsMXBean {
+
+    /**
+     * Возвращает количество увеличений вместимости списка
+     *
+     * @return количество вызовов {@code increase()}
+     */
+    long getGrowCount();
+
+    /**
+     * Возвращает объем данных, скопированных при увеличении вместимости
+     *
+     * @return количество скопированных байт (ссылки на элементы)
+     */
+    long getGrowBytesCopied();
+
+    /**
+     * Возвращает количество вставок не в конец списка
+     *
+     * @return количество вставок со сдвигом элементов
+     */
+    long getInsertCount();
+
+    /**
+     * Возвращает суммарное количество элементов, сдвинутых вправо при вставках
+     *
+     * @return суммарная дистанция сдвига
+     */
+    long getInsertShiftDistance();
+
+    /**
+     * Возвращает наибольшее количество элементов, сдвинутых одной вставкой
+     *
+     * @return наибольшая дистанция сдвига
+     */
+    long getMaxInsertShiftDistance();
+
+    /**
+     * Возвращает количество удаленных элементов
+     *
+     * @return количество удалений
+     */
+    long getRemovalCount();
+
+    /**
+     * Возвращает суммарное количество элементов, сдвинутых влево при удалениях
+     *
+     * @return суммарная дистанция сдвига
+     */
+    long getRemovalShiftDistance();
+
+    /**
+     * Возвращает количество сортировок
+     *
+     * @return количество сортировок
+     */
+    long getSortCount();
+
+    /**
+     * Возвращает количество сравнений элементов при сортировках
+     *
+     * @return количество вызовов компаратора
+     */
+    long getComparisons();
+
+    /**
+     * Возвращает количество обменов элементов при сортировках {@link QuickSort}
+     *
+     * @return количество обменов
+     */
+    long getSwaps();
+
+    /**
+     * Возвращает наибольшую глубину вложенности разделений ({@code split}) при сортировках {@link QuickSort}
+     *
+     * @return наибольшая глубина рекурсии
+     */
+    int getMaxSortDepth();
+
+    /**
+     * Возвращает количество переходов {@link QuickSort} на пирамидальную сортировку. Ненулевое значение означает,
+     * что данные оказались худшим случаем для выбора опорного элемента.
+     *
+     * @return количество переходов на пирамидальную сортировку
+     */
+    long getHeapSortFallbacks();
+
+    /**
+     * Обнуляет все счетчики
+     */
+    void reset();
+}
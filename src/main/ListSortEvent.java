@@ -0,0 +1,36 @@
+package main;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Событие JFR: сортировка {@link CustomArrayList} с включенными метриками
+ */
+@Name("main.ListSort")
+@Label("CustomArrayList Sort")
+@Category("CustomArrayList")
+@Description("CustomArrayList was sorted")
+class ListSortEvent extends Event {
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Size")
+    int size;
+
+    @Label("Comparisons")
+    long comparisons;
+
+    @Label("Swaps")
+    long swaps;
+
+    @Label("Max Depth")
+    @Description("Deepest split nesting since the metrics were last reset")
+    int maxDepth;
+
+    @Label("Heap Sort Fallbacks")
+    long heapSortFallbacks;
+}
@@ -0,0 +1,18 @@
+package main;
+
+/**
+ * Сравнивает два значения {@code long} без упаковки в {@link Long}.
+ */
+@FunctionalInterface
+public interface LongComparator {
+
+    /**
+     * Сравнивает два значения
+     *
+     * @param left  первое значение
+     * @param right второе значение
+     * @return отрицательное число, ноль или положительное число, если {@code left} меньше, равно или больше
+     * {@code right}
+     */
+    int compare(long left, long right);
+}
@@ -0,0 +1,251 @@
+package main;
+
+import java.util.Arrays;
+
+/**
+ * <p>Вариант {@link CustomArrayList} для примитивных значений {@code long}.</p>
+ * <p>
+ * Значения хранятся в массиве {@code long[]} без упаковки в {@link Long}, поэтому список занимает в несколько раз
+ * меньше памяти и не создает нагрузки на сборщик мусора.
+ * </p>
+ */
+public class LongCustomArrayList {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private static final double INCREASE_FACTOR = 1.5;
+
+    private long[] elements;
+
+    private int size;
+
+    /**
+     * Создает новый список со стандартным размером ({@value DEFAULT_CAPACITY} элементов)
+     */
+    public LongCustomArrayList() {
+        elements = new long[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Создает новый список указанного размера
+     *
+     * @param capacity размер списка
+     * @throws IllegalArgumentException если значение {@code capacity} меньше или равно нулю
+     */
+    public LongCustomArrayList(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be a positive integer");
+        }
+
+        elements = new long[capacity];
+    }
+
+    /**
+     * Создает новый список, содержащий значения указанного массива
+     *
+     * @param values значения для добавления в список
+     * @return новый список
+     */
+    public static LongCustomArrayList of(long... values) {
+        LongCustomArrayList list = new LongCustomArrayList(Math.max(values.length, 1));
+
+        System.arraycopy(values, 0, list.elements, 0, values.length);
+        list.size = values.length;
+
+        return list;
+    }
+
+    /**
+     * <p>Добавляет значение в конец списка.</p>
+     * <p>При нехватке места происходит увеличение размера списка в {@value INCREASE_FACTOR} раза</p>
+     *
+     * @param element значение для добавления в список
+     */
+    public void add(long element) {
+        if (size == capacity()) {
+            increase();
+        }
+
+        elements[size++] = element;
+    }
+
+    /**
+     * <p>Добавляет значение в список по указанному индексу.</p>
+     * <p>При нехватке места происходит увеличение размера списка в {@value INCREASE_FACTOR} раза.</p>
+     *
+     * @param index   место вставки значения
+     * @param element значение для добавления в список
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше {@code size()}
+     */
+    public void add(int index, long element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", but size is: " + size);
+        }
+
+        if (size == capacity()) {
+            increase();
+        }
+
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = element;
+        size++;
+    }
+
+    /**
+     * Увеличивает размер списка в {@value INCREASE_FACTOR} раза
+     */
+    private void increase() {
+        elements = Arrays.copyOf(elements, Math.max((int) (size * INCREASE_FACTOR), size + 1));
+    }
+
+    /**
+     * Возвращает значение по указанному индексу
+     *
+     * @param index индекс возвращаемого значения
+     * @return значение по указанному индексу
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше либо равно {@code size()}
+     */
+    public long get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /**
+     * Устанавливает значение по указанному индексу
+     *
+     * @param index   индекс значения, которое будет изменено
+     * @param element значение, которое будет установлено по указанному {@code index}
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше либо равно {@code size()}
+     */
+    public void set(int index, long element) {
+        checkIndex(index);
+        elements[index] = element;
+    }
+
+    /**
+     * Удаляет первое вхождение значения из списка при наличии
+     *
+     * @param element значение, которое нужно удалить
+     * @return {@code true}, если значение было найдено и удалено
+     */
+    public boolean removeValue(long element) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == element) {
+                remove(i);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Удаляет значение из списка по указанному индексу, сдвигая последующие значения влево
+     *
+     * @param index индекс значения, которое нужно удалить
+     * @return удаленное значение
+     * @throws IndexOutOfBoundsException если значение {@code index} меньше 0 или больше либо равно {@code size()}
+     */
+    public long remove(int index) {
+        checkIndex(index);
+
+        long removed = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+
+        return removed;
+    }
+
+    /**
+     * Сортирует значения списка по возрастанию
+     */
+    public void sort() {
+        QuickSort.sort(this);
+    }
+
+    /**
+     * Сортирует значения списка в зависимости от реализации {@code comparator}
+     *
+     * @param comparator объект, реализующий логику сравнения значений
+     */
+    public void sort(LongComparator comparator) {
+        QuickSort.sort(this, comparator);
+    }
+
+    /**
+     * Возвращает количество добавленных значений в список
+     *
+     * @return размер списка (количество добавленных значений)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает текущую вместимость списка
+     *
+     * @return вместимость списка
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Полностью очищает список, не изменяя его {@code capacity}
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Возвращает массив, в котором хранятся значения списка. Используется {@link QuickSort} для сортировки
+     * без обращения к {@link #get(int)} / {@link #set(int, long)}.
+     *
+     * @return массив значений списка (заполнен до {@code size()})
+     */
+    long[] elements() {
+        return elements;
+    }
+
+    /**
+     * Возвращает копию значений списка в виде массива
+     *
+     * @return массив длиной {@code size()}
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", but size is: " + size);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LongCustomArrayList that = (LongCustomArrayList) o;
+        return Arrays.equals(elements, 0, size, that.elements, 0, that.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + Long.hashCode(elements[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Переопределяет строковое представление объекта {@link LongCustomArrayList}
+     *
+     * @return строковое представление добавленных значений
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,390 @@
+package main;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.zip.CRC32;
+
+/**
+ * <p>Вариант {@link CustomArrayList}, хранящий элементы в файле, отображенном в память ({@link FileChannel#map}).</p>
+ * <p>
+ * {@link #add(Object)} и {@link #set(int, Object)} пишут элементы прямо в отображение файла. При повторном
+ * открытии файл снова отображается в память, элементы не читаются и не копируются.
+ * </p>
+ * <p>Формат файла: заголовок из {@value HEADER_BYTES} байт, затем блоки элементов.</p>
+ * <p>
+ * - {@code int} сигнатура, {@code int} версия формата, {@code int} размер элемента, {@code int} количество
+ * элементов в блоке;
+ * </p>
+ * <p>- {@code long} размер и {@code long} вместимость списка на момент последней контрольной точки;</p>
+ * <p>- {@code long} номер последней контрольной точки;</p>
+ * <p>- {@code short} длина и байты UTF-8 идентификатора формата элементов ({@link ElementLayout#id()}).</p>
+ * <p>
+ * Размер в заголовке обновляется только в {@link #force()} (и в {@link #close()}) после сброса на диск самих
+ * элементов, поэтому элементы, добавленные после контрольной точки, после сбоя отбрасываются.
+ * </p>
+ * <p>
+ * {@link #set(int, Object)}, {@link #sort(Comparator)} и запись после {@link #clear()} меняют элементы до
+ * контрольной точки на месте. Перед первым таким изменением страницы (до {@value JOURNAL_PAGE_BYTES} байт) ее
+ * прежнее содержимое записывается в журнал отката - файл с суффиксом {@value JOURNAL_SUFFIX} рядом со списком - и
+ * журнал сбрасывается на диск. Запись журнала: {@code long} номер контрольной точки, {@code int} индекс первого
+ * элемента, {@code int} количество элементов, их байты и {@code int} CRC32 всех предыдущих байт записи.
+ * Контрольная точка увеличивает номер в заголовке и очищает журнал. При открытии записи журнала с номером из
+ * заголовка возвращаются на место (чтение останавливается на первой неполной или испорченной записи), поэтому
+ * после сбоя файл открывается ровно в состоянии последней контрольной точки.
+ * </p>
+ *
+ * @param <E> тип элементов списка
+ */
+public class MappedCustomArrayList<E> extends ChunkedCustomArrayList<E> {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int MAGIC = 0x43414C31;
+
+    private static final int VERSION = 2;
+
+    private static final int HEADER_BYTES = 128;
+
+    private static final int ELEMENT_BYTES_OFFSET = 8;
+
+    private static final int CHUNK_ELEMENTS_OFFSET = 12;
+
+    private static final int SIZE_OFFSET = 16;
+
+    private static final int CAPACITY_OFFSET = 24;
+
+    private static final int CHECKPOINT_OFFSET = 32;
+
+    private static final int CODEC_OFFSET = 40;
+
+    private static final int MAX_CODEC_BYTES = HEADER_BYTES - CODEC_OFFSET - Short.BYTES;
+
+    private static final String JOURNAL_SUFFIX = ".journal";
+
+    private static final int JOURNAL_PAGE_BYTES = 64 * 1024;
+
+    private static final int JOURNAL_ENTRY_HEADER_BYTES = Long.BYTES + 2 * Integer.BYTES;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer header;
+
+    private final long chunkBytes;
+
+    private final Path journalPath;
+
+    private final FileChannel journal;
+
+    private final int pageElements;
+
+    /**
+     * Страницы, прежнее содержимое которых уже записано в журнал после последней контрольной точки
+     */
+    private final BitSet journaledPages = new BitSet();
+
+    /**
+     * Размер списка на момент последней контрольной точки: элементы с меньшими индексами защищены журналом
+     */
+    private int checkpointedSize;
+
+    private MappedCustomArrayList(ElementLayout<E> layout, FileChannel channel, MappedByteBuffer header,
+                                  int chunkElements, Path journalPath, FileChannel journal) {
+        super(layout, chunkElements);
+
+        this.channel = channel;
+        this.header = header;
+        this.chunkBytes = (long) chunkElements * layout.byteSize();
+        this.journalPath = journalPath;
+        this.journal = journal;
+        // Степень двойки не больше блока, поэтому страница не пересекает границу блока
+        this.pageElements = Math.min(chunkElements,
+                Integer.highestOneBit(Math.max(1, JOURNAL_PAGE_BYTES / layout.byteSize())));
+    }
+
+    /**
+     * Открывает список в файле. Если файла нет или он пуст, создается новый список стандартной вместимости
+     * ({@value DEFAULT_CAPACITY} элементов).
+     *
+     * @param path   путь к файлу
+     * @param layout описание хранения элементов
+     * @param <E>    тип элементов списка
+     * @return открытый список
+     * @throws IOException если файл не удалось открыть или он записан в другом формате
+     */
+    public static <E> MappedCustomArrayList<E> open(Path path, ElementLayout<E> layout) throws IOException {
+        return open(path, layout, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Открывает список в файле. Если файла нет или он пуст, создается новый список указанной вместимости.
+     *
+     * @param path     путь к файлу
+     * @param layout   описание хранения элементов
+     * @param capacity вместимость нового списка (для существующего файла не используется)
+     * @param <E>      тип элементов списка
+     * @return открытый список
+     * @throws IOException              если файл не удалось открыть или он записан в другом формате
+     * @throws IllegalArgumentException если значение {@code capacity} меньше или равно нулю
+     */
+    public static <E> MappedCustomArrayList<E> open(Path path, ElementLayout<E> layout, int capacity)
+            throws IOException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be a positive integer");
+        }
+
+        byte[] codec = layout.id().getBytes(StandardCharsets.UTF_8);
+        if (codec.length > MAX_CODEC_BYTES) {
+            throw new IllegalArgumentException("Element codec id is longer than " + MAX_CODEC_BYTES + " bytes");
+        }
+
+        boolean exists = Files.exists(path) && Files.size(path) > 0;
+        Path journalPath = path.resolveSibling(path.getFileName() + JOURNAL_SUFFIX);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        FileChannel journal = null;
+        try {
+            journal = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            MappedCustomArrayList<E> list;
+
+            if (exists) {
+                list = reopen(path, layout, codec, channel, header, journalPath, journal);
+            } else {
+                list = new MappedCustomArrayList<>(layout, channel, header, defaultChunkElements(layout),
+                        journalPath, journal);
+                header.putInt(0, MAGIC);
+                header.putInt(4, VERSION);
+                header.putInt(ELEMENT_BYTES_OFFSET, layout.byteSize());
+                header.putInt(CHUNK_ELEMENTS_OFFSET, defaultChunkElements(layout));
+                header.putShort(CODEC_OFFSET, (short) codec.length);
+                header.put(CODEC_OFFSET + Short.BYTES, codec);
+                list.ensureCapacity(capacity);
+                list.force();
+            }
+
+            return list;
+        } catch (IOException | RuntimeException e) {
+            if (journal != null) {
+                journal.close();
+            }
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static <E> MappedCustomArrayList<E> reopen(Path path, ElementLayout<E> layout, byte[] codec,
+                                                       FileChannel channel, MappedByteBuffer header,
+                                                       Path journalPath, FileChannel journal)
+            throws IOException {
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a CustomArrayList file: " + path);
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Unsupported file version " + header.getInt(4) + ": " + path);
+        }
+
+        byte[] storedCodec = new byte[header.getShort(CODEC_OFFSET)];
+        header.get(CODEC_OFFSET + Short.BYTES, storedCodec);
+        String stored = new String(storedCodec, StandardCharsets.UTF_8);
+        if (!stored.equals(layout.id()) || header.getInt(ELEMENT_BYTES_OFFSET) != layout.byteSize()) {
+            throw new IOException("File " + path + " holds elements of codec " + stored + ", not " + layout.id());
+        }
+
+        MappedCustomArrayList<E> list = new MappedCustomArrayList<>(layout, channel, header,
+                header.getInt(CHUNK_ELEMENTS_OFFSET), journalPath, journal);
+        list.ensureCapacity((int) header.getLong(CAPACITY_OFFSET));
+        list.size = (int) header.getLong(SIZE_OFFSET);
+        list.checkpointedSize = list.size;
+        list.rollback();
+
+        return list;
+    }
+
+    /**
+     * Возвращает на место прежнее содержимое страниц из журнала текущей контрольной точки, сбрасывает элементы на
+     * диск и очищает журнал
+     */
+    private void rollback() throws IOException {
+        long checkpoint = header.getLong(CHECKPOINT_OFFSET);
+        ByteBuffer entryHeader = ByteBuffer.allocate(JOURNAL_ENTRY_HEADER_BYTES);
+        ByteBuffer checksum = ByteBuffer.allocate(Integer.BYTES);
+        long position = 0;
+        boolean restored = false;
+
+        while (true) {
+            entryHeader.clear();
+            if (readFully(entryHeader, position) < JOURNAL_ENTRY_HEADER_BYTES) {
+                break;
+            }
+
+            long entryCheckpoint = entryHeader.getLong(0);
+            int fromIndex = entryHeader.getInt(Long.BYTES);
+            int count = entryHeader.getInt(Long.BYTES + Integer.BYTES);
+            if (count <= 0 || count > pageElements) {
+                break;
+            }
+
+            byte[] bytes = new byte[count * elementBytes];
+            checksum.clear();
+            if (readFully(ByteBuffer.wrap(bytes), position + JOURNAL_ENTRY_HEADER_BYTES) < bytes.length
+                    || readFully(checksum, position + JOURNAL_ENTRY_HEADER_BYTES + bytes.length) < Integer.BYTES) {
+                break;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(entryHeader.array());
+            crc.update(bytes);
+            if ((int) crc.getValue() != checksum.getInt(0)) {
+                break;
+            }
+
+            // Записи прошлых контрольных точек остаются в журнале, если сбой случился до его очистки
+            if (entryCheckpoint == checkpoint && fromIndex >= 0 && fromIndex % pageElements == 0
+                    && fromIndex + count <= checkpointedSize) {
+                writeBytes(fromIndex, count, bytes);
+                restored = true;
+            }
+            position += JOURNAL_ENTRY_HEADER_BYTES + bytes.length + Integer.BYTES;
+        }
+
+        if (restored) {
+            forceChunks();
+        }
+        journal.truncate(0);
+        journal.force(true);
+    }
+
+    private int readFully(ByteBuffer target, long position) throws IOException {
+        int read = 0;
+        while (target.hasRemaining()) {
+            int n = journal.read(target, position + read);
+            if (n < 0) {
+                break;
+            }
+            read += n;
+        }
+        return read;
+    }
+
+    /**
+     * Записывает в журнал прежнее содержимое еще не сохраненных страниц элементов {@code [fromIndex, toIndex)},
+     * входящих в последнюю контрольную точку, и сбрасывает журнал на диск до их изменения
+     */
+    @Override
+    void beforeWrite(int fromIndex, int toIndex) {
+        int end = Math.min(toIndex, checkpointedSize);
+        if (fromIndex >= end) {
+            return;
+        }
+
+        long checkpoint = header.getLong(CHECKPOINT_OFFSET);
+        boolean written = false;
+        try {
+            for (int page = fromIndex / pageElements, last = (end - 1) / pageElements; page <= last; page++) {
+                if (journaledPages.get(page)) {
+                    continue;
+                }
+
+                int pageFrom = page * pageElements;
+                int count = Math.min(pageElements, checkpointedSize - pageFrom);
+                byte[] bytes = new byte[count * elementBytes];
+                readBytes(pageFrom, count, bytes);
+
+                ByteBuffer entry = ByteBuffer.allocate(JOURNAL_ENTRY_HEADER_BYTES + bytes.length + Integer.BYTES);
+                entry.putLong(checkpoint).putInt(pageFrom).putInt(count).put(bytes);
+                CRC32 crc = new CRC32();
+                crc.update(entry.array(), 0, entry.position());
+                entry.putInt((int) crc.getValue());
+                entry.flip();
+                while (entry.hasRemaining()) {
+                    journal.write(entry, journal.size());
+                }
+
+                journaledPages.set(page);
+                written = true;
+            }
+
+            if (written) {
+                journal.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Контрольная точка: сбрасывает элементы на диск, затем записывает в заголовок текущие размер и вместимость и
+     * новый номер контрольной точки, сбрасывает заголовок и очищает журнал отката
+     *
+     * @throws IllegalStateException если список закрыт
+     * @throws UncheckedIOException  если журнал не удалось очистить
+     */
+    public void force() {
+        checkOpen();
+
+        forceChunks();
+
+        header.putLong(SIZE_OFFSET, size);
+        header.putLong(CAPACITY_OFFSET, capacity());
+        header.putLong(CHECKPOINT_OFFSET, header.getLong(CHECKPOINT_OFFSET) + 1);
+        header.force();
+
+        try {
+            journal.truncate(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        journaledPages.clear();
+        checkpointedSize = size;
+    }
+
+    private void forceChunks() {
+        for (int i = 0; i < chunkCount; i++) {
+            ((MappedByteBuffer) chunks[i]).force();
+        }
+    }
+
+    /**
+     * Выполняет контрольную точку ({@link #force()}), закрывает файл и удаляет журнал отката. Повторный вызов
+     * ничего не делает.
+     *
+     * @throws UncheckedIOException если файл не удалось закрыть
+     */
+    @Override
+    public void close() {
+        if (chunks == null) {
+            return;
+        }
+
+        try {
+            force();
+            releaseChunks();
+            channel.close();
+            journal.close();
+            Files.deleteIfExists(journalPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    ByteBuffer resizeChunk(int chunkIndex, ByteBuffer current, int elements) {
+        try {
+            // Отображение большего размера само увеличивает файл, записанные данные остаются на месте
+            return channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + chunkIndex * chunkBytes,
+                    (long) elements * elementBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
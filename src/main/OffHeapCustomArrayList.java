@@ -0,0 +1,80 @@
+package main;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>Вариант {@link CustomArrayList}, хранящий элементы вне кучи Java.</p>
+ * <p>
+ * Элементы сериализуются с помощью {@link ElementLayout} в прямые ({@link ByteBuffer#allocateDirect(int)}) буферы,
+ * поэтому сборщик мусора не обходит их при каждой сборке. Буферы делятся на блоки ("чанки") одинаковой
+ * вместимости: при росте большого списка добавляется новый блок, а уже записанные данные не копируются. Пока
+ * список помещается в один блок, блок увеличивается согласно {@link GrowthPolicy}.
+ * </p>
+ * <p>
+ * Список нужно закрыть методом {@link #close()}: после закрытия список отпускает буферы, а любые операции с ним
+ * завершаются {@link IllegalStateException}. Память прямых буферов возвращается системе, когда сборщик мусора
+ * соберет сами объекты {@link ByteBuffer}.
+ * </p>
+ *
+ * @param <E> тип элементов списка
+ */
+public class OffHeapCustomArrayList<E> extends ChunkedCustomArrayList<E> {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * Создает новый список со стандартным размером ({@value DEFAULT_CAPACITY} элементов)
+     *
+     * @param layout описание хранения элементов
+     */
+    public OffHeapCustomArrayList(ElementLayout<E> layout) {
+        this(layout, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создает новый список указанного размера
+     *
+     * @param layout   описание хранения элементов
+     * @param capacity размер списка
+     * @throws IllegalArgumentException если значение {@code capacity} меньше или равно нулю
+     */
+    public OffHeapCustomArrayList(ElementLayout<E> layout, int capacity) {
+        this(layout, capacity, defaultChunkElements(layout));
+    }
+
+    /**
+     * Создает новый список указанного размера с блоками указанной вместимости
+     *
+     * @param layout        описание хранения элементов
+     * @param capacity      размер списка
+     * @param chunkElements количество элементов в одном блоке (степень двойки)
+     * @throws IllegalArgumentException если значение {@code capacity} меньше или равно нулю, {@code chunkElements}
+     *                                  не является степенью двойки или блок не помещается в {@link ByteBuffer}
+     */
+    public OffHeapCustomArrayList(ElementLayout<E> layout, int capacity, int chunkElements) {
+        super(layout, chunkElements);
+
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be a positive integer");
+        }
+
+        ensureCapacity(capacity);
+    }
+
+    /**
+     * Закрывает список и отпускает буферы. Повторный вызов ничего не делает.
+     */
+    @Override
+    public void close() {
+        releaseChunks();
+    }
+
+    @Override
+    ByteBuffer resizeChunk(int chunkIndex, ByteBuffer current, int elements) {
+        ByteBuffer chunk = ByteBuffer.allocateDirect(elements * elementBytes);
+        if (current != null) {
+            chunk.put(0, current, 0, current.capacity());
+        }
+        return chunk;
+    }
+}
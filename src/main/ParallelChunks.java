@@ -0,0 +1,139 @@
+package main;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>Вспомогательный класс параллельных массовых операций {@link CustomArrayList}.</p>
+ * <p>
+ * Диапазон {@code [0, size)} массива делится на части по {@code chunkSize} элементов. Части обрабатываются задачами
+ * {@link RecursiveAction}, которые делят отрезок номеров частей пополам, пока не останется одна часть. Номер части
+ * передается в действие, поэтому результаты частей можно сохранить в массивы по номеру и затем объединить по
+ * порядку.
+ * </p>
+ */
+final class ParallelChunks {
+
+    /**
+     * Размер части по умолчанию: меньшие части не окупают создание задачи даже для дешевых операций
+     */
+    static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    /**
+     * Количество частей на поток пула в {@link #balancedChunkSize}
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private ParallelChunks() {
+    }
+
+    /**
+     * <p>Возвращает размер части, при котором на каждый поток {@code pool} приходится около четырех частей, но не
+     * меньше {@link #DEFAULT_CHUNK_SIZE}. Если поток в пуле один, часть одна.</p>
+     * <p>
+     * Используется операциями, у которых подготовка части стоит дорого (своя гистограмма, поиск границ): частей
+     * берется ровно столько, чтобы сгладить неравномерную загрузку потоков.
+     * </p>
+     *
+     * @param size размер диапазона
+     * @param pool пул потоков
+     * @return размер части
+     */
+    static int balancedChunkSize(int size, ForkJoinPool pool) {
+        int parallelism = pool.getParallelism();
+        int chunks = parallelism == 1 ? 1 : parallelism * CHUNKS_PER_THREAD;
+        return Math.max(DEFAULT_CHUNK_SIZE, (int) ((size + (long) chunks - 1) / chunks));
+    }
+
+    /**
+     * Действие над одной частью массива
+     */
+    @FunctionalInterface
+    interface ChunkAction {
+
+        /**
+         * Обрабатывает часть {@code [from, to)}
+         *
+         * @param chunk номер части
+         * @param from  индекс первого элемента части
+         * @param to    индекс, следующий за последним элементом части
+         */
+        void apply(int chunk, int from, int to);
+    }
+
+    /**
+     * Возвращает количество частей, на которые делится диапазон
+     *
+     * @param size      размер диапазона
+     * @param chunkSize размер части
+     * @return количество частей
+     * @throws IllegalArgumentException если значение {@code chunkSize} меньше или равно нулю
+     */
+    static int chunkCount(int size, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be a positive integer");
+        }
+
+        return (int) ((size + (long) chunkSize - 1) / chunkSize);
+    }
+
+    /**
+     * Выполняет {@code action} для каждой части диапазона {@code [0, size)} в {@code pool}. Если часть одна,
+     * она обрабатывается в вызывающем потоке. Исключение из {@code action} выбрасывается из этого метода.
+     *
+     * @param pool      пул потоков
+     * @param size      размер диапазона
+     * @param chunkSize размер части
+     * @param action    действие над частью
+     * @throws IllegalArgumentException если значение {@code chunkSize} меньше или равно нулю
+     */
+    static void forEachChunk(ForkJoinPool pool, int size, int chunkSize, ChunkAction action) {
+        int chunks = chunkCount(size, chunkSize);
+        if (chunks == 1) {
+            action.apply(0, 0, size);
+        } else if (chunks > 1) {
+            pool.invoke(new ChunkTask(0, chunks, size, chunkSize, action));
+        }
+    }
+
+    /**
+     * Задача, обрабатывающая части с номерами {@code [low, high)}
+     */
+    private static class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int low;
+
+        private final int high;
+
+        private final int size;
+
+        private final int chunkSize;
+
+        private final ChunkAction action;
+
+        ChunkTask(int low, int high, int size, int chunkSize, ChunkAction action) {
+            this.low = low;
+            this.high = high;
+            this.size = size;
+            this.chunkSize = chunkSize;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low == 1) {
+                int from = low * chunkSize;
+                action.apply(low, from, (int) Math.min((long) from + chunkSize, size));
+                return;
+            }
+
+            int middle = (low + high) >>> 1;
+            invokeAll(
+                    new ChunkTask(low, middle, size, chunkSize, action),
+                    new ChunkTask(middle, high, size, chunkSize, action)
+            );
+        }
+    }
+}
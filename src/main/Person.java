@@ -1,4 +1,10 @@
-public class Person implements Comparable<Person> {
+package main;
+
+import java.io.Serializable;
+
+public class Person implements Comparable<Person>, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String name;
     private int age;
 
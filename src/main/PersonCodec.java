@@ -0,0 +1,56 @@
+package main;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>Кодек {@link Person} переменной длины.</p>
+ * <p>
+ * Формат записи: возраст (целое переменной длины в кодировке zigzag, 1 байт для возраста до 63 лет), длина имени
+ * в байтах плюс один (целое переменной длины, {@code 0} - имя {@code null}) и байты имени в UTF-8. Человек с
+ * коротким латинским именем занимает несколько байт вместо {@code 6 + 2 * maxNameLength} у {@link PersonLayout}.
+ * </p>
+ */
+public class PersonCodec implements ElementCodec<Person> {
+
+    @Override
+    public String id() {
+        return "person";
+    }
+
+    @Override
+    public int encodedSize(Person element) {
+        String name = element.getName();
+        int nameBytes = name == null ? 0 : BinaryFormat.utf8Length(name);
+
+        return BinaryFormat.varIntSize(BinaryFormat.zigzag(element.getAge()))
+                + BinaryFormat.varIntSize(name == null ? 0 : nameBytes + 1) + nameBytes;
+    }
+
+    @Override
+    public void encode(Person element, ByteBuffer buffer) {
+        String name = element.getName();
+
+        BinaryFormat.putVarInt(buffer, BinaryFormat.zigzag(element.getAge()));
+        if (name == null) {
+            BinaryFormat.putVarInt(buffer, 0);
+        } else {
+            BinaryFormat.putVarInt(buffer, BinaryFormat.utf8Length(name) + 1);
+            BinaryFormat.putUtf8(buffer, name);
+        }
+    }
+
+    @Override
+    public Person decode(ByteBuffer buffer, int length) {
+        int age = BinaryFormat.unzigzag(BinaryFormat.getVarInt(buffer));
+        int nameBytes = BinaryFormat.getVarInt(buffer) - 1;
+
+        if (nameBytes < 0) {
+            return new Person(null, age);
+        }
+
+        byte[] name = new byte[nameBytes];
+        buffer.get(name);
+        return new Person(new String(name, StandardCharsets.UTF_8), age);
+    }
+}
@@ -0,0 +1,78 @@
+package main;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>Описание хранения {@link Person} фиксированного размера.</p>
+ * <p>
+ * Формат записи: возраст ({@code int}), длина имени ({@code short}) и символы имени ({@code char}), дополненные
+ * до {@code maxNameLength}. Имя {@code null} хранится с длиной {@code -1}.
+ * </p>
+ */
+public class PersonLayout implements ElementLayout<Person> {
+
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES;
+
+    private final int maxNameLength;
+
+    /**
+     * Создает описание хранения
+     *
+     * @param maxNameLength максимальная длина имени
+     * @throws IllegalArgumentException если значение {@code maxNameLength} меньше 0 или больше
+     *                                  {@link Short#MAX_VALUE}
+     */
+    public PersonLayout(int maxNameLength) {
+        if (maxNameLength < 0 || maxNameLength > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Max name length must be between 0 and " + Short.MAX_VALUE);
+        }
+
+        this.maxNameLength = maxNameLength;
+    }
+
+    @Override
+    public int byteSize() {
+        return HEADER_BYTES + maxNameLength * Character.BYTES;
+    }
+
+    @Override
+    public String id() {
+        return "person:" + maxNameLength;
+    }
+
+    @Override
+    public void write(ByteBuffer buffer, int offset, Person element) {
+        String name = element.getName();
+        if (name != null && name.length() > maxNameLength) {
+            throw new IllegalArgumentException("Name is longer than " + maxNameLength + " characters: " + name);
+        }
+
+        buffer.putInt(offset, element.getAge());
+        buffer.putShort(offset + Integer.BYTES, (short) (name == null ? -1 : name.length()));
+
+        if (name != null) {
+            int charOffset = offset + HEADER_BYTES;
+            for (int i = 0; i < name.length(); i++) {
+                buffer.putChar(charOffset + i * Character.BYTES, name.charAt(i));
+            }
+        }
+    }
+
+    @Override
+    public Person read(ByteBuffer buffer, int offset) {
+        int age = buffer.getInt(offset);
+        int length = buffer.getShort(offset + Integer.BYTES);
+
+        if (length < 0) {
+            return new Person(null, age);
+        }
+
+        char[] name = new char[length];
+        int charOffset = offset + HEADER_BYTES;
+        for (int i = 0; i < length; i++) {
+            name[i] = buffer.getChar(charOffset + i * Character.BYTES);
+        }
+
+        return new Person(new String(name), age);
+    }
+}
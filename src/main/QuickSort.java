@@ -1,12 +1,39 @@
+package main;
+
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
- * <p>Класс предназначен для быстрой сортировки (quicksort Хоара) элементов {@link CustomArrayList}.</p>
+ * <p>Класс предназначен для быстрой сортировки элементов {@link CustomArrayList}.</p>
+ * <p>
+ * Элементы {@link CustomArrayList} сортируются гибридным алгоритмом introsort, который работает напрямую с
+ * массивом элементов списка:
+ * </p>
+ * <p>- quicksort с трехсторонним разделением (меньше / равно / больше опорного) и выбором опорного элемента
+ * медианой трех или "девяткой" Тьюки для больших подмассивов;</p>
+ * <p>- сортировка вставками для подмассивов короче {@value INSERTION_SORT_THRESHOLD} элементов;</p>
+ * <p>- пирамидальная сортировка (heapsort), если глубина рекурсии превысила {@code 2 * log2(n)}.</p>
+ * <p>Такая комбинация гарантирует O(n log n) и глубину рекурсии O(log n) на любых входных данных.</p>
+ * <p>
+ * Списки примитивных значений ({@link IntCustomArrayList}, {@link LongCustomArrayList},
+ * {@link DoubleCustomArrayList}) сортируются тем же алгоритмом напрямую в их массивах, с теми же гарантиями.
+ * </p>
  */
 public class QuickSort {
 
     /**
-     * <p>Сортирует элементы {@code ArrayList<T>}, используя алгоритм quicksort.</p>
+     * Подмассивы короче этого значения сортируются вставками
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+
+    /**
+     * Для подмассивов длиннее этого значения опорный элемент выбирается "девяткой" Тьюки вместо медианы трех
+     */
+    private static final int NINTHER_THRESHOLD = 128;
+
+    /**
+     * <p>Сортирует элементы {@code CustomArrayList<T>}, используя алгоритм introsort.</p>
      * <p>Для определения правил сортировки принимает в качестве параметра {@code Comparator<T>}</p>
      *
      * @param list       список элементов
@@ -14,122 +41,934 @@ public class QuickSort {
      * @param <T>        тип элементов списка
      */
     public static <T> void sort(CustomArrayList<T> list, Comparator<T> comparator) {
-        int start = 0;
-        int end = list.size() - 1;
+        sort(list.elements(), 0, list.size(), comparator, list.getMetrics());
+        list.markSorted(comparator);
+    }
 
-        quickSort(list, start, end, comparator);
+    /**
+     * Сортирует диапазон {@code [from, to)} массива элементов, используя алгоритм introsort
+     *
+     * @param elements   массив элементов
+     * @param from       индекс первого элемента диапазона
+     * @param to         индекс, следующий за последним элементом диапазона
+     * @param comparator объект, реализующий логику сравнения элементов
+     * @param <T>        тип элементов
+     */
+    static <T> void sort(Object[] elements, int from, int to, Comparator<T> comparator) {
+        sort(elements, from, to, comparator, null);
     }
 
     /**
-     * Рекурсивно сортирует левый и правый относительно опорного элемента подмассивы списка, пока подмассив не будет
-     * содержать один элемент.
+     * Сортирует диапазон {@code [from, to)} массива элементов, используя алгоритм introsort, и записывает
+     * сравнения, обмены и глубину рекурсии в {@code metrics}
      *
-     * @param list       список элементов
-     * @param start      индекс первого элемента подмассива
-     * @param end        индекс посленего элемента подмассива
+     * @param elements   массив элементов
+     * @param from       индекс первого элемента диапазона
+     * @param to         индекс, следующий за последним элементом диапазона
+     * @param comparator объект, реализующий логику сравнения элементов
+     * @param metrics    метрики списка или {@code null}, если метрики выключены
+     * @param <T>        тип элементов
+     */
+    static <T> void sort(Object[] elements, int from, int to, Comparator<T> comparator, ListMetrics metrics) {
+        if (metrics == null) {
+            introSort(elements, from, to, comparator, depthLimit(to - from), 0, null);
+            return;
+        }
+
+        ListSortEvent event = metrics.beginSort("introsort", to - from);
+        introSort(elements, from, to, metrics.counting(comparator), depthLimit(to - from), 0, metrics);
+        metrics.endSort(event);
+    }
+
+    /**
+     * Сортирует элементы {@code CustomArrayList<T>} в естественном порядке, используя алгоритм introsort.
+     *
+     * @param list список элементов
+     * @param <T>  тип элементов списка
+     */
+    public static <T extends Comparable<T>> void sort(CustomArrayList<T> list) {
+        sort(list, Comparator.naturalOrder());
+    }
+
+    /**
+     * Возвращает допустимую глубину рекурсии для подмассива из {@code size} элементов
+     *
+     * @param size размер подмассива
+     * @return {@code 2 * log2(size)}
+     */
+    private static int depthLimit(int size) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(Math.max(size, 1)));
+    }
+
+    /**
+     * <p>
+     * Сортирует подмассив {@code [from, to)}. После разделения рекурсивно сортируется меньшая часть, а большая
+     * обрабатывается в цикле, поэтому глубина стека не превышает O(log n).
+     * </p>
+     * <p>Если {@code depth} исчерпана, подмассив досортировывается пирамидальной сортировкой.</p>
+     *
+     * @param elements   массив элементов списка
+     * @param from       индекс первого элемента подмассива
+     * @param to         индекс, следующий за последним элементом подмассива
      * @param comparator объект, реализующий логику сравнения элементов
+     * @param depth      оставшаяся допустимая глубина рекурсии
+     * @param level      текущая глубина вложенности разделений
+     * @param metrics    метрики списка или {@code null}
      * @param <T>        тип элементов списка
      */
-    private static <T> void quickSort(CustomArrayList<T> list, int start, int end, Comparator<T> comparator) {
-        if (start < end) {
-            int rightSubArrayStart = split(list, start, end, comparator);
+    private static <T> void introSort(Object[] elements, int from, int to, Comparator<T> comparator, int depth,
+                                      int level, ListMetrics metrics) {
+        while (to - from > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                if (metrics != null) {
+                    metrics.recordHeapSortFallback();
+                    metrics.recordSwaps(to - from - 1);
+                }
+                heapSort(elements, from, to, comparator);
+                return;
+            }
 
-            quickSort(list, start, rightSubArrayStart - 1, comparator);
-            quickSort(list, rightSubArrayStart, end, comparator);
+            long bounds = split(elements, from, to, comparator, ++level, metrics);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            if (lessEnd - from < to - greaterStart) {
+                introSort(elements, from, lessEnd, comparator, depth, level, metrics);
+                from = greaterStart;
+            } else {
+                introSort(elements, greaterStart, to, comparator, depth, level, metrics);
+                to = lessEnd;
+            }
         }
+
+        insertionSort(elements, from, to, comparator);
     }
 
     /**
      * <p>
-     * Условно разделяет список на два подмассива: 1) массив элементов которые должны идти по порядку до
-     * опорного элемента 2) массив элементов которые соответствуют опорному или должны итди после него.
+     * Переставляет элементы диапазона {@code [from, to)} так, чтобы на позиции {@code k} оказался элемент, который
+     * стоял бы там после сортировки, слева от него - не большие, справа - не меньшие элементы (introselect).
      * </p>
-     * <p>Описание:</p>
-     * <p>1. Определяется опорный элемент списка / подмассива. В данном случае опорный элемент берется из середины.</p>
-     * <p>2. Пока указатели, идущие с двух сторон не пройдут мимо друг друга делаем следующее:</p>
      * <p>
-     * - с обоих сторон, ищем элементы. В левом подмассиве - которые больше или равны опорному. В правом подмассиве
-     * - которые меньше или равны опорному. При нахождении этих элементов, указатели останавливаются на этих
-     * элементах.
+     * Диапазон разделяется {@link #split} так же, как при сортировке, но дальше обрабатывается только часть,
+     * содержащая {@code k}, поэтому в среднем выбор занимает O(n). Если позиция попала в часть равных опорному
+     * элементов, выбор закончен. Если допустимая глубина исчерпана (неудачные опорные элементы), оставшаяся часть
+     * сортируется пирамидальной сортировкой, что ограничивает худший случай O(n log n).
      * </p>
+     *
+     * @param elements   массив элементов
+     * @param from       индекс первого элемента диапазона
+     * @param to         индекс, следующий за последним элементом диапазона
+     * @param k          позиция выбираемого элемента, {@code from <= k < to}
+     * @param comparator объект, реализующий логику сравнения элементов
+     * @param metrics    метрики списка или {@code null}, если метрики выключены
+     * @param <T>        тип элементов
+     */
+    static <T> void select(Object[] elements, int from, int to, int k, Comparator<T> comparator,
+                           ListMetrics metrics) {
+        ListSortEvent event = null;
+        if (metrics != null) {
+            event = metrics.beginSort("introselect", to - from);
+            comparator = metrics.counting(comparator);
+        }
+
+        int depth = depthLimit(to - from);
+        int level = 0;
+        while (to - from > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                if (metrics != null) {
+                    metrics.recordHeapSortFallback();
+                    metrics.recordSwaps(to - from - 1);
+                }
+                heapSort(elements, from, to, comparator);
+                break;
+            }
+
+            long bounds = split(elements, from, to, comparator, ++level, metrics);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            if (k < lessEnd) {
+                to = lessEnd;
+            } else if (k >= greaterStart) {
+                from = greaterStart;
+            } else {
+                break;
+            }
+        }
+
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(elements, from, to, comparator);
+        }
+
+        if (metrics != null) {
+            metrics.endSort(event);
+        }
+    }
+
+    /**
+     * <p>Разделяет подмассив {@code [from, to)} на три части относительно опорного элемента.</p>
+     * <p>Описание:</p>
+     * <p>1. Определяется опорный элемент подмассива (см. {@link #choosePivot}).</p>
+     * <p>2. Указатель {@code i} идет слева направо, пока не встретится с указателем {@code greater}:</p>
+     * <p>- элементы меньше опорного меняются местами с элементом на границе {@code less};</p>
+     * <p>- элементы больше опорного меняются местами с элементом на границе {@code greater};</p>
+     * <p>- элементы, равные опорному, остаются на месте.</p>
      * <p>
-     * - меняем местами элементы, на которые указывают указатели (при условии, что указатели еще не прошли мимо
-     * друг друга)
+     * 3. Возвращаем границы: {@code [from, less)} - меньше опорного, {@code [less, greater]} - равны опорному,
+     * {@code (greater, to)} - больше опорного. Равные элементы в дальнейшей сортировке не участвуют, поэтому
+     * списки с большим количеством повторов сортируются почти за линейное время.
      * </p>
+     *
+     * @param elements   массив элементов списка
+     * @param from       индекс первого элемента подмассива
+     * @param to         индекс, следующий за последним элементом подмассива
+     * @param comparator объект, реализующий логику сравнения элементов
+     * @param level      глубина вложенности этого разделения
+     * @param metrics    метрики списка или {@code null}
+     * @param <T>        тип элементов списка
+     * @return конец левой части ({@code less}) в старших 32 битах и начало правой части ({@code greater + 1}) в
+     * младших 32 битах
+     */
+    private static <T> long split(Object[] elements, int from, int to, Comparator<T> comparator, int level,
+                                  ListMetrics metrics) {
+        T pivot = element(elements, choosePivot(elements, from, to, comparator));
+
+        int less = from;
+        int greater = to - 1;
+        int i = from;
+        // Локальный счетчик стоит одно сложение в регистре, в метрики он записывается один раз на разделение
+        int swaps = 0;
+
+        while (i <= greater) {
+            int result = comparator.compare(element(elements, i), pivot);
+
+            if (result < 0) {
+                swap(elements, less++, i++);
+                swaps++;
+            } else if (result > 0) {
+                swap(elements, i, greater--);
+                swaps++;
+            } else {
+                i++;
+            }
+        }
+
+        if (metrics != null) {
+            metrics.recordSplit(level, swaps);
+        }
+
+        return ((long) less << 32) | (greater + 1);
+    }
+
+    /**
+     * Выбирает индекс опорного элемента: медиану первого, среднего и последнего элементов, а для подмассивов
+     * длиннее {@value NINTHER_THRESHOLD} элементов - медиану трех таких медиан ("девятку" Тьюки).
+     *
+     * @param elements   массив элементов списка
+     * @param from       индекс первого элемента подмассива
+     * @param to         индекс, следующий за последним элементом подмассива
+     * @param comparator объект, реализующий логику сравнения элементов
+     * @param <T>        тип элементов списка
+     * @return индекс опорного элемента
+     */
+    private static <T> int choosePivot(Object[] elements, int from, int to, Comparator<T> comparator) {
+        int last = to - 1;
+        int middle = (from + last) >>> 1;
+
+        if (to - from > NINTHER_THRESHOLD) {
+            int step = (to - from) / 8;
+            int left = medianOfThree(elements, from, from + step, from + 2 * step, comparator);
+            int center = medianOfThree(elements, middle - step, middle, middle + step, comparator);
+            int right = medianOfThree(elements, last - 2 * step, last - step, last, comparator);
+
+            return medianOfThree(elements, left, center, right, comparator);
+        }
+
+        return medianOfThree(elements, from, middle, last, comparator);
+    }
+
+    private static <T> int medianOfThree(Object[] elements, int a, int b, int c, Comparator<T> comparator) {
+        T first = element(elements, a);
+        T second = element(elements, b);
+        T third = element(elements, c);
+
+        if (comparator.compare(first, second) < 0) {
+            if (comparator.compare(second, third) < 0) {
+                return b;
+            }
+            return comparator.compare(first, third) < 0 ? c : a;
+        }
+
+        if (comparator.compare(first, third) < 0) {
+            return a;
+        }
+        return comparator.compare(second, third) < 0 ? c : b;
+    }
+
+    /**
+     * Сортирует подмассив {@code [from, to)} вставками
+     *
+     * @param elements   массив элементов списка
+     * @param from       индекс первого элемента подмассива
+     * @param to         индекс, следующий за последним элементом подмассива
+     * @param comparator объект, реализующий логику сравнения элементов
+     * @param <T>        тип элементов списка
+     */
+    private static <T> void insertionSort(Object[] elements, int from, int to, Comparator<T> comparator) {
+        for (int i = from + 1; i < to; i++) {
+            T current = element(elements, i);
+            int j = i - 1;
+
+            while (j >= from && comparator.compare(element(elements, j), current) > 0) {
+                elements[j + 1] = elements[j];
+                j--;
+            }
+
+            elements[j + 1] = current;
+        }
+    }
+
+    /**
+     * Сортирует подмассив {@code [from, to)} пирамидальной сортировкой за гарантированное O(n log n)
+     *
+     * @param elements   массив элементов списка
+     * @param from       индекс первого элемента подмассива
+     * @param to         индекс, следующий за последним элементом подмассива
+     * @param comparator объект, реализующий логику сравнения элементов
+     * @param <T>        тип элементов списка
+     */
+    private static <T> void heapSort(Object[] elements, int from, int to, Comparator<T> comparator) {
+        int length = to - from;
+
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(elements, from, i, length, comparator);
+        }
+
+        for (int end = length - 1; end > 0; end--) {
+            swap(elements, from, from + end);
+            siftDown(elements, from, 0, end, comparator);
+        }
+    }
+
+    private static <T> void siftDown(Object[] elements, int offset, int root, int length, Comparator<T> comparator) {
+        T value = element(elements, offset + root);
+
+        while (true) {
+            int child = 2 * root + 1;
+            if (child >= length) {
+                break;
+            }
+
+            T childValue = element(elements, offset + child);
+            if (child + 1 < length) {
+                T right = element(elements, offset + child + 1);
+                if (comparator.compare(childValue, right) < 0) {
+                    child++;
+                    childValue = right;
+                }
+            }
+
+            if (comparator.compare(value, childValue) >= 0) {
+                break;
+            }
+
+            elements[offset + root] = elements[offset + child];
+            root = child;
+        }
+
+        elements[offset + root] = value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T element(Object[] elements, int index) {
+        return (T) elements[index];
+    }
+
+    private static void swap(Object[] elements, int i, int j) {
+        Object temp = elements[i];
+        elements[i] = elements[j];
+        elements[j] = temp;
+    }
+
+    /**
+     * Размер подмассива по умолчанию, начиная с которого {@link #parallelSort} сортирует подмассив в текущем потоке
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 8192;
+
+    /**
+     * <p>Сортирует элементы списка параллельно в {@link ForkJoinPool#commonPool()}.</p>
+     * <p>Результат совпадает с результатом {@link #sort(CustomArrayList, Comparator)}</p>
+     *
+     * @param list       список элементов
+     * @param comparator объект, реализующий логику сравнения элементов
+     * @param <T>        тип элементов списка
+     */
+    public static <T> void parallelSort(CustomArrayList<T> list, Comparator<T> comparator) {
+        parallelSort(list, comparator, DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * <p>Сортирует элементы списка параллельно в указанном {@code pool}.</p>
      * <p>
-     * - перемещаем указатели на следующую позицию
-     * </p>
+     * После каждого разделения ({@code split}) левая и правая части независимы, поэтому сортируются
+     * отдельными задачами {@link RecursiveAction}. Подмассивы размером меньше {@code threshold} сортируются
+     * последовательно, чтобы не платить за создание задач на маленьких диапазонах.
      * </p>
-     * <p>3. Возвращаем индекс элемента, с которого начинается правый подмассив.</p>
      *
      * @param list       список элементов
-     * @param left       начало списка / подмассива
-     * @param right      конец списка / подмассива
      * @param comparator объект, реализующий логику сравнения элементов
+     * @param threshold  размер подмассива, ниже которого сортировка выполняется последовательно
+     * @param pool       пул потоков, в котором выполняется сортировка
      * @param <T>        тип элементов списка
-     * @return начало правого подмассива
+     * @throws IllegalArgumentException если значение {@code threshold} меньше или равно нулю
      */
-    private static <T> int split(CustomArrayList<T> list, int left, int right, Comparator<T> comparator) {
-        T pivot = list.get((left + right) / 2);
+    public static <T> void parallelSort(CustomArrayList<T> list, Comparator<T> comparator, int threshold,
+                                        ForkJoinPool pool) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Threshold must be a positive integer");
+        }
+
+        int size = list.size();
+        ListMetrics metrics = list.getMetrics();
+        if (metrics == null) {
+            pool.invoke(new ParallelQuickSortTask<>(list.elements(), 0, size, comparator, threshold,
+                    depthLimit(size), 0, null));
+        } else {
+            ListSortEvent event = metrics.beginSort("parallel introsort", size);
+            pool.invoke(new ParallelQuickSortTask<>(list.elements(), 0, size, metrics.counting(comparator),
+                    threshold, depthLimit(size), 0, metrics));
+            metrics.endSort(event);
+        }
+        list.markSorted(comparator);
+    }
 
-        while (left <= right) {
-            while (comparator.compare(list.get(left), pivot) < 0) {
-                left++;
+    /**
+     * Параллельно сортирует элементы списка в естественном порядке в {@link ForkJoinPool#commonPool()}
+     *
+     * @param list список элементов
+     * @param <T>  тип элементов списка
+     */
+    public static <T extends Comparable<T>> void parallelSort(CustomArrayList<T> list) {
+        parallelSort(list, Comparator.naturalOrder());
+    }
+
+    /**
+     * Задача, сортирующая подмассив {@code [from, to)} и порождающая подзадачи для левой и правой частей.
+     *
+     * @param <T> тип элементов списка
+     */
+    private static class ParallelQuickSortTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] elements;
+
+        private final int from;
+
+        private final int to;
+
+        private final Comparator<T> comparator;
+
+        private final int threshold;
+
+        private final int depth;
+
+        private final int level;
+
+        private final ListMetrics metrics;
+
+        ParallelQuickSortTask(Object[] elements, int from, int to, Comparator<T> comparator, int threshold,
+                              int depth, int level, ListMetrics metrics) {
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+            this.threshold = threshold;
+            this.depth = depth;
+            this.level = level;
+            this.metrics = metrics;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from < threshold || depth == 0) {
+                introSort(elements, from, to, comparator, depth, level, metrics);
+                return;
             }
 
-            while (comparator.compare(list.get(right), pivot) > 0) {
-                right--;
+            long bounds = split(elements, from, to, comparator, level + 1, metrics);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            invokeAll(
+                    new ParallelQuickSortTask<>(elements, from, lessEnd, comparator, threshold, depth - 1,
+                            level + 1, metrics),
+                    new ParallelQuickSortTask<>(elements, greaterStart, to, comparator, threshold, depth - 1,
+                            level + 1, metrics)
+            );
+        }
+    }
+
+    /**
+     * Сортирует значения {@link IntCustomArrayList} по возрастанию, используя алгоритм introsort.
+     *
+     * @param list список значений
+     */
+    public static void sort(IntCustomArrayList list) {
+        sort(list, Integer::compare);
+    }
+
+    /**
+     * <p>Сортирует значения {@link IntCustomArrayList}, используя алгоритм introsort (как для
+     * {@link CustomArrayList}).</p>
+     * <p>Значения сравниваются без упаковки в {@link Integer}</p>
+     *
+     * @param list       список значений
+     * @param comparator объект, реализующий логику сравнения значений
+     */
+    public static void sort(IntCustomArrayList list, IntComparator comparator) {
+        int size = list.size();
+        introSort(list.elements(), 0, size, comparator, depthLimit(size));
+    }
+
+    private static void introSort(int[] values, int from, int to, IntComparator comparator, int depth) {
+        while (to - from > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(values, from, to, comparator);
+                return;
             }
 
-            if (left <= right) {
-                T temp = list.get(left);
-                list.set(left, list.get(right));
-                list.set(right, temp);
-                left++;
-                right--;
+            long bounds = split(values, from, to, comparator);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            if (lessEnd - from < to - greaterStart) {
+                introSort(values, from, lessEnd, comparator, depth);
+                from = greaterStart;
+            } else {
+                introSort(values, greaterStart, to, comparator, depth);
+                to = lessEnd;
             }
         }
 
-        return left;
+        insertionSort(values, from, to, comparator);
     }
 
-    public static <T extends Comparable<T>> void sort(CustomArrayList<T> list) {
-        int start = 0;
-        int end = list.size() - 1;
+    private static long split(int[] values, int from, int to, IntComparator comparator) {
+        int pivot = values[choosePivot(values, from, to, comparator)];
+
+        int less = from;
+        int greater = to - 1;
+        int i = from;
+
+        while (i <= greater) {
+            int result = comparator.compare(values[i], pivot);
+
+            if (result < 0) {
+                swap(values, less++, i++);
+            } else if (result > 0) {
+                swap(values, i, greater--);
+            } else {
+                i++;
+            }
+        }
+
+        return ((long) less << 32) | (greater + 1);
+    }
+
+    private static int choosePivot(int[] values, int from, int to, IntComparator comparator) {
+        int last = to - 1;
+        int middle = (from + last) >>> 1;
+
+        if (to - from > NINTHER_THRESHOLD) {
+            int step = (to - from) / 8;
+            int left = medianOfThree(values, from, from + step, from + 2 * step, comparator);
+            int center = medianOfThree(values, middle - step, middle, middle + step, comparator);
+            int right = medianOfThree(values, last - 2 * step, last - step, last, comparator);
+
+            return medianOfThree(values, left, center, right, comparator);
+        }
+
+        return medianOfThree(values, from, middle, last, comparator);
+    }
+
+    private static int medianOfThree(int[] values, int a, int b, int c, IntComparator comparator) {
+        if (comparator.compare(values[a], values[b]) < 0) {
+            if (comparator.compare(values[b], values[c]) < 0) {
+                return b;
+            }
+            return comparator.compare(values[a], values[c]) < 0 ? c : a;
+        }
+
+        if (comparator.compare(values[a], values[c]) < 0) {
+            return a;
+        }
+        return comparator.compare(values[b], values[c]) < 0 ? c : b;
+    }
+
+    private static void insertionSort(int[] values, int from, int to, IntComparator comparator) {
+        for (int i = from + 1; i < to; i++) {
+            int current = values[i];
+            int j = i - 1;
+
+            while (j >= from && comparator.compare(values[j], current) > 0) {
+                values[j + 1] = values[j];
+                j--;
+            }
+
+            values[j + 1] = current;
+        }
+    }
+
+    private static void heapSort(int[] values, int from, int to, IntComparator comparator) {
+        int length = to - from;
+
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(values, from, i, length, comparator);
+        }
+
+        for (int end = length - 1; end > 0; end--) {
+            swap(values, from, from + end);
+            siftDown(values, from, 0, end, comparator);
+        }
+    }
+
+    private static void siftDown(int[] values, int offset, int root, int length, IntComparator comparator) {
+        int value = values[offset + root];
+
+        while (true) {
+            int child = 2 * root + 1;
+            if (child >= length) {
+                break;
+            }
+
+            if (child + 1 < length && comparator.compare(values[offset + child], values[offset + child + 1]) < 0) {
+                child++;
+            }
+
+            if (comparator.compare(value, values[offset + child]) >= 0) {
+                break;
+            }
+
+            values[offset + root] = values[offset + child];
+            root = child;
+        }
+
+        values[offset + root] = value;
+    }
+
+    private static void swap(int[] values, int i, int j) {
+        int temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
+    }
+
+    /**
+     * Сортирует значения {@link LongCustomArrayList} по возрастанию, используя алгоритм introsort.
+     *
+     * @param list список значений
+     */
+    public static void sort(LongCustomArrayList list) {
+        sort(list, Long::compare);
+    }
+
+    /**
+     * <p>Сортирует значения {@link LongCustomArrayList}, используя алгоритм introsort (как для
+     * {@link CustomArrayList}).</p>
+     * <p>Значения сравниваются без упаковки в {@link Long}</p>
+     *
+     * @param list       список значений
+     * @param comparator объект, реализующий логику сравнения значений
+     */
+    public static void sort(LongCustomArrayList list, LongComparator comparator) {
+        int size = list.size();
+        introSort(list.elements(), 0, size, comparator, depthLimit(size));
+    }
+
+    private static void introSort(long[] values, int from, int to, LongComparator comparator, int depth) {
+        while (to - from > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(values, from, to, comparator);
+                return;
+            }
+
+            long bounds = split(values, from, to, comparator);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            if (lessEnd - from < to - greaterStart) {
+                introSort(values, from, lessEnd, comparator, depth);
+                from = greaterStart;
+            } else {
+                introSort(values, greaterStart, to, comparator, depth);
+                to = lessEnd;
+            }
+        }
+
+        insertionSort(values, from, to, comparator);
+    }
+
+    private static long split(long[] values, int from, int to, LongComparator comparator) {
+        long pivot = values[choosePivot(values, from, to, comparator)];
+
+        int less = from;
+        int greater = to - 1;
+        int i = from;
+
+        while (i <= greater) {
+            int result = comparator.compare(values[i], pivot);
+
+            if (result < 0) {
+                swap(values, less++, i++);
+            } else if (result > 0) {
+                swap(values, i, greater--);
+            } else {
+                i++;
+            }
+        }
+
+        return ((long) less << 32) | (greater + 1);
+    }
+
+    private static int choosePivot(long[] values, int from, int to, LongComparator comparator) {
+        int last = to - 1;
+        int middle = (from + last) >>> 1;
 
-        quickSort(list, start, end);
+        if (to - from > NINTHER_THRESHOLD) {
+            int step = (to - from) / 8;
+            int left = medianOfThree(values, from, from + step, from + 2 * step, comparator);
+            int center = medianOfThree(values, middle - step, middle, middle + step, comparator);
+            int right = medianOfThree(values, last - 2 * step, last - step, last, comparator);
+
+            return medianOfThree(values, left, center, right, comparator);
+        }
+
+        return medianOfThree(values, from, middle, last, comparator);
     }
 
-    private static <T extends Comparable<T>> void quickSort(CustomArrayList<T> list, int start, int end) {
-        if (start < end) {
-            int rightSubArrayStartIndex = split(list, start, end);
+    private static int medianOfThree(long[] values, int a, int b, int c, LongComparator comparator) {
+        if (comparator.compare(values[a], values[b]) < 0) {
+            if (comparator.compare(values[b], values[c]) < 0) {
+                return b;
+            }
+            return comparator.compare(values[a], values[c]) < 0 ? c : a;
+        }
+
+        if (comparator.compare(values[a], values[c]) < 0) {
+            return a;
+        }
+        return comparator.compare(values[b], values[c]) < 0 ? c : b;
+    }
+
+    private static void insertionSort(long[] values, int from, int to, LongComparator comparator) {
+        for (int i = from + 1; i < to; i++) {
+            long current = values[i];
+            int j = i - 1;
+
+            while (j >= from && comparator.compare(values[j], current) > 0) {
+                values[j + 1] = values[j];
+                j--;
+            }
 
-            quickSort(list, start, rightSubArrayStartIndex - 1);
-            quickSort(list, rightSubArrayStartIndex, end);
+            values[j + 1] = current;
         }
     }
 
-    private static <T extends Comparable<T>> int split(CustomArrayList<T> list, int left, int right) {
-        T pivot = list.get((left + right) / 2);
+    private static void heapSort(long[] values, int from, int to, LongComparator comparator) {
+        int length = to - from;
+
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(values, from, i, length, comparator);
+        }
+
+        for (int end = length - 1; end > 0; end--) {
+            swap(values, from, from + end);
+            siftDown(values, from, 0, end, comparator);
+        }
+    }
+
+    private static void siftDown(long[] values, int offset, int root, int length, LongComparator comparator) {
+        long value = values[offset + root];
+
+        while (true) {
+            int child = 2 * root + 1;
+            if (child >= length) {
+                break;
+            }
+
+            if (child + 1 < length && comparator.compare(values[offset + child], values[offset + child + 1]) < 0) {
+                child++;
+            }
 
-        while (left <= right) {
-            while (list.get(left).compareTo(pivot) < 0) {
-                left++;
+            if (comparator.compare(value, values[offset + child]) >= 0) {
+                break;
             }
 
-            while (list.get(right).compareTo(pivot) > 0) {
-                right--;
+            values[offset + root] = values[offset + child];
+            root = child;
+        }
+
+        values[offset + root] = value;
+    }
+
+    private static void swap(long[] values, int i, int j) {
+        long temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
+    }
+
+    /**
+     * Сортирует значения {@link DoubleCustomArrayList} по возрастанию, используя алгоритм introsort.
+     *
+     * @param list список значений
+     */
+    public static void sort(DoubleCustomArrayList list) {
+        sort(list, Double::compare);
+    }
+
+    /**
+     * <p>Сортирует значения {@link DoubleCustomArrayList}, используя алгоритм introsort (как для
+     * {@link CustomArrayList}).</p>
+     * <p>Значения сравниваются без упаковки в {@link Double}</p>
+     *
+     * @param list       список значений
+     * @param comparator объект, реализующий логику сравнения значений
+     */
+    public static void sort(DoubleCustomArrayList list, DoubleComparator comparator) {
+        int size = list.size();
+        introSort(list.elements(), 0, size, comparator, depthLimit(size));
+    }
+
+    private static void introSort(double[] values, int from, int to, DoubleComparator comparator, int depth) {
+        while (to - from > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(values, from, to, comparator);
+                return;
             }
 
-            if (left <= right) {
-                T temp = list.get(left);
-                list.set(left, list.get(right));
-                list.set(right, temp);
-                left++;
-                right--;
+            long bounds = split(values, from, to, comparator);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            if (lessEnd - from < to - greaterStart) {
+                introSort(values, from, lessEnd, comparator, depth);
+                from = greaterStart;
+            } else {
+                introSort(values, greaterStart, to, comparator, depth);
+                to = lessEnd;
             }
         }
 
-        return left;
+        insertionSort(values, from, to, comparator);
+    }
+
+    private static long split(double[] values, int from, int to, DoubleComparator comparator) {
+        double pivot = values[choosePivot(values, from, to, comparator)];
+
+        int less = from;
+        int greater = to - 1;
+        int i = from;
+
+        while (i <= greater) {
+            int result = comparator.compare(values[i], pivot);
+
+            if (result < 0) {
+                swap(values, less++, i++);
+            } else if (result > 0) {
+                swap(values, i, greater--);
+            } else {
+                i++;
+            }
+        }
+
+        return ((long) less << 32) | (greater + 1);
+    }
+
+    private static int choosePivot(double[] values, int from, int to, DoubleComparator comparator) {
+        int last = to - 1;
+        int middle = (from + last) >>> 1;
+
+        if (to - from > NINTHER_THRESHOLD) {
+            int step = (to - from) / 8;
+            int left = medianOfThree(values, from, from + step, from + 2 * step, comparator);
+            int center = medianOfThree(values, middle - step, middle, middle + step, comparator);
+            int right = medianOfThree(values, last - 2 * step, last - step, last, comparator);
+
+            return medianOfThree(values, left, center, right, comparator);
+        }
+
+        return medianOfThree(values, from, middle, last, comparator);
+    }
+
+    private static int medianOfThree(double[] values, int a, int b, int c, DoubleComparator comparator) {
+        if (comparator.compare(values[a], values[b]) < 0) {
+            if (comparator.compare(values[b], values[c]) < 0) {
+                return b;
+            }
+            return comparator.compare(values[a], values[c]) < 0 ? c : a;
+        }
+
+        if (comparator.compare(values[a], values[c]) < 0) {
+            return a;
+        }
+        return comparator.compare(values[b], values[c]) < 0 ? c : b;
+    }
+
+    private static void insertionSort(double[] values, int from, int to, DoubleComparator comparator) {
+        for (int i = from + 1; i < to; i++) {
+            double current = values[i];
+            int j = i - 1;
+
+            while (j >= from && comparator.compare(values[j], current) > 0) {
+                values[j + 1] = values[j];
+                j--;
+            }
+
+            values[j + 1] = current;
+        }
+    }
+
+    private static void heapSort(double[] values, int from, int to, DoubleComparator comparator) {
+        int length = to - from;
+
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(values, from, i, length, comparator);
+        }
+
+        for (int end = length - 1; end > 0; end--) {
+            swap(values, from, from + end);
+            siftDown(values, from, 0, end, comparator);
+        }
+    }
+
+    private static void siftDown(double[] values, int offset, int root, int length, DoubleComparator comparator) {
+        double value = values[offset + root];
+
+        while (true) {
+            int child = 2 * root + 1;
+            if (child >= length) {
+                break;
+            }
+
+            if (child + 1 < length && comparator.compare(values[offset + child], values[offset + child + 1]) < 0) {
+                child++;
+            }
+
+            if (comparator.compare(value, values[offset + child]) >= 0) {
+                break;
+            }
+
+            values[offset + root] = values[offset + child];
+            root = child;
+        }
+
+        values[offset + root] = value;
+    }
+
+    private static void swap(double[] values, int i, int j) {
+        double temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
     }
 }
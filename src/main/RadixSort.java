@@ -0,0 +1,386 @@
+package main;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>Класс предназначен для стабильной сортировки элементов {@link CustomArrayList} по целочисленному ключу без
+ * сравнений (поразрядная сортировка LSD и сортировка подсчетом).</p>
+ * <p>
+ * Ключ извлекается из каждого элемента один раз в массив {@code long[]} и сдвигается на минимальный ключ, поэтому
+ * все ключи становятся неотрицательными, а порядок знаковых ключей сохраняется. Если диапазон ключей небольшой
+ * (не больше {@value #COUNTING_SORT_MAX_RANGE} и не больше размера списка), индексы элементов раскладываются
+ * подсчетом за один проход. Иначе ключи вместе с индексами сортируются по 8 бит младшими разрядами вперед; число
+ * проходов определяется диапазоном ключей, а проходы, в которых у всех ключей одинаковый разряд, пропускаются.
+ * В конце элементы переставляются по отсортированным индексам через буфер списка
+ * ({@link CustomArrayList#sortBuffer(int)}).
+ * </p>
+ * <p>
+ * Время сортировки - O(n) на проход, дополнительная память - {@code 12 * n} байт для подсчета и {@code 24 * n} байт
+ * для поразрядной сортировки. Каждый проход раскладывает элементы в порядке их индексов, поэтому сортировка
+ * стабильна.
+ * </p>
+ * <p>
+ * Параллельная сортировка делит массив на части ({@link ParallelChunks}): каждая часть строит свою гистограмму
+ * разрядов, смещения частей внутри корзины идут по номеру части, поэтому результат совпадает с последовательной
+ * сортировкой.
+ * </p>
+ */
+public class RadixSort {
+
+    /**
+     * Наибольший диапазон ключей ({@code max - min}), при котором используется сортировка подсчетом
+     */
+    static final int COUNTING_SORT_MAX_RANGE = 1 << 16;
+
+    private static final int DIGIT_BITS = 8;
+
+    private static final int DIGIT_MASK = (1 << DIGIT_BITS) - 1;
+
+    private static final int BUCKETS = 1 << DIGIT_BITS;
+
+    private RadixSort() {
+    }
+
+    /**
+     * Извлекает ключи элементов {@code [from, to)} в массив ключей
+     */
+    @FunctionalInterface
+    private interface KeyExtractor {
+
+        void extract(Object[] elements, long[] keys, int from, int to);
+    }
+
+    /**
+     * Стабильно сортирует элементы {@code CustomArrayList<T>} по возрастанию ключа {@code key}
+     *
+     * @param list список элементов
+     * @param key  функция, извлекающая ключ элемента; вызывается ровно один раз для каждого элемента
+     * @param <T>  тип элементов списка
+     */
+    public static <T> void sortByIntKey(CustomArrayList<T> list, ToIntFunction<? super T> key) {
+        sort(list, intKeys(key), Comparator.comparingInt(key), Math.max(list.size(), 1), null);
+    }
+
+    /**
+     * Стабильно сортирует элементы {@code CustomArrayList<T>} по возрастанию ключа {@code key}
+     *
+     * @param list список элементов
+     * @param key  функция, извлекающая ключ элемента; вызывается ровно один раз для каждого элемента
+     * @param <T>  тип элементов списка
+     */
+    public static <T> void sortByLongKey(CustomArrayList<T> list, ToLongFunction<? super T> key) {
+        sort(list, longKeys(key), Comparator.comparingLong(key), Math.max(list.size(), 1), null);
+    }
+
+    /**
+     * Параллельно и стабильно сортирует элементы {@code CustomArrayList<T>} по возрастанию ключа {@code key} в
+     * {@link ForkJoinPool#commonPool()}
+     *
+     * @param list список элементов
+     * @param key  функция, извлекающая ключ элемента; вызывается из нескольких потоков одновременно
+     * @param <T>  тип элементов списка
+     */
+    public static <T> void parallelSortByIntKey(CustomArrayList<T> list, ToIntFunction<? super T> key) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        parallelSortByIntKey(list, key, ParallelChunks.balancedChunkSize(list.size(), pool), pool);
+    }
+
+    /**
+     * Параллельно и стабильно сортирует элементы {@code CustomArrayList<T>} по возрастанию ключа {@code key} в
+     * указанном {@code pool}
+     *
+     * @param list      список элементов
+     * @param key       функция, извлекающая ключ элемента; вызывается из нескольких потоков одновременно
+     * @param chunkSize количество элементов в части, обрабатываемой одной задачей
+     * @param pool      пул потоков, в котором выполняется сортировка
+     * @param <T>       тип элементов списка
+     * @throws IllegalArgumentException если значение {@code chunkSize} меньше или равно нулю
+     */
+    public static <T> void parallelSortByIntKey(CustomArrayList<T> list, ToIntFunction<? super T> key,
+                                                int chunkSize, ForkJoinPool pool) {
+        sort(list, intKeys(key), Comparator.comparingInt(key), chunkSize, pool);
+    }
+
+    /**
+     * Параллельно и стабильно сортирует элементы {@code CustomArrayList<T>} по возрастанию ключа {@code key} в
+     * {@link ForkJoinPool#commonPool()}
+     *
+     * @param list список элементов
+     * @param key  функция, извлекающая ключ элемента; вызывается из нескольких потоков одновременно
+     * @param <T>  тип элементов списка
+     */
+    public static <T> void parallelSortByLongKey(CustomArrayList<T> list, ToLongFunction<? super T> key) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        parallelSortByLongKey(list, key, ParallelChunks.balancedChunkSize(list.size(), pool), pool);
+    }
+
+    /**
+     * Параллельно и стабильно сортирует элементы {@code CustomArrayList<T>} по возрастанию ключа {@code key} в
+     * указанном {@code pool}
+     *
+     * @param list      список элементов
+     * @param key       функция, извлекающая ключ элемента; вызывается из нескольких потоков одновременно
+     * @param chunkSize количество элементов в части, обрабатываемой одной задачей
+     * @param pool      пул потоков, в котором выполняется сортировка
+     * @param <T>       тип элементов списка
+     * @throws IllegalArgumentException если значение {@code chunkSize} меньше или равно нулю
+     */
+    public static <T> void parallelSortByLongKey(CustomArrayList<T> list, ToLongFunction<? super T> key,
+                                                 int chunkSize, ForkJoinPool pool) {
+        sort(list, longKeys(key), Comparator.comparingLong(key), chunkSize, pool);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> KeyExtractor intKeys(ToIntFunction<? super T> key) {
+        return (elements, keys, from, to) -> {
+            for (int i = from; i < to; i++) {
+                keys[i] = key.applyAsInt((T) elements[i]);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> KeyExtractor longKeys(ToLongFunction<? super T> key) {
+        return (elements, keys, from, to) -> {
+            for (int i = from; i < to; i++) {
+                keys[i] = key.applyAsLong((T) elements[i]);
+            }
+        };
+    }
+
+    /**
+     * Сортирует список и запоминает, что он отсортирован по {@code order}. Если {@code chunkSize} не меньше размера
+     * списка, вся сортировка выполняется в вызывающем потоке и {@code pool} не используется.
+     */
+    private static <T> void sort(CustomArrayList<T> list, KeyExtractor extractor, Comparator<T> order,
+                                 int chunkSize, ForkJoinPool pool) {
+        int size = list.size();
+        ParallelChunks.chunkCount(size, chunkSize);
+
+        if (size >= 2) {
+            ListMetrics metrics = list.getMetrics();
+            ListSortEvent event = metrics == null ? null : metrics.beginSort("radix", size);
+
+            Object[] elements = list.elements();
+            Object[] buffer = list.sortBuffer(size);
+            try {
+                new Sorter(elements, size, chunkSize, pool).sort(extractor, buffer);
+            } finally {
+                ParallelChunks.forEachChunk(pool, size, chunkSize, (chunk, from, to) ->
+                        Arrays.fill(buffer, from, to, null));
+            }
+
+            if (metrics != null) {
+                metrics.endSort(event);
+            }
+        }
+
+        list.markSorted(order);
+    }
+
+    /**
+     * Состояние одной сортировки
+     */
+    private static final class Sorter {
+
+        private final Object[] elements;
+
+        private final int size;
+
+        private final int chunkSize;
+
+        private final int chunks;
+
+        private final ForkJoinPool pool;
+
+        private long[] keys;
+
+        private int[] order;
+
+        Sorter(Object[] elements, int size, int chunkSize, ForkJoinPool pool) {
+            this.elements = elements;
+            this.size = size;
+            this.chunkSize = chunkSize;
+            this.chunks = ParallelChunks.chunkCount(size, chunkSize);
+            this.pool = pool;
+        }
+
+        void sort(KeyExtractor extractor, Object[] buffer) {
+            keys = new long[size];
+            long[] minimums = new long[chunks];
+            long[] maximums = new long[chunks];
+            forEachChunk((chunk, from, to) -> {
+                extractor.extract(elements, keys, from, to);
+                long min = keys[from];
+                long max = min;
+                for (int i = from + 1; i < to; i++) {
+                    min = Math.min(min, keys[i]);
+                    max = Math.max(max, keys[i]);
+                }
+                minimums[chunk] = min;
+                maximums[chunk] = max;
+            });
+
+            long min = Arrays.stream(minimums).min().orElseThrow();
+            // Разность может переполнить long, но как беззнаковое число она верна: max >= min
+            long range = Arrays.stream(maximums).max().orElseThrow() - min;
+            if (range == 0) {
+                return;
+            }
+
+            if (Long.compareUnsigned(range, Math.min(COUNTING_SORT_MAX_RANGE, size)) <= 0) {
+                countingSort(min, (int) range + 1);
+            } else {
+                radixSort(min, (64 - Long.numberOfLeadingZeros(range) + DIGIT_BITS - 1) / DIGIT_BITS);
+            }
+
+            permute(buffer);
+        }
+
+        /**
+         * Раскладывает индексы элементов по корзинам {@code key - min} за один проход
+         */
+        private void countingSort(long min, int buckets) {
+            int[][] counts = new int[chunks][];
+            forEachChunk((chunk, from, to) -> {
+                int[] count = new int[buckets];
+                for (int i = from; i < to; i++) {
+                    count[(int) (keys[i] - min)]++;
+                }
+                counts[chunk] = count;
+            });
+            toOffsets(counts, 0, buckets);
+
+            int[] sorted = new int[size];
+            forEachChunk((chunk, from, to) -> {
+                int[] offset = counts[chunk];
+                for (int i = from; i < to; i++) {
+                    sorted[offset[(int) (keys[i] - min)]++] = i;
+                }
+            });
+
+            keys = null;
+            order = sorted;
+        }
+
+        /**
+         * Сортирует ключи вместе с индексами элементов по {@value #DIGIT_BITS} бит за проход
+         */
+        private void radixSort(long min, int passes) {
+            // Гистограммы всех разрядов строятся одним чтением ключей; они верны для первого выполняемого прохода,
+            // а при одной части - и для остальных, так как состав части не меняется
+            int[][] counts = new int[chunks][];
+            forEachChunk((chunk, from, to) -> {
+                int[] count = new int[passes * BUCKETS];
+                for (int i = from; i < to; i++) {
+                    long key = keys[i] - min;
+                    keys[i] = key;
+                    for (int pass = 0; pass < passes; pass++) {
+                        count[pass * BUCKETS + (int) ((key >>> (pass * DIGIT_BITS)) & DIGIT_MASK)]++;
+                    }
+                }
+                counts[chunk] = count;
+            });
+
+            long[] keyBuffer = new long[size];
+            int[] orderBuffer = new int[size];
+            boolean moved = false;
+
+            for (int pass = 0; pass < passes; pass++) {
+                if (singleBucket(counts, pass * BUCKETS)) {
+                    continue;
+                }
+
+                int shift = pass * DIGIT_BITS;
+                int base = pass * BUCKETS;
+                if (moved && chunks > 1) {
+                    forEachChunk((chunk, from, to) -> {
+                        int[] count = counts[chunk];
+                        Arrays.fill(count, base, base + BUCKETS, 0);
+                        for (int i = from; i < to; i++) {
+                            count[base + (int) ((keys[i] >>> shift) & DIGIT_MASK)]++;
+                        }
+                    });
+                }
+                toOffsets(counts, base, BUCKETS);
+
+                long[] sourceKeys = keys;
+                int[] sourceOrder = order;
+                long[] targetKeys = keyBuffer;
+                int[] targetOrder = orderBuffer;
+                forEachChunk((chunk, from, to) -> {
+                    int[] offset = counts[chunk];
+                    for (int i = from; i < to; i++) {
+                        long key = sourceKeys[i];
+                        int position = offset[base + (int) ((key >>> shift) & DIGIT_MASK)]++;
+                        targetKeys[position] = key;
+                        targetOrder[position] = sourceOrder == null ? i : sourceOrder[i];
+                    }
+                });
+
+                keyBuffer = sourceKeys;
+                orderBuffer = sourceOrder == null ? new int[size] : sourceOrder;
+                keys = targetKeys;
+                order = targetOrder;
+                moved = true;
+            }
+
+            keys = null;
+        }
+
+        /**
+         * Проверяет, что в проходе все ключи попадают в одну корзину и проход ничего не меняет
+         */
+        private boolean singleBucket(int[][] counts, int base) {
+            for (int digit = 0; digit < BUCKETS; digit++) {
+                long total = 0;
+                for (int[] count : counts) {
+                    total += count[base + digit];
+                }
+                if (total != 0) {
+                    return total == size;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Заменяет количества ключей в корзинах {@code [base, base + buckets)} на позиции, с которых часть пишет
+         * ключи корзины: корзины идут по возрастанию, внутри корзины - части по порядку
+         */
+        private static void toOffsets(int[][] counts, int base, int buckets) {
+            int offset = 0;
+            for (int digit = base; digit < base + buckets; digit++) {
+                for (int[] count : counts) {
+                    int total = count[digit];
+                    count[digit] = offset;
+                    offset += total;
+                }
+            }
+        }
+
+        /**
+         * Переставляет элементы по отсортированным индексам через {@code buffer}
+         */
+        private void permute(Object[] buffer) {
+            if (order == null) {
+                return;
+            }
+
+            forEachChunk((chunk, from, to) -> {
+                for (int i = from; i < to; i++) {
+                    buffer[i] = elements[order[i]];
+                }
+            });
+            forEachChunk((chunk, from, to) -> System.arraycopy(buffer, from, elements, from, to - from));
+        }
+
+        private void forEachChunk(ParallelChunks.ChunkAction action) {
+            ParallelChunks.forEachChunk(pool, size, chunkSize, action);
+        }
+    }
+}
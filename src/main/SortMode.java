@@ -0,0 +1,18 @@
+package main;
+
+/**
+ * Режим сортировки элементов {@link CustomArrayList}.
+ */
+public enum SortMode {
+
+    /**
+     * Нестабильная сортировка {@link QuickSort} (introsort). Режим по умолчанию.
+     */
+    QUICK,
+
+    /**
+     * Стабильная сортировка {@link TimSort}: равные элементы сохраняют исходный порядок, почти отсортированные
+     * списки сортируются почти за линейное время.
+     */
+    STABLE
+}
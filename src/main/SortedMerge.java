@@ -0,0 +1,299 @@
+package main;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <p>Слияние нескольких отсортированных {@link CustomArrayList} в один отсортированный массив.</p>
+ * <p>
+ * Элементы упорядочены по значению, а равные - по номеру входа и позиции в нем, поэтому порядок полный, а слияние
+ * стабильно. Результат делится на части разделителями: из каждого входа берутся равномерно расположенные образцы
+ * (по {@code m - 1} на вход для {@code m} частей), образцы сортируются, и каждый {@code k}-й из них становится
+ * разделителем (regular sampling). Граница части в каждом входе - количество его элементов, предшествующих
+ * разделителю, и находится одним двоичным поиском, то есть граница стоит O(k log n) сравнений и вычисляется один
+ * раз. Части получаются примерно по {@code chunkSize} элементов (не больше двух таких размеров при равномерных
+ * входах) и сливаются независимо.
+ * </p>
+ * <p>
+ * Один вход копируется, два сливаются обычным слиянием, а больше двух - деревом проигравших: в каждом узле
+ * хранится проигравший вход, и после выдачи элемента победитель заново проходит только путь от своего листа к
+ * корню, то есть {@code log2 k} сравнений на элемент.
+ * </p>
+ *
+ * @param <E> тип элементов
+ */
+final class SortedMerge<E> {
+
+    private final Object[][] inputs;
+
+    private final int[] sizes;
+
+    private final Comparator<? super E> comparator;
+
+    private SortedMerge(Object[][] inputs, int[] sizes, Comparator<? super E> comparator) {
+        this.inputs = inputs;
+        this.sizes = sizes;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Сливает отсортированные списки в {@code target}
+     *
+     * @param lists      отсортированные по {@code comparator} списки
+     * @param comparator объект, реализующий логику сравнения элементов
+     * @param target     массив результата длиной не меньше суммы размеров списков
+     * @param chunkSize  примерное количество элементов результата, сливаемых одной задачей
+     * @param pool       пул потоков, в котором выполняется слияние
+     * @param <E>        тип элементов
+     */
+    static <E> void merge(List<CustomArrayList<E>> lists, Comparator<? super E> comparator, Object[] target,
+                          int chunkSize, ForkJoinPool pool) {
+        Object[][] inputs = new Object[lists.size()][];
+        int[] sizes = new int[lists.size()];
+        int total = 0;
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = lists.get(i).elements();
+            sizes[i] = lists.get(i).size();
+            total += sizes[i];
+        }
+
+        SortedMerge<E> merge = new SortedMerge<>(inputs, sizes, comparator);
+        int[][] bounds = merge.bounds(ParallelChunks.chunkCount(total, chunkSize));
+        int[] offsets = new int[bounds.length];
+        for (int chunk = 1; chunk < bounds.length; chunk++) {
+            for (int position : bounds[chunk]) {
+                offsets[chunk] += position;
+            }
+        }
+
+        ParallelChunks.forEachChunk(pool, bounds.length - 1, 1, (chunk, from, to) ->
+                merge.mergeSegment(bounds[chunk], bounds[chunk + 1], target, offsets[chunk]));
+    }
+
+    /**
+     * Возвращает границы частей во входах: {@code bounds[c][i]} - количество элементов входа {@code i} в первых
+     * {@code c} частях. Первая строка нулевая, последняя равна размерам входов.
+     *
+     * @param chunks желаемое количество частей
+     * @return границы частей
+     */
+    private int[][] bounds(int chunks) {
+        int[][] bounds;
+        if (chunks <= 1) {
+            bounds = new int[2][];
+        } else {
+            long[] splitters = splitters(chunks);
+            bounds = new int[splitters.length + 2][];
+            for (int c = 0; c < splitters.length; c++) {
+                bounds[c + 1] = rank((int) (splitters[c] >>> 32), (int) splitters[c]);
+            }
+        }
+
+        bounds[0] = new int[inputs.length];
+        bounds[bounds.length - 1] = sizes.clone();
+        return bounds;
+    }
+
+    /**
+     * Выбирает {@code chunks - 1} разделителей по образцам входов. Образец кодируется как номер входа в старших 32
+     * битах и позиция в младших.
+     */
+    private long[] splitters(int chunks) {
+        Long[] samples = new Long[inputs.length * (chunks - 1)];
+        int count = 0;
+        for (int i = 0; i < inputs.length; i++) {
+            for (int t = 1; t < chunks; t++) {
+                int position = (int) ((long) t * sizes[i] / chunks);
+                if (position < sizes[i]) {
+                    samples[count++] = (long) i << 32 | position;
+                }
+            }
+        }
+
+        Arrays.sort(samples, 0, count, this::compareSamples);
+
+        long[] splitters = new long[count == 0 ? 0 : chunks - 1];
+        for (int c = 0; c < splitters.length; c++) {
+            splitters[c] = samples[(int) ((long) (c + 1) * count / chunks)];
+        }
+        return splitters;
+    }
+
+    private int compareSamples(long a, long b) {
+        int inputA = (int) (a >>> 32);
+        int inputB = (int) (b >>> 32);
+        int result = comparator.compare(element(inputs[inputA], (int) a), element(inputs[inputB], (int) b));
+        return result != 0 ? result : Long.compare(a, b);
+    }
+
+    /**
+     * Возвращает для каждого входа количество его элементов, предшествующих элементу {@code position} входа
+     * {@code input}: равные элементы более ранних входов идут перед ним, более поздних - после
+     */
+    private int[] rank(int input, int position) {
+        E value = element(inputs[input], position);
+        int[] positions = new int[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            positions[i] = i == input ? position : bound(i, value, i < input);
+        }
+        return positions;
+    }
+
+    /**
+     * Возвращает количество элементов входа {@code input}, меньших {@code value} (или не больших при
+     * {@code inclusive})
+     */
+    private int bound(int input, E value, boolean inclusive) {
+        Object[] elements = inputs[input];
+        int low = 0;
+        int high = sizes[input];
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int result = comparator.compare(element(elements, middle), value);
+            if (result < 0 || inclusive && result == 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Сливает диапазоны входов {@code [from[i], to[i])} в {@code target}, начиная с {@code offset}
+     */
+    private void mergeSegment(int[] from, int[] to, Object[] target, int offset) {
+        int active = 0;
+        int last = -1;
+        for (int i = 0; i < inputs.length; i++) {
+            if (from[i] < to[i]) {
+                active++;
+                last = i;
+            }
+        }
+
+        if (active == 1) {
+            System.arraycopy(inputs[last], from[last], target, offset, to[last] - from[last]);
+        } else if (active == 2) {
+            int first = 0;
+            while (from[first] == to[first]) {
+                first++;
+            }
+            mergeTwo(first, last, from, to, target, offset);
+        } else if (active > 2) {
+            new LoserTree(from, to).merge(target, offset);
+        }
+    }
+
+    private void mergeTwo(int left, int right, int[] from, int[] to, Object[] target, int offset) {
+        Object[] a = inputs[left];
+        Object[] b = inputs[right];
+        int i = from[left];
+        int j = from[right];
+        int leftEnd = to[left];
+        int rightEnd = to[right];
+
+        while (i < leftEnd && j < rightEnd) {
+            // При равенстве первым идет элемент входа с меньшим номером
+            if (comparator.compare(element(b, j), element(a, i)) < 0) {
+                target[offset++] = b[j++];
+            } else {
+                target[offset++] = a[i++];
+            }
+        }
+        System.arraycopy(a, i, target, offset, leftEnd - i);
+        System.arraycopy(b, j, target, offset + leftEnd - i, rightEnd - j);
+    }
+
+    /**
+     * Дерево проигравших над диапазонами входов. Листья {@code k..2k-1} соответствуют входам, внутренние узлы
+     * {@code 1..k-1} хранят номер проигравшего входа, узел {@code 0} - номер победителя. Текущие элементы входов
+     * хранятся в {@code heads}, чтобы сравнение не читало позицию и массив входа.
+     */
+    private final class LoserTree {
+
+        private final int[] tree;
+
+        private final int[] positions;
+
+        private final int[] ends;
+
+        private final Object[] heads;
+
+        LoserTree(int[] from, int[] to) {
+            this.tree = new int[inputs.length];
+            this.positions = from.clone();
+            this.ends = to;
+            this.heads = new Object[inputs.length];
+            for (int i = 0; i < heads.length; i++) {
+                if (from[i] < to[i]) {
+                    heads[i] = inputs[i][from[i]];
+                }
+            }
+            tree[0] = build(1);
+        }
+
+        private int build(int node) {
+            if (node >= tree.length) {
+                return node - tree.length;
+            }
+
+            int left = build(2 * node);
+            int right = build(2 * node + 1);
+            if (precedes(left, right)) {
+                tree[node] = right;
+                return left;
+            }
+            tree[node] = left;
+            return right;
+        }
+
+        void merge(Object[] target, int offset) {
+            int count = 0;
+            for (int i = 0; i < positions.length; i++) {
+                count += ends[i] - positions[i];
+            }
+
+            for (int end = offset + count; offset < end; offset++) {
+                int winner = tree[0];
+                target[offset] = heads[winner];
+                int position = ++positions[winner];
+                if (position < ends[winner]) {
+                    heads[winner] = inputs[winner][position];
+                }
+
+                for (int node = (winner + tree.length) >>> 1; node > 0; node >>>= 1) {
+                    if (precedes(tree[node], winner)) {
+                        int loser = winner;
+                        winner = tree[node];
+                        tree[node] = loser;
+                    }
+                }
+                tree[0] = winner;
+            }
+        }
+
+        /**
+         * Проверяет, идет ли текущий элемент входа {@code a} в результате раньше текущего элемента входа
+         * {@code b}. Исчерпанный вход идет последним.
+         */
+        private boolean precedes(int a, int b) {
+            if (positions[a] == ends[a]) {
+                return false;
+            }
+            if (positions[b] == ends[b]) {
+                return true;
+            }
+
+            int result = comparator.compare(element(heads, a), element(heads, b));
+            return result < 0 || result == 0 && a < b;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private E element(Object[] elements, int index) {
+        return (E) elements[index];
+    }
+}
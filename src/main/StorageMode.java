@@ -0,0 +1,27 @@
+package main;
+
+/**
+ * Способ размещения элементов {@link CustomArrayList} в массиве. Выбирается при создании списка.
+ */
+public enum StorageMode {
+
+    /**
+     * Элементы занимают начало массива без промежутков. Вставка и удаление не с конца сдвигают весь хвост списка.
+     * Режим по умолчанию.
+     */
+    CONTIGUOUS,
+
+    /**
+     * <p>Буфер с разрывом (gap buffer): свободное место массива держится в виде разрыва в позиции последней вставки
+     * или удаления.</p>
+     * <p>
+     * {@link CustomArrayList#add(int, Object)} и {@link CustomArrayList#remove(int)} сдвигают только элементы между
+     * старой и новой позицией разрыва, поэтому серия изменений рядом с одним местом (курсор редактора, окно
+     * вставки) стоит {@code O(1)} на операцию вместо {@code O(n)}. {@link CustomArrayList#get(int)} и
+     * {@link CustomArrayList#set(int, Object)} добавляют одно сравнение. Остальные операции (обход, поиск,
+     * сортировка, массовые изменения) сначала закрывают разрыв за {@code O(n)} и дальше работают как в режиме
+     * {@link #CONTIGUOUS}.
+     * </p>
+     */
+    GAP_BUFFER
+}
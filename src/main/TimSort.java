@@ -0,0 +1,594 @@
+package main;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * <p>Класс предназначен для стабильной сортировки элементов {@link CustomArrayList} (TimSort).</p>
+ * <p>
+ * Равные элементы сохраняют исходный порядок. Алгоритм ищет в списке уже упорядоченные участки ("серии"),
+ * короткие серии дополняет сортировкой вставками до {@code minRun} элементов и сливает серии попарно, поэтому
+ * на почти отсортированных данных работает почти за O(n), а в худшем случае - за O(n log n).
+ * </p>
+ * <p>
+ * При слиянии используется "галоп": если одна из серий много раз подряд "выигрывает" сравнение, ее элементы
+ * копируются целыми блоками, граница которых находится экспоненциальным и бинарным поиском.
+ * </p>
+ * <p>
+ * Временный буфер для слияния берется у сортируемого списка ({@link CustomArrayList#sortBuffer(int)}) и
+ * переиспользуется между вызовами.
+ * </p>
+ *
+ * @param <T> тип элементов списка
+ */
+public class TimSort<T> {
+
+    /**
+     * Серии короче этого значения не ищутся, весь подмассив сортируется вставками
+     */
+    private static final int MIN_MERGE = 32;
+
+    /**
+     * Начальное количество "побед" подряд, после которого слияние переходит в режим галопа
+     */
+    private static final int MIN_GALLOP = 7;
+
+    private final Object[] elements;
+
+    private final Comparator<T> comparator;
+
+    private final CustomArrayList<T> list;
+
+    private Object[] buffer;
+
+    private int minGallop = MIN_GALLOP;
+
+    private final int[] runBase = new int[49];
+
+    private final int[] runLength = new int[49];
+
+    private int stackSize;
+
+    private TimSort(CustomArrayList<T> list, Comparator<T> comparator) {
+        this.list = list;
+        this.elements = list.elements();
+        this.comparator = comparator;
+    }
+
+    /**
+     * Стабильно сортирует элементы {@code CustomArrayList<T>} в зависимости от реализации {@code comparator}
+     *
+     * @param list       список элементов
+     * @param comparator объект, реализующий логику сравнения элементов
+     * @param <T>        тип элементов списка
+     */
+    public static <T> void sort(CustomArrayList<T> list, Comparator<T> comparator) {
+        int size = list.size();
+        ListMetrics metrics = list.getMetrics();
+        if (size >= 2 && metrics == null) {
+            sort(list, comparator, size);
+        } else if (size >= 2) {
+            ListSortEvent event = metrics.beginSort("timsort", size);
+            sort(list, metrics.counting(comparator), size);
+            metrics.endSort(event);
+        }
+
+        list.markSorted(comparator);
+    }
+
+    private static <T> void sort(CustomArrayList<T> list, Comparator<T> comparator, int size) {
+        TimSort<T> timSort = new TimSort<>(list, comparator);
+        try {
+            timSort.sort(0, size);
+        } finally {
+            timSort.releaseBuffer();
+        }
+    }
+
+    /**
+     * Стабильно сортирует элементы {@code CustomArrayList<T>} в естественном порядке
+     *
+     * @param list список элементов
+     * @param <T>  тип элементов списка
+     */
+    public static <T extends Comparable<T>> void sort(CustomArrayList<T> list) {
+        sort(list, Comparator.naturalOrder());
+    }
+
+    private void sort(int from, int to) {
+        int remaining = to - from;
+
+        if (remaining < MIN_MERGE) {
+            int initialRunLength = countRunAndMakeAscending(from, to);
+            binaryInsertionSort(from, to, from + initialRunLength);
+            return;
+        }
+
+        int minRun = minRunLength(remaining);
+        do {
+            int runLength = countRunAndMakeAscending(from, to);
+
+            if (runLength < minRun) {
+                int forced = Math.min(remaining, minRun);
+                binaryInsertionSort(from, from + forced, from + runLength);
+                runLength = forced;
+            }
+
+            pushRun(from, runLength);
+            mergeCollapse();
+
+            from += runLength;
+            remaining -= runLength;
+        } while (remaining != 0);
+
+        mergeForceCollapse();
+    }
+
+    /**
+     * Возвращает минимальную длину серии: число от {@code MIN_MERGE / 2} до {@code MIN_MERGE}, при котором
+     * {@code n / minRun} равно степени двойки или немного меньше ее. Так слияния получаются сбалансированными.
+     *
+     * @param n размер сортируемого подмассива
+     * @return минимальная длина серии
+     */
+    private static int minRunLength(int n) {
+        int lowBits = 0;
+        while (n >= MIN_MERGE) {
+            lowBits |= (n & 1);
+            n >>= 1;
+        }
+        return n + lowBits;
+    }
+
+    /**
+     * Находит длину серии, начинающейся с {@code from}. Строго убывающая серия разворачивается, чтобы
+     * сохранить стабильность (нестрого убывающую развернуть нельзя - поменяется порядок равных элементов).
+     *
+     * @param from индекс начала серии
+     * @param to   индекс, следующий за последним элементом подмассива
+     * @return длина серии
+     */
+    private int countRunAndMakeAscending(int from, int to) {
+        int runEnd = from + 1;
+        if (runEnd == to) {
+            return 1;
+        }
+
+        if (compare(runEnd++, from) < 0) {
+            while (runEnd < to && compare(runEnd, runEnd - 1) < 0) {
+                runEnd++;
+            }
+            reverse(from, runEnd);
+        } else {
+            while (runEnd < to && compare(runEnd, runEnd - 1) >= 0) {
+                runEnd++;
+            }
+        }
+
+        return runEnd - from;
+    }
+
+    private void reverse(int from, int to) {
+        to--;
+        while (from < to) {
+            Object temp = elements[from];
+            elements[from++] = elements[to];
+            elements[to--] = temp;
+        }
+    }
+
+    /**
+     * Сортирует подмассив {@code [from, to)} вставками с бинарным поиском места вставки. Элементы
+     * {@code [from, start)} уже упорядочены.
+     *
+     * @param from  индекс первого элемента подмассива
+     * @param to    индекс, следующий за последним элементом подмассива
+     * @param start индекс первого неупорядоченного элемента
+     */
+    private void binaryInsertionSort(int from, int to, int start) {
+        for (; start < to; start++) {
+            T pivot = element(elements, start);
+
+            int left = from;
+            int right = start;
+            while (left < right) {
+                int middle = (left + right) >>> 1;
+                if (comparator.compare(pivot, element(elements, middle)) < 0) {
+                    right = middle;
+                } else {
+                    left = middle + 1;
+                }
+            }
+
+            System.arraycopy(elements, left, elements, left + 1, start - left);
+            elements[left] = pivot;
+        }
+    }
+
+    private void pushRun(int base, int length) {
+        runBase[stackSize] = base;
+        runLength[stackSize] = length;
+        stackSize++;
+    }
+
+    /**
+     * <p>Сливает серии на вершине стека, пока для трех верхних серий не будут выполнены условия:</p>
+     * <p>1. {@code runLength[i - 3] > runLength[i - 2] + runLength[i - 1]}</p>
+     * <p>2. {@code runLength[i - 2] > runLength[i - 1]}</p>
+     * <p>Условия гарантируют, что длины серий в стеке растут не медленнее чисел Фибоначчи.</p>
+     */
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+
+            if (n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1]
+                    || n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1]) {
+                if (runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+            } else if (runLength[n] > runLength[n + 1]) {
+                break;
+            }
+
+            mergeAt(n);
+        }
+    }
+
+    private void mergeForceCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+                n--;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Сливает серии {@code i} и {@code i + 1} стека
+     *
+     * @param i индекс первой серии в стеке
+     */
+    private void mergeAt(int i) {
+        int base1 = runBase[i];
+        int length1 = runLength[i];
+        int base2 = runBase[i + 1];
+        int length2 = runLength[i + 1];
+
+        runLength[i] = length1 + length2;
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLength[i + 1] = runLength[i + 2];
+        }
+        stackSize--;
+
+        // Элементы первой серии, меньшие начала второй, уже на своих местах
+        int skipped = gallopRight(element(elements, base2), base1, length1, 0);
+        base1 += skipped;
+        length1 -= skipped;
+        if (length1 == 0) {
+            return;
+        }
+
+        // Элементы второй серии, большие конца первой, тоже уже на своих местах
+        length2 = gallopLeft(element(elements, base1 + length1 - 1), base2, length2, length2 - 1);
+        if (length2 == 0) {
+            return;
+        }
+
+        if (length1 <= length2) {
+            mergeLow(base1, length1, base2, length2);
+        } else {
+            mergeHigh(base1, length1, base2, length2);
+        }
+    }
+
+    /**
+     * Находит позицию, в которую нужно вставить {@code key} в упорядоченный участок {@code [base, base + length)},
+     * левее всех равных ему элементов. Поиск начинается от {@code hint} экспоненциальными шагами и завершается
+     * бинарным поиском.
+     *
+     * @param key    искомый элемент
+     * @param base   начало участка
+     * @param length длина участка
+     * @param hint   смещение от {@code base}, с которого начинается поиск
+     * @return смещение позиции вставки от {@code base}
+     */
+    private int gallopLeft(T key, int base, int length, int hint) {
+        return gallop(key, elements, base, length, hint, true);
+    }
+
+    /**
+     * То же, что {@link #gallopLeft}, но позиция находится правее всех равных {@code key} элементов.
+     */
+    private int gallopRight(T key, int base, int length, int hint) {
+        return gallop(key, elements, base, length, hint, false);
+    }
+
+    private int gallop(T key, Object[] array, int base, int length, int hint, boolean left) {
+        int lastOffset = 0;
+        int offset = 1;
+
+        if (goesRight(key, element(array, base + hint), left)) {
+            int maxOffset = length - hint;
+            while (offset < maxOffset && goesRight(key, element(array, base + hint + offset), left)) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+
+            lastOffset += hint;
+            offset += hint;
+        } else {
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && !goesRight(key, element(array, base + hint - offset), left)) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        }
+
+        // Ответ лежит в (lastOffset, offset]
+        lastOffset++;
+        while (lastOffset < offset) {
+            int middle = lastOffset + ((offset - lastOffset) >>> 1);
+            if (goesRight(key, element(array, base + middle), left)) {
+                lastOffset = middle + 1;
+            } else {
+                offset = middle;
+            }
+        }
+
+        return offset;
+    }
+
+    /**
+     * Проверяет, должен ли {@code key} стоять правее {@code element}: для поиска левой границы - если
+     * {@code key > element}, для правой - если {@code key >= element}.
+     */
+    private boolean goesRight(T key, T element, boolean left) {
+        int result = comparator.compare(key, element);
+        return left ? result > 0 : result >= 0;
+    }
+
+    /**
+     * Сливает соседние серии слева направо. Первая (более короткая) серия копируется во временный буфер.
+     *
+     * @param base1   начало первой серии
+     * @param length1 длина первой серии
+     * @param base2   начало второй серии ({@code base1 + length1})
+     * @param length2 длина второй серии
+     */
+    private void mergeLow(int base1, int length1, int base2, int length2) {
+        Object[] temp = ensureBuffer(length1);
+        System.arraycopy(elements, base1, temp, 0, length1);
+
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int destination = base1;
+
+        elements[destination++] = elements[cursor2++];
+        if (--length2 == 0) {
+            System.arraycopy(temp, cursor1, elements, destination, length1);
+            return;
+        }
+        if (length1 == 1) {
+            System.arraycopy(elements, cursor2, elements, destination, length2);
+            elements[destination + length2] = temp[cursor1];
+            return;
+        }
+
+        int minGallop = this.minGallop;
+        outer:
+        while (true) {
+            int wins1 = 0;
+            int wins2 = 0;
+
+            // Поэлементное слияние, пока одна из серий не начнет стабильно выигрывать
+            do {
+                if (comparator.compare(element(elements, cursor2), element(temp, cursor1)) < 0) {
+                    elements[destination++] = elements[cursor2++];
+                    wins2++;
+                    wins1 = 0;
+                    if (--length2 == 0) {
+                        break outer;
+                    }
+                } else {
+                    elements[destination++] = temp[cursor1++];
+                    wins1++;
+                    wins2 = 0;
+                    if (--length1 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((wins1 | wins2) < minGallop);
+
+            // Галоп: копируем блоки, пока они достаточно длинные
+            do {
+                wins1 = gallop(element(elements, cursor2), temp, cursor1, length1, 0, false);
+                if (wins1 != 0) {
+                    System.arraycopy(temp, cursor1, elements, destination, wins1);
+                    destination += wins1;
+                    cursor1 += wins1;
+                    length1 -= wins1;
+                    if (length1 <= 1) {
+                        break outer;
+                    }
+                }
+                elements[destination++] = elements[cursor2++];
+                if (--length2 == 0) {
+                    break outer;
+                }
+
+                wins2 = gallop(element(temp, cursor1), elements, cursor2, length2, 0, true);
+                if (wins2 != 0) {
+                    System.arraycopy(elements, cursor2, elements, destination, wins2);
+                    destination += wins2;
+                    cursor2 += wins2;
+                    length2 -= wins2;
+                    if (length2 == 0) {
+                        break outer;
+                    }
+                }
+                elements[destination++] = temp[cursor1++];
+                if (--length1 == 1) {
+                    break outer;
+                }
+
+                minGallop--;
+            } while (wins1 >= MIN_GALLOP | wins2 >= MIN_GALLOP);
+
+            if (minGallop < 0) {
+                minGallop = 0;
+            }
+            minGallop += 2;
+        }
+        this.minGallop = Math.max(minGallop, 1);
+
+        if (length1 == 1) {
+            System.arraycopy(elements, cursor2, elements, destination, length2);
+            elements[destination + length2] = temp[cursor1];
+        } else {
+            System.arraycopy(temp, cursor1, elements, destination, length1);
+        }
+    }
+
+    /**
+     * Сливает соседние серии справа налево. Вторая (более короткая) серия копируется во временный буфер.
+     *
+     * @param base1   начало первой серии
+     * @param length1 длина первой серии
+     * @param base2   начало второй серии ({@code base1 + length1})
+     * @param length2 длина второй серии
+     */
+    private void mergeHigh(int base1, int length1, int base2, int length2) {
+        Object[] temp = ensureBuffer(length2);
+        System.arraycopy(elements, base2, temp, 0, length2);
+
+        int cursor1 = base1 + length1 - 1;
+        int cursor2 = length2 - 1;
+        int destination = base2 + length2 - 1;
+
+        elements[destination--] = elements[cursor1--];
+        if (--length1 == 0) {
+            System.arraycopy(temp, 0, elements, destination - (length2 - 1), length2);
+            return;
+        }
+        if (length2 == 1) {
+            destination -= length1;
+            cursor1 -= length1;
+            System.arraycopy(elements, cursor1 + 1, elements, destination + 1, length1);
+            elements[destination] = temp[cursor2];
+            return;
+        }
+
+        int minGallop = this.minGallop;
+        outer:
+        while (true) {
+            int wins1 = 0;
+            int wins2 = 0;
+
+            do {
+                if (comparator.compare(element(temp, cursor2), element(elements, cursor1)) < 0) {
+                    elements[destination--] = elements[cursor1--];
+                    wins1++;
+                    wins2 = 0;
+                    if (--length1 == 0) {
+                        break outer;
+                    }
+                } else {
+                    elements[destination--] = temp[cursor2--];
+                    wins2++;
+                    wins1 = 0;
+                    if (--length2 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((wins1 | wins2) < minGallop);
+
+            do {
+                wins1 = length1 - gallop(element(temp, cursor2), elements, base1, length1, length1 - 1, false);
+                if (wins1 != 0) {
+                    destination -= wins1;
+                    cursor1 -= wins1;
+                    length1 -= wins1;
+                    System.arraycopy(elements, cursor1 + 1, elements, destination + 1, wins1);
+                    if (length1 == 0) {
+                        break outer;
+                    }
+                }
+                elements[destination--] = temp[cursor2--];
+                if (--length2 == 1) {
+                    break outer;
+                }
+
+                wins2 = length2 - gallop(element(elements, cursor1), temp, 0, length2, length2 - 1, true);
+                if (wins2 != 0) {
+                    destination -= wins2;
+                    cursor2 -= wins2;
+                    length2 -= wins2;
+                    System.arraycopy(temp, cursor2 + 1, elements, destination + 1, wins2);
+                    if (length2 <= 1) {
+                        break outer;
+                    }
+                }
+                elements[destination--] = elements[cursor1--];
+                if (--length1 == 0) {
+                    break outer;
+                }
+
+                minGallop--;
+            } while (wins1 >= MIN_GALLOP | wins2 >= MIN_GALLOP);
+
+            if (minGallop < 0) {
+                minGallop = 0;
+            }
+            minGallop += 2;
+        }
+        this.minGallop = Math.max(minGallop, 1);
+
+        if (length2 == 1) {
+            destination -= length1;
+            cursor1 -= length1;
+            System.arraycopy(elements, cursor1 + 1, elements, destination + 1, length1);
+            elements[destination] = temp[cursor2];
+        } else {
+            System.arraycopy(temp, 0, elements, destination - (length2 - 1), length2);
+        }
+    }
+
+    private Object[] ensureBuffer(int length) {
+        if (buffer == null || buffer.length < length) {
+            buffer = list.sortBuffer(length);
+        }
+        return buffer;
+    }
+
+    /**
+     * Очищает использованный буфер, чтобы он не удерживал ссылки на элементы списка
+     */
+    private void releaseBuffer() {
+        if (buffer != null) {
+            Arrays.fill(buffer, null);
+        }
+    }
+
+    private int compare(int i, int j) {
+        return comparator.compare(element(elements, i), element(elements, j));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T element(Object[] array, int index) {
+        return (T) array[index];
+    }
+}
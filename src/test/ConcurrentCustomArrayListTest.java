@@ -0,0 +1,143 @@
+package test;
+
+import main.ConcurrentCustomArrayList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Класс для тестирования функционала {@link ConcurrentCustomArrayList}
+ */
+class ConcurrentCustomArrayListTest {
+
+    private static final int THREADS = 8;
+
+    /**
+     * Тестирует однопоточные операции над списком.
+     */
+    @Test
+    @DisplayName("Single-threaded operations")
+    void singleThreadedOperations_behaveLikeCustomArrayList() {
+        var list = new ConcurrentCustomArrayList<Integer>(2);
+
+        list.add(3);
+        list.add(1);
+        list.add(1, 2);
+        list.sort(Comparator.naturalOrder());
+
+        assertAll(
+                () -> assertEquals("[1, 2, 3]", list.toString(), "Elements are not added or sorted"),
+                () -> assertEquals(1, list.remove(0), "Removed element must be returned"),
+                () -> assertTrue(list.remove((Integer) 3), "Element must be removed"),
+                () -> assertEquals(1, list.size(), "List size must be 1"),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> list.get(1))
+        );
+    }
+
+    /**
+     * Тестирует атомарные составные операции.
+     */
+    @Test
+    @DisplayName("Compound operations")
+    void compoundOperations_appliedAtomically() {
+        var list = new ConcurrentCustomArrayList<String>();
+        var first = "first";
+        list.add(first);
+
+        assertAll(
+                () -> assertFalse(list.addIfAbsent("first"), "Present element must not be added"),
+                () -> assertTrue(list.addIfAbsent("second"), "Absent element must be added"),
+                () -> assertFalse(list.compareAndSet(0, "other", "third"), "Unexpected element must not be replaced"),
+                () -> assertTrue(list.compareAndSet(0, first, "third"), "Expected element must be replaced"),
+                () -> assertEquals("third!", list.update(0, value -> value + "!"), "Element must be updated"),
+                () -> assertEquals(2, list.snapshot().size(), "Snapshot must contain all elements"),
+                () -> assertEquals("third!", list.snapshot().get(0), "Snapshot must contain updated element")
+        );
+    }
+
+    /**
+     * Проверяет, что при параллельном добавлении не теряется ни один элемент, а читатели не видят
+     * несогласованного состояния.
+     */
+    @Test
+    @DisplayName("Concurrent appends and reads")
+    void concurrentAppendsAndReads_noElementLost() throws Exception {
+        var perThread = 10_000;
+        var list = new ConcurrentCustomArrayList<Integer>(1);
+        var start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS * 2);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < THREADS; t++) {
+                var base = t * perThread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        list.add(base + i);
+                    }
+                    return null;
+                }));
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        var size = list.size();
+                        if (size > 0) {
+                            assertNotNull(list.get(size - 1), "Reader must not see unpublished element");
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        var values = new HashSet<Integer>();
+        for (int i = 0; i < list.size(); i++) {
+            values.add(list.get(i));
+        }
+        assertEquals(THREADS * perThread, values.size(), "Every appended element must be present once");
+    }
+
+    /**
+     * Проверяет, что {@code addIfAbsent} добавляет элемент только один раз при конкурентных вызовах.
+     */
+    @Test
+    @DisplayName("Concurrent addIfAbsent adds element once")
+    void concurrentAddIfAbsent_elementAddedOnce() throws Exception {
+        var list = new ConcurrentCustomArrayList<Integer>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        list.addIfAbsent(i);
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1000, list.size(), "Each element must be added once");
+    }
+}
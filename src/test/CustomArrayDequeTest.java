@@ -0,0 +1,141 @@
+package test;
+
+import main.CustomArrayDeque;
+import main.GrowthPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Класс для тестирования функционала {@link CustomArrayDeque}
+ */
+class CustomArrayDequeTest {
+
+    /**
+     * Проверяет добавление и удаление с обоих концов очереди с переходом через конец массива.
+     */
+    @Test
+    @DisplayName("Head and tail operations wrap around")
+    void addAndPoll_bothEnds() {
+        var deque = new CustomArrayDeque<Integer>(4);
+
+        deque.addLast(2);
+        deque.addLast(3);
+        deque.addFirst(1);
+        deque.addFirst(0);
+
+        assertAll(
+                () -> assertEquals(4, deque.capacity(), "Deque must not grow while there is free space"),
+                () -> assertEquals("[0, 1, 2, 3]", deque.toString()),
+                () -> assertEquals(0, deque.peekFirst()),
+                () -> assertEquals(3, deque.peekLast()),
+                () -> assertEquals(2, deque.get(2))
+        );
+
+        deque.addLast(4);
+
+        assertAll(
+                () -> assertEquals(List.of(0, 1, 2, 3, 4), List.of(deque.toArray())),
+                () -> assertEquals(0, deque.pollFirst()),
+                () -> assertEquals(4, deque.pollLast()),
+                () -> assertEquals(3, deque.size()),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> deque.get(3))
+        );
+
+        deque.clear();
+
+        assertAll(
+                () -> assertTrue(deque.isEmpty()),
+                () -> assertNull(deque.pollFirst()),
+                () -> assertNull(deque.pollLast())
+        );
+    }
+
+    /**
+     * Проверяет, что очередь ведет себя как {@link ArrayDeque} после случайной последовательности операций.
+     */
+    @Test
+    @DisplayName("Deque matches ArrayDeque after random operations")
+    void randomOperations_consistentWithArrayDeque() {
+        var random = new SplittableRandom(11);
+        var deque = new CustomArrayDeque<Integer>(1);
+        deque.setGrowthPolicy(GrowthPolicy.additive(3));
+        var expected = new ArrayDeque<Integer>();
+
+        for (int step = 0; step < 20_000; step++) {
+            var value = random.nextInt(1000);
+            switch (random.nextInt(5)) {
+                case 0 -> {
+                    deque.addFirst(value);
+                    expected.addFirst(value);
+                }
+                case 1 -> {
+                    deque.addLast(value);
+                    expected.addLast(value);
+                }
+                case 2 -> assertEquals(expected.pollFirst(), deque.pollFirst());
+                case 3 -> assertEquals(expected.pollLast(), deque.pollLast());
+                default -> {
+                    Integer[] values = {value, value + 1, value + 2};
+                    deque.addAll(values, 0, 3);
+                    expected.addAll(List.of(values));
+                }
+            }
+
+            assertEquals(expected.size(), deque.size());
+        }
+
+        var actual = new ArrayList<Integer>();
+        deque.forEach(actual::add);
+
+        assertEquals(new ArrayList<>(expected), actual);
+    }
+
+    /**
+     * Проверяет сортировку очереди, элементы которой переходят через конец массива.
+     */
+    @Test
+    @DisplayName("Sort handles wrapped elements")
+    void sort_wrappedElementsSorted() {
+        var deque = new CustomArrayDeque<Integer>(8);
+        for (int value : new int[]{5, 1, 7}) {
+            deque.addLast(value);
+        }
+        for (int value : new int[]{4, 9, 0}) {
+            deque.addFirst(value);
+        }
+
+        deque.sort(Integer::compare);
+
+        assertAll(
+                () -> assertEquals("[0, 1, 4, 5, 7, 9]", deque.toString()),
+                () -> assertEquals(8, deque.capacity()),
+                () -> assertEquals(0, deque.pollFirst()),
+                () -> assertEquals(9, deque.pollLast())
+        );
+    }
+
+    /**
+     * Проверяет, что итератор завершается с ошибкой после изменения очереди.
+     */
+    @Test
+    @DisplayName("Iterator fails fast")
+    void modifyDuringIteration_throwsException() {
+        var deque = new CustomArrayDeque<Integer>();
+        deque.addLast(1);
+        deque.addLast(2);
+
+        var iterator = deque.iterator();
+        iterator.next();
+        deque.pollFirst();
+
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+}
@@ -1,3 +1,10 @@
+package test;
+
+import main.CustomArrayList;
+import main.GrowthPolicy;
+import main.Person;
+import main.SortMode;
+import main.StorageMode;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -6,10 +13,25 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 /**
  * Класс для тестирования функционала {@link CustomArrayList}
@@ -132,6 +154,213 @@ class CustomArrayListTest {
         }
     }
 
+    /**
+     * Тестирует массовое добавление элементов в список
+     */
+    @Nested
+    @DisplayName("Add all elements to list")
+    class AddAllElementsToListTest {
+
+        /**
+         * Тестирует добавление коллекции в конец списка, требующее увеличения вместимости.
+         */
+        @Test
+        @DisplayName("Add collection to the end of list")
+        void addAllCollection_elementsAddedToTheEnd() {
+            var customArrayList = new CustomArrayList<Integer>(2);
+            customArrayList.add(1);
+
+            var changed = customArrayList.addAll(Arrays.asList(2, 3, 4, 5));
+
+            assertAll(
+                    () -> assertTrue(changed, "List must be changed"),
+                    () -> assertElements(customArrayList, 1, 2, 3, 4, 5),
+                    () -> assertFalse(customArrayList.addAll(List.of()), "Empty collection must not change list")
+            );
+        }
+
+        /**
+         * Тестирует вставку коллекции в середину списка.
+         */
+        @Test
+        @DisplayName("Add collection at specified index")
+        void addAllCollectionByIndex_elementsInsertedAndTailShifted() {
+            var customArrayList = new CustomArrayList<>(Arrays.asList(1, 2, 3));
+
+            customArrayList.addAll(1, Arrays.asList(10, 11));
+
+            assertAll(
+                    () -> assertElements(customArrayList, 1, 10, 11, 2, 3),
+                    () -> assertThrows(IndexOutOfBoundsException.class,
+                            () -> customArrayList.addAll(6, Arrays.asList(1, 2)), "Index out of range")
+            );
+        }
+
+        /**
+         * Тестирует добавление другого {@code CustomArrayList}, в том числе самого себя.
+         */
+        @Test
+        @DisplayName("Add custom array list")
+        void addAllCustomArrayList_elementsAdded() {
+            var customArrayList = new CustomArrayList<>(Arrays.asList(1, 2));
+            var other = new CustomArrayList<>(Arrays.asList(3, 4));
+
+            customArrayList.addAll(other);
+            customArrayList.addAll(1, customArrayList);
+
+            assertElements(customArrayList, 1, 1, 2, 3, 4, 2, 3, 4);
+        }
+
+        /**
+         * Тестирует добавление части массива.
+         */
+        @Test
+        @DisplayName("Add array slice")
+        void addAllArraySlice_sliceAdded() {
+            var customArrayList = new CustomArrayList<>(Arrays.asList(1, 2));
+            var array = new Integer[]{10, 11, 12, 13};
+
+            customArrayList.addAll(array, 1, 3);
+            customArrayList.addAll(0, array, 3, 4);
+
+            assertAll(
+                    () -> assertElements(customArrayList, 13, 1, 2, 11, 12),
+                    () -> assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.addAll(array, 2, 5))
+            );
+        }
+
+        /**
+         * Проверяет, что список создается из пустого {@link java.util.List}.
+         */
+        @Test
+        @DisplayName("Create list from empty list")
+        void createFromEmptyList_listIsEmpty() {
+            var customArrayList = new CustomArrayList<>(List.of());
+
+            assertEquals(0, customArrayList.size(), "List must be empty");
+        }
+    }
+
+    /**
+     * Тестирует управление вместимостью списка
+     */
+    @Nested
+    @DisplayName("Capacity management")
+    class CapacityManagementTest {
+
+        /**
+         * Проверяет, что список вместимостью 1 увеличивается при добавлении второго элемента.
+         */
+        @Test
+        @DisplayName("List with capacity 1 grows")
+        void listWithCapacity1_grows() {
+            var customArrayList = new CustomArrayList<>(1);
+
+            customArrayList.add(new Object());
+            customArrayList.add(new Object());
+
+            assertEquals(2, customArrayList.size(), "List size must be 2");
+        }
+
+        /**
+         * Проверяет стратегии увеличения вместимости.
+         */
+        @Test
+        @DisplayName("Growth policies")
+        void growthPolicies_capacityIncreasedAccordingToPolicy() {
+            assertAll(
+                    () -> assertEquals(20, GrowthPolicy.doubling().newCapacity(10, 11)),
+                    () -> assertEquals(15, GrowthPolicy.factor(1.5).newCapacity(10, 11)),
+                    () -> assertEquals(2, GrowthPolicy.factor(1.5).newCapacity(1, 2)),
+                    () -> assertEquals(110, GrowthPolicy.additive(100).newCapacity(10, 11)),
+                    () -> assertEquals(2048, GrowthPolicy.pageAligned(1024).newCapacity(1024, 1025)),
+                    () -> assertEquals(GrowthPolicy.MAX_ARRAY_LENGTH,
+                            GrowthPolicy.doubling().newCapacity(Integer.MAX_VALUE / 2 + 1, 0)),
+                    () -> assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.factor(1))
+            );
+        }
+
+        /**
+         * Проверяет, что список использует установленную стратегию увеличения.
+         */
+        @Test
+        @DisplayName("List uses its growth policy")
+        void listWithAdditivePolicy_capacityIncreasedByIncrement() {
+            var customArrayList = new CustomArrayList<>(2);
+            customArrayList.setGrowthPolicy(GrowthPolicy.additive(8));
+
+            customArrayList.add(new Object());
+            customArrayList.add(new Object());
+            customArrayList.add(new Object());
+
+            assertEquals(10, customArrayList.capacity(), "List capacity must be increased by 8");
+        }
+
+        /**
+         * Проверяет предварительное увеличение и уменьшение вместимости до размера списка.
+         */
+        @Test
+        @DisplayName("Ensure capacity and trim to size")
+        void ensureCapacityAndTrimToSize_capacityChanged() {
+            var customArrayList = new CustomArrayList<>();
+            customArrayList.ensureCapacity(1000);
+            var ensuredCapacity = customArrayList.capacity();
+
+            customArrayList.add(new Object());
+            customArrayList.trimToSize();
+
+            assertAll(
+                    () -> assertTrue(ensuredCapacity >= 1000, "List capacity must be at least 1000"),
+                    () -> assertEquals(1, customArrayList.capacity(), "List capacity must be trimmed to size")
+            );
+        }
+
+        /**
+         * Проверяет, что при достижении максимальной вместимости выбрасывается {@link IllegalStateException}.
+         */
+        @Test
+        @DisplayName("Throws exception when max capacity is exceeded")
+        void addBeyondMaxCapacity_throwsException() {
+            var customArrayList = new CustomArrayList<>(2);
+            customArrayList.setMaxCapacity(3);
+
+            customArrayList.add(new Object());
+            customArrayList.add(new Object());
+            customArrayList.add(new Object());
+
+            assertAll(
+                    () -> assertEquals(3, customArrayList.capacity(), "List capacity must be limited"),
+                    () -> assertThrows(IllegalStateException.class, () -> customArrayList.add(new Object())),
+                    () -> assertThrows(IllegalArgumentException.class, () -> customArrayList.setMaxCapacity(2))
+            );
+        }
+
+        /**
+         * Проверяет автоматическое уменьшение вместимости после удаления большей части элементов.
+         */
+        @Test
+        @DisplayName("List shrinks when occupancy falls below threshold")
+        void removeMostElements_capacityShrunk() {
+            var customArrayList = new CustomArrayList<Integer>(1000);
+            for (int i = 0; i < 1000; i++) {
+                customArrayList.add(i);
+            }
+            customArrayList.setShrinkThreshold(0.25);
+
+            customArrayList.removeRange(0, 700);
+            var capacityAboveThreshold = customArrayList.capacity();
+            customArrayList.removeRange(0, 100);
+            var capacityBelowThreshold = customArrayList.capacity();
+
+            assertAll(
+                    () -> assertEquals(1000, capacityAboveThreshold, "List must not shrink above threshold"),
+                    () -> assertEquals(400, capacityBelowThreshold, "List must shrink to twice the threshold"),
+                    () -> assertEquals(200, customArrayList.size(), "List size must not be changed"),
+                    () -> assertEquals(999, customArrayList.get(199), "Elements must be preserved")
+            );
+        }
+    }
+
     /**
      * Тестирует правильность установки значения элемента списка по индексу.
      */
@@ -169,12 +398,15 @@ class CustomArrayListTest {
 
             var initialSize = customArrayList.size();
             var elementToRemove = customArrayList.get(1);
+            var nextElement = customArrayList.get(2);
 
-            customArrayList.remove(elementToRemove);
+            var removed = customArrayList.remove(elementToRemove);
 
             assertAll(
-                    () -> assertNull(customArrayList.get(1), "Element is not removed from the list."),
-                    () -> assertEquals(initialSize - 1, customArrayList.size(), "List size must be decremented")
+                    () -> assertTrue(removed, "Element must be found"),
+                    () -> assertSame(nextElement, customArrayList.get(1), "Tail of the list must be shifted left"),
+                    () -> assertEquals(initialSize - 1, customArrayList.size(), "List size must be decremented"),
+                    () -> assertNull(customArrayList.get(initialSize - 1), "Freed slot must be cleared")
             );
 
         }
@@ -191,16 +423,1061 @@ class CustomArrayListTest {
             customArrayList.add(new Object());
 
             var initialSize = customArrayList.size();
+            var elementToRemove = customArrayList.get(0);
+            var nextElement = customArrayList.get(1);
+
+            var removed = customArrayList.remove(0);
+
+            assertAll(
+                    () -> assertSame(elementToRemove, removed, "Removed element must be returned"),
+                    () -> assertSame(nextElement, customArrayList.get(0), "Tail of the list must be shifted left"),
+                    () -> assertEquals(initialSize - 1, customArrayList.size(), "List size must be decremented"),
+                    () -> assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.remove(initialSize - 1))
+            );
+        }
+
+        /**
+         * Тестирует удаление диапазона элементов из списка.
+         */
+        @Test
+        @DisplayName("Remove range of elements from list")
+        void removeRange_elementsRemovedAndTailShifted() {
+            var customArrayList = new CustomArrayList<>(Arrays.asList(0, 1, 2, 3, 4, 5));
+
+            customArrayList.removeRange(1, 4);
+
+            assertAll(
+                    () -> assertElements(customArrayList, 0, 4, 5),
+                    () -> assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.removeRange(2, 4)),
+                    () -> assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.removeRange(2, 1))
+            );
+        }
+
+        /**
+         * Тестирует удаление элементов, удовлетворяющих условию.
+         */
+        @Test
+        @DisplayName("Remove elements matching predicate")
+        void removeIf_matchingElementsRemoved() {
+            var customArrayList = new CustomArrayList<>(Arrays.asList(1, 2, 3, 4, 5, 6));
 
+            var removed = customArrayList.removeIf(value -> value % 2 == 0);
+
+            assertAll(
+                    () -> assertTrue(removed, "Elements must be removed"),
+                    () -> assertElements(customArrayList, 1, 3, 5),
+                    () -> assertFalse(customArrayList.removeIf(value -> value > 10), "Nothing must be removed")
+            );
+        }
+    }
+
+    /**
+     * Проверяет, что многократные очистка и заполнение списка не выделяют память: массив элементов
+     * переиспользуется.
+     */
+    @Test
+    @DisplayName("Clear and refill do not allocate")
+    void clearAndRefill_noAllocation() {
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled(),
+                "Thread allocation counting is not supported");
+
+        var size = 10_000;
+        var values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+        var customArrayList = new CustomArrayList<Integer>(size);
+        var threadId = Thread.currentThread().getId();
+
+        Runnable cycle = () -> {
+            for (Integer value : values) {
+                customArrayList.add(value);
+            }
+            customArrayList.removeRange(0, 10);
             customArrayList.remove(0);
+            customArrayList.removeIf(value -> value % 2 == 0);
+            customArrayList.clear();
+        };
+        for (int i = 0; i < 100; i++) {
+            cycle.run();
+        }
+
+        var before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 1000; i++) {
+            cycle.run();
+        }
+        var allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(allocated < size, "Steady-state clear/remove must not allocate, but allocated " + allocated
+                + " bytes");
+    }
+
+    /**
+     * Тестирует обход списка итератором, {@link Spliterator} и потоками
+     */
+    @Nested
+    @DisplayName("Iterate over list")
+    class IterationTest {
+
+        /**
+         * Проверяет, что итератор и {@code forEach} обходят элементы в порядке индексов.
+         */
+        @Test
+        @DisplayName("Iterator and forEach visit elements in order")
+        void iterate_elementsVisitedInOrder() {
+            var customArrayList = new CustomArrayList<>(List.of(1, 2, 3, 4));
+
+            var iterated = new ArrayList<Integer>();
+            for (Integer value : customArrayList) {
+                iterated.add(value);
+            }
+            var visited = new ArrayList<Integer>();
+            customArrayList.forEach(visited::add);
+
+            assertAll(
+                    () -> assertEquals(List.of(1, 2, 3, 4), iterated, "Iterator must visit elements in order"),
+                    () -> assertEquals(List.of(1, 2, 3, 4), visited, "forEach must visit elements in order")
+            );
+        }
+
+        /**
+         * Проверяет удаление элементов через итератор.
+         */
+        @Test
+        @DisplayName("Remove elements through iterator")
+        void iteratorRemove_elementsRemoved() {
+            var customArrayList = new CustomArrayList<>(List.of(1, 2, 3, 4, 5));
+
+            var iterator = customArrayList.iterator();
+            assertThrows(IllegalStateException.class, iterator::remove);
+            while (iterator.hasNext()) {
+                if (iterator.next() % 2 == 0) {
+                    iterator.remove();
+                }
+            }
+
+            assertElements(customArrayList, 1, 3, 5);
+        }
+
+        /**
+         * Проверяет, что обход завершается {@link ConcurrentModificationException}, если список структурно изменен
+         * во время обхода.
+         */
+        @Test
+        @DisplayName("Iteration fails fast on concurrent modification")
+        void modifyDuringIteration_throwsException() {
+            var customArrayList = new CustomArrayList<>(List.of(1, 2, 3));
+
+            assertAll(
+                    () -> assertThrows(ConcurrentModificationException.class, () -> {
+                        for (Integer value : customArrayList) {
+                            customArrayList.add(value);
+                        }
+                    }),
+                    () -> assertThrows(ConcurrentModificationException.class,
+                            () -> customArrayList.forEach(value -> customArrayList.remove(0))),
+                    () -> assertThrows(ConcurrentModificationException.class,
+                            () -> customArrayList.stream().forEach(value -> customArrayList.sort(Integer::compare)))
+            );
+        }
+
+        /**
+         * Проверяет, что изменение элемента через {@code set()} не считается структурным изменением.
+         */
+        @Test
+        @DisplayName("Set during iteration does not fail")
+        void setDuringIteration_doesNotThrow() {
+            var customArrayList = new CustomArrayList<>(List.of(1, 2, 3));
+
+            var index = 0;
+            for (Integer value : customArrayList) {
+                customArrayList.set(index++, value * 10);
+            }
+
+            assertElements(customArrayList, 10, 20, 30);
+        }
+
+        /**
+         * Проверяет характеристики {@link Spliterator} и разделение на равные части.
+         */
+        @Test
+        @DisplayName("Spliterator is sized and splits evenly")
+        void spliterator_sizedAndSplitsEvenly() {
+            var customArrayList = new CustomArrayList<Integer>();
+            for (int i = 0; i < 100; i++) {
+                customArrayList.add(i);
+            }
+
+            var suffix = customArrayList.spliterator();
+            var prefix = suffix.trySplit();
+
+            assertAll(
+                    () -> assertTrue(suffix.hasCharacteristics(
+                            Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED)),
+                    () -> assertEquals(50, prefix.estimateSize(), "Prefix must hold half of elements"),
+                    () -> assertEquals(50, suffix.estimateSize(), "Suffix must hold half of elements"),
+                    () -> assertTrue(prefix.tryAdvance(value -> assertEquals(0, value)), "Prefix starts the list"),
+                    () -> assertTrue(suffix.tryAdvance(value -> assertEquals(50, value)), "Suffix starts at middle")
+            );
+        }
+
+        /**
+         * Проверяет, что параллельный поток дает тот же результат, что и последовательный.
+         */
+        @Test
+        @DisplayName("Parallel stream matches sequential stream")
+        void parallelStream_sameResultAsSequential() {
+            var customArrayList = new CustomArrayList<Person>();
+            for (int i = 0; i < 100_000; i++) {
+                customArrayList.add(new Person("person" + i % 100, i % 90));
+            }
+
+            var expectedAges = IntStream.range(0, 100_000).mapToLong(i -> i % 90).sum();
+            var expectedNames = customArrayList.stream().map(Person::getName).collect(Collectors.toList());
+
+            assertAll(
+                    () -> assertEquals(100_000, customArrayList.parallelStream().count()),
+                    () -> assertEquals(expectedAges, customArrayList.parallelStream().mapToLong(Person::getAge).sum()),
+                    () -> assertEquals(expectedNames,
+                            customArrayList.parallelStream().map(Person::getName).collect(Collectors.toList()),
+                            "Parallel stream must keep encounter order")
+            );
+        }
+    }
+
+    /**
+     * Тестирует поиск в отсортированном списке и режим вставки с сохранением порядка
+     */
+    @Nested
+    @DisplayName("Search sorted list")
+    class SortedListTest {
+
+        private final Comparator<Person> byAge = Comparator.comparingInt(Person::getAge);
+
+        /**
+         * Проверяет двоичный поиск и границы диапазона равных элементов.
+         */
+        @Test
+        @DisplayName("Binary search, lower and upper bound")
+        void binarySearch_findsFirstOccurrenceAndBounds() {
+            var customArrayList = new CustomArrayList<>(List.of(1, 3, 3, 3, 5, 7));
+
+            assertAll(
+                    () -> assertEquals(1, customArrayList.binarySearch(3, Integer::compare)),
+                    () -> assertEquals(-4 - 1, customArrayList.binarySearch(4, Integer::compare)),
+                    () -> assertEquals(-7, customArrayList.binarySearch(8, Integer::compare)),
+                    () -> assertEquals(1, customArrayList.lowerBound(3, Integer::compare)),
+                    () -> assertEquals(4, customArrayList.upperBound(3, Integer::compare)),
+                    () -> assertEquals(0, customArrayList.lowerBound(0, Integer::compare)),
+                    () -> assertEquals(6, customArrayList.upperBound(7, Integer::compare))
+            );
+        }
+
+        /**
+         * Проверяет выборку диапазона по значениям ключа.
+         */
+        @Test
+        @DisplayName("Range query returns view of matching elements")
+        void range_returnsMatchingElements() {
+            var customArrayList = new CustomArrayList<Person>();
+            for (int age = 0; age < 100; age++) {
+                customArrayList.add(new Person("person" + age, age));
+            }
+            customArrayList.sort(byAge);
+
+            var range = customArrayList.range(new Person(null, 20), new Person(null, 29), byAge);
+
+            assertAll(
+                    () -> assertEquals(10, range.size(), "Range must contain ages 20..29"),
+                    () -> assertEquals(20, range.get(0).getAge()),
+                    () -> assertEquals(29, range.get(9).getAge()),
+                    () -> assertEquals(0, customArrayList.range(new Person(null, 50), new Person(null, 40), byAge)
+                            .size(), "Inverted range must be empty")
+            );
+        }
+
+        /**
+         * Проверяет, что признак сортировки сбрасывается только изменениями, нарушающими порядок.
+         */
+        @Test
+        @DisplayName("Sorted flag is invalidated by unordered mutations")
+        void sortedFlag_invalidatedByUnorderedMutation() {
+            var customArrayList = new CustomArrayList<>(List.of(5, 1, 3));
+            assertFalse(customArrayList.isSorted(), "Unsorted list must not be marked as sorted");
+
+            customArrayList.sort(Integer::compare);
+            customArrayList.add(7);
+            customArrayList.remove(0);
+            assertTrue(customArrayList.isSorted(), "Ordered append and removal must keep the list sorted");
+
+            customArrayList.add(2);
+            assertFalse(customArrayList.isSorted(), "Unordered append must invalidate the flag");
+
+            customArrayList.sort(Integer::compare, SortMode.STABLE);
+            customArrayList.set(0, 100);
+            assertFalse(customArrayList.isSorted(), "Set must invalidate the flag");
+        }
+
+        /**
+         * Проверяет, что отсортированный список удаляет элементы, равные по {@code equals}, но не по компаратору.
+         */
+        @Test
+        @DisplayName("Remove from sorted list uses binary search")
+        void removeFromSortedList_removesEqualElement() {
+            var ivan = new Person("ivan", 30);
+            var oleg = new Person("oleg", 30);
+            var customArrayList = new CustomArrayList<>(List.of(new Person("tom", 40), oleg, ivan,
+                    new Person("dmitry", 20)));
+            customArrayList.sort(byAge);
+
+            assertAll(
+                    () -> assertTrue(customArrayList.remove(ivan), "Element must be found among equal keys"),
+                    () -> assertFalse(customArrayList.remove(new Person("ivan", 30)), "Absent element must not be "
+                            + "removed"),
+                    () -> assertEquals(3, customArrayList.size())
+            );
+        }
+
+        /**
+         * Проверяет, что удаление отсутствующего элемента из отсортированного списка возвращает {@code false} и не
+         * меняет список.
+         */
+        @Test
+        @DisplayName("Remove of absent element from sorted list returns false")
+        void removeAbsentFromSortedList_returnsFalse() {
+            var customArrayList = new CustomArrayList<>(List.of(5, 1, 3));
+            customArrayList.sort(Comparator.naturalOrder());
+
+            assertTimeoutPreemptively(Duration.ofSeconds(2), () -> assertAll(
+                    () -> assertFalse(customArrayList.remove((Integer) 2), "Missing inner element"),
+                    () -> assertFalse(customArrayList.remove((Integer) 0), "Missing element before all"),
+                    () -> assertFalse(customArrayList.remove((Integer) 6), "Missing element after all"),
+                    () -> assertEquals(List.of(1, 3, 5), customArrayList.stream().toList())
+            ));
+        }
+
+        /**
+         * Проверяет, что элемент удаляется, даже если его ключ сортировки изменился на месте после сортировки.
+         */
+        @Test
+        @DisplayName("Remove from sorted list finds element with changed key")
+        void removeFromSortedListAfterKeyChange_elementRemoved() {
+            var customArrayList = new CustomArrayList<>(List.of(new Person("tom", 40), new Person("oleg", 30),
+                    new Person("ivan", 20), new Person("dmitry", 10)));
+            customArrayList.sort(byAge);
+            var dmitry = customArrayList.get(0);
+            customArrayList.forEach(person -> {
+                if (person == dmitry) {
+                    person.setAge(50);
+                }
+            });
+
+            assertAll(
+                    () -> assertTrue(customArrayList.remove(dmitry), "Element must be found by linear scan"),
+                    () -> assertEquals(3, customArrayList.size())
+            );
+        }
+
+        /**
+         * Проверяет режим вставки с сохранением порядка.
+         */
+        @Test
+        @DisplayName("Sorted insert mode keeps list ordered")
+        void sortedInsert_keepsOrder() {
+            var customArrayList = new CustomArrayList<>(List.of(9, 1, 5));
+            customArrayList.setSortedInsert(Integer::compare);
+
+            customArrayList.add(4);
+            customArrayList.add(10);
+            customArrayList.add(0);
+            customArrayList.addAll(List.of(8, 2, 6));
+
+            assertAll(
+                    () -> assertElements(customArrayList, 0, 1, 2, 4, 5, 6, 8, 9, 10),
+                    () -> assertTrue(customArrayList.isSorted()),
+                    () -> assertThrows(IllegalStateException.class, () -> customArrayList.add(0, 3)),
+                    () -> assertThrows(IllegalStateException.class, () -> customArrayList.set(0, 3)),
+                    () -> assertThrows(IllegalStateException.class,
+                            () -> customArrayList.subList(0, 2).sort(Integer::compare))
+            );
+
+            customArrayList.sort(Comparator.reverseOrder());
+
+            assertNull(customArrayList.getSortedInsert(), "Sorting by another comparator must turn the mode off");
+        }
+    }
+
+    /**
+     * Тестирует поиск элементов с хеш-индексом
+     */
+    @Nested
+    @DisplayName("Indexed list")
+    class IndexedListTest {
+
+        /**
+         * Проверяет, что результаты поиска с индексом совпадают с {@link ArrayList} после случайной
+         * последовательности изменений списка.
+         */
+        @Test
+        @DisplayName("Index stays consistent with list after mutations")
+        void randomMutations_indexConsistentWithArrayList() {
+            var random = new SplittableRandom(42);
+            var customArrayList = new CustomArrayList<Integer>();
+            customArrayList.enableIndex();
+            var expected = new ArrayList<Integer>();
+
+            for (int step = 0; step < 20_000; step++) {
+                var value = random.nextInt(500);
+                switch (random.nextInt(6)) {
+                    case 0, 1 -> {
+                        customArrayList.add(value);
+                        expected.add(value);
+                    }
+                    case 2 -> {
+                        var position = random.nextInt(expected.size() + 1);
+                        customArrayList.add(position, value);
+                        expected.add(position, value);
+                    }
+                    case 3 -> {
+                        if (!expected.isEmpty()) {
+                            var position = random.nextInt(expected.size());
+                            customArrayList.set(position, value);
+                            expected.set(position, value);
+                        }
+                    }
+                    case 4 -> assertEquals(expected.remove((Integer) value), customArrayList.remove((Integer) value),
+                            "Remove result must match ArrayList");
+                    default -> {
+                        if (!expected.isEmpty()) {
+                            var position = random.nextInt(expected.size());
+                            assertEquals(expected.remove(position), customArrayList.remove(position));
+                        }
+                    }
+                }
+
+                var probe = random.nextInt(500);
+                assertEquals(expected.indexOf(probe), customArrayList.indexOf(probe), "Index of " + probe);
+            }
+
+            customArrayList.sort(Integer::compare);
+            expected.sort(Integer::compare);
+            customArrayList.removeIf(value -> value % 3 == 0);
+            expected.removeIf(value -> value % 3 == 0);
+            for (int probe = 0; probe < 500; probe++) {
+                assertEquals(expected.indexOf(probe), customArrayList.indexOf(probe), "Index of " + probe);
+            }
+        }
+
+        /**
+         * Проверяет поиск по ключу, извлеченному из элемента.
+         */
+        @Test
+        @DisplayName("Index by extracted key")
+        void keyIndex_findsByKey() {
+            var ivan = new Person("ivan", 30);
+            var customArrayList = new CustomArrayList<>(List.of(new Person("tom", 40), ivan, new Person("oleg", 20)));
+
+            assertThrows(IllegalStateException.class, () -> customArrayList.indexOfKey("ivan"));
+
+            customArrayList.enableIndex(Person::getName);
+
+            assertAll(
+                    () -> assertEquals(1, customArrayList.indexOfKey("ivan")),
+                    () -> assertEquals(-1, customArrayList.indexOfKey("dmitry")),
+                    () -> assertTrue(customArrayList.contains(ivan)),
+                    () -> assertFalse(customArrayList.contains(new Person("ivan", 30)),
+                            "Element with same key but not equal must not be found"),
+                    () -> assertFalse(customArrayList.contains("ivan"), "Element of other type must not be found"),
+                    () -> assertEquals(-1, customArrayList.indexOf(42))
+            );
+
+            customArrayList.remove(ivan);
+
+            assertEquals(-1, customArrayList.indexOfKey("ivan"), "Removed element must leave the index");
+        }
+
+        /**
+         * Проверяет расход памяти индекса: не больше 16 байт на элемент.
+         */
+        @Test
+        @DisplayName("Index memory overhead is bounded")
+        void indexFootprint_atMost16BytesPerElement() {
+            var customArrayList = new CustomArrayList<Integer>();
+            for (int i = 0; i < 100_000; i++) {
+                customArrayList.add(i);
+            }
+            assertEquals(0, customArrayList.indexFootprint(), "Disabled index must not take memory");
+
+            customArrayList.enableIndex();
+            var footprint = customArrayList.indexFootprint();
+
+            assertAll(
+                    () -> assertTrue(customArrayList.isIndexed()),
+                    () -> assertTrue(footprint >= 8L * 100_000, "Index table must be at most half full"),
+                    () -> assertTrue(footprint <= 16L * 100_000 + 16, "Index must take at most 16 bytes per element")
+            );
+        }
+    }
+
+    /**
+     * Тестирует список в режиме {@link StorageMode#GAP_BUFFER}
+     */
+    @Nested
+    @DisplayName("Gap buffer storage")
+    class GapBufferTest {
+
+        /**
+         * Проверяет, что список с разрывом ведет себя как {@link ArrayList} после случайной последовательности
+         * вставок и удалений рядом с перемещающимся курсором и других операций.
+         */
+        @Test
+        @DisplayName("Gap buffer list matches ArrayList after mutations")
+        void randomMutations_consistentWithArrayList() {
+            var random = new SplittableRandom(7);
+            var customArrayList = new CustomArrayList<Integer>(4, StorageMode.GAP_BUFFER);
+            var expected = new ArrayList<Integer>();
+            var cursor = 0;
+
+            for (int step = 0; step < 20_000; step++) {
+                var value = random.nextInt(1000);
+                cursor = Math.min(Math.max(cursor + random.nextInt(-3, 4), 0), expected.size());
+                switch (random.nextInt(8)) {
+                    case 0, 1, 2 -> {
+                        customArrayList.add(cursor, value);
+                        expected.add(cursor, value);
+                    }
+                    case 3, 4 -> {
+                        if (cursor < expected.size()) {
+                            assertEquals(expected.remove(cursor), customArrayList.remove(cursor));
+                        }
+                    }
+                    case 5 -> {
+                        if (cursor < expected.size()) {
+                            customArrayList.set(cursor, value);
+                            expected.set(cursor, value);
+                        }
+                    }
+                    case 6 -> {
+                        customArrayList.add(value);
+                        expected.add(value);
+                    }
+                    default -> assertEquals(expected.indexOf(value), customArrayList.indexOf(value));
+                }
+
+                assertEquals(expected.size(), customArrayList.size());
+                if (!expected.isEmpty()) {
+                    var position = random.nextInt(expected.size());
+                    assertEquals(expected.get(position), customArrayList.get(position), "Element at " + position);
+                }
+            }
+
+            assertEquals(expected, customArrayList.stream().toList());
+
+            customArrayList.sort(Integer::compare);
+            expected.sort(Integer::compare);
+
+            assertEquals(expected, customArrayList.stream().toList());
+        }
+
+        /**
+         * Проверяет, что операции, работающие с массивом целиком, видят элементы после разрыва.
+         */
+        @Test
+        @DisplayName("Bulk operations close the gap")
+        void openGap_bulkOperationsSeeAllElements() {
+            var customArrayList = new CustomArrayList<Integer>(16, StorageMode.GAP_BUFFER);
+            var contiguous = new CustomArrayList<Integer>(16);
+            for (int i = 0; i < 6; i++) {
+                customArrayList.add(i);
+                contiguous.add(i);
+            }
+            customArrayList.add(2, 10);
+            contiguous.add(2, 10);
+
+            var iterated = new ArrayList<Integer>();
+            customArrayList.forEach(iterated::add);
+
+            assertAll(
+                    () -> assertEquals(StorageMode.GAP_BUFFER, customArrayList.getStorageMode()),
+                    () -> assertEquals(List.of(0, 1, 10, 2, 3, 4, 5), iterated),
+                    () -> assertEquals("[0, 1, 10, 2, 3, 4, 5]", customArrayList.toString()),
+                    () -> assertEquals(contiguous, customArrayList),
+                    () -> assertEquals(contiguous.hashCode(), customArrayList.hashCode())
+            );
+
+            customArrayList.remove(1);
+            customArrayList.removeIf(value -> value == 4);
+            customArrayList.addAll(1, List.of(7, 8));
+
+            assertEquals(List.of(0, 7, 8, 10, 2, 3, 5), customArrayList.stream().toList());
+        }
+
+        /**
+         * Проверяет, что серия вставок в одном месте сдвигает элементы только при открытии разрыва.
+         */
+        @Test
+        @DisplayName("Localized inserts move only the gap")
+        void localizedInserts_shiftOnlyOnce() {
+            var customArrayList = new CustomArrayList<Integer>(100, StorageMode.GAP_BUFFER);
+            for (int i = 0; i < 50; i++) {
+                customArrayList.add(i);
+            }
+            var metrics = customArrayList.enableMetrics();
+
+            for (int i = 0; i < 10; i++) {
+                customArrayList.add(10 + i, -i);
+            }
+            customArrayList.remove(20);
+
+            assertAll(
+                    () -> assertEquals(10, metrics.getInsertCount()),
+                    () -> assertEquals(40, metrics.getInsertShiftDistance(), "Only opening the gap shifts the tail"),
+                    () -> assertEquals(0, metrics.getRemovalShiftDistance(), "Removal next to the gap shifts nothing"),
+                    () -> assertEquals(-9, customArrayList.get(19)),
+                    () -> assertEquals(11, customArrayList.get(20))
+            );
+        }
+
+        /**
+         * Проверяет, что разделитель, созданный до вставки, обходит элементы с учетом разрыва, открытого вставкой.
+         */
+        @Test
+        @DisplayName("Spliterator bound after insert reads through the gap")
+        void spliteratorCreatedBeforeInsert_seesInsertedElements() {
+            var customArrayList = new CustomArrayList<Integer>(16, StorageMode.GAP_BUFFER);
+            for (int i = 0; i < 8; i++) {
+                customArrayList.add(i);
+            }
+            customArrayList.add(2, 100);
+            var spliterator = customArrayList.spliterator();
+            customArrayList.add(3, 200);
+
+            var result = new ArrayList<Integer>();
+            spliterator.forEachRemaining(result::add);
+
+            assertEquals(List.of(0, 1, 100, 200, 2, 3, 4, 5, 6, 7), result);
+        }
+
+        /**
+         * Проверяет, что представление читает элементы с учетом разрыва, открытого вставкой через представление.
+         */
+        @Test
+        @DisplayName("Sub list reads through the gap")
+        void subListAfterInsert_readsThroughGap() {
+            var customArrayList = new CustomArrayList<Integer>(16, StorageMode.GAP_BUFFER);
+            for (int i = 0; i < 8; i++) {
+                customArrayList.add(i);
+            }
+            customArrayList.add(2, 100);
+            var subList = customArrayList.subList(1, 6);
+            subList.add(2, 200);
 
             assertAll(
-                    () -> assertNull(customArrayList.get(0), "Element is not removed from the list."),
-                    () -> assertEquals(initialSize - 1, customArrayList.size(), "List size must be decremented")
+                    () -> assertEquals(List.of(1, 100, 200, 2, 3, 4), subList.stream().toList()),
+                    () -> assertEquals(200, subList.get(2)),
+                    () -> assertEquals(4, subList.get(5))
             );
         }
     }
 
+    /**
+     * Тестирует массовые операции над элементами и их параллельные варианты
+     */
+    @Nested
+    @DisplayName("Bulk operations")
+    class BulkOperationsTest {
+
+        /**
+         * Проверяет последовательные {@code replaceAll}, {@code map} и {@code filter}.
+         */
+        @Test
+        @DisplayName("Sequential replaceAll, map and filter")
+        void sequentialBulkOperations() {
+            var customArrayList = new CustomArrayList<>(List.of(1, 2, 3, 4, 5));
+            customArrayList.sort(Integer::compare);
+
+            var doubled = customArrayList.map(value -> value * 2L);
+            var odd = customArrayList.filter(value -> value % 2 == 1);
+            customArrayList.replaceAll(value -> -value);
+
+            assertAll(
+                    () -> assertEquals("[2, 4, 6, 8, 10]", doubled.toString()),
+                    () -> assertEquals("[1, 3, 5]", odd.toString()),
+                    () -> assertEquals("[-1, -2, -3, -4, -5]", customArrayList.toString()),
+                    () -> assertFalse(customArrayList.isSorted(), "Replacement must reset sorted state"),
+                    () -> assertEquals(0, new CustomArrayList<Integer>().filter(value -> true).size())
+            );
+        }
+
+        /**
+         * Проверяет, что параллельные операции дают тот же результат, что и последовательные, при разбиении на
+         * много частей.
+         */
+        @Test
+        @DisplayName("Parallel variants match sequential results")
+        void parallelBulkOperations_matchSequential() {
+            var pool = new ForkJoinPool(4);
+            try {
+                var random = new SplittableRandom(5);
+                var customArrayList = new CustomArrayList<Integer>();
+                var expected = new ArrayList<Integer>();
+                for (int i = 0; i < 100_003; i++) {
+                    var value = random.nextInt(1000);
+                    customArrayList.add(value);
+                    expected.add(value);
+                }
+
+                assertAll(
+                        () -> assertEquals(customArrayList.map(value -> value + 1),
+                                customArrayList.parallelMap(value -> value + 1, 1000, pool)),
+                        () -> assertEquals(customArrayList.filter(value -> value % 7 == 0),
+                                customArrayList.parallelFilter(value -> value % 7 == 0, 1000, pool))
+                );
+
+                customArrayList.parallelReplaceAll(value -> value * 3, 1000, pool);
+                expected.replaceAll(value -> value * 3);
+                assertTrue(customArrayList.parallelRemoveIf(value -> value % 5 == 0, 1000, pool));
+                expected.removeIf(value -> value % 5 == 0);
+
+                assertAll(
+                        () -> assertEquals(expected, customArrayList.stream().toList()),
+                        () -> assertFalse(customArrayList.parallelRemoveIf(value -> value < 0, 1000, pool)),
+                        () -> assertThrows(IllegalArgumentException.class,
+                                () -> customArrayList.parallelMap(value -> value, 0, pool))
+                );
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        /**
+         * Проверяет изменение состояния элементов через {@code parallelForEach}.
+         */
+        @Test
+        @DisplayName("Parallel forEach updates every element")
+        void parallelForEach_updatesElements() {
+            var customArrayList = new CustomArrayList<Person>();
+            for (int i = 0; i < 50_000; i++) {
+                customArrayList.add(new Person("person" + i, i));
+            }
+
+            customArrayList.parallelForEach(person -> person.setAge(person.getAge() + 1), 512,
+                    ForkJoinPool.commonPool());
+
+            for (int i = 0; i < customArrayList.size(); i++) {
+                assertEquals(i + 1, customArrayList.get(i).getAge());
+            }
+        }
+
+        /**
+         * Проверяет, что исключение из условия параллельного удаления оставляет список без изменений.
+         */
+        @Test
+        @DisplayName("Failing predicate leaves list unchanged")
+        void parallelRemoveIf_failingPredicate_listUnchanged() {
+            var customArrayList = new CustomArrayList<Integer>();
+            for (int i = 0; i < 10_000; i++) {
+                customArrayList.add(i);
+            }
+
+            assertThrows(IllegalStateException.class, () -> customArrayList.parallelRemoveIf(value -> {
+                if (value == 9_000) {
+                    throw new IllegalStateException();
+                }
+                return value % 2 == 0;
+            }, 100, ForkJoinPool.commonPool()));
+
+            assertAll(
+                    () -> assertEquals(10_000, customArrayList.size()),
+                    () -> assertEquals(4_999, customArrayList.get(4_999))
+            );
+        }
+    }
+
+    /**
+     * Тестирует выбор k-го элемента, частичную сортировку и выбор k наименьших элементов
+     */
+    @Nested
+    @DisplayName("Selection without full sort")
+    class SelectionTest {
+
+        private final Comparator<Integer> natural = Comparator.naturalOrder();
+
+        /**
+         * Проверяет, что выбранный элемент совпадает с элементом отсортированного списка, а элементы разделены
+         * относительно него, на разных распределениях, включая много повторов.
+         *
+         * @param bound верхняя граница случайных значений
+         */
+        @ParameterizedTest
+        @DisplayName("Select returns k-th element and partitions the list")
+        @ValueSource(ints = {3, 100, Integer.MAX_VALUE})
+        void select_partitionsAroundKthElement(int bound) {
+            var random = new SplittableRandom(bound);
+            var values = random.ints(10_000, 0, bound).boxed().collect(Collectors.toList());
+            var expected = new ArrayList<>(values);
+            expected.sort(natural);
+
+            for (int k : new int[]{0, 1, 4_999, 5_000, 9_999}) {
+                var customArrayList = new CustomArrayList<>(values);
+                var selected = customArrayList.select(k, natural);
+
+                assertEquals(expected.get(k), selected, "Wrong element for k = " + k);
+                for (int i = 0; i < customArrayList.size(); i++) {
+                    var value = customArrayList.get(i);
+                    assertTrue(i < k ? value <= selected : value >= selected, "Not partitioned at index " + i);
+                }
+            }
+        }
+
+        /**
+         * Проверяет частичную сортировку: первые {@code k} элементов отсортированы, остальные элементы сохранены.
+         */
+        @Test
+        @DisplayName("Partial sort orders first k elements")
+        void partialSort_firstKElementsSorted() {
+            var values = new SplittableRandom(9).ints(5_000).boxed().collect(Collectors.toList());
+            var expected = new ArrayList<>(values);
+            expected.sort(natural);
+            var customArrayList = new CustomArrayList<>(values);
+
+            customArrayList.partialSort(100, natural);
+
+            var first = new ArrayList<Integer>();
+            var rest = new ArrayList<Integer>();
+            for (int i = 0; i < customArrayList.size(); i++) {
+                (i < 100 ? first : rest).add(customArrayList.get(i));
+            }
+            rest.sort(natural);
+            assertAll(
+                    () -> assertEquals(expected.subList(0, 100), first),
+                    () -> assertEquals(expected.subList(100, 5_000), rest),
+                    () -> assertFalse(customArrayList.isSorted()),
+                    () -> assertThrows(IndexOutOfBoundsException.class,
+                            () -> customArrayList.partialSort(5_001, natural))
+            );
+        }
+
+        /**
+         * Проверяет, что после частичной сортировки хеш-индекс указывает на новые позиции элементов.
+         */
+        @Test
+        @DisplayName("Partial sort keeps hash index in step")
+        void partialSortWithIndex_indexPointsToNewPositions() {
+            var values = IntStream.range(0, 2_000).boxed().collect(Collectors.toList());
+            Collections.shuffle(values, new Random(3));
+            var customArrayList = new CustomArrayList<>(values);
+            customArrayList.enableIndex();
+
+            customArrayList.partialSort(1_000, natural);
+
+            for (int i = 0; i < customArrayList.size(); i++) {
+                assertEquals(i, customArrayList.indexOf(customArrayList.get(i)), "Wrong index position " + i);
+            }
+            assertAll(
+                    () -> assertTrue(customArrayList.contains(5)),
+                    () -> assertTrue(customArrayList.remove((Integer) 5)),
+                    () -> assertEquals(1_999, customArrayList.size())
+            );
+        }
+
+        /**
+         * Проверяет выбор {@code k} самых молодых людей без изменения списка.
+         */
+        @Test
+        @DisplayName("Top k youngest persons, list is not modified")
+        void topK_returnsSmallestAndKeepsList() {
+            var random = new SplittableRandom(4);
+            var customArrayList = new CustomArrayList<Person>();
+            for (int i = 0; i < 10_000; i++) {
+                customArrayList.add(new Person("person" + i, random.nextInt(1_000_000)));
+            }
+            var copy = new ArrayList<Person>();
+            customArrayList.forEach(copy::add);
+            var byAge = Comparator.comparingInt(Person::getAge);
+
+            var youngest = customArrayList.topK(100, byAge);
+
+            var expected = new ArrayList<>(copy);
+            expected.sort(byAge);
+            var ages = new ArrayList<Integer>();
+            youngest.forEach(person -> ages.add(person.getAge()));
+            var after = new ArrayList<Person>();
+            customArrayList.forEach(after::add);
+            assertAll(
+                    () -> assertEquals(expected.subList(0, 100).stream().map(Person::getAge)
+                            .collect(Collectors.toList()), ages),
+                    () -> assertEquals(copy, after, "List must not be modified"),
+                    () -> assertEquals(10_000, customArrayList.topK(20_000, byAge).size()),
+                    () -> assertEquals(0, customArrayList.topK(0, byAge).size()),
+                    () -> assertThrows(IllegalArgumentException.class, () -> customArrayList.topK(-1, byAge))
+            );
+        }
+
+        /**
+         * Проверяет, что в отсортированном списке выбор не переставляет элементы, а в режиме вставки с сохранением
+         * порядка по другому компаратору выбор запрещен.
+         */
+        @Test
+        @DisplayName("Selection on sorted list and in sorted insert mode")
+        void select_sortedListAndSortedInsertMode() {
+            var customArrayList = new CustomArrayList<>(List.of(5, 1, 4, 2, 3));
+            customArrayList.setSortedInsert(natural);
+
+            assertAll(
+                    () -> assertEquals(3, customArrayList.select(2, natural)),
+                    () -> assertTrue(customArrayList.isSorted()),
+                    () -> assertEquals(new CustomArrayList<>(List.of(1, 2)), customArrayList.topK(2, natural)),
+                    () -> assertThrows(IllegalStateException.class,
+                            () -> customArrayList.select(2, Comparator.reverseOrder())),
+                    () -> assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.select(5, natural))
+            );
+        }
+    }
+
+    /**
+     * Тестирует слияние отсортированных списков
+     */
+    @Nested
+    @DisplayName("Merge sorted lists")
+    class MergeSortedTest {
+
+        private final Comparator<Person> byAge = Comparator.comparingInt(Person::getAge);
+
+        /**
+         * Проверяет, что слияние разного количества списков на многих частях дает тот же стабильный порядок, что и
+         * стабильная сортировка объединенных списков: равные элементы идут в порядке номеров списков.
+         *
+         * @param count количество сливаемых списков
+         */
+        @ParameterizedTest
+        @DisplayName("Merge gives the same order as stable sort of concatenation")
+        @ValueSource(ints = {1, 2, 3, 16, 33})
+        void mergeSorted_sameResultAsStableSort(int count) {
+            var random = new SplittableRandom(count);
+            var lists = new ArrayList<CustomArrayList<Person>>();
+            var all = new ArrayList<Person>();
+            for (int i = 0; i < count; i++) {
+                var list = new CustomArrayList<Person>();
+                var size = i % 5 == 4 ? 0 : random.nextInt(5_000);
+                for (int j = 0; j < size; j++) {
+                    list.add(new Person("person" + i + "_" + j, random.nextInt(50)));
+                }
+                list.sort(byAge, SortMode.STABLE);
+                list.forEach(all::add);
+                lists.add(list);
+            }
+            all.sort(byAge);
+
+            var merged = CustomArrayList.mergeSorted(lists, byAge, 1000, ForkJoinPool.commonPool());
+            var sequential = CustomArrayList.mergeSorted(lists, byAge, Math.max(all.size(), 1),
+                    ForkJoinPool.commonPool());
+
+            assertEquals(all.size(), merged.size());
+            for (int i = 0; i < all.size(); i++) {
+                assertSame(all.get(i), merged.get(i), "Wrong element at index " + i);
+                assertSame(all.get(i), sequential.get(i), "Wrong element of sequential merge at index " + i);
+            }
+            assertTrue(merged.isSorted());
+        }
+
+        /**
+         * Проверяет слияние без списков и пустых списков и неверный размер части.
+         */
+        @Test
+        @DisplayName("Empty input and invalid chunk size")
+        void mergeSorted_emptyInputAndInvalidChunkSize() {
+            var empty = new CustomArrayList<Integer>();
+            var natural = Comparator.<Integer>naturalOrder();
+
+            assertAll(
+                    () -> assertEquals(0, CustomArrayList.mergeSorted(List.of(), natural).size()),
+                    () -> assertEquals(0, CustomArrayList.mergeSorted(List.of(empty, empty), natural).size()),
+                    () -> assertEquals(new CustomArrayList<>(List.of(1, 2, 3, 4)), CustomArrayList.mergeSorted(
+                            List.of(new CustomArrayList<>(List.of(1, 4)), new CustomArrayList<>(List.of(2, 3))),
+                            natural)),
+                    () -> assertThrows(IllegalArgumentException.class, () -> CustomArrayList.mergeSorted(
+                            List.of(empty), natural, 0, ForkJoinPool.commonPool()))
+            );
+        }
+    }
+
+    /**
+     * Тестирует {@code equals}, {@code hashCode} и {@code toString}
+     */
+    @Nested
+    @DisplayName("Equals, hash code and string representation")
+    class EqualsHashCodeTest {
+
+        /**
+         * Проверяет, что сравнение не зависит от вместимости списков.
+         */
+        @Test
+        @DisplayName("Lists with equal elements and different capacities are equal")
+        void differentCapacities_listsEqual() {
+            var small = new CustomArrayList<>(List.of("a", "b", "c"));
+            var large = new CustomArrayList<String>(1000);
+            large.addAll(List.of("a", "b", "c"));
+
+            assertAll(
+                    () -> assertEquals(small, large),
+                    () -> assertEquals(small.hashCode(), large.hashCode()),
+                    () -> assertEquals(List.of("a", "b", "c").hashCode(), large.hashCode(),
+                            "Hash code must match List.hashCode()"),
+                    () -> assertNotEquals(small, new CustomArrayList<>(List.of("a", "b"))),
+                    () -> assertNotEquals(small, new CustomArrayList<>(List.of("a", "b", "d")))
+            );
+        }
+
+        /**
+         * Проверяет, что строковое представление содержит только добавленные элементы.
+         */
+        @Test
+        @DisplayName("String representation contains live elements only")
+        void toString_withoutSpareCapacity() {
+            var customArrayList = new CustomArrayList<Integer>(100);
+            customArrayList.add(1);
+            customArrayList.add(null);
+            customArrayList.add(3);
+
+            assertAll(
+                    () -> assertEquals("[1, null, 3]", customArrayList.toString()),
+                    () -> assertEquals("[]", new CustomArrayList<>().toString())
+            );
+        }
+
+        /**
+         * Проверяет, что кешированный хеш-код сбрасывается при изменении списка.
+         */
+        @Test
+        @DisplayName("Cached hash code is invalidated on mutation")
+        void cachedHashCode_invalidatedOnMutation() {
+            var customArrayList = new CustomArrayList<>(List.of(3, 1, 2));
+            customArrayList.setHashCaching(true);
+            var cache = new HashMap<CustomArrayList<Integer>, String>();
+            cache.put(customArrayList, "value");
+
+            assertAll(
+                    () -> assertTrue(customArrayList.isHashCaching()),
+                    () -> assertEquals("value", cache.get(new CustomArrayList<>(List.of(3, 1, 2))))
+            );
+
+            customArrayList.set(0, 4);
+            assertEquals(List.of(4, 1, 2).hashCode(), customArrayList.hashCode(), "Set must invalidate hash code");
+
+            customArrayList.add(5);
+            assertEquals(List.of(4, 1, 2, 5).hashCode(), customArrayList.hashCode(), "Add must invalidate hash code");
+
+            customArrayList.sort(Integer::compare);
+            assertEquals(List.of(1, 2, 4, 5).hashCode(), customArrayList.hashCode(), "Sort must invalidate hash code");
+
+            customArrayList.remove(0);
+            assertEquals(List.of(2, 4, 5).hashCode(), customArrayList.hashCode(),
+                    "Remove must invalidate hash code");
+        }
+    }
+
     /**
      * Тестирует правильность очищения списка.
      */
@@ -244,7 +1521,7 @@ class CustomArrayListTest {
      */
     @ParameterizedTest
     @DisplayName("Sort list")
-    @MethodSource("CustomArrayListTest#getArgumentsForSortTest")
+    @MethodSource("test.CustomArrayListTest#getArgumentsForSortTest")
     <E> void sort_listSorted(CustomArrayList<E> customArrayList, Comparator<E> comparator) {
         customArrayList.sort(comparator);
 
@@ -282,4 +1559,17 @@ class CustomArrayListTest {
                 Arguments.of(integerList, (Comparator<Integer>) Integer::compare)
         );
     }
+
+    /**
+     * Проверяет, что список содержит ровно указанные элементы в указанном порядке
+     *
+     * @param customArrayList проверяемый список
+     * @param expected        ожидаемые элементы
+     */
+    private static void assertElements(CustomArrayList<?> customArrayList, Object... expected) {
+        assertEquals(expected.length, customArrayList.size(), "Unexpected list size");
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], customArrayList.get(i), "Unexpected element at index " + i);
+        }
+    }
 }
@@ -0,0 +1,150 @@
+package test;
+
+import main.CustomArrayList;
+import main.CustomSubList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Класс для тестирования функционала {@link CustomSubList}
+ */
+class CustomSubListTest {
+
+    /**
+     * Проверяет, что чтение и запись через представление работают с массивом исходного списка.
+     */
+    @Test
+    @DisplayName("Reads and writes go through to the list")
+    void getAndSet_sharedWithList() {
+        var customArrayList = new CustomArrayList<>(List.of(0, 1, 2, 3, 4, 5));
+        var subList = customArrayList.subList(2, 5);
+
+        subList.set(0, 20);
+        customArrayList.set(4, 40);
+
+        assertAll(
+                () -> assertEquals(3, subList.size(), "Sub list size must be 3"),
+                () -> assertEquals(20, customArrayList.get(2), "Write through sub list must be visible in list"),
+                () -> assertEquals(40, subList.get(2), "Write to list must be visible in sub list"),
+                () -> assertEquals("[20, 3, 40]", subList.toString()),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> subList.get(3)),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.subList(4, 7))
+        );
+    }
+
+    /**
+     * Проверяет структурные изменения через представление и вложенное представление.
+     */
+    @Test
+    @DisplayName("Structural changes through view update the list")
+    void addAndRemove_listAndParentViewsUpdated() {
+        var customArrayList = new CustomArrayList<>(List.of(0, 1, 2, 3, 4, 5));
+        var subList = customArrayList.subList(1, 5);
+        var nested = subList.subList(1, 3);
+
+        nested.add(25);
+        nested.remove(0);
+        subList.add(0, 10);
+
+        assertAll(
+                () -> assertEquals("[0, 10, 1, 3, 25, 4, 5]", String.valueOf(customArrayList.stream().toList())),
+                () -> assertEquals(5, subList.size(), "Parent view size must be updated"),
+                () -> assertThrows(ConcurrentModificationException.class, nested::size,
+                        "Change through parent view must invalidate nested view")
+        );
+
+        subList.clear();
+
+        assertEquals(List.of(0, 5), customArrayList.stream().toList());
+    }
+
+    /**
+     * Проверяет, что после структурного изменения исходного списка представление недействительно.
+     */
+    @Test
+    @DisplayName("View fails fast after list is structurally modified")
+    void modifyList_viewThrowsException() {
+        var customArrayList = new CustomArrayList<>(List.of(0, 1, 2, 3));
+        var subList = customArrayList.subList(0, 2);
+        var slice = customArrayList.slice(2, 4);
+
+        customArrayList.add(4);
+
+        assertAll(
+                () -> assertThrows(ConcurrentModificationException.class, () -> subList.get(0)),
+                () -> assertThrows(ConcurrentModificationException.class, () -> slice.stream().count())
+        );
+    }
+
+    /**
+     * Проверяет, что сортировка представления сортирует только его диапазон.
+     */
+    @Test
+    @DisplayName("Sorting a view sorts its range in place")
+    void sort_onlyRangeSorted() {
+        var customArrayList = new CustomArrayList<>(List.of(9, 5, 4, 3, 2, 1, 0));
+        var subList = customArrayList.subList(1, 5);
+
+        subList.sort(Integer::compare);
+
+        assertEquals(List.of(9, 2, 3, 4, 5, 1, 0), customArrayList.stream().toList());
+    }
+
+    /**
+     * Проверяет, что представление только для чтения нельзя изменить.
+     */
+    @Test
+    @DisplayName("Slice is read-only")
+    void slice_modificationThrowsException() {
+        var customArrayList = new CustomArrayList<>(List.of(0, 1, 2, 3));
+        var slice = customArrayList.slice(1, 3);
+
+        assertAll(
+                () -> assertTrue(slice.isReadOnly()),
+                () -> assertTrue(slice.subList(0, 1).isReadOnly(), "Sub list of slice must be read-only"),
+                () -> assertThrows(UnsupportedOperationException.class, () -> slice.set(0, 10)),
+                () -> assertThrows(UnsupportedOperationException.class, () -> slice.add(10)),
+                () -> assertThrows(UnsupportedOperationException.class, () -> slice.remove(0)),
+                () -> assertThrows(UnsupportedOperationException.class, () -> slice.sort(Integer::compare)),
+                () -> assertEquals(List.of(1, 2), slice.stream().toList())
+        );
+    }
+
+    /**
+     * Проверяет обработку частей списка в разных потоках через представления только для чтения.
+     */
+    @Test
+    @DisplayName("Slices are processed by worker threads")
+    void slices_processedInParallel() throws Exception {
+        var customArrayList = new CustomArrayList<Integer>();
+        for (int i = 0; i < 10_000; i++) {
+            customArrayList.add(i);
+        }
+
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var futures = new ArrayList<Future<Long>>();
+            for (int from = 0; from < customArrayList.size(); from += 2500) {
+                var slice = customArrayList.slice(from, from + 2500);
+                futures.add(executor.submit(() -> slice.stream().mapToLong(Integer::longValue).sum()));
+            }
+
+            var sum = 0L;
+            for (var future : futures) {
+                sum += future.get();
+            }
+
+            assertEquals(10_000L * 9_999 / 2, sum);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package test;
+
+import main.DoubleCustomArrayList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Класс для тестирования функционала {@link DoubleCustomArrayList}
+ */
+class DoubleCustomArrayListTest {
+
+    /**
+     * Тестирует добавление значений в список
+     */
+    @Nested
+    @DisplayName("Add value to list")
+    class AddValueToListTest {
+
+        /**
+         * Проверяет, что при добавлении значений сверх вместимости список увеличивается.
+         */
+        @Test
+        @DisplayName("Add values beyond capacity")
+        void addValuesBeyondCapacity_listIncreased() {
+            var list = new DoubleCustomArrayList(2);
+
+            list.add(1);
+            list.add(2);
+            list.add(3);
+
+            assertAll(
+                    () -> assertEquals(3, list.size(), "List size must be 3"),
+                    () -> assertTrue(list.capacity() >= 3, "List capacity must be increased"),
+                    () -> assertArrayEquals(new double[]{1, 2, 3}, list.toArray(), "Values are not added in order")
+            );
+        }
+
+        /**
+         * Тестирует добавление значения в список по указанному индексу.
+         */
+        @Test
+        @DisplayName("Add value at specified index")
+        void addValueByIndex_valueAddedAtTheSpecifiedIndex() {
+            var list = DoubleCustomArrayList.of(1, 2, 3);
+
+            list.add(1, 10);
+
+            assertArrayEquals(new double[]{1, 10, 2, 3}, list.toArray(), "Value is not added at specified index");
+        }
+    }
+
+    /**
+     * Тестирует удаление значений из списка.
+     */
+    @Nested
+    @DisplayName("Remove values from list")
+    class RemoveValueFromListTest {
+
+        /**
+         * Тестирует удаление значения из списка по индексу.
+         */
+        @Test
+        @DisplayName("Remove value by index")
+        void removeByIndex_valueRemovedAndTailShifted() {
+            var list = DoubleCustomArrayList.of(1, 2, 3);
+
+            var removed = list.remove(0);
+
+            assertAll(
+                    () -> assertEquals(1, removed, "Removed value must be returned"),
+                    () -> assertArrayEquals(new double[]{2, 3}, list.toArray(), "Value is not removed from the list")
+            );
+        }
+
+        /**
+         * Тестирует удаление первого вхождения значения из списка.
+         */
+        @Test
+        @DisplayName("Remove value")
+        void removeValue_firstOccurrenceRemoved() {
+            var list = DoubleCustomArrayList.of(1, 2, 1);
+
+            assertAll(
+                    () -> assertTrue(list.removeValue(1), "Value must be found"),
+                    () -> assertFalse(list.removeValue(5), "Absent value must not be found"),
+                    () -> assertArrayEquals(new double[]{2, 1}, list.toArray(), "Only first occurrence must be removed")
+            );
+        }
+    }
+
+    /**
+     * Проверяет, что при обращении за пределы {@code size()} выбрасывается {@link IndexOutOfBoundsException}.
+     */
+    @Test
+    @DisplayName("Throws exception when accessing index out of size")
+    void throwsExceptionIfIndexIsOutOfSize() {
+        var list = new DoubleCustomArrayList(10);
+        list.add(1);
+
+        assertAll(
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> list.get(1)),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> list.set(-1, 0)),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> list.remove(1))
+        );
+    }
+
+    /**
+     * Проверяет, что списки с одинаковыми значениями, но разной вместимостью равны.
+     */
+    @Test
+    @DisplayName("Lists with equal values are equal regardless of capacity")
+    void equalValuesDifferentCapacity_listsAreEqual() {
+        var first = new DoubleCustomArrayList(2);
+        var second = new DoubleCustomArrayList(100);
+        first.add(5);
+        second.add(5);
+
+        assertAll(
+                () -> assertEquals(first, second, "Lists must be equal"),
+                () -> assertEquals(first.hashCode(), second.hashCode(), "Hash codes must be equal")
+        );
+    }
+}
@@ -0,0 +1,113 @@
+package test;
+
+import main.CustomArrayList;
+import main.ElementCodec;
+import main.Person;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Класс для тестирования двоичной записи {@link CustomArrayList} с помощью {@link ElementCodec}
+ */
+class ElementCodecTest {
+
+    /**
+     * Проверяет запись и чтение людей, включая {@code null}, имя {@code null} и имена не из ASCII.
+     */
+    @Test
+    @DisplayName("Persons survive a round trip")
+    void persons_roundTrip() throws IOException {
+        var customArrayList = new CustomArrayList<>(Arrays.asList(new Person("ivan", 30), null,
+                new Person(null, -5), new Person("Ёжик 🦔", 1_000_000)));
+
+        var bytes = write(customArrayList, ElementCodec.persons());
+        var copy = CustomArrayList.readFrom(Channels.newChannel(new ByteArrayInputStream(bytes)),
+                ElementCodec.persons());
+
+        assertAll(
+                () -> assertEquals(customArrayList.toString(), copy.toString()),
+                () -> assertEquals(4, copy.capacity(), "Capacity must be allocated once by the header"),
+                () -> assertTrue(bytes.length < 64, "Format must be compact, but was " + bytes.length + " bytes")
+        );
+    }
+
+    /**
+     * Проверяет запись через файловый канал (сборная запись) списка, занимающего много буферов, и элемента
+     * больше буфера.
+     */
+    @Test
+    @DisplayName("Large list and large element through file channel")
+    void largeList_roundTripThroughFile(@TempDir Path directory) throws IOException {
+        var customArrayList = new CustomArrayList<String>();
+        for (int i = 0; i < 200_000; i++) {
+            customArrayList.add("value" + i);
+        }
+        customArrayList.add(1000, "x".repeat(200_000));
+        var file = directory.resolve("list.bin");
+
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            customArrayList.writeTo(channel, ElementCodec.strings());
+        }
+        CustomArrayList<String> copy;
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            copy = CustomArrayList.readFrom(channel, ElementCodec.strings());
+        }
+
+        assertEquals(customArrayList, copy);
+    }
+
+    /**
+     * Проверяет ошибки чтения: другой кодек, обрезанный поток и не двоичный формат списка.
+     */
+    @Test
+    @DisplayName("Invalid streams are rejected")
+    void invalidStream_throwsException() throws IOException {
+        var bytes = write(new CustomArrayList<>(List.of(1, 2, 3)), ElementCodec.ints());
+
+        assertAll(
+                () -> assertThrows(IOException.class, () -> CustomArrayList.readFrom(
+                        Channels.newChannel(new ByteArrayInputStream(bytes)), ElementCodec.longs())),
+                () -> assertThrows(EOFException.class, () -> CustomArrayList.readFrom(
+                        Channels.newChannel(new ByteArrayInputStream(bytes, 0, bytes.length - 1)),
+                        ElementCodec.ints())),
+                () -> assertThrows(IOException.class, () -> CustomArrayList.readFrom(
+                        Channels.newChannel(new ByteArrayInputStream("[1, 2, 3]".repeat(4).getBytes())),
+                        ElementCodec.ints()))
+        );
+    }
+
+    /**
+     * Проверяет, что поток с огромным количеством элементов в заголовке не выделяет массив под это количество, а
+     * обрывается на первом отсутствующем элементе.
+     */
+    @Test
+    @DisplayName("Hostile element count does not preallocate")
+    void hostileCount_throwsEofWithoutPreallocation() throws IOException {
+        var bytes = write(new CustomArrayList<>(List.of(1, 2, 3)), ElementCodec.ints());
+        ByteBuffer.wrap(bytes).putInt(2 * Integer.BYTES, Integer.MAX_VALUE - 8);
+
+        assertThrows(EOFException.class, () -> CustomArrayList.readFrom(
+                Channels.newChannel(new ByteArrayInputStream(bytes)), ElementCodec.ints()));
+    }
+
+    private static <E> byte[] write(CustomArrayList<E> list, ElementCodec<E> codec) throws IOException {
+        var output = new ByteArrayOutputStream();
+        list.writeTo(Channels.newChannel(output), codec);
+        return output.toByteArray();
+    }
+}
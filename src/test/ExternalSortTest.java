@@ -0,0 +1,109 @@
+package test;
+
+import main.CustomArrayList;
+import main.ElementCodec;
+import main.ExternalSort;
+import main.Person;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Класс для тестирования функционала {@link ExternalSort}
+ */
+class ExternalSortTest {
+
+    /**
+     * Проверяет сортировку с несколькими проходами слияния и выдачей результата итератором.
+     */
+    @Test
+    @DisplayName("Multi-pass merge returns sorted elements")
+    void sort_multiPassMerge_iteratorSorted(@TempDir Path directory) throws IOException {
+        var random = new SplittableRandom(3);
+        var expected = new ArrayList<Integer>();
+        for (int i = 0; i < 50_000; i++) {
+            expected.add(random.nextInt());
+        }
+
+        var sort = new ExternalSort<>(ElementCodec.ints(), Comparator.<Integer>naturalOrder());
+        sort.setRunElements(1000);
+        sort.setMergeFanIn(4);
+        sort.setBufferSize(4096);
+        sort.setTempDirectory(directory);
+
+        var actual = new ArrayList<Integer>();
+        try (var iterator = sort.sort(expected.iterator())) {
+            assertEquals(50_000, iterator.remaining());
+            iterator.forEachRemaining(actual::add);
+        }
+        expected.sort(Comparator.naturalOrder());
+
+        try (var files = Files.list(directory)) {
+            assertAll(
+                    () -> assertEquals(expected, actual),
+                    () -> assertEquals(0, files.count(), "Temporary runs must be deleted")
+            );
+        }
+    }
+
+    /**
+     * Проверяет сортировку файла людей в файл без загрузки входного файла в память.
+     */
+    @Test
+    @DisplayName("File of persons is sorted into file")
+    void sort_fileToFile(@TempDir Path directory) throws IOException {
+        var persons = new CustomArrayList<Person>();
+        for (int i = 0; i < 10_000; i++) {
+            persons.add(new Person("person" + i, (i * 7919) % 100));
+        }
+        var input = directory.resolve("input.bin");
+        try (var channel = FileChannel.open(input, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            persons.writeTo(channel, ElementCodec.persons());
+        }
+
+        var sort = new ExternalSort<>(ElementCodec.persons(), Comparator.comparingInt(Person::getAge));
+        sort.setRunElements(777);
+        sort.setTempDirectory(directory);
+        sort.sort(input, input);
+
+        CustomArrayList<Person> sorted;
+        try (var channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            sorted = CustomArrayList.readFrom(channel, ElementCodec.persons());
+        }
+
+        assertEquals(10_000, sorted.size());
+        for (int i = 1; i < sorted.size(); i++) {
+            assertTrue(sorted.get(i - 1).getAge() <= sorted.get(i).getAge(), "Not sorted at index " + i);
+        }
+    }
+
+    /**
+     * Проверяет сортировку пустого набора и неверные настройки.
+     */
+    @Test
+    @DisplayName("Empty input and invalid settings")
+    void sort_emptyInputAndInvalidSettings() throws IOException {
+        var sort = new ExternalSort<>(ElementCodec.longs(), Comparator.<Long>naturalOrder());
+
+        try (var iterator = sort.sort(List.<Long>of().iterator())) {
+            assertFalse(iterator.hasNext());
+        }
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> sort.setRunElements(0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> sort.setMergeFanIn(1)),
+                () -> assertThrows(IllegalArgumentException.class, () -> sort.setBufferSize(16))
+        );
+    }
+}
@@ -0,0 +1,189 @@
+package test;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import main.CustomArrayList;
+import main.GrowthPolicy;
+import main.ListMetrics;
+import main.QuickSort;
+import main.SortMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Класс для тестирования функционала {@link ListMetrics}
+ */
+class ListMetricsTest {
+
+    /**
+     * Проверяет, что без включения метрик список их не собирает.
+     */
+    @Test
+    @DisplayName("Metrics are disabled by default")
+    void newList_metricsDisabled() {
+        var customArrayList = new CustomArrayList<Integer>();
+        assertNull(customArrayList.getMetrics());
+
+        var metrics = customArrayList.enableMetrics();
+        customArrayList.disableMetrics();
+        customArrayList.add(1);
+
+        assertAll(
+                () -> assertNull(customArrayList.getMetrics()),
+                () -> assertEquals(0, metrics.getInsertCount() + metrics.getGrowCount())
+        );
+    }
+
+    /**
+     * Проверяет подсчет увеличений вместимости, сдвигов при вставке и удалений.
+     */
+    @Test
+    @DisplayName("Grows, inserts and removals are counted")
+    void mutations_counted() {
+        var customArrayList = new CustomArrayList<Integer>(4);
+        customArrayList.setGrowthPolicy(GrowthPolicy.doubling());
+        var metrics = customArrayList.enableMetrics();
+
+        for (int i = 0; i < 10; i++) {
+            customArrayList.add(i);
+        }
+        customArrayList.add(0, -1);
+        customArrayList.add(9, -2);
+        customArrayList.remove(0);
+        customArrayList.removeRange(0, 2);
+        customArrayList.removeIf(value -> value == 5);
+
+        assertAll(
+                () -> assertEquals(2, metrics.getGrowCount(), "Capacity 4 must grow to 8 and 16"),
+                () -> assertEquals(12L * referenceBytes(), metrics.getGrowBytesCopied(),
+                        "Grows must copy 4 and 8 references"),
+                () -> assertEquals(2, metrics.getInsertCount()),
+                () -> assertEquals(10 + 2, metrics.getInsertShiftDistance()),
+                () -> assertEquals(10, metrics.getMaxInsertShiftDistance()),
+                () -> assertEquals(4, metrics.getRemovalCount()),
+                () -> assertEquals(11 + 9 + 5, metrics.getRemovalShiftDistance())
+        );
+
+        metrics.reset();
+
+        assertEquals(0, metrics.getGrowCount() + metrics.getInsertCount() + metrics.getRemovalCount());
+    }
+
+    /**
+     * Проверяет подсчет сравнений, обменов и глубины рекурсии при сортировке.
+     */
+    @Test
+    @DisplayName("Sort comparisons, swaps and depth are counted")
+    void sort_comparisonsSwapsAndDepthCounted() {
+        var customArrayList = new CustomArrayList<Integer>();
+        for (int i = 0; i < 10_000; i++) {
+            customArrayList.add((i * 7919) % 10_000);
+        }
+        var metrics = customArrayList.enableMetrics();
+
+        customArrayList.sort(Integer::compare);
+
+        assertAll(
+                () -> assertEquals(1, metrics.getSortCount()),
+                () -> assertTrue(metrics.getComparisons() >= 10_000, "Every element must be compared"),
+                () -> assertTrue(metrics.getSwaps() > 0),
+                () -> assertTrue(metrics.getMaxSortDepth() > 0),
+                () -> assertTrue(metrics.getMaxSortDepth() <= 2 * 13, "Depth must not exceed 2 * log2(n)"),
+                () -> assertEquals(0, metrics.getHeapSortFallbacks())
+        );
+
+        metrics.reset();
+        QuickSort.parallelSort(customArrayList, Comparator.reverseOrder(), 1024, ForkJoinPool.commonPool());
+        customArrayList.sort(Comparator.naturalOrder(), SortMode.STABLE);
+
+        assertAll(
+                () -> assertEquals(2, metrics.getSortCount()),
+                () -> assertTrue(metrics.getComparisons() > 0),
+                () -> assertEquals(List.of(0, 1, 2), List.of(customArrayList.get(0), customArrayList.get(1),
+                        customArrayList.get(2)))
+        );
+    }
+
+    /**
+     * Проверяет доступ к метрикам через JMX.
+     */
+    @Test
+    @DisplayName("Metrics are exposed as MBean")
+    void registerMBean_attributesReadable() throws Exception {
+        var customArrayList = new CustomArrayList<Integer>(1);
+        var metrics = customArrayList.enableMetrics();
+        customArrayList.add(1);
+        customArrayList.add(2);
+
+        var name = metrics.registerMBean("metrics-test");
+        try {
+            var server = ManagementFactory.getPlatformMBeanServer();
+
+            assertAll(
+                    () -> assertEquals(1L, server.getAttribute(name, "GrowCount")),
+                    () -> assertThrows(IllegalStateException.class, () -> metrics.registerMBean("metrics-test"))
+            );
+
+            server.invoke(name, "reset", null, null);
+            assertEquals(0L, server.getAttribute(name, "GrowCount"));
+        } finally {
+            ListMetrics.unregisterMBean(name);
+        }
+    }
+
+    /**
+     * Проверяет запись событий JFR об увеличении вместимости и сортировке.
+     */
+    @Test
+    @DisplayName("Grow and sort are recorded as JFR events")
+    void jfrRecording_containsEvents(@TempDir Path directory) throws Exception {
+        var file = directory.resolve("metrics.jfr");
+
+        try (var recording = new Recording()) {
+            recording.enable("main.ListGrow");
+            recording.enable("main.ListSort");
+            recording.start();
+
+            var customArrayList = new CustomArrayList<Integer>(1);
+            customArrayList.enableMetrics();
+            for (int i = 100; i > 0; i--) {
+                customArrayList.add(i);
+            }
+            customArrayList.sort(Integer::compare);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        var events = RecordingFile.readAllEvents(file);
+        var sort = events.stream().filter(event -> event.getEventType().getName().equals("main.ListSort"))
+                .findFirst().orElseThrow();
+
+        assertAll(
+                () -> assertTrue(events.stream().anyMatch(event -> event.getEventType().getName()
+                        .equals("main.ListGrow")), "Grow events must be recorded"),
+                () -> assertEquals(100, sort.getInt("size")),
+                () -> assertTrue(sort.getLong("comparisons") > 0)
+        );
+    }
+
+    /**
+     * Возвращает размер ссылки в массиве текущей JVM
+     *
+     * @return 4 байта со сжатыми указателями, иначе 8
+     */
+    private static long referenceBytes() {
+        var bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        return Boolean.parseBoolean(bean.getVMOption("UseCompressedOops").getValue()) ? 4 : 8;
+    }
+}
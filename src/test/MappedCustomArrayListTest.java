@@ -0,0 +1,118 @@
+package test;
+
+import main.ElementLayout;
+import main.MappedCustomArrayList;
+import main.Person;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Класс для тестирования функционала {@link MappedCustomArrayList}
+ */
+class MappedCustomArrayListTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Проверяет, что элементы сохраняются в файле и доступны после повторного открытия.
+     */
+    @Test
+    @DisplayName("Elements survive reopening")
+    void closeAndReopen_elementsPreserved() throws IOException {
+        var path = directory.resolve("persons.bin");
+
+        try (var list = MappedCustomArrayList.open(path, ElementLayout.persons(16), 2)) {
+            for (int i = 0; i < 1000; i++) {
+                list.add(new Person("person" + i, 1000 - i));
+            }
+            list.set(0, new Person("first", 5000));
+            list.sort(Comparator.comparingInt(Person::getAge));
+        }
+
+        try (var list = MappedCustomArrayList.open(path, ElementLayout.persons(16))) {
+            assertAll(
+                    () -> assertEquals(1000, list.size(), "List size must be restored"),
+                    () -> assertEquals("person999", list.get(0).getName(), "Elements must be restored in order"),
+                    () -> assertEquals("first", list.get(999).getName(), "Changed element must be restored")
+            );
+        }
+    }
+
+    /**
+     * Проверяет, что при открытии файла без закрытия списка видно состояние последней контрольной точки.
+     */
+    @Test
+    @DisplayName("Reopening sees last checkpoint")
+    void reopenWithoutClose_lastCheckpointVisible() throws IOException {
+        var path = directory.resolve("ints.bin");
+
+        try (var list = MappedCustomArrayList.open(path, ElementLayout.ints())) {
+            list.add(1);
+            list.add(2);
+            list.force();
+            list.add(3);
+
+            try (var reopened = MappedCustomArrayList.open(path, ElementLayout.ints())) {
+                assertAll(
+                        () -> assertEquals(2, reopened.size(), "Only checkpointed elements must be visible"),
+                        () -> assertEquals(2, reopened.get(1), "Checkpointed elements must be intact")
+                );
+            }
+        }
+    }
+
+    /**
+     * Проверяет, что изменения элементов контрольной точки на месте откатываются при открытии файла без закрытия
+     * списка.
+     */
+    @Test
+    @DisplayName("Reopening rolls back in-place changes")
+    void reopenWithoutCloseAfterInPlaceChanges_checkpointRestored() throws IOException {
+        var path = directory.resolve("rollback.bin");
+
+        try (var list = MappedCustomArrayList.open(path, ElementLayout.ints())) {
+            for (int i = 0; i < 100_000; i++) {
+                list.add(100_000 - i);
+            }
+            list.force();
+            list.set(5, -1);
+            list.sort(Comparator.naturalOrder());
+            list.clear();
+            list.add(42);
+
+            try (var reopened = MappedCustomArrayList.open(path, ElementLayout.ints())) {
+                assertEquals(100_000, reopened.size(), "Checkpointed size must be restored");
+                for (int i = 0; i < 100_000; i++) {
+                    assertEquals(100_000 - i, reopened.get(i), "Checkpointed elements must be restored");
+                }
+            }
+        }
+    }
+
+    /**
+     * Проверяет, что файл нельзя открыть с другим форматом элементов.
+     */
+    @Test
+    @DisplayName("Throws exception on codec mismatch")
+    void reopenWithOtherCodec_throwsException() throws IOException {
+        var path = directory.resolve("longs.bin");
+        MappedCustomArrayList.open(path, ElementLayout.longs()).close();
+
+        var other = directory.resolve("other.bin");
+        Files.write(other, new byte[256]);
+
+        assertAll(
+                () -> assertThrows(IOException.class, () -> MappedCustomArrayList.open(path, ElementLayout.doubles())),
+                () -> assertThrows(IOException.class, () -> MappedCustomArrayList.open(other, ElementLayout.longs()))
+        );
+    }
+}
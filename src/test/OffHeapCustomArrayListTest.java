@@ -0,0 +1,93 @@
+package test;
+
+import main.ElementLayout;
+import main.OffHeapCustomArrayList;
+import main.Person;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Класс для тестирования функционала {@link OffHeapCustomArrayList}
+ */
+class OffHeapCustomArrayListTest {
+
+    /**
+     * Тестирует добавление, чтение и изменение объектов {@code Person}, в том числе при росте списка на несколько
+     * блоков.
+     */
+    @Test
+    @DisplayName("Add, get and set persons across chunks")
+    void addGetSetPersons_valuesPreserved() {
+        try (var list = new OffHeapCustomArrayList<>(ElementLayout.persons(16), 3, 8)) {
+            for (int i = 0; i < 100; i++) {
+                list.add(new Person("person" + i, i));
+            }
+            list.set(50, new Person(null, -1));
+
+            assertAll(
+                    () -> assertEquals(100, list.size(), "List size must be 100"),
+                    () -> assertTrue(list.capacity() >= 100, "List capacity must be increased"),
+                    () -> assertEquals("person99", list.get(99).getName(), "Name is not preserved"),
+                    () -> assertEquals(7, list.get(7).getAge(), "Age is not preserved"),
+                    () -> assertNull(list.get(50).getName(), "Null name is not preserved"),
+                    () -> assertThrows(IndexOutOfBoundsException.class, () -> list.get(100))
+            );
+        }
+    }
+
+    /**
+     * Проверяет, что слишком длинное имя не записывается.
+     */
+    @Test
+    @DisplayName("Throws exception if name does not fit into layout")
+    void addPersonWithLongName_throwsException() {
+        try (var list = new OffHeapCustomArrayList<>(ElementLayout.persons(3))) {
+            assertThrows(IllegalArgumentException.class, () -> list.add(new Person("long name", 1)));
+        }
+    }
+
+    /**
+     * Тестирует сортировку списка. Результат сравнивается с {@link Arrays#sort(int[])}.
+     */
+    @Test
+    @DisplayName("Sort off-heap list")
+    void sort_listSorted() {
+        var random = new Random(3);
+        var values = new int[20_000];
+        try (var list = new OffHeapCustomArrayList<>(ElementLayout.ints(), 10, 1024)) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(500);
+                list.add(values[i]);
+            }
+
+            list.sort(Comparator.naturalOrder());
+            Arrays.sort(values);
+
+            for (int i = 0; i < values.length; i++) {
+                assertEquals(values[i], list.get(i), "Elements are not sorted at index " + i);
+            }
+        }
+    }
+
+    /**
+     * Проверяет, что закрытый список нельзя использовать.
+     */
+    @Test
+    @DisplayName("Closed list throws exception")
+    void closedList_throwsException() {
+        var list = new OffHeapCustomArrayList<>(ElementLayout.longs());
+        list.add(1L);
+        list.close();
+
+        assertAll(
+                () -> assertThrows(IllegalStateException.class, () -> list.get(0)),
+                () -> assertThrows(IllegalStateException.class, () -> list.add(2L))
+        );
+    }
+}
@@ -1,9 +1,24 @@
+package test;
+
+import main.CustomArrayList;
+import main.DoubleCustomArrayList;
+import main.IntCustomArrayList;
+import main.LongCustomArrayList;
+import main.Person;
+import main.QuickSort;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Класс предназначен для тестирования сортировки {@link QuickSort}
@@ -79,4 +94,157 @@ class QuickSortTest {
 
         assertEquals(expectedList, actualList, "Elements are not sorted");
     }
+
+    /**
+     * Метод тестирует сортировку {@code IntCustomArrayList} по возрастанию и с использованием {@code IntComparator}.
+     */
+    @Test
+    @DisplayName("Sort int custom array list")
+    void sortIntCustomArrayList_listSorted() {
+        var ascending = IntCustomArrayList.of(2, 2, 1, 10, 8, 5, 2, 7, 9, 7);
+        var descending = IntCustomArrayList.of(2, 2, 1, 10, 8, 5, 2, 7, 9, 7);
+
+        QuickSort.sort(ascending);
+        QuickSort.sort(descending, (left, right) -> Integer.compare(right, left));
+
+        assertArrayEquals(new int[]{1, 2, 2, 2, 5, 7, 7, 8, 9, 10}, ascending.toArray(), "Elements are not sorted");
+        assertArrayEquals(new int[]{10, 9, 8, 7, 7, 5, 2, 2, 2, 1}, descending.toArray(), "Elements are not sorted");
+    }
+
+    /**
+     * Метод тестирует сортировку {@code LongCustomArrayList}.
+     */
+    @Test
+    @DisplayName("Sort long custom array list")
+    void sortLongCustomArrayList_listSorted() {
+        var actualList = LongCustomArrayList.of(Long.MAX_VALUE, 3L, -1L, Long.MIN_VALUE, 3L);
+
+        QuickSort.sort(actualList);
+
+        assertArrayEquals(new long[]{Long.MIN_VALUE, -1L, 3L, 3L, Long.MAX_VALUE}, actualList.toArray(),
+                "Elements are not sorted");
+    }
+
+    /**
+     * Метод тестирует сортировку {@code DoubleCustomArrayList}.
+     */
+    @Test
+    @DisplayName("Sort double custom array list")
+    void sortDoubleCustomArrayList_listSorted() {
+        var actualList = DoubleCustomArrayList.of(2.5, -0.5, 10.0, 0.0, 2.5);
+
+        QuickSort.sort(actualList);
+
+        assertArrayEquals(new double[]{-0.5, 0.0, 2.5, 2.5, 10.0}, actualList.toArray(), "Elements are not sorted");
+    }
+
+    /**
+     * <p>Метод тестирует сортировку больших списков примитивных значений с разными распределениями, включая
+     * "органную трубу", на которой выбор среднего элемента опорным дает квадратичное время.</p>
+     * <p>Результат сравнивается с {@link Arrays#sort(int[])}.</p>
+     *
+     * @param distribution название распределения значений
+     */
+    @ParameterizedTest
+    @DisplayName("Sort of large primitive lists")
+    @ValueSource(strings = {"random", "sorted", "reversed", "organPipe", "fewKeys"})
+    void sortLargePrimitiveLists_sameResultAsArraysSort(String distribution) {
+        var size = 200_000;
+        var random = new Random(3);
+        var values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = switch (distribution) {
+                case "random" -> random.nextInt();
+                case "sorted" -> i;
+                case "reversed" -> size - i;
+                case "organPipe" -> i < size / 2 ? i : size - i;
+                default -> random.nextInt(5);
+            };
+        }
+        var ints = IntCustomArrayList.of(values);
+        var longs = LongCustomArrayList.of(Arrays.stream(values).asLongStream().toArray());
+        var doubles = DoubleCustomArrayList.of(Arrays.stream(values).asDoubleStream().toArray());
+
+        QuickSort.sort(ints);
+        QuickSort.sort(longs);
+        QuickSort.sort(doubles);
+
+        var expected = values.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, ints.toArray());
+        assertArrayEquals(Arrays.stream(expected).asLongStream().toArray(), longs.toArray());
+        assertArrayEquals(Arrays.stream(expected).asDoubleStream().toArray(), doubles.toArray());
+    }
+
+    /**
+     * Метод проверяет, что параллельная сортировка дает тот же результат, что и последовательная.
+     */
+    @Test
+    @DisplayName("Parallel sort gives the same result as sequential sort")
+    void parallelSort_sameResultAsSort() {
+        var random = new Random(42);
+        var expectedList = new CustomArrayList<Integer>(100_000);
+        var actualList = new CustomArrayList<Integer>(100_000);
+        for (int i = 0; i < 100_000; i++) {
+            var value = random.nextInt(1000);
+            expectedList.add(value);
+            actualList.add(value);
+        }
+
+        var pool = new ForkJoinPool(4);
+        try {
+            QuickSort.sort(expectedList, Comparator.naturalOrder());
+            QuickSort.parallelSort(actualList, Comparator.naturalOrder(), 16, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(expectedList, actualList, "Elements are not sorted");
+    }
+
+    /**
+     * Метод проверяет, выбрасывается ли {@link IllegalArgumentException} при пороге параллельной сортировки
+     * меньше или равном нулю.
+     */
+    @Test
+    @DisplayName("Throws exception if parallel threshold is less or equals zero")
+    void parallelSortWithNonPositiveThreshold_throwsException() {
+        var list = new CustomArrayList<>(Arrays.asList(3, 1, 2));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> QuickSort.parallelSort(list, Comparator.naturalOrder(), 0, ForkJoinPool.commonPool()));
+    }
+
+    /**
+     * <p>Метод тестирует сортировку больших списков с неудобными для quicksort распределениями.</p>
+     * <p>Результат сравнивается с {@link Arrays#sort(Object[])}.</p>
+     *
+     * @param distribution название распределения элементов
+     */
+    @ParameterizedTest
+    @DisplayName("Sort large custom array list with adversarial distributions")
+    @ValueSource(strings = {"random", "sorted", "reversed", "equal", "sawtooth", "organPipe"})
+    void sortLargeCustomArrayList_sameResultAsArraysSort(String distribution) {
+        var size = 50_000;
+        var random = new Random(7);
+        var values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = switch (distribution) {
+                case "random" -> random.nextInt();
+                case "sorted" -> i;
+                case "reversed" -> size - i;
+                case "equal" -> 1;
+                case "sawtooth" -> i % 100;
+                default -> Math.min(i, size - i);
+            };
+        }
+
+        var actualList = new CustomArrayList<>(Arrays.asList(values));
+        Arrays.sort(values);
+        var expectedList = new CustomArrayList<>(Arrays.asList(values));
+
+        QuickSort.sort(actualList);
+
+        assertEquals(expectedList, actualList, "Elements are not sorted");
+    }
 }
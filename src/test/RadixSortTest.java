@@ -0,0 +1,160 @@
+package test;
+
+import main.CustomArrayList;
+import main.Person;
+import main.RadixSort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Класс предназначен для тестирования сортировки по целочисленному ключу {@link RadixSort}
+ */
+class RadixSortTest {
+
+    /**
+     * Метод проверяет, что объекты {@code Person} с одинаковым возрастом сохраняют исходный порядок, а ключ
+     * извлекается из каждого элемента один раз.
+     */
+    @Test
+    @DisplayName("Sort by age keeps order of persons with equal age")
+    void sortByIntKey_equalAgesKeepOrder() {
+        var bob = new Person("bob", 30);
+        var john = new Person("john", 25);
+        var tom = new Person("tom", 30);
+        var jane = new Person("jane", 25);
+        var kate = new Person("kate", 30);
+        var calls = new AtomicInteger();
+
+        var list = new CustomArrayList<>(Arrays.asList(bob, john, tom, jane, kate));
+        list.sortByIntKey(person -> {
+            calls.incrementAndGet();
+            return person.getAge();
+        });
+
+        TimSortTest.assertSameOrder(list, john, jane, bob, tom, kate);
+        assertAll(
+                () -> assertEquals(5, calls.get()),
+                () -> assertTrue(list.isSorted())
+        );
+    }
+
+    /**
+     * <p>Метод тестирует сортировку больших списков с разными распределениями ключей: подсчетом (малый диапазон)
+     * и поразрядно (большой диапазон, отрицательные ключи).</p>
+     * <p>Результат сравнивается со стабильной {@link Arrays#sort(Object[], Comparator)}.</p>
+     *
+     * @param distribution название распределения ключей
+     */
+    @ParameterizedTest
+    @DisplayName("Sort by int key of large custom array list")
+    @ValueSource(strings = {"random", "ages", "sorted", "reversed", "negative", "highBytes"})
+    void sortByIntKey_sameResultAsArraysSort(String distribution) {
+        var persons = persons(distribution, 100_000);
+
+        var list = new CustomArrayList<>(Arrays.asList(persons));
+        RadixSort.sortByIntKey(list, Person::getAge);
+
+        var expected = persons.clone();
+        Arrays.sort(expected, Comparator.comparingInt(Person::getAge));
+        TimSortTest.assertSameOrder(list, expected);
+    }
+
+    /**
+     * Метод проверяет сортировку по ключу типа {@code long}, включая крайние значения, диапазон которых не помещается
+     * в {@code long}.
+     */
+    @Test
+    @DisplayName("Sort by long key with extreme values")
+    void sortByLongKey_extremeValues() {
+        var random = new Random(5);
+        var values = new Long[50_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = switch (i % 4) {
+                case 0 -> Long.MIN_VALUE + random.nextInt(3);
+                case 1 -> Long.MAX_VALUE - random.nextInt(3);
+                default -> random.nextLong();
+            };
+        }
+
+        var list = new CustomArrayList<>(Arrays.asList(values));
+        list.sortByLongKey(Long::longValue);
+
+        var expected = values.clone();
+        Arrays.sort(expected);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], list.get(i), "Elements are not sorted at index " + i);
+        }
+    }
+
+    /**
+     * Метод проверяет, что параллельная сортировка на многих частях дает тот же стабильный порядок, что и
+     * последовательная.
+     *
+     * @param distribution название распределения ключей
+     */
+    @ParameterizedTest
+    @DisplayName("Parallel sort by key gives the same order as sequential")
+    @ValueSource(strings = {"random", "ages", "negative"})
+    void parallelSortByKey_sameResultAsSequential(String distribution) {
+        var persons = persons(distribution, 100_000);
+        var sequential = new CustomArrayList<>(Arrays.asList(persons));
+        var parallel = new CustomArrayList<>(Arrays.asList(persons));
+        var parallelLong = new CustomArrayList<>(Arrays.asList(persons));
+
+        sequential.sortByIntKey(Person::getAge);
+        parallel.parallelSortByIntKey(Person::getAge, 1000, ForkJoinPool.commonPool());
+        parallelLong.parallelSortByLongKey(Person::getAge, 777, ForkJoinPool.commonPool());
+
+        for (int i = 0; i < persons.length; i++) {
+            assertSame(sequential.get(i), parallel.get(i), "Int key orders differ at index " + i);
+            assertSame(sequential.get(i), parallelLong.get(i), "Long key orders differ at index " + i);
+        }
+    }
+
+    /**
+     * Метод проверяет сортировку пустого списка и списка из одного элемента и неверный размер части.
+     */
+    @Test
+    @DisplayName("Small lists and invalid chunk size")
+    void sortByKey_smallListsAndInvalidChunkSize() {
+        var empty = new CustomArrayList<Person>();
+        var single = new CustomArrayList<>(Arrays.asList(new Person("bob", 1)));
+
+        empty.sortByIntKey(Person::getAge);
+        single.parallelSortByIntKey(Person::getAge);
+
+        assertAll(
+                () -> assertEquals(0, empty.size()),
+                () -> assertEquals("bob", single.get(0).getName()),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> single.parallelSortByIntKey(Person::getAge, 0, ForkJoinPool.commonPool()))
+        );
+    }
+
+    private static Person[] persons(String distribution, int size) {
+        var random = new Random(17);
+        var persons = new Person[size];
+        for (int i = 0; i < size; i++) {
+            var age = switch (distribution) {
+                case "random" -> random.nextInt();
+                case "ages" -> random.nextInt(100);
+                case "sorted" -> i;
+                case "reversed" -> size - i;
+                case "negative" -> -random.nextInt(1_000_000);
+                default -> random.nextInt(4) << 24;
+            };
+            persons[i] = new Person("person" + i, age);
+        }
+        return persons;
+    }
+}
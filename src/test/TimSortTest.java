@@ -0,0 +1,105 @@
+package test;
+
+import main.CustomArrayList;
+import main.Person;
+import main.SortMode;
+import main.TimSort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Класс предназначен для тестирования стабильной сортировки {@link TimSort}
+ */
+class TimSortTest {
+
+    /**
+     * Метод проверяет, что объекты {@code Person} с одинаковым возрастом сохраняют исходный порядок.
+     */
+    @Test
+    @DisplayName("Stable sort keeps order of persons with equal age")
+    void sortPersonByAge_equalAgesKeepOrder() {
+        var bob = new Person("bob", 30);
+        var john = new Person("john", 25);
+        var tom = new Person("tom", 30);
+        var jane = new Person("jane", 25);
+        var kate = new Person("kate", 30);
+
+        var list = new CustomArrayList<>(Arrays.asList(bob, john, tom, jane, kate));
+        list.sort(Comparator.naturalOrder(), SortMode.STABLE);
+
+        assertSameOrder(list, john, jane, bob, tom, kate);
+    }
+
+    /**
+     * Метод проверяет, что режим сортировки, установленный для списка, используется при вызове {@code sort()}.
+     */
+    @Test
+    @DisplayName("List sort mode is used by sort(comparator)")
+    void sortWithListSortMode_stableSortUsed() {
+        var size = 10_000;
+        var persons = new Person[size];
+        for (int i = 0; i < size; i++) {
+            persons[i] = new Person("person" + i, i % 10);
+        }
+
+        var list = new CustomArrayList<>(Arrays.asList(persons));
+        list.setSortMode(SortMode.STABLE);
+        list.sort(Comparator.naturalOrder());
+
+        var expected = persons.clone();
+        Arrays.sort(expected);
+        assertSameOrder(list, expected);
+    }
+
+    /**
+     * <p>Метод тестирует стабильную сортировку больших списков с разными распределениями.</p>
+     * <p>Результат сравнивается со стабильной {@link Arrays#sort(Object[], Comparator)}.</p>
+     *
+     * @param distribution название распределения элементов
+     */
+    @ParameterizedTest
+    @DisplayName("Stable sort of large custom array list")
+    @ValueSource(strings = {"random", "sorted", "reversed", "nearlySorted", "sawtooth", "fewKeys"})
+    void sortLargeCustomArrayList_sameResultAsArraysSort(String distribution) {
+        var size = 100_000;
+        var random = new Random(11);
+        var persons = new Person[size];
+        for (int i = 0; i < size; i++) {
+            var age = switch (distribution) {
+                case "random" -> random.nextInt();
+                case "sorted" -> i;
+                case "reversed" -> size - i;
+                case "nearlySorted" -> random.nextInt(100) == 0 ? random.nextInt(size) : i;
+                case "sawtooth" -> i % 1000;
+                default -> random.nextInt(5);
+            };
+            persons[i] = new Person("person" + i, age);
+        }
+
+        var list = new CustomArrayList<>(Arrays.asList(persons));
+        TimSort.sort(list);
+
+        var expected = persons.clone();
+        Arrays.sort(expected);
+        assertSameOrder(list, expected);
+    }
+
+    /**
+     * Проверяет, что список содержит те же объекты в том же порядке. Используется и в {@link RadixSortTest}.
+     */
+    static void assertSameOrder(CustomArrayList<Person> actual, Person... expected) {
+        assertEquals(expected.length, actual.size(), "List size must not be changed");
+        for (int i = 0; i < expected.length; i++) {
+            assertSame(expected[i], actual.get(i), "Elements are not sorted stably at index " + i);
+        }
+    }
+}